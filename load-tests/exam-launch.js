@@ -0,0 +1,47 @@
+// k6 script that sends recorded LTI launch requests to the application at an increasing rate,
+// used to compare the platform threads and the virtual threads execution modes.
+//
+// Usage:
+//   k6 run -e BASE_URL=http://localhost:8000 -e REQUESTS_FILE=./launch-requests.json load-tests/exam-launch.js
+//
+// The requests file is a JSON array of recorded launches, each with the "path" (e.g "lti/app/...")
+// and the JSON "body" that the LMS sent (the id token must still be valid when running the test).
+
+import http from 'k6/http';
+import {check} from 'k6';
+import {SharedArray} from 'k6/data';
+
+const baseUrl = __ENV.BASE_URL || 'http://localhost:8000';
+const requests = new SharedArray('launch requests', () => JSON.parse(open(__ENV.REQUESTS_FILE || './launch-requests.json')));
+const maxRate = parseInt(__ENV.MAX_RATE || '500');
+
+export const options = {
+    scenarios: {
+        launches: {
+            executor: 'ramping-arrival-rate',
+            startRate: 10,
+            timeUnit: '1s',
+            preAllocatedVUs: 200,
+            maxVUs: 5000,
+            stages: [
+                {target: maxRate, duration: '2m'},
+                {target: maxRate, duration: '3m'},
+                {target: 0, duration: '30s'},
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        http_req_duration: ['p(95)<2000'],
+    },
+};
+
+export default function () {
+    const request = requests[Math.floor(Math.random() * requests.length)];
+    const response = http.post(
+        `${baseUrl}/${request.path}`,
+        JSON.stringify(request.body),
+        {headers: {'Content-Type': 'application/json'}, tags: {name: request.path}}
+    );
+    check(response, {'status is 200': r => r.status === 200});
+}
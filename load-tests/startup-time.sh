@@ -0,0 +1,82 @@
+#!/bin/sh
+# Measures the startup time of the application's Docker images, used to compare the images built with and without
+# the AppCDS archive (i.e with and without the "app-cds" Maven profile), each started with and without the
+# "fast-startup" profile.
+#
+# Usage:
+#   IMAGES="itbacep/lti-service:<plain-tag> itbacep/lti-service:<app-cds-tag>" RUNS=10 load-tests/startup-time.sh
+#
+# Each image is started RUNS times per profile, against a local PostgreSQL stand-in (Eureka and Zipkin disabled,
+# and throwaway keys). For each run, it measures the time until the "/actuator/health" endpoint returns 200
+# (i.e the application is ready and warmed up), and takes the "lti.startup.time" gauge
+# (i.e JVM start to ready, in seconds). It prints the median of both.
+# Any other property needed to start the application can be passed in EXTRA_ARGS.
+set -e
+
+IMAGES=${IMAGES:?"The IMAGES to measure must be set"}
+RUNS=${RUNS:-10}
+PROFILES=${PROFILES:-"dev dev,fast-startup"}
+EXTRA_ARGS=${EXTRA_ARGS:-""}
+NETWORK=lti-service-startup-time
+DATABASE=lti-service-startup-time-db
+PORT=18000
+WORK=$(mktemp -d)
+
+cleanup() {
+    docker rm -f "${DATABASE}" > /dev/null 2>&1 || true
+    docker network rm "${NETWORK}" > /dev/null 2>&1 || true
+    rm -rf "${WORK}"
+}
+trap cleanup EXIT
+
+median() {
+    sort -n | awk '{ values[NR] = $1 }
+        END { print (NR % 2) ? values[(NR + 1) / 2] : (values[NR / 2] + values[NR / 2 + 1]) / 2 }'
+}
+
+openssl genpkey -algorithm RSA -pkeyopt rsa_keygen_bits:2048 -outform DER -out "${WORK}/key.der" 2> /dev/null
+PRIVATE_KEY=$(base64 -w 0 "${WORK}/key.der")
+PUBLIC_KEY=$(openssl pkey -inform DER -in "${WORK}/key.der" -pubout -outform DER | base64 -w 0)
+
+docker network create "${NETWORK}" > /dev/null
+docker run -d --name "${DATABASE}" --network "${NETWORK}" \
+    -e POSTGRES_USER=lti-service -e POSTGRES_PASSWORD=lti-service -e POSTGRES_DB=lti-service \
+    postgres:11 > /dev/null
+until docker exec "${DATABASE}" pg_isready -U lti-service > /dev/null 2>&1; do sleep 1; done
+
+printf '%-60s %-20s %15s %15s\n' "IMAGE" "PROFILES" "READY (ms)" "GAUGE (s)"
+for IMAGE in ${IMAGES}; do
+    for PROFILE in ${PROFILES}; do
+        : > "${WORK}/ready"
+        : > "${WORK}/gauge"
+        RUN=0
+        while [ ${RUN} -lt "${RUNS}" ]; do
+            START=$(date +%s%3N)
+            CONTAINER=$(docker run -d --network "${NETWORK}" -p ${PORT}:8000 "${IMAGE}" \
+                --spring.profiles.active="${PROFILE}" \
+                --spring.datasource.url="jdbc:postgresql://${DATABASE}:5432/lti-service" \
+                --spring.datasource.username=lti-service \
+                --spring.datasource.password=lti-service \
+                --eureka.client.enabled=false \
+                --spring.zipkin.enabled=false \
+                --lti-service.app.state-helper.public-key="${PUBLIC_KEY}" \
+                --lti-service.app.state-helper.private-key="${PRIVATE_KEY}" \
+                --lti-service.webflux.security.jwt.public-key="${PUBLIC_KEY}" \
+                ${EXTRA_ARGS})
+            until curl -sf -o /dev/null "http://localhost:${PORT}/actuator/health"; do
+                if [ "$(docker inspect -f '{{.State.Running}}' "${CONTAINER}")" != "true" ]; then
+                    docker logs "${CONTAINER}" | tail -n 50
+                    exit 1
+                fi
+                sleep 0.05
+            done
+            echo $(($(date +%s%3N) - START)) >> "${WORK}/ready"
+            curl -sf "http://localhost:${PORT}/actuator/metrics/lti.startup.time" \
+                | sed -n 's/.*"value":\([0-9.]*\).*/\1/p' >> "${WORK}/gauge"
+            docker rm -f "${CONTAINER}" > /dev/null
+            RUN=$((RUN + 1))
+        done
+        printf '%-60s %-20s %15s %15s\n' "${IMAGE}" "${PROFILE}" "$(median < "${WORK}/ready")" \
+            "$(median < "${WORK}/gauge")"
+    done
+done
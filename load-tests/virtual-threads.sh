@@ -0,0 +1,62 @@
+#!/bin/sh
+# Compares the platform threads and the virtual threads execution modes, running the same exam launch load
+# (i.e the "exam-launch.js" k6 script) against two instances of the application built from the same Java 21 image
+# (i.e with the "java-21" Maven profile), one of them started with "--lti-service.virtual-threads.enabled=true".
+#
+# Usage:
+#   PLATFORM_URL=http://<platform-host>:8000 VIRTUAL_URL=http://<virtual-host>:8000 \
+#       REQUESTS_FILE=./launch-requests.json MAX_RATE=500 load-tests/virtual-threads.sh
+#
+# Both instances must be connected to the same database and services, and the recorded launches must still be
+# valid. Each mode is loaded once (the platform one first), and the results are appended to
+# "load-tests/results/virtual-threads.md" (i.e the file that is committed with the comparison), together with
+# the date, the max. rate, and the commit of the working tree.
+set -e
+
+PLATFORM_URL=${PLATFORM_URL:?"The PLATFORM_URL of the instance running with platform threads must be set"}
+VIRTUAL_URL=${VIRTUAL_URL:?"The VIRTUAL_URL of the instance running with virtual threads must be set"}
+REQUESTS_FILE=${REQUESTS_FILE:-./launch-requests.json}
+MAX_RATE=${MAX_RATE:-500}
+DIRECTORY=$(dirname "$0")
+RESULTS="${DIRECTORY}/results/virtual-threads.md"
+WORK=$(mktemp -d)
+trap 'rm -rf "${WORK}"' EXIT
+
+# Prints the given metric's value of the given k6 summary (e.g "http_req_duration" "p(95)")
+metric() {
+    sed -n "s/.*\"$2\": *\([0-9.]*\).*/\1/p" "$1" | head -n 1
+}
+
+threads() {
+    curl -sf "$1/actuator/metrics/jvm.threads.peak" | sed -n 's/.*"value":\([0-9.]*\).*/\1/p'
+}
+
+mkdir -p "$(dirname "${RESULTS}")"
+if [ ! -f "${RESULTS}" ]; then
+    printf '# Platform threads vs. virtual threads\n\n' > "${RESULTS}"
+    printf 'Generated with `load-tests/virtual-threads.sh`.\n' >> "${RESULTS}"
+fi
+printf '\n## %s (max. rate: %s req/s, commit: %s)\n\n' "$(date -u +%Y-%m-%d)" "${MAX_RATE}" \
+    "$(git rev-parse --short HEAD 2> /dev/null || echo unknown)" >> "${RESULTS}"
+printf '| Mode | p50 (ms) | p95 (ms) | p99 (ms) | Max. (ms) | Failed (%%) | Requests/s | Peak JVM threads |\n' \
+    >> "${RESULTS}"
+printf '|---|---|---|---|---|---|---|---|\n' >> "${RESULTS}"
+
+for MODE in platform virtual; do
+    if [ "${MODE}" = "platform" ]; then URL=${PLATFORM_URL}; else URL=${VIRTUAL_URL}; fi
+    k6 run --quiet --summary-trend-stats="med,p(95),p(99),max" --summary-export="${WORK}/${MODE}.json" \
+        -e BASE_URL="${URL}" -e REQUESTS_FILE="${REQUESTS_FILE}" -e MAX_RATE="${MAX_RATE}" \
+        "${DIRECTORY}/exam-launch.js" || true # Crossed thresholds must not abort the comparison
+    SUMMARY="${WORK}/${MODE}.json"
+    FAILED=$(sed -n '/"http_req_failed"/,/}/p' "${SUMMARY}" | sed -n 's/.*"value": *\([0-9.]*\).*/\1/p' | head -n 1)
+    printf '| %s | %s | %s | %s | %s | %s | %s | %s |\n' "${MODE}" \
+        "$(sed -n '/"http_req_duration"/,/}/p' "${SUMMARY}" > "${WORK}/duration" && metric "${WORK}/duration" med)" \
+        "$(metric "${WORK}/duration" 'p(95)')" \
+        "$(metric "${WORK}/duration" 'p(99)')" \
+        "$(metric "${WORK}/duration" max)" \
+        "$(awk -v failed="${FAILED:-0}" 'BEGIN { printf "%.2f", failed * 100 }')" \
+        "$(sed -n '/"http_reqs"/,/}/p' "${SUMMARY}" | sed -n 's/.*"rate": *\([0-9.]*\).*/\1/p' | head -n 1)" \
+        "$(threads "${URL}")" >> "${RESULTS}"
+done
+
+cat "${RESULTS}"
@@ -1,6 +1,15 @@
 package ar.edu.itba.cep.lti_service.external_cep_services.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.Data;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
@@ -8,8 +17,14 @@ import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
 /**
  * Configuration class for the REST External CEP Services.
  */
@@ -24,18 +39,160 @@ import org.springframework.web.client.RestTemplate;
 public class RestExternalCepServicesConfig {
 
     /**
-     * A load balanced {@link RestTemplate}.
+     * The pooled {@link CloseableHttpClient} used to communicate with the evaluations service.
+     *
+     * @param properties    The {@link EvaluationsServiceProperties} used to configure the client.
+     * @param meterRegistry The {@link MeterRegistry} in which the pool metrics are registered.
+     * @return The created {@link CloseableHttpClient}.
+     */
+    @Bean
+    public CloseableHttpClient evaluationsServiceHttpClient(
+            final EvaluationsServiceProperties properties,
+            final MeterRegistry meterRegistry) {
+        return pooledHttpClient("evaluations-service", properties.getHttpClient(), meterRegistry);
+    }
+
+    /**
+     * The pooled {@link CloseableHttpClient} used to communicate with the tokens service.
+     *
+     * @param properties    The {@link TokensServiceProperties} used to configure the client.
+     * @param meterRegistry The {@link MeterRegistry} in which the pool metrics are registered.
+     * @return The created {@link CloseableHttpClient}.
+     */
+    @Bean
+    public CloseableHttpClient tokensServiceHttpClient(
+            final TokensServiceProperties properties,
+            final MeterRegistry meterRegistry) {
+        return pooledHttpClient("tokens-service", properties.getHttpClient(), meterRegistry);
+    }
+
+    /**
+     * A load balanced {@link RestTemplate} used to communicate with the evaluations service.
+     *
+     * @param restTemplateBuilder The {@link RestTemplateBuilder} used to create the {@link RestTemplate} instance.
+     * @param httpClient          The {@link CloseableHttpClient} used to perform the requests.
+     * @return The created {@link RestTemplate}.
+     */
+    @Bean
+    @LoadBalanced
+    public RestTemplate evaluationsServiceRestTemplate(
+            final RestTemplateBuilder restTemplateBuilder,
+            @Qualifier("evaluationsServiceHttpClient") final CloseableHttpClient httpClient) {
+        return restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
+    }
+
+    /**
+     * A load balanced {@link RestTemplate} used to communicate with the tokens service.
      *
      * @param restTemplateBuilder The {@link RestTemplateBuilder} used to create the {@link RestTemplate} instance.
+     * @param httpClient          The {@link CloseableHttpClient} used to perform the requests.
      * @return The created {@link RestTemplate}.
      */
     @Bean
     @LoadBalanced
-    public RestTemplate loadBalancedRestTemplate(final RestTemplateBuilder restTemplateBuilder) {
-        return restTemplateBuilder.build();
+    public RestTemplate tokensServiceRestTemplate(
+            final RestTemplateBuilder restTemplateBuilder,
+            @Qualifier("tokensServiceHttpClient") final CloseableHttpClient httpClient) {
+        return restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
+    }
+
+    /**
+     * Builds the bounded executor in which the (possibly hedged) exam lookups are performed.
+     *
+     * @param properties The {@link EvaluationsServiceProperties} used to configure the executor.
+     * @return The created {@link ThreadPoolTaskExecutor}.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor evaluationsServiceHedgingExecutor(final EvaluationsServiceProperties properties) {
+        final var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getHedging().getConcurrency());
+        executor.setMaxPoolSize(properties.getHedging().getConcurrency());
+        executor.setQueueCapacity(properties.getHedging().getQueueCapacity());
+        executor.setThreadNamePrefix("evaluations-service-hedging-");
+        return executor;
+    }
+
+
+    // ================================================================================================================
+    // Helpers
+    // ================================================================================================================
+
+    /**
+     * Builds a {@link CloseableHttpClient} backed by a {@link PoolingHttpClientConnectionManager},
+     * registering the pool metrics in the given {@code meterRegistry}.
+     *
+     * @param service       The name of the service the client communicates with (used to tag the metrics).
+     * @param properties    The {@link HttpClientProperties} used to configure the client.
+     * @param meterRegistry The {@link MeterRegistry} in which the pool metrics are registered.
+     * @return The created {@link CloseableHttpClient}.
+     */
+    private static CloseableHttpClient pooledHttpClient(
+            final String service,
+            final HttpClientProperties properties,
+            final MeterRegistry meterRegistry) {
+        final var connectionManager = new PoolingHttpClientConnectionManager(
+                properties.getTimeToLive().toMillis(),
+                TimeUnit.MILLISECONDS
+        );
+        connectionManager.setMaxTotal(properties.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxConnectionsPerRoute());
+        connectionManager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+
+        registerPoolGauge(meterRegistry, service, "leased", connectionManager, PoolStats::getLeased);
+        registerPoolGauge(meterRegistry, service, "available", connectionManager, PoolStats::getAvailable);
+        registerPoolGauge(meterRegistry, service, "pending", connectionManager, PoolStats::getPending);
+        registerPoolGauge(meterRegistry, service, "max", connectionManager, PoolStats::getMax);
+
+        final var requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                .setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+                .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+                .build();
+        final var defaultKeepAlive = properties.getKeepAlive().toMillis();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> {
+                    final var keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                            .getKeepAliveDuration(response, context);
+                    return keepAlive > 0 ? keepAlive : defaultKeepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(properties.getMaxIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * Registers a {@link Gauge} reporting a value of the given {@code connectionManager} total {@link PoolStats}.
+     *
+     * @param meterRegistry     The {@link MeterRegistry} in which the gauge is registered.
+     * @param service           The name of the service the pool belongs to.
+     * @param state             The state of the connections being reported.
+     * @param connectionManager The {@link PoolingHttpClientConnectionManager} being reported.
+     * @param value             A {@link ToDoubleFunction} that extracts the reported value from the {@link PoolStats}.
+     */
+    private static void registerPoolGauge(
+            final MeterRegistry meterRegistry,
+            final String service,
+            final String state,
+            final PoolingHttpClientConnectionManager connectionManager,
+            final ToDoubleFunction<PoolStats> value) {
+        Gauge.builder("http.client.pool.connections", connectionManager, m -> value.applyAsDouble(m.getTotalStats()))
+                .description("Connections of the pool used to communicate with an internal service")
+                .tag("service", service)
+                .tag("state", state)
+                .register(meterRegistry);
     }
 
 
+    // ================================================================================================================
+    // Properties
+    // ================================================================================================================
+
     @Data
     @ConfigurationProperties("evaluations-service")
     public static final class EvaluationsServiceProperties {
@@ -43,6 +200,51 @@ public class RestExternalCepServicesConfig {
          * The base url where the Evaluations service is serving.
          */
         private String baseUrl = "http://evaluations-service/";
+        /**
+         * The {@link HttpClientProperties} used to configure the HTTP client.
+         */
+        private HttpClientProperties httpClient = new HttpClientProperties();
+        /**
+         * The {@link HedgingProperties} used to configure the hedging of exam lookups.
+         */
+        private HedgingProperties hedging = new HedgingProperties();
+
+
+        /**
+         * Properties needed to configure the hedging of exam lookups
+         * (i.e sending a duplicate request when the first one takes longer than usual).
+         */
+        @Data
+        public static final class HedgingProperties {
+            /**
+             * Indicates whether exam lookups are hedged.
+             */
+            private boolean enabled = false;
+            /**
+             * The latency percentile after which the duplicate request is sent.
+             */
+            private double percentile = 0.95;
+            /**
+             * The min. time to wait before sending the duplicate request.
+             */
+            private Duration minDelay = Duration.ofMillis(50);
+            /**
+             * The min. amount of recorded latencies needed to start hedging.
+             */
+            private int minSamples = 20;
+            /**
+             * The amount of latest latencies used to estimate the percentile.
+             */
+            private int window = 256;
+            /**
+             * The max. amount of exam lookups performed concurrently.
+             */
+            private int concurrency = 16;
+            /**
+             * The max. amount of exam lookups waiting to be performed.
+             */
+            private int queueCapacity = 100;
+        }
     }
 
     @Data
@@ -52,5 +254,52 @@ public class RestExternalCepServicesConfig {
          * The base url where the Tokens service is serving.
          */
         private String baseUrl = "http://users-service/";
+        /**
+         * The {@link HttpClientProperties} used to configure the HTTP client.
+         */
+        private HttpClientProperties httpClient = new HttpClientProperties();
+    }
+
+    /**
+     * Properties needed to configure the pooled HTTP client used to communicate with an internal service.
+     */
+    @Data
+    public static final class HttpClientProperties {
+        /**
+         * The max. amount of connections in the pool.
+         */
+        private int maxConnections = 200;
+        /**
+         * The max. amount of connections in the pool to the same service instance.
+         */
+        private int maxConnectionsPerRoute = 50;
+        /**
+         * The max. time to wait for a connection to be established.
+         */
+        private Duration connectTimeout = Duration.ofSeconds(1);
+        /**
+         * The max. time to wait for a connection from the pool.
+         */
+        private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+        /**
+         * The max. time to wait for data once the connection is established.
+         */
+        private Duration readTimeout = Duration.ofSeconds(5);
+        /**
+         * The time a connection is kept alive when the service does not indicate it.
+         */
+        private Duration keepAlive = Duration.ofSeconds(30);
+        /**
+         * The time after which idle connections are evicted from the pool.
+         */
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        /**
+         * The max. time a connection is kept in the pool, regardless of its activity.
+         */
+        private Duration timeToLive = Duration.ofMinutes(5);
+        /**
+         * The time of inactivity after which a pooled connection is validated before being reused.
+         */
+        private Duration validateAfterInactivity = Duration.ofSeconds(2);
     }
 }
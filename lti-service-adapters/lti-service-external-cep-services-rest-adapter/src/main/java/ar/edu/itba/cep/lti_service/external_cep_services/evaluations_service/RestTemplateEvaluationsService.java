@@ -3,6 +3,9 @@ package ar.edu.itba.cep.lti_service.external_cep_services.evaluations_service;
 import ar.edu.itba.cep.lti_service.external_cep_services.Constants;
 import ar.edu.itba.cep.lti_service.external_cep_services.config.RestExternalCepServicesConfig;
 import com.bellotapps.webapps_commons.exceptions.ExternalServiceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 import org.springframework.web.client.HttpClientErrorException;
@@ -11,8 +14,11 @@ import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A port out of the application that allows sending requests to the evaluations service.
@@ -20,8 +26,15 @@ import java.util.Optional;
 @Component
 public class RestTemplateEvaluationsService implements EvaluationsService {
 
+    /**
+     * The {@link Logger}.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(RestTemplateEvaluationsService.class);
+
     private static final String EXAMS_PATH = "/exams";
     private static final String EXAM_ID_VARIABLE = "examId";
+    private static final String CHANGES_PATH = "/changes";
+    private static final String SINCE_PARAM = "since";
 
     /**
      * The {@link RestTemplate} used to communicate with the evaluations service.
@@ -32,37 +45,110 @@ public class RestTemplateEvaluationsService implements EvaluationsService {
      * concrete url.
      */
     private final UriComponents examByIdUri;
+    /**
+     * An {@link UriComponents} instance with the url from where the exams changes are retrieved.
+     */
+    private final UriComponents examsChangesUri;
+    /**
+     * The {@link Executor} in which hedged exam lookups are performed.
+     */
+    private final Executor hedgingExecutor;
+    /**
+     * The {@link RestExternalCepServicesConfig.EvaluationsServiceProperties.HedgingProperties}
+     * used to configure the hedging of exam lookups.
+     */
+    private final RestExternalCepServicesConfig.EvaluationsServiceProperties.HedgingProperties hedging;
+    /**
+     * The {@link LatencyTracker} with the latencies of the latest exam lookups.
+     */
+    private final LatencyTracker latencyTracker;
 
 
     /**
      * Constructor.
      *
-     * @param loadBalancedRestTemplate The {@link RestTemplate} used to communicate with the evaluations service.
-     * @param properties               An {@link RestExternalCepServicesConfig.EvaluationsServiceProperties} instance used to get
-     *                                 the evaluations service's base url.
+     * @param restTemplate    The {@link RestTemplate} used to communicate with the evaluations service.
+     * @param hedgingExecutor The {@link Executor} in which hedged exam lookups are performed.
+     * @param properties      An {@link RestExternalCepServicesConfig.EvaluationsServiceProperties} instance used to get
+     *                        the evaluations service's base url.
      */
     public RestTemplateEvaluationsService(
-            final RestTemplate loadBalancedRestTemplate,
+            @Qualifier("evaluationsServiceRestTemplate") final RestTemplate restTemplate,
+            @Qualifier("evaluationsServiceHedgingExecutor") final Executor hedgingExecutor,
             final RestExternalCepServicesConfig.EvaluationsServiceProperties properties) {
         Assert.notNull(properties, "The properties instance must not be null");
         Assert.hasText(properties.getBaseUrl(), "The evaluations service's base url must not be blank");
-        this.restTemplate = loadBalancedRestTemplate;
+        this.restTemplate = restTemplate;
+        this.hedgingExecutor = hedgingExecutor;
+        this.hedging = properties.getHedging();
+        this.latencyTracker = new LatencyTracker(hedging.getWindow());
         this.examByIdUri = UriComponentsBuilder.fromUriString(properties.getBaseUrl())
                 .path(Constants.INTERNAL_PATH)
                 .path(EXAMS_PATH)
                 .path("/{" + EXAM_ID_VARIABLE + "}")
                 .build()
         ;
-
+        this.examsChangesUri = UriComponentsBuilder.fromUriString(properties.getBaseUrl())
+                .path(Constants.INTERNAL_PATH)
+                .path(EXAMS_PATH)
+                .path(CHANGES_PATH)
+                .build()
+        ;
     }
 
 
     @Override
     public Optional<Exam> getExamById(final long id) throws ExternalServiceException {
+        if (!hedging.isEnabled()) {
+            return fetchExam(id);
+        }
+        final var delay = latencyTracker.percentile(hedging.getPercentile(), hedging.getMinSamples())
+                .map(percentile -> percentile.compareTo(hedging.getMinDelay()) > 0
+                        ? percentile
+                        : hedging.getMinDelay());
+        if (delay.isEmpty()) {
+            return fetchExam(id);
+        }
+        return hedgedFetchExam(id, delay.get());
+    }
+
+    @Override
+    public ExamChanges getExamsChangedSince(final String cursor) throws ExternalServiceException {
+        final var uriBuilder = UriComponentsBuilder.newInstance().uriComponents(examsChangesUri);
+        Optional.ofNullable(cursor).ifPresent(since -> uriBuilder.queryParam(SINCE_PARAM, since));
+        final URI uri = uriBuilder.encode().build().toUri();
+        try {
+            return Optional.ofNullable(restTemplate.getForObject(uri, ExamChangesDto.class))
+                    .map(ExamChangesDto::toModel)
+                    .orElseThrow(() -> new IllegalStateException("Empty changes response"));
+        } catch (final Throwable e) {
+            throw new ExternalServiceException(
+                    "evaluations-service", "Unexpected error when communicating with the evaluations service", e
+            );
+        }
+    }
+
+
+    // ================================================================================================================
+    // Helpers
+    // ================================================================================================================
+
+    /**
+     * Retrieves the {@link Exam} with the given {@code id}, recording the latency of the request.
+     *
+     * @param id The id of the {@link Exam} to be retrieved.
+     * @return An {@link Optional} containing the {@link Exam} if it exists, or empty otherwise.
+     * @throws ExternalServiceException If there is any issue when communicating with the evaluations service.
+     */
+    private Optional<Exam> fetchExam(final long id) throws ExternalServiceException {
         final URI uri = examByIdUri.expand(Map.of(EXAM_ID_VARIABLE, id)).toUri();
+        final var start = System.nanoTime();
         try {
-            return Optional.ofNullable(restTemplate.getForObject(uri, ExamDto.class)).map(ExamDto::toModel);
+            final var exam = Optional.ofNullable(restTemplate.getForObject(uri, ExamDto.class)).map(ExamDto::toModel);
+            latencyTracker.record(Duration.ofNanos(System.nanoTime() - start));
+            return exam;
         } catch (final HttpClientErrorException.NotFound notFound) {
+            latencyTracker.record(Duration.ofNanos(System.nanoTime() - start));
             return Optional.empty();
         } catch (final Throwable e) {
             throw new ExternalServiceException(
@@ -70,4 +156,94 @@ public class RestTemplateEvaluationsService implements EvaluationsService {
             );
         }
     }
+
+    /**
+     * Retrieves the {@link Exam} with the given {@code id}, sending a duplicate request if the first one
+     * did not complete after the given {@code delay}. The first successful response is returned.
+     *
+     * @param id    The id of the {@link Exam} to be retrieved.
+     * @param delay The time to wait before sending the duplicate request.
+     * @return An {@link Optional} containing the {@link Exam} if it exists, or empty otherwise.
+     * @throws ExternalServiceException If there is any issue when communicating with the evaluations service.
+     */
+    private Optional<Exam> hedgedFetchExam(final long id, final Duration delay) throws ExternalServiceException {
+        final CompletableFuture<Optional<Exam>> primary;
+        try {
+            primary = CompletableFuture.supplyAsync(() -> fetchExam(id), hedgingExecutor);
+        } catch (final RejectedExecutionException e) {
+            return fetchExam(id);
+        }
+        try {
+            return primary.get(delay.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException e) {
+            LOGGER.debug("Exam {} lookup took longer than {}. Sending a duplicate request", id, delay);
+        } catch (final ExecutionException e) {
+            throw toExternalServiceException(e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw toExternalServiceException(e);
+        }
+        final CompletableFuture<Optional<Exam>> hedge;
+        try {
+            hedge = CompletableFuture.supplyAsync(() -> fetchExam(id), hedgingExecutor);
+        } catch (final RejectedExecutionException e) {
+            return join(primary);
+        }
+        return join(firstSuccessful(primary, hedge));
+    }
+
+    /**
+     * Creates a {@link CompletableFuture} that completes with the result of the first of the given {@code futures}
+     * that completes successfully, or exceptionally if all of them fail.
+     *
+     * @param futures The {@link CompletableFuture}s.
+     * @param <T>     The concrete type of the result.
+     * @return The created {@link CompletableFuture}.
+     */
+    @SafeVarargs
+    private static <T> CompletableFuture<T> firstSuccessful(final CompletableFuture<T>... futures) {
+        final var result = new CompletableFuture<T>();
+        final var remaining = new AtomicInteger(futures.length);
+        for (final var future : futures) {
+            future.whenComplete((value, error) -> {
+                if (error == null) {
+                    result.complete(value);
+                } else if (remaining.decrementAndGet() == 0) {
+                    result.completeExceptionally(error);
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Waits for the given {@code future} to complete, unwrapping the exception it completed with (if any).
+     *
+     * @param future The {@link CompletableFuture} to wait for.
+     * @param <T>    The concrete type of the result.
+     * @return The result of the {@code future}.
+     * @throws ExternalServiceException If the {@code future} completed exceptionally.
+     */
+    private static <T> T join(final CompletableFuture<T> future) throws ExternalServiceException {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            throw toExternalServiceException(e.getCause());
+        }
+    }
+
+    /**
+     * Converts the given {@code error} into an {@link ExternalServiceException}.
+     *
+     * @param error The error to be converted.
+     * @return The {@code error} itself if it is an {@link ExternalServiceException}, or one wrapping it otherwise.
+     */
+    private static ExternalServiceException toExternalServiceException(final Throwable error) {
+        if (error instanceof ExternalServiceException) {
+            return (ExternalServiceException) error;
+        }
+        return new ExternalServiceException(
+                "evaluations-service", "Unexpected error when communicating with the evaluations service", error
+        );
+    }
 }
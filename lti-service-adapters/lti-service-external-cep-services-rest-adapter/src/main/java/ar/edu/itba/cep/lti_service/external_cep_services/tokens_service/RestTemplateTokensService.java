@@ -4,6 +4,7 @@ import ar.edu.itba.cep.lti_service.external_cep_services.Constants;
 import ar.edu.itba.cep.lti_service.external_cep_services.config.RestExternalCepServicesConfig;
 import ar.edu.itba.cep.roles.Role;
 import com.bellotapps.webapps_commons.exceptions.ExternalServiceException;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 import org.springframework.web.client.RestTemplate;
@@ -34,16 +35,16 @@ public class RestTemplateTokensService implements TokensService {
     /**
      * Constructor.
      *
-     * @param loadBalancedRestTemplate The {@link RestTemplate} used to communicate with the evaluations service.
+     * @param restTemplate             The {@link RestTemplate} used to communicate with the tokens service.
      * @param properties               An {@link RestExternalCepServicesConfig.EvaluationsServiceProperties} instance used to get
      *                                 the evaluations service's base url.
      */
     public RestTemplateTokensService(
-            final RestTemplate loadBalancedRestTemplate,
+            @Qualifier("tokensServiceRestTemplate") final RestTemplate restTemplate,
             final RestExternalCepServicesConfig.TokensServiceProperties properties) {
         Assert.notNull(properties, "The properties instance must not be null");
         Assert.hasText(properties.getBaseUrl(), "The evaluations service's base url must not be blank");
-        this.restTemplate = loadBalancedRestTemplate;
+        this.restTemplate = restTemplate;
         this.internalTokensUri = UriComponentsBuilder.fromUriString(properties.getBaseUrl())
                 .path(Constants.INTERNAL_PATH)
                 .path(TOKENS_PATH)
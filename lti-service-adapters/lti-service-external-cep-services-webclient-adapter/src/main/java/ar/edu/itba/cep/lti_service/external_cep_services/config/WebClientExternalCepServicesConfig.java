@@ -0,0 +1,181 @@
+package ar.edu.itba.cep.lti_service.external_cep_services.config;
+
+import io.netty.channel.ChannelOption;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the {@link WebClient} External CEP Services.
+ */
+@Configuration
+@ComponentScan(basePackages = {
+        "ar.edu.itba.cep.lti_service.external_cep_services.webclient"
+})
+@EnableConfigurationProperties({
+        WebClientExternalCepServicesConfig.EvaluationsServiceProperties.class,
+        WebClientExternalCepServicesConfig.TokensServiceProperties.class,
+})
+public class WebClientExternalCepServicesConfig {
+
+    /**
+     * A load balanced {@link WebClient.Builder}.
+     *
+     * @return The created {@link WebClient.Builder}.
+     */
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder loadBalancedWebClientBuilder() {
+        return WebClient.builder();
+    }
+
+    /**
+     * The {@link WebClient} used to communicate with the evaluations service.
+     *
+     * @param loadBalancedWebClientBuilder The load balanced {@link WebClient.Builder}.
+     * @param properties                   The {@link EvaluationsServiceProperties} used to configure the client.
+     * @return The created {@link WebClient}.
+     */
+    @Bean
+    public WebClient evaluationsServiceWebClient(
+            final WebClient.Builder loadBalancedWebClientBuilder,
+            final EvaluationsServiceProperties properties) {
+        return webClient("evaluations-service", loadBalancedWebClientBuilder, properties.getBaseUrl(), properties);
+    }
+
+    /**
+     * The {@link WebClient} used to communicate with the tokens service.
+     *
+     * @param loadBalancedWebClientBuilder The load balanced {@link WebClient.Builder}.
+     * @param properties                   The {@link TokensServiceProperties} used to configure the client.
+     * @return The created {@link WebClient}.
+     */
+    @Bean
+    public WebClient tokensServiceWebClient(
+            final WebClient.Builder loadBalancedWebClientBuilder,
+            final TokensServiceProperties properties) {
+        return webClient("tokens-service", loadBalancedWebClientBuilder, properties.getBaseUrl(), properties);
+    }
+
+
+    /**
+     * Builds a {@link WebClient} with its own connection pool.
+     *
+     * @param service    The name of the service the client communicates with (used to name the pool).
+     * @param builder    The {@link WebClient.Builder} to be used (it is cloned before being configured).
+     * @param baseUrl    The base url of the service.
+     * @param properties The {@link ClientProperties} used to configure the client.
+     * @return The created {@link WebClient}.
+     */
+    private static WebClient webClient(
+            final String service,
+            final WebClient.Builder builder,
+            final String baseUrl,
+            final ClientProperties properties) {
+        final var connectionProvider = ConnectionProvider.fixed(
+                service,
+                properties.getMaxConnections(),
+                properties.getPendingAcquireTimeout().toMillis()
+        );
+        final var httpClient = HttpClient.create(connectionProvider)
+                .tcpConfiguration(tcpClient -> tcpClient.option(
+                        ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                        (int) properties.getConnectTimeout().toMillis()
+                ));
+        return builder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+
+    /**
+     * Properties needed to configure a {@link WebClient}.
+     */
+    @Data
+    public static class ClientProperties {
+        /**
+         * The max. amount of connections in the pool (i.e the max. amount of in-flight requests).
+         */
+        private int maxConnections = 1000;
+        /**
+         * The max. time to wait for a connection from the pool.
+         */
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(1);
+        /**
+         * The max. time to wait for a connection to be established.
+         */
+        private Duration connectTimeout = Duration.ofSeconds(1);
+        /**
+         * The max. time to wait for a response.
+         */
+        private Duration responseTimeout = Duration.ofSeconds(5);
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    @ToString(callSuper = true)
+    @ConfigurationProperties("evaluations-service")
+    public static final class EvaluationsServiceProperties extends ClientProperties {
+        /**
+         * The base url where the Evaluations service is serving.
+         */
+        private String baseUrl = "http://evaluations-service/";
+        /**
+         * The {@link HedgingProperties} used to configure the hedging of exam lookups.
+         */
+        private HedgingProperties hedging = new HedgingProperties();
+
+
+        /**
+         * Properties needed to configure the hedging of exam lookups
+         * (i.e sending a duplicate request when the first one takes longer than usual).
+         */
+        @Data
+        public static final class HedgingProperties {
+            /**
+             * Indicates whether exam lookups are hedged.
+             */
+            private boolean enabled = false;
+            /**
+             * The latency percentile after which the duplicate request is sent.
+             */
+            private double percentile = 0.95;
+            /**
+             * The min. time to wait before sending the duplicate request.
+             */
+            private Duration minDelay = Duration.ofMillis(50);
+            /**
+             * The min. amount of recorded latencies needed to start hedging.
+             */
+            private int minSamples = 20;
+            /**
+             * The amount of latest latencies used to estimate the percentile.
+             */
+            private int window = 256;
+        }
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    @ToString(callSuper = true)
+    @ConfigurationProperties("tokens-service")
+    public static final class TokensServiceProperties extends ClientProperties {
+        /**
+         * The base url where the Tokens service is serving.
+         */
+        private String baseUrl = "http://users-service/";
+    }
+}
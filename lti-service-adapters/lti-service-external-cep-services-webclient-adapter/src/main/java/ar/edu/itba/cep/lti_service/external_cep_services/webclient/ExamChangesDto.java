@@ -0,0 +1,44 @@
+package ar.edu.itba.cep.lti_service.external_cep_services.webclient;
+
+import ar.edu.itba.cep.lti_service.external_cep_services.evaluations_service.Exam;
+import ar.edu.itba.cep.lti_service.external_cep_services.evaluations_service.ExamChanges;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.Value;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Data transfer object used to receive {@link ExamChanges} data.
+ */
+@Value
+@NoArgsConstructor(force = true, access = AccessLevel.PRIVATE)
+@JsonIgnoreProperties(ignoreUnknown = true)
+/* package */ class ExamChangesDto {
+
+    /**
+     * The exams that changed.
+     */
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private final List<ExamDto> exams;
+    /**
+     * The cursor to be used to retrieve the next changes.
+     */
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private final String cursor;
+
+    /**
+     * Maps {@code this} instance into an {@link ExamChanges}.
+     *
+     * @return The created {@link ExamChanges}.
+     */
+    /* package */ ExamChanges toModel() {
+        final var changed = exams == null ? List.<Exam>of() : exams.stream()
+                .map(ExamDto::toModel)
+                .collect(Collectors.toList());
+        return new ExamChanges(changed, cursor);
+    }
+}
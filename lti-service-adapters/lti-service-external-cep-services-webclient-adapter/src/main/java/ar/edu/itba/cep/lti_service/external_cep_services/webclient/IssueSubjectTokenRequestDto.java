@@ -0,0 +1,25 @@
+package ar.edu.itba.cep.lti_service.external_cep_services.webclient;
+
+import ar.edu.itba.cep.roles.Role;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * A Data Transfer Object with the needed information to issue a new token.
+ */
+@Value
+/* package */ class IssueSubjectTokenRequestDto {
+
+    /**
+     * The subject to which the token is issued.
+     */
+    @JsonProperty(value = "subject", access = JsonProperty.Access.READ_ONLY)
+    private final String subject;
+    /**
+     * The roles to be assigned.
+     */
+    @JsonProperty(value = "roles", access = JsonProperty.Access.READ_ONLY)
+    private final Set<Role> roles;
+}
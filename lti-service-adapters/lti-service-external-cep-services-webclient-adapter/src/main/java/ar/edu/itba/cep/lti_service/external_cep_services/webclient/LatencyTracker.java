@@ -0,0 +1,72 @@
+package ar.edu.itba.cep.lti_service.external_cep_services.webclient;
+
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Keeps the latencies of the latest requests sent to a service in order to estimate its percentiles.
+ */
+/* package */ final class LatencyTracker {
+
+    /**
+     * A ring buffer with the latest latencies (in nanoseconds).
+     */
+    private final long[] latencies;
+    /**
+     * The position in which the next latency is stored.
+     */
+    private int next;
+    /**
+     * The amount of latencies stored in the buffer.
+     */
+    private int size;
+
+
+    /**
+     * Constructor.
+     *
+     * @param window The amount of latencies to be kept.
+     */
+    /* package */ LatencyTracker(final int window) {
+        Assert.isTrue(window > 0, "The window must be positive");
+        this.latencies = new long[window];
+        this.next = 0;
+        this.size = 0;
+    }
+
+
+    /**
+     * Records the given {@code latency}.
+     *
+     * @param latency The latency to be recorded.
+     */
+    /* package */ synchronized void record(final Duration latency) {
+        latencies[next] = latency.toNanos();
+        next = (next + 1) % latencies.length;
+        size = Math.min(size + 1, latencies.length);
+    }
+
+    /**
+     * Estimates the given {@code percentile} of the recorded latencies.
+     *
+     * @param percentile The percentile to be estimated (between 0 and 1).
+     * @param minSamples The min. amount of recorded latencies needed to estimate the percentile.
+     * @return An {@link Optional} containing the estimated percentile,
+     * or empty if there are less than {@code minSamples} recorded latencies.
+     */
+    /* package */ Optional<Duration> percentile(final double percentile, final int minSamples) {
+        final long[] samples;
+        synchronized (this) {
+            if (size == 0 || size < minSamples) {
+                return Optional.empty();
+            }
+            samples = Arrays.copyOf(latencies, size);
+        }
+        Arrays.sort(samples);
+        final var index = (int) Math.ceil(percentile * samples.length) - 1;
+        return Optional.of(Duration.ofNanos(samples[Math.max(0, Math.min(index, samples.length - 1))]));
+    }
+}
@@ -0,0 +1,39 @@
+package ar.edu.itba.cep.lti_service.external_cep_services.webclient;
+
+import com.bellotapps.webapps_commons.exceptions.ExternalServiceException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Helper class used by the blocking methods of the {@link org.springframework.web.reactive.function.client.WebClient}
+ * adapters, which wait for their non-blocking counterparts.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+/* package */ final class WebClientAwaitHelper {
+
+    /**
+     * Waits for the given {@code stage} to complete.
+     *
+     * @param stage       The {@link CompletionStage} to be waited for.
+     * @param serviceName The name of the service being accessed (used to report unexpected failures).
+     * @param <T>         The concrete type of the result.
+     * @return The result of the {@link CompletionStage}.
+     * @throws ExternalServiceException If the {@link CompletionStage} completed exceptionally.
+     */
+    /* package */
+    static <T> T await(final CompletionStage<T> stage, final String serviceName) throws ExternalServiceException {
+        try {
+            return stage.toCompletableFuture().join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof ExternalServiceException) {
+                throw (ExternalServiceException) e.getCause();
+            }
+            throw new ExternalServiceException(
+                    serviceName, "Unexpected error when waiting for the service", e.getCause()
+            );
+        }
+    }
+}
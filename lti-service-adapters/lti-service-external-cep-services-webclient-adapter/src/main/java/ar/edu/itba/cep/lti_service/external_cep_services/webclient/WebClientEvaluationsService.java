@@ -0,0 +1,158 @@
+package ar.edu.itba.cep.lti_service.external_cep_services.webclient;
+
+import ar.edu.itba.cep.lti_service.external_cep_services.config.WebClientExternalCepServicesConfig;
+import ar.edu.itba.cep.lti_service.external_cep_services.evaluations_service.EvaluationsService;
+import ar.edu.itba.cep.lti_service.external_cep_services.evaluations_service.Exam;
+import ar.edu.itba.cep.lti_service.external_cep_services.evaluations_service.ExamChanges;
+import com.bellotapps.webapps_commons.exceptions.ExternalServiceException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * An {@link EvaluationsService} that sends non-blocking requests to the evaluations service using a {@link WebClient}.
+ */
+@Component
+public class WebClientEvaluationsService implements EvaluationsService {
+
+    private static final String SERVICE_NAME = "evaluations-service";
+    private static final String EXAM_BY_ID_PATH = "/internal/exams/{examId}";
+    private static final String EXAMS_CHANGES_PATH = "/internal/exams/changes";
+    private static final String SINCE_PARAM = "since";
+
+    /**
+     * The {@link WebClient} used to communicate with the evaluations service.
+     */
+    private final WebClient webClient;
+    /**
+     * The max. time to wait for a response.
+     */
+    private final Duration responseTimeout;
+    /**
+     * The {@link WebClientExternalCepServicesConfig.EvaluationsServiceProperties.HedgingProperties}
+     * used to configure the hedging of exam lookups.
+     */
+    private final WebClientExternalCepServicesConfig.EvaluationsServiceProperties.HedgingProperties hedging;
+    /**
+     * The {@link LatencyTracker} with the latencies of the latest exam lookups.
+     */
+    private final LatencyTracker latencyTracker;
+
+
+    /**
+     * Constructor.
+     *
+     * @param webClient  The {@link WebClient} used to communicate with the evaluations service.
+     * @param properties An {@link WebClientExternalCepServicesConfig.EvaluationsServiceProperties} instance
+     *                   used to configure the requests.
+     */
+    public WebClientEvaluationsService(
+            @Qualifier("evaluationsServiceWebClient") final WebClient webClient,
+            final WebClientExternalCepServicesConfig.EvaluationsServiceProperties properties) {
+        Assert.notNull(properties, "The properties instance must not be null");
+        this.webClient = webClient;
+        this.responseTimeout = properties.getResponseTimeout();
+        this.hedging = properties.getHedging();
+        this.latencyTracker = new LatencyTracker(hedging.getWindow());
+    }
+
+
+    @Override
+    public Optional<Exam> getExamById(final long id) throws ExternalServiceException {
+        return WebClientAwaitHelper.await(getExamByIdAsync(id), SERVICE_NAME);
+    }
+
+    @Override
+    public CompletionStage<Optional<Exam>> getExamByIdAsync(final long id) {
+        if (!hedging.isEnabled()) {
+            return fetchExam(id).toFuture();
+        }
+        return latencyTracker.percentile(hedging.getPercentile(), hedging.getMinSamples())
+                .map(percentile -> percentile.compareTo(hedging.getMinDelay()) > 0 ? percentile : hedging.getMinDelay())
+                .map(delay -> hedgedFetchExam(id, delay))
+                .orElseGet(() -> fetchExam(id))
+                .toFuture();
+    }
+
+    @Override
+    public ExamChanges getExamsChangedSince(final String cursor) throws ExternalServiceException {
+        final var changes = webClient.get()
+                .uri(uriBuilder -> {
+                    uriBuilder.path(EXAMS_CHANGES_PATH);
+                    Optional.ofNullable(cursor).ifPresent(since -> uriBuilder.queryParam(SINCE_PARAM, since));
+                    return uriBuilder.build();
+                })
+                .retrieve()
+                .bodyToMono(ExamChangesDto.class)
+                .map(ExamChangesDto::toModel)
+                .switchIfEmpty(Mono.defer(() -> Mono.error(new IllegalStateException("Empty changes response"))))
+                .timeout(responseTimeout)
+                .onErrorMap(WebClientEvaluationsService::wrap)
+                .toFuture();
+        return WebClientAwaitHelper.await(changes, SERVICE_NAME);
+    }
+
+
+    /**
+     * Creates a {@link Mono} that retrieves the {@link Exam} with the given {@code id} when subscribed,
+     * recording the latency of the request.
+     *
+     * @param id The id of the {@link Exam} to be retrieved.
+     * @return A {@link Mono} that emits an {@link Optional} containing the {@link Exam} if it exists,
+     * or empty otherwise.
+     */
+    private Mono<Optional<Exam>> fetchExam(final long id) {
+        return Mono.defer(() -> {
+            final var start = System.nanoTime();
+            return webClient.get()
+                    .uri(EXAM_BY_ID_PATH, id)
+                    .retrieve()
+                    .bodyToMono(ExamDto.class)
+                    .map(ExamDto::toModel)
+                    .map(Optional::of)
+                    .onErrorResume(WebClientResponseException.NotFound.class, notFound -> Mono.empty())
+                    .defaultIfEmpty(Optional.empty())
+                    .timeout(responseTimeout)
+                    .doOnSuccess(exam -> latencyTracker.record(Duration.ofNanos(System.nanoTime() - start)))
+                    .onErrorMap(WebClientEvaluationsService::wrap);
+        });
+    }
+
+    /**
+     * Creates a {@link Mono} that retrieves the {@link Exam} with the given {@code id}, sending a duplicate request
+     * if the first one did not complete after the given {@code delay}. The first response is used,
+     * unless it is the duplicate's and it failed (in which case the first request's response is used).
+     * No thread is blocked while waiting for the delay or for the responses.
+     *
+     * @param id    The id of the {@link Exam} to be retrieved.
+     * @param delay The time to wait before sending the duplicate request.
+     * @return A {@link Mono} that emits an {@link Optional} containing the {@link Exam} if it exists,
+     * or empty otherwise.
+     */
+    private Mono<Optional<Exam>> hedgedFetchExam(final long id, final Duration delay) {
+        final var primary = fetchExam(id).cache();
+        final var hedge = Mono.delay(delay).then(fetchExam(id)).onErrorResume(e -> primary);
+        return Mono.first(primary, hedge);
+    }
+
+    /**
+     * Wraps the given {@code throwable} into an {@link ExternalServiceException}.
+     *
+     * @param throwable The {@link Throwable} to be wrapped.
+     * @return The created {@link ExternalServiceException}.
+     */
+    private static ExternalServiceException wrap(final Throwable throwable) {
+        return new ExternalServiceException(
+                SERVICE_NAME,
+                "Unexpected error when communicating with the evaluations service",
+                throwable
+        );
+    }
+}
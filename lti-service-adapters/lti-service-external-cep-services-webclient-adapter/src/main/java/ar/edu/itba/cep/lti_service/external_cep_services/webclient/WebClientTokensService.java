@@ -0,0 +1,76 @@
+package ar.edu.itba.cep.lti_service.external_cep_services.webclient;
+
+import ar.edu.itba.cep.lti_service.external_cep_services.config.WebClientExternalCepServicesConfig;
+import ar.edu.itba.cep.lti_service.external_cep_services.tokens_service.TokenData;
+import ar.edu.itba.cep.lti_service.external_cep_services.tokens_service.TokensService;
+import ar.edu.itba.cep.roles.Role;
+import com.bellotapps.webapps_commons.exceptions.ExternalServiceException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A {@link TokensService} that sends non-blocking requests to the tokens service using a {@link WebClient}.
+ */
+@Component
+public class WebClientTokensService implements TokensService {
+
+    private static final String SERVICE_NAME = "tokens-service";
+    private static final String TOKENS_PATH = "/internal/tokens";
+
+    /**
+     * The {@link WebClient} used to communicate with the tokens service.
+     */
+    private final WebClient webClient;
+    /**
+     * The max. time to wait for a response.
+     */
+    private final Duration responseTimeout;
+
+
+    /**
+     * Constructor.
+     *
+     * @param webClient  The {@link WebClient} used to communicate with the tokens service.
+     * @param properties An {@link WebClientExternalCepServicesConfig.TokensServiceProperties} instance
+     *                   used to configure the requests.
+     */
+    public WebClientTokensService(
+            @Qualifier("tokensServiceWebClient") final WebClient webClient,
+            final WebClientExternalCepServicesConfig.TokensServiceProperties properties) {
+        Assert.notNull(properties, "The properties instance must not be null");
+        this.webClient = webClient;
+        this.responseTimeout = properties.getResponseTimeout();
+    }
+
+
+    @Override
+    public Optional<TokenData> tokenFor(final String subject, final Set<Role> roles) throws ExternalServiceException {
+        return WebClientAwaitHelper.await(tokenForAsync(subject, roles), SERVICE_NAME);
+    }
+
+    @Override
+    public CompletionStage<Optional<TokenData>> tokenForAsync(final String subject, final Set<Role> roles) {
+        return webClient.post()
+                .uri(TOKENS_PATH)
+                .syncBody(new IssueSubjectTokenRequestDto(subject, roles))
+                .retrieve()
+                .bodyToMono(TokenDataDto.class)
+                .map(TokenDataDto::toTokenData)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .timeout(responseTimeout)
+                .onErrorMap(e -> new ExternalServiceException(
+                        SERVICE_NAME,
+                        "Unexpected error when communicating with the tokens service (part of the users service)",
+                        e
+                ))
+                .toFuture();
+    }
+}
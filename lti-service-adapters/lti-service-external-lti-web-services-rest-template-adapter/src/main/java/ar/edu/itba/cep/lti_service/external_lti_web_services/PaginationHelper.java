@@ -0,0 +1,44 @@
+package ar.edu.itba.cep.lti_service.external_lti_web_services;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpHeaders;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Helper class that allows going through the pages of the LTI services (which are linked with
+ * {@link HttpHeaders#LINK} headers).
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+/* package */ final class PaginationHelper {
+
+    /**
+     * A {@link Pattern} that matches the "next" page url in a {@link HttpHeaders#LINK} header.
+     */
+    private static final Pattern NEXT_PAGE_LINK_PATTERN = Pattern.compile("<([^>]*)>\\s*;\\s*rel=\"?next\"?");
+
+
+    /**
+     * Retrieves the url of the next page from the given {@code headers} (i.e from the {@link HttpHeaders#LINK} header).
+     *
+     * @param headers The {@link HttpHeaders} of a page response.
+     * @return An {@link Optional} containing the {@link URI} of the next page if there is one, or empty otherwise.
+     */
+    /* package */
+    static Optional<URI> nextPage(final HttpHeaders headers) {
+        return Optional.ofNullable(headers.get(HttpHeaders.LINK))
+                .orElse(List.of())
+                .stream()
+                .flatMap(link -> Arrays.stream(link.split(",")))
+                .map(NEXT_PAGE_LINK_PATTERN::matcher)
+                .filter(Matcher::find)
+                .map(matcher -> URI.create(matcher.group(1).trim()))
+                .findFirst();
+    }
+}
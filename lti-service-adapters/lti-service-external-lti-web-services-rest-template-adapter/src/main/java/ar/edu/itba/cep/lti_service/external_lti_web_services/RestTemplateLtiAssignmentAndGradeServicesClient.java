@@ -2,21 +2,35 @@ package ar.edu.itba.cep.lti_service.external_lti_web_services;
 
 import ar.edu.itba.cep.lti_service.external_lti_web_services.oauth2.OAuth2Client;
 import ar.edu.itba.cep.lti_service.models.ExamTaking;
+import ar.edu.itba.cep.lti_service.models.ToolDeployment;
 import com.bellotapps.webapps_commons.exceptions.ExternalServiceException;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import lombok.NoArgsConstructor;
 import lombok.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.net.URI;
 import java.text.MessageFormat;
 import java.time.Instant;
-import java.util.Map;
+import java.util.*;
 import java.util.function.Supplier;
 
 /**
@@ -27,12 +41,21 @@ import java.util.function.Supplier;
 public class RestTemplateLtiAssignmentAndGradeServicesClient implements LtiAssignmentAndGradeServicesClient {
 
     private static final String SCORE_SCOPE = "https://purl.imsglobal.org/spec/lti-ags/scope/score";
+    private static final String RESULT_READONLY_SCOPE = "https://purl.imsglobal.org/spec/lti-ags/scope/result.readonly";
+    private static final String LINE_ITEM_READONLY_SCOPE =
+            "https://purl.imsglobal.org/spec/lti-ags/scope/lineitem.readonly";
     private static final String STARTED_ACTIVITY_PROGRESS = "Started";
     private static final String COMPLETED_ACTIVITY_PROGRESS = "Completed";
     private static final String NOT_READY_GRADING_PROGRESS = "NotReady";
     private static final String FULLY_GRADED_GRADING_PROGRESS = "FullyGraded";
 
     private static final String URL_TEMPLATE = "{0}/scores";
+    private static final String RESULTS_PATH = "/results";
+    private static final MediaType RESULT_CONTAINER_MEDIA_TYPE =
+            MediaType.valueOf("application/vnd.ims.lis.v2.resultcontainer+json");
+    private static final MediaType LINE_ITEM_CONTAINER_MEDIA_TYPE =
+            MediaType.valueOf("application/vnd.ims.lis.v2.lineitemcontainer+json");
+    private static final String RESOURCE_ID_PARAM = "resource_id";
 
     /**
      * The {@link OAuth2Client} needed to get an authorization token that allows publishing scores.
@@ -42,45 +65,168 @@ public class RestTemplateLtiAssignmentAndGradeServicesClient implements LtiAssig
      * The {@link RestTemplate} used to communicate with the LMS.
      */
     private final RestTemplate restTemplate;
+    /**
+     * The {@link CircuitBreakerRegistry} from where the circuit breaker of each LMS is taken.
+     */
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
 
 
     @Override
-    public void publishScore(final ExamTaking examTaking, final int score) {
+    public void publishScore(final ExamTaking examTaking, final int score) throws ScorePublishingException {
         final String url = MessageFormat.format(URL_TEMPLATE, examTaking.getLineItemUrl());
         final var subject = examTaking.getSubject();
+        final var issuer = examTaking.getToolDeployment().getIssuer();
         try {
-            final var accessToken = getAccessToken(examTaking);
-            startGrade(accessToken, subject, url);
-            completeGrade(accessToken, subject, score, examTaking.getMaxScore(), url);
+            final var circuitBreaker = circuitBreakerRegistry.circuitBreaker(issuer);
+            oAuth2Client.withAccessToken(examTaking.getToolDeployment(), List.of(SCORE_SCOPE), accessToken -> {
+                startGrade(circuitBreaker, accessToken, subject, url);
+                completeGrade(circuitBreaker, accessToken, subject, score, examTaking.getMaxScore(), url);
+                return null;
+            });
         } catch (final Throwable e) {
-            throw new ExternalServiceException(
-                    examTaking.getToolDeployment().getIssuer(),
+            throw new ScorePublishingException(
+                    issuer,
                     "Could not communicate with the LMS",
-                    e);
+                    e,
+                    isRetryable(e));
+        }
+    }
+
+    @Override
+    public List<LineItemResult> getResults(final ToolDeployment toolDeployment, final String lineItemUrl)
+            throws ExternalServiceException {
+        final var issuer = toolDeployment.getIssuer();
+        try {
+            final var circuitBreaker = circuitBreakerRegistry.circuitBreaker(issuer);
+            final var results = new LinkedList<LineItemResult>();
+            final var visited = new HashSet<URI>();
+            final var firstPage = UriComponentsBuilder.fromUriString(lineItemUrl).path(RESULTS_PATH).toUriString();
+            var page = Optional.of(URI.create(firstPage));
+            while (page.isPresent() && visited.add(page.get())) {
+                final var url = page.get();
+                final var response = oAuth2Client.withAccessToken(
+                        toolDeployment,
+                        List.of(RESULT_READONLY_SCOPE),
+                        accessToken -> circuitBreaker.executeSupplier(() -> restTemplate.exchange(
+                                url,
+                                HttpMethod.GET,
+                                entity(RESULT_CONTAINER_MEDIA_TYPE, accessToken),
+                                ResultDto[].class
+                        ))
+                );
+                Optional.ofNullable(response.getBody())
+                        .map(Arrays::asList)
+                        .orElse(List.of())
+                        .stream()
+                        .map(ResultDto::toLineItemResult)
+                        .forEach(results::add);
+                page = PaginationHelper.nextPage(response.getHeaders());
+            }
+            return results;
+        } catch (final Throwable e) {
+            throw new ExternalServiceException(issuer, "Could not retrieve the results from the LMS", e);
+        }
+    }
+
+    @Override
+    public Optional<String> findLineItem(
+            final ToolDeployment toolDeployment,
+            final String lineItemsUrl,
+            final String resourceId) throws ExternalServiceException {
+        final var issuer = toolDeployment.getIssuer();
+        try {
+            final var circuitBreaker = circuitBreakerRegistry.circuitBreaker(issuer);
+            final var url = UriComponentsBuilder.fromUriString(lineItemsUrl)
+                    .queryParam(RESOURCE_ID_PARAM, resourceId)
+                    .build()
+                    .toUri();
+            final var response = oAuth2Client.withAccessToken(
+                    toolDeployment,
+                    List.of(LINE_ITEM_READONLY_SCOPE),
+                    accessToken -> circuitBreaker.executeSupplier(() -> restTemplate.exchange(
+                            url,
+                            HttpMethod.GET,
+                            entity(LINE_ITEM_CONTAINER_MEDIA_TYPE, accessToken),
+                            LineItemDto[].class
+                    ))
+            );
+            return Optional.ofNullable(response.getBody())
+                    .map(Arrays::asList)
+                    .orElse(List.of())
+                    .stream()
+                    .filter(lineItem -> resourceId.equals(lineItem.getResourceId()))
+                    .map(LineItemDto::getId)
+                    .filter(Objects::nonNull)
+                    .findFirst();
+        } catch (final Throwable e) {
+            throw new ExternalServiceException(issuer, "Could not retrieve the line-items from the LMS", e);
         }
+    }
 
+    @Override
+    public void prefetchAccessToken(final ToolDeployment toolDeployment) throws ExternalServiceException {
+        oAuth2Client.getAccessToken(toolDeployment, SCORE_SCOPE);
+    }
+
+    /**
+     * Indicates whether the given {@code throwable}, thrown when publishing a score,
+     * represents a transient failure.
+     * Server errors (5xx), "Request Timeout" (408), "Too Many Requests" (429), I/O errors (e.g timeouts)
+     * and calls rejected by an open circuit breaker are considered transient.
+     * The rest of client errors (4xx) and any other failure are considered permanent.
+     *
+     * @param throwable The {@link Throwable} to be checked.
+     * @return {@code true} if the publication can be retried, or {@code false} otherwise.
+     * @implNote The cause chain is inspected as the {@link OAuth2Client} wraps errors in an
+     * {@link ExternalServiceException}.
+     */
+    private static boolean isRetryable(final Throwable throwable) {
+        for (var cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpStatusCodeException) {
+                final var status = ((HttpStatusCodeException) cause).getStatusCode();
+                return status.is5xxServerError()
+                        || status == HttpStatus.REQUEST_TIMEOUT
+                        || status == HttpStatus.TOO_MANY_REQUESTS;
+            }
+            if (cause instanceof ResourceAccessException
+                    || cause instanceof IOException
+                    || cause instanceof CallNotPermittedException) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
-     * Retrieves an access token that allows publishing scores.
+     * Builds the {@link HttpEntity} of a GET request that accepts the given {@code mediaType},
+     * authorized with the given {@code accessToken}.
      *
-     * @param examTaking The {@link ExamTaking} that contains the
-     *                   {@link ar.edu.itba.cep.lti_service.models.ToolDeployment} needed by the {@link OAuth2Client}.
-     * @return The created access token.
+     * @param mediaType   The accepted {@link MediaType}.
+     * @param accessToken The access token.
+     * @return The created {@link HttpEntity}.
      */
-    private String getAccessToken(final ExamTaking examTaking) {
-        return oAuth2Client.getAccessToken(examTaking.getToolDeployment(), SCORE_SCOPE);
+    private static HttpEntity<?> entity(final MediaType mediaType, final String accessToken) {
+        final var headers = new HttpHeaders();
+        headers.setAccept(List.of(mediaType));
+        headers.setBearerAuth(accessToken);
+        return new HttpEntity<>(headers);
     }
 
     /**
      * Performs the start activity step of the grading process.
      *
-     * @param accessToken The access token that allows publishing scores.
-     * @param subject     The subject for which the score is being published.
-     * @param url         The url to which the score must be published.
+     * @param circuitBreaker The {@link CircuitBreaker} of the LMS.
+     * @param accessToken    The access token that allows publishing scores.
+     * @param subject        The subject for which the score is being published.
+     * @param url            The url to which the score must be published.
      */
-    private void startGrade(final String accessToken, final String subject, final String url) {
+    private void startGrade(
+            final CircuitBreaker circuitBreaker,
+            final String accessToken,
+            final String subject,
+            final String url) {
         grade(
+                circuitBreaker,
                 accessToken,
                 url,
                 () -> ScorePublishRequest.builder()
@@ -91,15 +237,22 @@ public class RestTemplateLtiAssignmentAndGradeServicesClient implements LtiAssig
     }
 
     /**
-     * @param accessToken The access token that allows publishing scores.
-     * @param subject     The subject for which the score is being published.
-     * @param score       The score being assigned.
-     * @param maxScore    The max. score that can be achieved.
-     * @param accessToken The access token that allows publishing scores.
+     * @param circuitBreaker The {@link CircuitBreaker} of the LMS.
+     * @param accessToken    The access token that allows publishing scores.
+     * @param subject        The subject for which the score is being published.
+     * @param score          The score being assigned.
+     * @param maxScore       The max. score that can be achieved.
+     * @param accessToken    The access token that allows publishing scores.
      */
     private void completeGrade(
-            final String accessToken, final String subject, final int score, final int maxScore, final String url) {
+            final CircuitBreaker circuitBreaker,
+            final String accessToken,
+            final String subject,
+            final int score,
+            final int maxScore,
+            final String url) {
         grade(
+                circuitBreaker,
                 accessToken,
                 url,
                 () -> ScorePublishRequest.builder()
@@ -112,14 +265,16 @@ public class RestTemplateLtiAssignmentAndGradeServicesClient implements LtiAssig
     }
 
     /**
-     * Sends a grading request.
+     * Sends a grading request, through the given {@code circuitBreaker}.
      *
+     * @param circuitBreaker  The {@link CircuitBreaker} of the LMS.
      * @param accessToken     The access token that allows publishing scores.
      * @param builderSupplier A {@link Supplier} o {@link ScorePublishRequest.Builder}
      *                        that retrieves an already configured instance of the builder with information that must
      *                        be sent.
      */
     private void grade(
+            final CircuitBreaker circuitBreaker,
             final String accessToken,
             final String url,
             final Supplier<ScorePublishRequest.Builder> builderSupplier) {
@@ -127,9 +282,46 @@ public class RestTemplateLtiAssignmentAndGradeServicesClient implements LtiAssig
         headers.setContentType(MediaType.APPLICATION_JSON_UTF8);
         headers.setBearerAuth(accessToken);
         final var body = builderSupplier.get().timestamp(Instant.now()).build();
-        restTemplate.postForObject(url, new HttpEntity<>(body, headers), Map.class);
+        circuitBreaker.executeRunnable(
+                () -> restTemplate.postForObject(url, new HttpEntity<>(body, headers), Map.class)
+        );
+    }
+
+
+    /**
+     * Represents a result returned by the results service.
+     */
+    @Value
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    @NoArgsConstructor(force = true, access = AccessLevel.PRIVATE)
+    private static final class ResultDto {
+        @JsonProperty(value = "userId", access = JsonProperty.Access.WRITE_ONLY)
+        private final String userId;
+        @JsonProperty(value = "resultScore", access = JsonProperty.Access.WRITE_ONLY)
+        private final Double resultScore;
+        @JsonProperty(value = "resultMaximum", access = JsonProperty.Access.WRITE_ONLY)
+        private final Double resultMaximum;
+
+        /**
+         * @return The {@link LineItemResult} represented by {@code this} dto.
+         */
+        private LineItemResult toLineItemResult() {
+            return LineItemResult.create(userId, resultScore, resultMaximum);
+        }
     }
 
+    /**
+     * Represents a line-item returned by the line-items service.
+     */
+    @Value
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    @NoArgsConstructor(force = true, access = AccessLevel.PRIVATE)
+    private static final class LineItemDto {
+        @JsonProperty(value = "id", access = JsonProperty.Access.WRITE_ONLY)
+        private final String id;
+        @JsonProperty(value = "resourceId", access = JsonProperty.Access.WRITE_ONLY)
+        private final String resourceId;
+    }
 
     /**
      * Represents a score publishing request.
@@ -0,0 +1,128 @@
+package ar.edu.itba.cep.lti_service.external_lti_web_services;
+
+import ar.edu.itba.cep.lti_service.external_lti_web_services.oauth2.OAuth2Client;
+import ar.edu.itba.cep.lti_service.models.ToolDeployment;
+import com.bellotapps.webapps_commons.exceptions.ExternalServiceException;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Concrete implementation of {@link LtiNamesAndRoleProvisioningServicesClient}.
+ */
+@Component
+@AllArgsConstructor
+public class RestTemplateLtiNamesAndRoleProvisioningServicesClient
+        implements LtiNamesAndRoleProvisioningServicesClient {
+
+    private static final String CONTEXT_MEMBERSHIP_READONLY_SCOPE =
+            "https://purl.imsglobal.org/spec/lti-nrps/scope/contextmembership.readonly";
+    private static final MediaType MEMBERSHIP_CONTAINER_MEDIA_TYPE =
+            MediaType.valueOf("application/vnd.ims.lti-nrps.v2.membershipcontainer+json");
+
+    /**
+     * The {@link OAuth2Client} needed to get an authorization token that allows reading the memberships.
+     */
+    private final OAuth2Client oAuth2Client;
+    /**
+     * The {@link RestTemplate} used to communicate with the LMS.
+     */
+    private final RestTemplate restTemplate;
+    /**
+     * The {@link CircuitBreakerRegistry} from where the circuit breaker of each LMS is taken.
+     */
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+
+    @Override
+    public void streamMembers(
+            final ToolDeployment toolDeployment,
+            final String contextMembershipsUrl,
+            final Consumer<List<ContextMember>> pageConsumer) throws ExternalServiceException {
+        final var issuer = toolDeployment.getIssuer();
+        try {
+            final var circuitBreaker = circuitBreakerRegistry.circuitBreaker(issuer);
+            final var visited = new HashSet<URI>();
+            var page = Optional.of(URI.create(contextMembershipsUrl));
+            while (page.isPresent() && visited.add(page.get())) {
+                final var url = page.get();
+                final var response = oAuth2Client.withAccessToken(
+                        toolDeployment,
+                        List.of(CONTEXT_MEMBERSHIP_READONLY_SCOPE),
+                        accessToken -> {
+                            final var headers = new HttpHeaders();
+                            headers.setAccept(List.of(MEMBERSHIP_CONTAINER_MEDIA_TYPE));
+                            headers.setBearerAuth(accessToken);
+                            return circuitBreaker.executeSupplier(() -> restTemplate.exchange(
+                                    url,
+                                    HttpMethod.GET,
+                                    new HttpEntity<>(headers),
+                                    MembershipContainerDto.class
+                            ));
+                        }
+                );
+                final var members = Optional.ofNullable(response.getBody())
+                        .map(MembershipContainerDto::getMembers)
+                        .orElse(List.of())
+                        .stream()
+                        .map(MemberDto::toContextMember)
+                        .collect(Collectors.toList());
+                pageConsumer.accept(members);
+                page = PaginationHelper.nextPage(response.getHeaders());
+            }
+        } catch (final Throwable e) {
+            throw new ExternalServiceException(issuer, "Could not retrieve the members from the LMS", e);
+        }
+    }
+
+
+    /**
+     * Represents a page of the memberships service.
+     */
+    @Value
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    @NoArgsConstructor(force = true, access = AccessLevel.PRIVATE)
+    private static final class MembershipContainerDto {
+        @JsonProperty(value = "members", access = JsonProperty.Access.WRITE_ONLY)
+        private final List<MemberDto> members;
+    }
+
+    /**
+     * Represents a member returned by the memberships service.
+     */
+    @Value
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    @NoArgsConstructor(force = true, access = AccessLevel.PRIVATE)
+    private static final class MemberDto {
+        @JsonProperty(value = "user_id", access = JsonProperty.Access.WRITE_ONLY)
+        private final String userId;
+        @JsonProperty(value = "status", access = JsonProperty.Access.WRITE_ONLY)
+        private final String status;
+        @JsonProperty(value = "roles", access = JsonProperty.Access.WRITE_ONLY)
+        private final List<String> roles;
+
+        /**
+         * @return The {@link ContextMember} represented by {@code this} dto.
+         */
+        private ContextMember toContextMember() {
+            return ContextMember.create(userId, status, roles);
+        }
+    }
+}
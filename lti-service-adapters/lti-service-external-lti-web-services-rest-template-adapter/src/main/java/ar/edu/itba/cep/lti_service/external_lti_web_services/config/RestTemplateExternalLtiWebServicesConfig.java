@@ -1,5 +1,6 @@
 package ar.edu.itba.cep.lti_service.external_lti_web_services.config;
 
+import ar.edu.itba.cep.lti_service.external_lti_web_services.http.PerHostClientHttpRequestFactory;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -9,6 +10,13 @@ import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
+import javax.net.ssl.SSLContext;
+import java.security.KeyManagementException;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Configuration class for the {@link RestTemplate} External LTI Web Services.
  */
@@ -22,14 +30,37 @@ import org.springframework.web.client.RestTemplate;
 public class RestTemplateExternalLtiWebServicesConfig {
 
     /**
-     * A load balanced {@link RestTemplate}.
+     * The {@link RestTemplate} used to communicate with the LMSs.
      *
      * @param restTemplateBuilder The {@link RestTemplateBuilder} used to create the {@link RestTemplate} instance.
+     * @param requestFactory      The {@link PerHostClientHttpRequestFactory} used to perform the requests.
      * @return The created {@link RestTemplate}.
      */
     @Bean
-    public RestTemplate restTemplate(final RestTemplateBuilder restTemplateBuilder) {
-        return restTemplateBuilder.build();
+    public RestTemplate restTemplate(
+            final RestTemplateBuilder restTemplateBuilder,
+            final PerHostClientHttpRequestFactory requestFactory) {
+        return restTemplateBuilder.requestFactory(() -> requestFactory).build();
+    }
+
+    /**
+     * The {@link PerHostClientHttpRequestFactory} that keeps a connection pool for each LMS.
+     *
+     * @param properties The {@link LtiWebServicesProperties} used to configure the pools.
+     * @return The created {@link PerHostClientHttpRequestFactory}.
+     * @throws NoSuchAlgorithmException If the TLS protocol is not supported.
+     * @throws KeyManagementException   If the {@link SSLContext} cannot be initialized.
+     */
+    @Bean
+    public PerHostClientHttpRequestFactory perHostClientHttpRequestFactory(final LtiWebServicesProperties properties)
+            throws NoSuchAlgorithmException, KeyManagementException {
+        final var httpClientProperties = properties.getHttpClient();
+        final var sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, null, null);
+        sslContext.getClientSessionContext().setSessionCacheSize(httpClientProperties.getTlsSessionCacheSize());
+        sslContext.getClientSessionContext()
+                .setSessionTimeout((int) httpClientProperties.getTlsSessionTimeout().getSeconds());
+        return new PerHostClientHttpRequestFactory(httpClientProperties, sslContext);
     }
 
     @Data
@@ -39,5 +70,64 @@ public class RestTemplateExternalLtiWebServicesConfig {
          * The duration of the assertion JWT.
          */
         private int assertionJwtDuration = 5;
+        /**
+         * The amount of seconds before the expiration of an access token in which it stops being reused.
+         */
+        private int accessTokenExpirationMargin = 30;
+        /**
+         * The {@link HttpClientProperties} used to configure the connection pools.
+         */
+        private HttpClientProperties httpClient = new HttpClientProperties();
+    }
+
+    /**
+     * Properties needed to configure the connection pools used to communicate with the LMSs.
+     */
+    @Data
+    public static final class HttpClientProperties {
+        /**
+         * The max. amount of connections to a single host.
+         */
+        private int maxConnectionsPerHost = 20;
+        /**
+         * The max. amount of connections to specific hosts (overrides {@link #maxConnectionsPerHost}).
+         */
+        private Map<String, Integer> hostMaxConnections = new HashMap<>();
+        /**
+         * The max. time to wait for a connection to be established.
+         */
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        /**
+         * The max. time to wait for a connection from the pool.
+         */
+        private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+        /**
+         * The max. time to wait for data once the connection is established.
+         */
+        private Duration readTimeout = Duration.ofSeconds(10);
+        /**
+         * The time a connection is kept alive when the LMS does not indicate it.
+         */
+        private Duration keepAlive = Duration.ofSeconds(30);
+        /**
+         * The time after which idle connections are evicted from the pool.
+         */
+        private Duration maxIdleTime = Duration.ofSeconds(60);
+        /**
+         * The max. time a connection is kept in the pool, regardless of its activity.
+         */
+        private Duration timeToLive = Duration.ofMinutes(10);
+        /**
+         * The time of inactivity after which a pooled connection is validated before being reused.
+         */
+        private Duration validateAfterInactivity = Duration.ofSeconds(2);
+        /**
+         * The max. amount of TLS sessions kept for resumption.
+         */
+        private int tlsSessionCacheSize = 1000;
+        /**
+         * The time a TLS session is kept for resumption.
+         */
+        private Duration tlsSessionTimeout = Duration.ofHours(8);
     }
 }
@@ -0,0 +1,134 @@
+package ar.edu.itba.cep.lti_service.external_lti_web_services.http;
+
+import ar.edu.itba.cep.lti_service.external_lti_web_services.config.RestTemplateExternalLtiWebServicesConfig.HttpClientProperties;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.util.Assert;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link ClientHttpRequestFactory} that keeps a separate connection pool for each host (i.e for each LMS),
+ * so that the connections to a slow LMS do not exhaust the ones of the rest.
+ * All the pools share the same {@link SSLContext}, whose client session cache allows resuming TLS sessions
+ * (i.e abbreviated handshakes) when new connections to an already known host are opened.
+ */
+public class PerHostClientHttpRequestFactory implements ClientHttpRequestFactory, DisposableBean {
+
+    /**
+     * The {@link Logger}.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(PerHostClientHttpRequestFactory.class);
+
+    /**
+     * The {@link HttpClientProperties} used to configure the pools.
+     */
+    private final HttpClientProperties properties;
+    /**
+     * The {@link SSLContext} shared by all the pools.
+     */
+    private final SSLContext sslContext;
+    /**
+     * The {@link HttpComponentsClientHttpRequestFactory} of each host.
+     */
+    private final Map<String, HttpComponentsClientHttpRequestFactory> factories;
+
+
+    /**
+     * Constructor.
+     *
+     * @param properties The {@link HttpClientProperties} used to configure the pools.
+     * @param sslContext The {@link SSLContext} shared by all the pools.
+     */
+    public PerHostClientHttpRequestFactory(final HttpClientProperties properties, final SSLContext sslContext) {
+        Assert.notNull(properties, "The properties must not be null");
+        Assert.notNull(sslContext, "The SSL context must not be null");
+        this.properties = properties;
+        this.sslContext = sslContext;
+        this.factories = new ConcurrentHashMap<>();
+    }
+
+
+    @Override
+    public ClientHttpRequest createRequest(final URI uri, final HttpMethod httpMethod) throws IOException {
+        Assert.hasText(uri.getHost(), "The uri must contain a host");
+        return factories.computeIfAbsent(uri.getHost().toLowerCase(), this::createFactory)
+                .createRequest(uri, httpMethod);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (final var factory : factories.values()) {
+            factory.destroy();
+        }
+        factories.clear();
+    }
+
+
+    /**
+     * Creates the {@link HttpComponentsClientHttpRequestFactory} of the given {@code host},
+     * backed by its own {@link PoolingHttpClientConnectionManager}.
+     *
+     * @param host The host.
+     * @return The created {@link HttpComponentsClientHttpRequestFactory}.
+     */
+    private HttpComponentsClientHttpRequestFactory createFactory(final String host) {
+        final var maxConnections = properties.getHostMaxConnections()
+                .getOrDefault(host, properties.getMaxConnectionsPerHost());
+        LOGGER.debug("Creating connection pool for host {} with {} max. connections", host, maxConnections);
+
+        final var socketFactories = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", new SSLConnectionSocketFactory(sslContext))
+                .build();
+        final var connectionManager = new PoolingHttpClientConnectionManager(
+                socketFactories,
+                null,
+                null,
+                null,
+                properties.getTimeToLive().toMillis(),
+                TimeUnit.MILLISECONDS
+        );
+        // A single host means a few routes (i.e one per port and scheme), so each route can use the whole pool.
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+        connectionManager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+
+        final var requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                .setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+                .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+                .build();
+        final var defaultKeepAlive = properties.getKeepAlive().toMillis();
+        final var httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> {
+                    final var keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                            .getKeepAliveDuration(response, context);
+                    return keepAlive > 0 ? keepAlive : defaultKeepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(properties.getMaxIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+}
@@ -5,6 +5,7 @@ import com.bellotapps.webapps_commons.exceptions.ExternalServiceException;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Defines behaviour for objects that can obtain access tokens.
@@ -23,6 +24,25 @@ public interface OAuth2Client {
     String getAccessToken(final ToolDeployment toolDeployment, final List<String> scopes)
             throws ExternalServiceException;
 
+    /**
+     * Performs the given {@code request} with an access token retrieved according to the given {@code toolDeployment},
+     * with the given {@code scopes}. If the request is rejected with a "401 Unauthorized" response
+     * (e.g the access token was revoked before it expired), the token is evicted,
+     * and the request is retried once with a new one.
+     *
+     * @param toolDeployment The {@link ToolDeployment} with data needed to get the token
+     *                       (e.g application key, application secret, authentication endpoint, etc.).
+     * @param scopes         The scopes that must be enabled by the token.
+     * @param request        A {@link Function} that performs the request with the access token it receives.
+     * @param <T>            The concrete type of the request's result.
+     * @return The request's result.
+     * @throws ExternalServiceException If there is any issue when communicating with the authorization server.
+     */
+    <T> T withAccessToken(
+            final ToolDeployment toolDeployment,
+            final List<String> scopes,
+            final Function<String, T> request) throws ExternalServiceException;
+
     /**
      * Retrieves an access token according to the given {@code toolDeployment}, with the given {@code scopes}.
      *
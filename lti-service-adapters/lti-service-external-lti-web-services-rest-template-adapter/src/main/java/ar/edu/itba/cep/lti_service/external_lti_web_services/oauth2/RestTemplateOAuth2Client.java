@@ -1,5 +1,6 @@
 package ar.edu.itba.cep.lti_service.external_lti_web_services.oauth2;
 
+import ar.edu.itba.cep.lti_service.crypto.JcaPrimitives;
 import ar.edu.itba.cep.lti_service.external_lti_web_services.config.RestTemplateExternalLtiWebServicesConfig;
 import ar.edu.itba.cep.lti_service.models.ToolDeployment;
 import ar.edu.itba.cep.security.KeyHelper;
@@ -9,6 +10,7 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import lombok.AccessLevel;
@@ -23,6 +25,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
@@ -33,9 +36,13 @@ import java.security.spec.PKCS8EncodedKeySpec;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Concrete implementation of {@link OAuth2Client}.
+ * Access tokens are cached (per {@link ToolDeployment} and set of scopes) until they are about to expire,
+ * or until the LMS rejects them.
  */
 @Component
 class RestTemplateOAuth2Client implements OAuth2Client {
@@ -50,24 +57,42 @@ class RestTemplateOAuth2Client implements OAuth2Client {
      * The {@link RestTemplate} used to communicate with the authorization server.
      */
     private final RestTemplate restTemplate;
+    /**
+     * The {@link CircuitBreakerRegistry} from where the circuit breaker of each LMS is taken.
+     */
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
     /**
      * The {@link Duration} of an assertion JWT.
      */
     private final Duration assertionJwtDuration;
+    /**
+     * The {@link Duration} before the expiration of an access token in which it stops being reused.
+     */
+    private final Duration accessTokenExpirationMargin;
+    /**
+     * The cached access tokens.
+     */
+    private final Map<AccessTokenKey, CachedAccessToken> accessTokens;
 
     /**
      * Constructor.
      *
-     * @param restTemplate The {@link RestTemplate} used to communicate with the authorization server.
-     * @param properties   The {@link RestTemplateExternalLtiWebServicesConfig.LtiWebServicesProperties} instance with
-     *                     properties needed to configure this client.
+     * @param restTemplate           The {@link RestTemplate} used to communicate with the authorization server.
+     * @param circuitBreakerRegistry The {@link CircuitBreakerRegistry} from where the circuit breaker
+     *                               of each LMS is taken.
+     * @param properties             The {@link RestTemplateExternalLtiWebServicesConfig.LtiWebServicesProperties}
+     *                               instance with properties needed to configure this client.
      */
     @Autowired
     public RestTemplateOAuth2Client(
             final RestTemplate restTemplate,
+            final CircuitBreakerRegistry circuitBreakerRegistry,
             final RestTemplateExternalLtiWebServicesConfig.LtiWebServicesProperties properties) {
         this.restTemplate = restTemplate;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
         this.assertionJwtDuration = Duration.ofMinutes(properties.getAssertionJwtDuration());
+        this.accessTokenExpirationMargin = Duration.ofSeconds(properties.getAccessTokenExpirationMargin());
+        this.accessTokens = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -75,10 +100,36 @@ class RestTemplateOAuth2Client implements OAuth2Client {
             throws ExternalServiceException {
         Assert.notNull(toolDeployment, "The ToolDeployment must not be null");
         Assert.notEmpty(scopes, "The scopes list must not be null or empty");
+        final var key = AccessTokenKey.create(toolDeployment.getId(), Set.copyOf(scopes));
+        final var now = Instant.now();
+        final var cached = accessTokens.get(key);
+        if (cached != null && cached.getExpiresAt().isAfter(now)) {
+            return cached.getAccessToken();
+        }
         final var response = sendRequest(toolDeployment, scopes);
+        final var expiresAt = now.plusSeconds(response.getTtl()).minus(accessTokenExpirationMargin);
+        accessTokens.put(key, CachedAccessToken.create(response.getAccessToken(), expiresAt));
         return response.getAccessToken();
     }
 
+    @Override
+    public <T> T withAccessToken(
+            final ToolDeployment toolDeployment,
+            final List<String> scopes,
+            final Function<String, T> request) throws ExternalServiceException {
+        final var accessToken = getAccessToken(toolDeployment, scopes);
+        try {
+            return request.apply(accessToken);
+        } catch (final HttpClientErrorException.Unauthorized e) {
+            // Evict the token only if it was not already replaced by a concurrent request
+            accessTokens.computeIfPresent(
+                    AccessTokenKey.create(toolDeployment.getId(), Set.copyOf(scopes)),
+                    (key, cached) -> cached.getAccessToken().equals(accessToken) ? null : cached
+            );
+            return request.apply(getAccessToken(toolDeployment, scopes));
+        }
+    }
+
 
     /**
      * Performs the OAuth2 request.
@@ -87,7 +138,8 @@ class RestTemplateOAuth2Client implements OAuth2Client {
      *                       (e.g application key, application secret, authentication endpoint, etc.).
      * @param scopes         The scopes that must be enabled by the token.
      * @return An {@link OAuth2Response} with the retrieved data.
-     * @throws ExternalServiceException If there is any issue when communicating with the authorization server.
+     * @throws ExternalServiceException If there is any issue when communicating with the authorization server
+     *                                  (including the case in which the LMS' circuit breaker is open).
      */
     private OAuth2Response sendRequest(final ToolDeployment toolDeployment, final List<String> scopes)
             throws ExternalServiceException {
@@ -101,10 +153,12 @@ class RestTemplateOAuth2Client implements OAuth2Client {
                 .build()
                 .asMap();
         try {
-            return restTemplate.postForObject(
-                    toolDeployment.getOidcAuthenticationEndpoint(),
-                    new HttpEntity<>(body, headers),
-                    OAuth2Response.class
+            return circuitBreakerRegistry.circuitBreaker(toolDeployment.getIssuer()).executeSupplier(
+                    () -> restTemplate.postForObject(
+                            toolDeployment.getOidcAuthenticationEndpoint(),
+                            new HttpEntity<>(body, headers),
+                            OAuth2Response.class
+                    )
             );
         } catch (final Throwable e) {
             throw new ExternalServiceException(
@@ -146,16 +200,33 @@ class RestTemplateOAuth2Client implements OAuth2Client {
      */
     private PrivateKey privateKey(final String privateKey, final SignatureAlgorithm signatureAlgorithm) {
         try {
-            final var keyFactory = KeyFactory.getInstance(signatureAlgorithm.getFamilyName());
-            return KeyHelper.generateKey(
+            return JcaPrimitives.withKeyFactory(signatureAlgorithm.getFamilyName(), keyFactory -> KeyHelper.generateKey(
                     keyFactory, privateKey, PKCS8EncodedKeySpec::new, KeyFactory::generatePrivate
-            );
+            ));
         } catch (final NoSuchAlgorithmException e) {
             throw new IllegalStateException("ToolDeployment with invalid Private Key");
         }
     }
 
 
+    /**
+     * The key of a cached access token.
+     */
+    @Value(staticConstructor = "create")
+    private static final class AccessTokenKey {
+        private final UUID toolDeploymentId;
+        private final Set<String> scopes;
+    }
+
+    /**
+     * A cached access token, together with the {@link Instant} in which it stops being reused.
+     */
+    @Value(staticConstructor = "create")
+    private static final class CachedAccessToken {
+        private final String accessToken;
+        private final Instant expiresAt;
+    }
+
     /**
      * The request to be sent to obtain an access token as part of the OAuth2 protocol.
      */
@@ -0,0 +1,141 @@
+package ar.edu.itba.cep.lti_service.rest.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.Assert;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * A filter that performs admission control using a {@link GradientConcurrencyLimiter}.
+ * Requests that are not admitted are rejected right away with a <b>503 Service Unavailable</b> response
+ * (including a {@code Retry-After} header), instead of waiting in the server's queue until they time out.
+ * Each endpoint can use a different share of the limit, so lower priority endpoints are shed first.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    /**
+     * The name of the endpoints not included in the {@code endpoints} {@link Map}.
+     */
+    private static final String OTHER_ENDPOINTS = "other";
+
+    /**
+     * The {@link GradientConcurrencyLimiter} that decides whether requests are admitted.
+     */
+    private final GradientConcurrencyLimiter limiter;
+    /**
+     * The {@link Endpoint}s with their own priority, keyed by their path (relative to the context path).
+     */
+    private final Map<String, Endpoint> endpoints;
+    /**
+     * The {@link Endpoint} used for the requests to the paths not included in the {@code endpoints} {@link Map}.
+     */
+    private final Endpoint otherEndpoints;
+    /**
+     * The value of the {@code Retry-After} header (in seconds).
+     */
+    private final String retryAfter;
+
+
+    /**
+     * Constructor.
+     *
+     * @param limiter            The {@link GradientConcurrencyLimiter} that decides whether requests are admitted.
+     * @param endpointShares     The share of the limit each endpoint can use, keyed by path (relative to the
+     *                           context path).
+     * @param otherEndpointShare The share of the limit that can be used by the requests to other paths.
+     * @param retryAfter         The time after which rejected clients should retry.
+     * @param meterRegistry      The {@link MeterRegistry} in which the rejections are counted.
+     */
+    public AdmissionControlFilter(
+            final GradientConcurrencyLimiter limiter,
+            final Map<String, Double> endpointShares,
+            final double otherEndpointShare,
+            final Duration retryAfter,
+            final MeterRegistry meterRegistry) {
+        Assert.notNull(limiter, "The limiter must not be null");
+        Assert.notNull(endpointShares, "The endpoint shares must not be null");
+        Assert.isTrue(!retryAfter.isNegative(), "The retry after must not be negative");
+        this.limiter = limiter;
+        this.endpoints = endpointShares.entrySet().stream()
+                .collect(Collectors.toMap(
+                        Map.Entry::getKey,
+                        entry -> new Endpoint(entry.getValue(), rejectionsCounter(meterRegistry, entry.getKey()))
+                ));
+        this.otherEndpoints = new Endpoint(otherEndpointShare, rejectionsCounter(meterRegistry, OTHER_ENDPOINTS));
+        this.retryAfter = Long.toString(Math.max(1, retryAfter.toSeconds()));
+    }
+
+
+    @Override
+    protected void doFilterInternal(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
+            final FilterChain filterChain) throws ServletException, IOException {
+        final var path = request.getRequestURI().substring(request.getContextPath().length());
+        final var endpoint = endpoints.getOrDefault(path, otherEndpoints);
+        if (!limiter.tryAcquire(endpoint.share)) {
+            endpoint.rejections.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+            return;
+        }
+        final var start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.release(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+
+    /**
+     * Registers a {@link Counter} of the requests rejected for the given {@code endpoint}.
+     *
+     * @param meterRegistry The {@link MeterRegistry} in which the counter is registered.
+     * @param endpoint      The endpoint.
+     * @return The registered {@link Counter}.
+     */
+    private static Counter rejectionsCounter(final MeterRegistry meterRegistry, final String endpoint) {
+        return Counter.builder("lti.admission.rejections")
+                .description("Requests rejected by the admission control")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+    }
+
+    /**
+     * An endpoint with its share of the limit and its rejections {@link Counter}.
+     */
+    private static final class Endpoint {
+        /**
+         * The share of the limit that can be used by the endpoint.
+         */
+        private final double share;
+        /**
+         * The {@link Counter} of the rejected requests.
+         */
+        private final Counter rejections;
+
+        /**
+         * Constructor.
+         *
+         * @param share      The share of the limit that can be used by the endpoint.
+         * @param rejections The {@link Counter} of the rejected requests.
+         */
+        private Endpoint(final double share, final Counter rejections) {
+            this.share = share;
+            this.rejections = rejections;
+        }
+    }
+}
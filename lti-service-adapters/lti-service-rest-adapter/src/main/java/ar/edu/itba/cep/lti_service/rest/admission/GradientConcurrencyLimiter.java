@@ -0,0 +1,186 @@
+package ar.edu.itba.cep.lti_service.rest.admission;
+
+import org.springframework.util.Assert;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A concurrency limiter whose limit is derived from the observed latency (i.e gradient style).
+ * It compares a short-term average of the latency with a long-term one (which tracks the latency without queueing).
+ * When the short-term average grows (i.e requests start queueing), the limit is reduced proportionally;
+ * otherwise, it grows by the square root of the current limit.
+ */
+public class GradientConcurrencyLimiter {
+
+    /**
+     * The min. gradient applied to the limit on each update (i.e the limit is never reduced to less than a half).
+     */
+    private static final double MIN_GRADIENT = 0.5;
+    /**
+     * The ratio between the long-term and the short-term averages above which the long-term one is decayed
+     * (i.e it recovers faster after a steady increase in the latency).
+     */
+    private static final double LONG_TERM_DRIFT_RATIO = 2;
+    /**
+     * The factor applied to the long-term average when it drifted.
+     */
+    private static final double LONG_TERM_DECAY = 0.95;
+
+    /**
+     * The min. limit.
+     */
+    private final int minLimit;
+    /**
+     * The max. limit.
+     */
+    private final int maxLimit;
+    /**
+     * The weight given to the new limit on each update.
+     */
+    private final double smoothing;
+    /**
+     * The ratio by which the short-term latency can exceed the long-term one before the limit is reduced.
+     */
+    private final double tolerance;
+    /**
+     * The weight of each sample in the short-term average.
+     */
+    private final double shortTermAlpha;
+    /**
+     * The weight of each sample in the long-term average.
+     */
+    private final double longTermAlpha;
+    /**
+     * The amount of requests in flight.
+     */
+    private final AtomicInteger inFlight;
+
+    /**
+     * The current limit.
+     */
+    private volatile double limit;
+    /**
+     * The short-term average latency (in nanoseconds).
+     */
+    private double shortTermRtt;
+    /**
+     * The long-term average latency (in nanoseconds).
+     */
+    private double longTermRtt;
+
+
+    /**
+     * Constructor.
+     *
+     * @param initialLimit    The initial limit.
+     * @param minLimit        The min. limit.
+     * @param maxLimit        The max. limit.
+     * @param smoothing       The weight given to the new limit on each update (between 0 and 1).
+     * @param tolerance       The ratio by which the short-term latency can exceed the long-term one
+     *                        before the limit is reduced.
+     * @param shortTermWindow The amount of samples of the short-term average.
+     * @param longTermWindow  The amount of samples of the long-term average.
+     */
+    public GradientConcurrencyLimiter(
+            final int initialLimit,
+            final int minLimit,
+            final int maxLimit,
+            final double smoothing,
+            final double tolerance,
+            final int shortTermWindow,
+            final int longTermWindow) {
+        Assert.isTrue(minLimit > 0, "The min. limit must be positive");
+        Assert.isTrue(minLimit <= maxLimit, "The min. limit must not be greater than the max. limit");
+        Assert.isTrue(smoothing > 0 && smoothing <= 1, "The smoothing must be between 0 and 1");
+        Assert.isTrue(tolerance >= 1, "The tolerance must not be less than 1");
+        Assert.isTrue(shortTermWindow > 0, "The short-term window must be positive");
+        Assert.isTrue(longTermWindow >= shortTermWindow, "The long-term window must not be shorter than the short one");
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.shortTermAlpha = 2d / (shortTermWindow + 1);
+        this.longTermAlpha = 2d / (longTermWindow + 1);
+        this.inFlight = new AtomicInteger(0);
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.shortTermRtt = 0;
+        this.longTermRtt = 0;
+    }
+
+
+    /**
+     * Tries to admit a request, which can only use the given {@code share} of the limit
+     * (i.e lower priority requests are rejected before the limit is reached).
+     *
+     * @param share The share of the limit that can be used by the request (between 0 and 1).
+     * @return {@code true} if the request is admitted (and {@link #release(long, TimeUnit)} must be called
+     * once it completes), or {@code false} if it must be rejected.
+     */
+    public boolean tryAcquire(final double share) {
+        final var allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            final var current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request, updating the limit with its latency.
+     *
+     * @param latency The latency of the request.
+     * @param unit    The {@link TimeUnit} of the {@code latency}.
+     */
+    public void release(final long latency, final TimeUnit unit) {
+        final var inFlightBefore = inFlight.getAndDecrement();
+        update(unit.toNanos(latency), inFlightBefore);
+    }
+
+    /**
+     * @return The current limit.
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * @return The amount of requests in flight.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+
+    /**
+     * Updates the averages and the limit with the given {@code rtt} sample.
+     *
+     * @param rtt      The latency of a completed request (in nanoseconds).
+     * @param inFlight The amount of requests in flight when the request completed.
+     */
+    private synchronized void update(final long rtt, final int inFlight) {
+        if (longTermRtt == 0) {
+            shortTermRtt = rtt;
+            longTermRtt = rtt;
+            return;
+        }
+        shortTermRtt += shortTermAlpha * (rtt - shortTermRtt);
+        longTermRtt += longTermAlpha * (rtt - longTermRtt);
+        if (longTermRtt / shortTermRtt > LONG_TERM_DRIFT_RATIO) {
+            longTermRtt *= LONG_TERM_DECAY;
+        }
+        final var currentLimit = limit;
+        // The limit is not increased when it is not being used (i.e the latency does not reflect the limit)
+        if (inFlight < currentLimit / 2) {
+            return;
+        }
+        final var gradient = Math.max(MIN_GRADIENT, Math.min(1, tolerance * longTermRtt / shortTermRtt));
+        final var newLimit = currentLimit * gradient + Math.sqrt(currentLimit);
+        final var smoothed = currentLimit * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+    }
+}
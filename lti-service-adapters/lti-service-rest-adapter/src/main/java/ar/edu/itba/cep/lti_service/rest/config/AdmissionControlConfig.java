@@ -0,0 +1,211 @@
+package ar.edu.itba.cep.lti_service.rest.config;
+
+import ar.edu.itba.cep.lti.constants.Paths;
+import ar.edu.itba.cep.lti_service.rest.admission.AdmissionControlFilter;
+import ar.edu.itba.cep.lti_service.rest.admission.GradientConcurrencyLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configuration class for the admission control of the LTI app endpoints.
+ * The admission control is a servlet filter, so it is only applied by servlet builds (i.e the Jersey adapter)
+ * when it is explicitly enabled. WebFlux builds have no admission control.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "lti-service.admission-control", name = "enabled")
+@EnableConfigurationProperties(AdmissionControlConfig.AdmissionControlProperties.class)
+public class AdmissionControlConfig {
+
+    /**
+     * The base path of the LTI app endpoints.
+     */
+    private static final String LTI_APP_PATH = "/lti/app/";
+
+
+    /**
+     * Builds the {@link GradientConcurrencyLimiter} used to admit the requests to the LTI app endpoints,
+     * registering its limit and in-flight requests gauges.
+     *
+     * @param properties    The {@link AdmissionControlProperties} used to configure the limiter.
+     * @param meterRegistry The {@link MeterRegistry} in which the gauges are registered.
+     * @return The created {@link GradientConcurrencyLimiter}.
+     */
+    @Bean
+    public GradientConcurrencyLimiter ltiAppConcurrencyLimiter(
+            final AdmissionControlProperties properties,
+            final MeterRegistry meterRegistry) {
+        final var limiter = new GradientConcurrencyLimiter(
+                properties.getInitialLimit(),
+                properties.getMinLimit(),
+                properties.getMaxLimit(),
+                properties.getSmoothing(),
+                properties.getTolerance(),
+                properties.getShortTermWindow(),
+                properties.getLongTermWindow()
+        );
+        Gauge.builder("lti.admission.limit", limiter, GradientConcurrencyLimiter::getLimit)
+                .description("Max. amount of requests to the LTI app endpoints processed concurrently")
+                .register(meterRegistry);
+        Gauge.builder("lti.admission.in.flight", limiter, GradientConcurrencyLimiter::getInFlight)
+                .description("Requests to the LTI app endpoints being processed")
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    /**
+     * Creates a {@link FilterRegistrationBean} for the {@link AdmissionControlFilter}
+     * that protects the LTI app endpoints.
+     *
+     * @param limiter       The {@link GradientConcurrencyLimiter} used to admit the requests.
+     * @param properties    The {@link AdmissionControlProperties} with the endpoints priorities.
+     * @param meterRegistry The {@link MeterRegistry} in which the rejections are counted.
+     * @return The {@link FilterRegistrationBean}.
+     */
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            final GradientConcurrencyLimiter limiter,
+            final AdmissionControlProperties properties,
+            final MeterRegistry meterRegistry) {
+        final var filter = new AdmissionControlFilter(
+                limiter,
+                Map.of(
+                        ltiAppPath(Paths.LOGIN_INITIATION_PATH), properties.getLoginInitiationPriority().getShare(),
+                        ltiAppPath(Paths.EXAM_TAKING_PATH), properties.getExamTakingPriority().getShare()
+                ),
+                properties.getDefaultPriority().getShare(),
+                properties.getRetryAfter(),
+                meterRegistry
+        );
+        final var bean = new FilterRegistrationBean<>(filter);
+        bean.addUrlPatterns(LTI_APP_PATH + "*");
+        bean.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return bean;
+    }
+
+
+    /**
+     * Builds the path of the given LTI app {@code endpoint} (relative to the context path).
+     *
+     * @param endpoint The endpoint.
+     * @return The path.
+     */
+    private static String ltiAppPath(final String endpoint) {
+        return LTI_APP_PATH + (endpoint.startsWith("/") ? endpoint.substring(1) : endpoint);
+    }
+
+
+    /**
+     * Properties needed to configure the admission control.
+     */
+    @Data
+    @ConfigurationProperties(prefix = "lti-service.admission-control")
+    public static class AdmissionControlProperties {
+        /**
+         * Indicates whether the admission control is enabled (only honored by servlet builds).
+         */
+        private boolean enabled = false;
+        /**
+         * The initial concurrency limit.
+         */
+        private int initialLimit = 50;
+        /**
+         * The min. concurrency limit.
+         */
+        private int minLimit = 10;
+        /**
+         * The max. concurrency limit.
+         */
+        private int maxLimit = 500;
+        /**
+         * The weight given to the new limit on each update (between 0 and 1).
+         */
+        private double smoothing = 0.2;
+        /**
+         * The ratio by which the recent latency can exceed the long-term one before the limit is reduced.
+         */
+        private double tolerance = 1.5;
+        /**
+         * The amount of samples used to calculate the recent latency.
+         */
+        private int shortTermWindow = 10;
+        /**
+         * The amount of samples used to calculate the long-term latency.
+         */
+        private int longTermWindow = 600;
+        /**
+         * The time after which rejected clients should retry (sent in the {@code Retry-After} header).
+         */
+        private Duration retryAfter = Duration.ofSeconds(2);
+        /**
+         * The {@link Priority} of the login initiation requests.
+         */
+        private Priority loginInitiationPriority = Priority.NORMAL;
+        /**
+         * The {@link Priority} of the exam taking requests.
+         */
+        private Priority examTakingPriority = Priority.CRITICAL;
+        /**
+         * The {@link Priority} of the requests to the rest of the LTI app endpoints.
+         */
+        private Priority defaultPriority = Priority.HIGH;
+
+
+        /**
+         * The priorities of the requests, which indicate the share of the concurrency limit they can use
+         * (i.e lower priority requests are rejected first).
+         */
+        public enum Priority {
+            /**
+             * Can use the whole limit.
+             */
+            CRITICAL(1.0),
+            /**
+             * Can use 90% of the limit.
+             */
+            HIGH(0.9),
+            /**
+             * Can use 75% of the limit.
+             */
+            NORMAL(0.75),
+            /**
+             * Can use half of the limit.
+             */
+            LOW(0.5),
+            ;
+
+            /**
+             * The share of the limit.
+             */
+            private final double share;
+
+            /**
+             * Constructor.
+             *
+             * @param share The share of the limit.
+             */
+            Priority(final double share) {
+                this.share = share;
+            }
+
+            /**
+             * @return The share of the limit.
+             */
+            public double getShare() {
+                return share;
+            }
+        }
+    }
+}
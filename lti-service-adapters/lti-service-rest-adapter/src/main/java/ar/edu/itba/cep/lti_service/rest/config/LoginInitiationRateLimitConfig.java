@@ -0,0 +1,79 @@
+package ar.edu.itba.cep.lti_service.rest.config;
+
+import ar.edu.itba.cep.lti_service.rest.rate_limiting.LoginInitiationRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration class for the rate limiting of the login initiation requests.
+ * The rate limiting is only provided by the Jersey adapter
+ * (WebFlux builds must rely on the reverse proxy to rate limit the login initiation endpoint).
+ */
+@Configuration
+@EnableConfigurationProperties(LoginInitiationRateLimitConfig.LoginInitiationRateLimitProperties.class)
+public class LoginInitiationRateLimitConfig {
+
+    /**
+     * Builds the {@link LoginInitiationRateLimiter}.
+     *
+     * @param properties    The {@link LoginInitiationRateLimitProperties} used to configure the limiter.
+     * @param meterRegistry The {@link MeterRegistry} in which the rejections are counted.
+     * @return The created {@link LoginInitiationRateLimiter}.
+     */
+    @Bean
+    public LoginInitiationRateLimiter loginInitiationRateLimiter(
+            final LoginInitiationRateLimitProperties properties,
+            final MeterRegistry meterRegistry) {
+        return new LoginInitiationRateLimiter(properties, meterRegistry);
+    }
+
+
+    /**
+     * Properties needed to configure the rate limiting of the login initiation requests.
+     */
+    @Data
+    @ConfigurationProperties(prefix = "lti-service.login-initiation-rate-limit")
+    public static class LoginInitiationRateLimitProperties {
+        /**
+         * Indicates whether the login initiation requests are rate limited.
+         * Disabled by default, as clients sharing an address (e.g students in the same campus network)
+         * share the client quota, which an exam start can exceed.
+         */
+        private boolean enabled = false;
+        /**
+         * The length of the sliding window.
+         */
+        private Duration window = Duration.ofMinutes(1);
+        /**
+         * The max. amount of requests a client (i.e address, resolved from the forwarded headers
+         * sent by trusted proxies) can perform in a window.
+         */
+        private int clientLimit = 60;
+        /**
+         * The max. amount of requests for an issuer in a window (unless it has its own quota).
+         * Only requests that match a registered tool deployment of the issuer are counted.
+         */
+        private int issuerLimit = 6_000;
+        /**
+         * The quotas of specific issuers (i.e max. amount of requests in a window), keyed by issuer
+         * (issuers are urls, so keys must use the bracket notation, e.g {@code "[https://lms.example.com]": 1000}).
+         */
+        private Map<String, Integer> issuerLimits = new HashMap<>();
+        /**
+         * The amount of counters kept by each limiter (keys sharing a counter share their limit).
+         */
+        private int slots = 65_536;
+        /**
+         * The amount of locks guarding the counters.
+         */
+        private int stripes = 64;
+    }
+}
@@ -0,0 +1,58 @@
+package ar.edu.itba.cep.lti_service.rest.controller.dtos;
+
+import ar.edu.itba.cep.lti_service.models.FailedScorePublication;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Represents a score publication that failed.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class FailedScorePublicationDto {
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private final UUID id;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private final long examId;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private final String subject;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private final int score;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private final FailedScorePublication.State state;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private final int attempts;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private final Instant createdAt;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private final Instant nextAttemptAt;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private final String lastError;
+
+
+    /**
+     * Builds a {@link FailedScorePublicationDto} from the given {@link FailedScorePublication}.
+     *
+     * @param publication The {@link FailedScorePublication} to map.
+     * @return The created {@link FailedScorePublicationDto}.
+     */
+    public static FailedScorePublicationDto fromModel(final FailedScorePublication publication) {
+        return new FailedScorePublicationDto(
+                publication.getId(),
+                publication.getExamTaking().getExamId(),
+                publication.getExamTaking().getSubject(),
+                publication.getScore(),
+                publication.getState(),
+                publication.getAttempts(),
+                publication.getCreatedAt(),
+                publication.getNextAttemptAt(),
+                publication.getLastError()
+        );
+    }
+}
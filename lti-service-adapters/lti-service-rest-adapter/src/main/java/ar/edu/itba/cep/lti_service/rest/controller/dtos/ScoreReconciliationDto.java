@@ -0,0 +1,55 @@
+package ar.edu.itba.cep.lti_service.rest.controller.dtos;
+
+import ar.edu.itba.cep.lti_service.models.ScoreReconciliation;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Represents a score reconciliation, together with its progress.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ScoreReconciliationDto {
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private final UUID id;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private final long examId;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private final ScoreReconciliation.State state;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private final Instant requestedAt;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private final Instant finishedAt;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private final int comparedScores;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private final int republishedScores;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private final int failedLineItems;
+
+
+    /**
+     * Builds a {@link ScoreReconciliationDto} from the given {@link ScoreReconciliation}.
+     *
+     * @param reconciliation The {@link ScoreReconciliation} to map.
+     * @return The created {@link ScoreReconciliationDto}.
+     */
+    public static ScoreReconciliationDto fromModel(final ScoreReconciliation reconciliation) {
+        return new ScoreReconciliationDto(
+                reconciliation.getId(),
+                reconciliation.getExamId(),
+                reconciliation.getState(),
+                reconciliation.getRequestedAt(),
+                reconciliation.getFinishedAt(),
+                reconciliation.getComparedScores(),
+                reconciliation.getRepublishedScores(),
+                reconciliation.getFailedLineItems()
+        );
+    }
+}
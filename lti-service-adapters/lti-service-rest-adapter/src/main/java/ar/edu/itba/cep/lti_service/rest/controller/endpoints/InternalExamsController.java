@@ -0,0 +1,45 @@
+package ar.edu.itba.cep.lti_service.rest.controller.endpoints;
+
+import ar.edu.itba.cep.lti_service.services.ExamReplicaService;
+import com.bellotapps.webapps_commons.config.JerseyController;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+
+/**
+ * Rest Adapter of {@link ExamReplicaService}, providing an endpoint through which the evaluations service
+ * can notify changes in exams.
+ */
+@Path("internal/exams")
+@Produces(MediaType.APPLICATION_JSON)
+@JerseyController
+@AllArgsConstructor
+public class InternalExamsController {
+
+    /**
+     * The {@link Logger}.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(InternalExamsController.class);
+
+    /**
+     * The {@link ExamReplicaService} to which the requests will be delegated.
+     */
+    private final ExamReplicaService examReplicaService;
+
+
+    @POST
+    @Path("{examId : \\d+}/changes")
+    public Response examChanged(@PathParam("examId") final long examId) {
+        LOGGER.debug("Exam with id {} changed", examId);
+        examReplicaService.examChanged(examId);
+        return Response.accepted().build();
+    }
+}
@@ -0,0 +1,114 @@
+package ar.edu.itba.cep.lti_service.rest.controller.endpoints;
+
+import ar.edu.itba.cep.lti_service.rest.controller.dtos.FailedScorePublicationDto;
+import ar.edu.itba.cep.lti_service.rest.controller.dtos.ScoreReconciliationDto;
+import ar.edu.itba.cep.lti_service.services.LtiScoresAdminService;
+import com.bellotapps.webapps_commons.config.JerseyController;
+import com.bellotapps.webapps_commons.exceptions.IllegalParamValueException;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+
+/**
+ * Rest Adapter of {@link LtiScoresAdminService}, providing endpoints to allow
+ * inspecting and replaying failed score publications, and reconciling scores with the LMSs.
+ */
+@Path("lti/admin/scores")
+@Produces(MediaType.APPLICATION_JSON)
+@JerseyController
+@AllArgsConstructor
+public class LtiAdminScoresController {
+
+    /**
+     * The {@link Logger}.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(LtiAdminScoresController.class);
+
+    /**
+     * The {@link LtiScoresAdminService} to which the requests will be delegated.
+     */
+    private final LtiScoresAdminService ltiScoresAdminService;
+
+
+    @GET
+    @Path("failed-publications")
+    public Response getDeadLetteredPublications() {
+        LOGGER.debug("Getting all dead-lettered score publications");
+        final var publications = ltiScoresAdminService.getDeadLetteredScorePublications()
+                .stream()
+                .map(FailedScorePublicationDto::fromModel)
+                .collect(Collectors.toList());
+        return Response.ok(publications).build();
+    }
+
+    @GET
+    @Path("failed-publications/{id : .+}")
+    public Response getFailedPublication(@PathParam("id") final UUID id) {
+        validateIdNotMissing(id);
+        LOGGER.debug("Searching for failed score publication with id {}", id);
+        return ltiScoresAdminService.getFailedScorePublication(id)
+                .map(FailedScorePublicationDto::fromModel)
+                .map(Response::ok)
+                .orElse(Response.status(Response.Status.NOT_FOUND).entity(""))
+                .build()
+                ;
+    }
+
+    @POST
+    @Path("failed-publications/{id : .+}/replay")
+    public Response replayFailedPublication(@PathParam("id") final UUID id) {
+        validateIdNotMissing(id);
+        LOGGER.debug("Replaying failed score publication with id {}", id);
+        ltiScoresAdminService.replayFailedScorePublication(id);
+        return Response.noContent().build();
+    }
+
+    @POST
+    @Path("reconciliations/{examId : \\d+}")
+    public Response requestReconciliation(@Context final UriInfo uriInfo, @PathParam("examId") final long examId) {
+        LOGGER.debug("Requesting the reconciliation of scores of exam with id {}", examId);
+        final var reconciliation = ltiScoresAdminService.requestScoreReconciliation(examId);
+        final var location = uriInfo.getBaseUriBuilder()
+                .path(LtiAdminScoresController.class)
+                .path("reconciliations")
+                .path(reconciliation.getId().toString())
+                .build();
+        return Response.accepted(ScoreReconciliationDto.fromModel(reconciliation)).location(location).build();
+    }
+
+    @GET
+    @Path("reconciliations/{id : .+}")
+    public Response getReconciliation(@PathParam("id") final UUID id) {
+        validateIdNotMissing(id);
+        LOGGER.debug("Searching for score reconciliation with id {}", id);
+        return ltiScoresAdminService.getScoreReconciliation(id)
+                .map(ScoreReconciliationDto::fromModel)
+                .map(Response::ok)
+                .orElse(Response.status(Response.Status.NOT_FOUND).entity(""))
+                .build()
+                ;
+    }
+
+
+    /**
+     * Checks that the given {@code id} is not missing.
+     *
+     * @param id The id to be checked.
+     * @throws IllegalParamValueException If the given {@code id} is {@code null}.
+     */
+    private static void validateIdNotMissing(final UUID id) throws IllegalParamValueException {
+        if (id == null) {
+            throw new IllegalParamValueException(List.of("id"));
+        }
+    }
+}
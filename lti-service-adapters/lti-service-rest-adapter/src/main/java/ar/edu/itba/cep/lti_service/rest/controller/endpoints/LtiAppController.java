@@ -2,15 +2,21 @@ package ar.edu.itba.cep.lti_service.rest.controller.endpoints;
 
 import ar.edu.itba.cep.lti.constants.Paths;
 import ar.edu.itba.cep.lti.dtos.*;
+import ar.edu.itba.cep.lti_service.rest.rate_limiting.LoginInitiationRateLimiter;
 import ar.edu.itba.cep.lti_service.services.LtiService;
 import com.bellotapps.webapps_commons.config.JerseyController;
+import com.bellotapps.webapps_commons.exceptions.MissingJsonException;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import java.time.Duration;
 
 /**
  * Rest Adapter of {@link LtiService}, providing endpoints to allow LTI integration.
@@ -26,23 +32,47 @@ public class LtiAppController {
      */
     private static final Logger LOGGER = LoggerFactory.getLogger(LtiAppController.class);
 
+    /**
+     * The <b>429 Too Many Requests</b> status code.
+     */
+    private static final int TOO_MANY_REQUESTS = 429;
+
     /**
      * The {@link LtiService} to which the requests will be delegated.
      */
     private final LtiService ltiService;
+    /**
+     * The {@link LoginInitiationRateLimiter} that protects the login initiation endpoint
+     * (it is unauthenticated, and each request involves a database lookup and signing the state).
+     */
+    private final LoginInitiationRateLimiter loginInitiationRateLimiter;
 
 
     @POST
     @Path(Paths.LOGIN_INITIATION_PATH)
     @Consumes(MediaType.APPLICATION_JSON)
-    public Response loginInit(final LoginInitiationRequestDto dto) {
+    public Response loginInit(@Context final HttpServletRequest request, final LoginInitiationRequestDto dto) {
+        if (dto == null) {
+            throw new MissingJsonException();
+        }
+        final var clientRetryAfter = loginInitiationRateLimiter.checkClient(request.getRemoteAddr());
+        if (clientRetryAfter.isPresent()) {
+            LOGGER.debug("Login initiation request from client {} rate limited", request.getRemoteAddr());
+            return tooManyRequests(clientRetryAfter.get());
+        }
         LOGGER.debug(
                 "Login initiation request for issuer {}, with client id {}, and deployment id {}",
                 dto.getIssuer(),
                 dto.getClientId(),
                 dto.getDeploymentId()
         );
+        // The request only counts for the issuer's quota once it matched a registered tool deployment
         final var authenticationRequest = ltiService.loginInitiation(dto.toModel());
+        final var issuerRetryAfter = loginInitiationRateLimiter.checkIssuer(dto.getIssuer());
+        if (issuerRetryAfter.isPresent()) {
+            LOGGER.debug("Login initiation request for issuer {} rate limited", dto.getIssuer());
+            return tooManyRequests(issuerRetryAfter.get());
+        }
         return Response.ok(AuthenticationRequestDto.fromModel(authenticationRequest)).build();
     }
 
@@ -79,4 +109,17 @@ public class LtiAppController {
     }
 
 
+    /**
+     * Builds a {@code 429 Too Many Requests} {@link Response}.
+     *
+     * @param retryAfter The time after which the client should retry.
+     * @return The built {@link Response}.
+     */
+    private static Response tooManyRequests(final Duration retryAfter) {
+        return Response.status(TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Math.max(1, retryAfter.toSeconds()))
+                .build();
+    }
+
+
 }
@@ -1,5 +1,6 @@
 package ar.edu.itba.cep.lti_service.rest.controller.validation;
 
+import ar.edu.itba.cep.lti_service.crypto.JcaPrimitives;
 import ar.edu.itba.cep.lti_service.rest.controller.dtos.ToolDeploymentDto;
 import ar.edu.itba.cep.security.KeyHelper;
 
@@ -27,10 +28,9 @@ public class ValidPrivateKeyAndSignatureAlgorithmValidator
         final var algorithm = toolDeploymentDto.getSignatureAlgorithm();
 
         try {
-            final var keyFactory = KeyFactory.getInstance(algorithm.getFamilyName());
-            KeyHelper.generateKey(
+            JcaPrimitives.withKeyFactory(algorithm.getFamilyName(), keyFactory -> KeyHelper.generateKey(
                     keyFactory, privateKey, PKCS8EncodedKeySpec::new, KeyFactory::generatePrivate
-            );
+            ));
             return true;
         } catch (final NoSuchAlgorithmException e) {
             return true; // We are not validating this.
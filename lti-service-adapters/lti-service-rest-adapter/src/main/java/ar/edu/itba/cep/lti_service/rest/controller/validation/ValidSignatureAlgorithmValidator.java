@@ -1,12 +1,11 @@
 package ar.edu.itba.cep.lti_service.rest.controller.validation;
 
+import ar.edu.itba.cep.lti_service.crypto.JcaPrimitives;
 import ar.edu.itba.cep.lti_service.rest.controller.dtos.ToolDeploymentDto;
 import io.jsonwebtoken.SignatureAlgorithm;
 
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
-import java.security.KeyFactory;
-import java.security.NoSuchAlgorithmException;
 
 /**
  * A {@link ConstraintValidator} that will verify that a {@link ToolDeploymentDto} carries
@@ -21,11 +20,6 @@ public class ValidSignatureAlgorithmValidator
             return true; // We don't validate if its null in this validator.
         }
 
-        try {
-            KeyFactory.getInstance(signatureAlgorithm.getFamilyName());
-            return true;
-        } catch (final NoSuchAlgorithmException e) {
-            return false;
-        }
+        return JcaPrimitives.isKeyAlgorithmSupported(signatureAlgorithm.getFamilyName());
     }
 }
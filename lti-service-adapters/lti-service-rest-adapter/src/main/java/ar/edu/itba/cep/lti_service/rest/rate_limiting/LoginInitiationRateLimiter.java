@@ -0,0 +1,128 @@
+package ar.edu.itba.cep.lti_service.rest.rate_limiting;
+
+import ar.edu.itba.cep.lti_service.rest.config.LoginInitiationRateLimitConfig.LoginInitiationRateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Rate limits the login initiation requests (which are unauthenticated) by client address and by issuer.
+ * Clients are checked before processing the request, while issuers are checked once the request matched
+ * a registered tool deployment.
+ */
+public class LoginInitiationRateLimiter {
+
+    /**
+     * Indicates whether the requests are rate limited.
+     */
+    private final boolean enabled;
+    /**
+     * The {@link SlidingWindowRateLimiter} keyed by client address.
+     */
+    private final SlidingWindowRateLimiter clientsLimiter;
+    /**
+     * The {@link SlidingWindowRateLimiter} keyed by issuer.
+     */
+    private final SlidingWindowRateLimiter issuersLimiter;
+    /**
+     * The max. amount of requests a client can perform in a window.
+     */
+    private final int clientLimit;
+    /**
+     * The max. amount of requests for an issuer without a specific quota in a window.
+     */
+    private final int defaultIssuerLimit;
+    /**
+     * The quotas of specific issuers.
+     */
+    private final Map<String, Integer> issuerLimits;
+    /**
+     * The {@link Counter} of the requests rejected by client address.
+     */
+    private final Counter clientRejections;
+    /**
+     * The {@link Counter} of the requests rejected by issuer.
+     */
+    private final Counter issuerRejections;
+
+
+    /**
+     * Constructor.
+     *
+     * @param properties    The {@link LoginInitiationRateLimitProperties} used to configure the limiter.
+     * @param meterRegistry The {@link MeterRegistry} in which the rejections are counted.
+     */
+    public LoginInitiationRateLimiter(
+            final LoginInitiationRateLimitProperties properties,
+            final MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.clientsLimiter = new SlidingWindowRateLimiter(
+                properties.getWindow(),
+                properties.getSlots(),
+                properties.getStripes()
+        );
+        this.issuersLimiter = new SlidingWindowRateLimiter(
+                properties.getWindow(),
+                properties.getSlots(),
+                properties.getStripes()
+        );
+        this.clientLimit = properties.getClientLimit();
+        this.defaultIssuerLimit = properties.getIssuerLimit();
+        this.issuerLimits = Map.copyOf(properties.getIssuerLimits());
+        this.clientRejections = rejectionsCounter(meterRegistry, "client");
+        this.issuerRejections = rejectionsCounter(meterRegistry, "issuer");
+    }
+
+
+    /**
+     * Checks whether a login initiation request from the given {@code clientAddress} can be processed.
+     *
+     * @param clientAddress The address of the client.
+     * @return An {@link Optional} containing the time after which the client should retry
+     * if the request exceeded the client's limit, or empty if it can be processed.
+     */
+    public Optional<Duration> checkClient(final String clientAddress) {
+        if (!enabled || clientAddress == null || clientsLimiter.tryAcquire(clientAddress, clientLimit)) {
+            return Optional.empty();
+        }
+        clientRejections.increment();
+        return Optional.of(clientsLimiter.untilNextWindow());
+    }
+
+    /**
+     * Checks whether a login initiation request for the given {@code issuer} can be processed.
+     * This must only be called once the request matched a registered tool deployment
+     * (the request is unauthenticated, so counting any issuer would allow anyone to exhaust the quota of a real LMS).
+     *
+     * @param issuer The issuer of the request (i.e of the matched tool deployment).
+     * @return An {@link Optional} containing the time after which the client should retry
+     * if the request exceeded the issuer's limit, or empty if it can be processed.
+     */
+    public Optional<Duration> checkIssuer(final String issuer) {
+        if (!enabled
+                || issuer == null
+                || issuersLimiter.tryAcquire(issuer, issuerLimits.getOrDefault(issuer, defaultIssuerLimit))) {
+            return Optional.empty();
+        }
+        issuerRejections.increment();
+        return Optional.of(issuersLimiter.untilNextWindow());
+    }
+
+
+    /**
+     * Registers a {@link Counter} of the requests rejected by the given {@code key}.
+     *
+     * @param meterRegistry The {@link MeterRegistry} in which the counter is registered.
+     * @param key           The key by which requests are rejected.
+     * @return The registered {@link Counter}.
+     */
+    private static Counter rejectionsCounter(final MeterRegistry meterRegistry, final String key) {
+        return Counter.builder("lti.login.initiation.rate.limited")
+                .description("Login initiation requests rejected by the rate limiter")
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,125 @@
+package ar.edu.itba.cep.lti_service.rest.rate_limiting;
+
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+
+/**
+ * A rate limiter that uses sliding-window counters (i.e the count of the previous window is weighted by the
+ * part of it that overlaps the sliding window) stored in a fixed table, so no memory is allocated per key.
+ * Keys are hashed into the table's slots, which are guarded by striped locks. Keys colliding in the same slot
+ * share their counters, which can only make their limits stricter.
+ */
+public class SlidingWindowRateLimiter {
+
+    /**
+     * The length of a window (in nanoseconds).
+     */
+    private final long windowNanos;
+    /**
+     * The mask used to get the slot of a hash.
+     */
+    private final int slotsMask;
+    /**
+     * The mask used to get the lock of a slot.
+     */
+    private final int stripesMask;
+    /**
+     * The window to which the current count of each slot belongs.
+     */
+    private final long[] windows;
+    /**
+     * The count of the current window of each slot.
+     */
+    private final int[] currentCounts;
+    /**
+     * The count of the previous window of each slot.
+     */
+    private final int[] previousCounts;
+    /**
+     * The locks guarding the slots.
+     */
+    private final Object[] locks;
+
+
+    /**
+     * Constructor.
+     *
+     * @param window  The length of a window.
+     * @param slots   The amount of slots (rounded up to a power of two).
+     * @param stripes The amount of locks (rounded up to a power of two).
+     */
+    public SlidingWindowRateLimiter(final Duration window, final int slots, final int stripes) {
+        Assert.isTrue(!window.isNegative() && !window.isZero(), "The window must be positive");
+        Assert.isTrue(slots > 0, "The amount of slots must be positive");
+        Assert.isTrue(stripes > 0, "The amount of stripes must be positive");
+        final var slotsCount = powerOfTwo(slots);
+        final var stripesCount = Math.min(powerOfTwo(stripes), slotsCount);
+        this.windowNanos = window.toNanos();
+        this.slotsMask = slotsCount - 1;
+        this.stripesMask = stripesCount - 1;
+        this.windows = new long[slotsCount];
+        this.currentCounts = new int[slotsCount];
+        this.previousCounts = new int[slotsCount];
+        this.locks = new Object[stripesCount];
+        for (int i = 0; i < stripesCount; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+
+    /**
+     * Tries to acquire a permit for the given {@code key}.
+     *
+     * @param key   The key.
+     * @param limit The max. amount of permits the {@code key} can acquire in a window.
+     * @return {@code true} if the permit was acquired, or {@code false} if the {@code key} exceeded its limit.
+     */
+    public boolean tryAcquire(final Object key, final int limit) {
+        final var now = System.nanoTime();
+        final var window = Math.floorDiv(now, windowNanos);
+        final var previousWeight = 1 - (double) Math.floorMod(now, windowNanos) / windowNanos;
+        final var slot = spread(key.hashCode()) & slotsMask;
+        synchronized (locks[slot & stripesMask]) {
+            if (windows[slot] != window) {
+                previousCounts[slot] = windows[slot] == window - 1 ? currentCounts[slot] : 0;
+                currentCounts[slot] = 0;
+                windows[slot] = window;
+            }
+            if (currentCounts[slot] + previousCounts[slot] * previousWeight >= limit) {
+                return false;
+            }
+            currentCounts[slot]++;
+            return true;
+        }
+    }
+
+    /**
+     * @return The time until the current window ends.
+     */
+    public Duration untilNextWindow() {
+        return Duration.ofNanos(windowNanos - Math.floorMod(System.nanoTime(), windowNanos));
+    }
+
+
+    /**
+     * Spreads the bits of the given {@code hash}, so keys differing in their higher bits do not collide.
+     *
+     * @param hash The hash.
+     * @return The spread hash.
+     */
+    private static int spread(final int hash) {
+        final var h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Rounds the given {@code value} up to a power of two.
+     *
+     * @param value The value.
+     * @return The smallest power of two not less than the {@code value}.
+     */
+    private static int powerOfTwo(final int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+}
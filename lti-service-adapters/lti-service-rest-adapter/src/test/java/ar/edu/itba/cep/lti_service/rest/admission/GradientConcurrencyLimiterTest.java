@@ -0,0 +1,115 @@
+package ar.edu.itba.cep.lti_service.rest.admission;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Test class for {@link GradientConcurrencyLimiter}.
+ */
+class GradientConcurrencyLimiterTest {
+
+    /**
+     * The initial limit used by the tests.
+     */
+    private static final int INITIAL_LIMIT = 10;
+    /**
+     * The min. limit used by the tests.
+     */
+    private static final int MIN_LIMIT = 6;
+    /**
+     * The latency of the requests when the limiter is not overloaded (in milliseconds).
+     */
+    private static final long BASE_LATENCY = 10;
+
+
+    /**
+     * Tests that requests are rejected once the limit is reached, and admitted again once a request is released.
+     */
+    @Test
+    void testRequestsAreRejectedOnceTheLimitIsReached() {
+        final var limiter = limiter(1, 1);
+        IntStream.range(0, INITIAL_LIMIT).forEach(
+                i -> Assertions.assertTrue(limiter.tryAcquire(1), "A request within the limit was rejected")
+        );
+        Assertions.assertFalse(limiter.tryAcquire(1), "A request beyond the limit was admitted");
+        limiter.release(BASE_LATENCY, TimeUnit.MILLISECONDS);
+        Assertions.assertTrue(limiter.tryAcquire(1), "A request was rejected after another one was released");
+    }
+
+    /**
+     * Tests that requests with a lower share of the limit are rejected before the limit is reached.
+     */
+    @Test
+    void testLowerPriorityRequestsAreShedFirst() {
+        final var limiter = limiter(1, 1);
+        IntStream.range(0, INITIAL_LIMIT / 2).forEach(i -> limiter.tryAcquire(0.5));
+        Assertions.assertAll(
+                "The shares of the limit are not respected",
+                () -> Assertions.assertFalse(limiter.tryAcquire(0.5)),
+                () -> Assertions.assertTrue(limiter.tryAcquire(1))
+        );
+    }
+
+    /**
+     * Tests that the limit grows while the latency is stable and the limit is being used.
+     */
+    @Test
+    void testLimitGrowsWhileLatencyIsStable() {
+        final var limiter = limiter(1, 1.5);
+        saturate(limiter);
+        limiter.release(BASE_LATENCY, TimeUnit.MILLISECONDS); // The first sample initializes the averages
+        limiter.tryAcquire(1);
+        limiter.release(BASE_LATENCY, TimeUnit.MILLISECONDS);
+        Assertions.assertTrue(limiter.getLimit() > INITIAL_LIMIT, "The limit did not grow");
+    }
+
+    /**
+     * Tests that the limit is reduced when the latency grows (i.e requests start queueing),
+     * but never below the min. limit.
+     */
+    @Test
+    void testLimitIsReducedWhenLatencyGrows() {
+        final var limiter = limiter(MIN_LIMIT, 1);
+        saturate(limiter);
+        limiter.release(BASE_LATENCY, TimeUnit.MILLISECONDS); // The first sample initializes the averages
+        limiter.tryAcquire(1);
+        limiter.release(BASE_LATENCY * 10, TimeUnit.MILLISECONDS);
+        final var reduced = limiter.getLimit();
+        IntStream.range(0, 3).forEach(i -> limiter.release(BASE_LATENCY * 100, TimeUnit.MILLISECONDS));
+        Assertions.assertAll(
+                "The limit was not reduced within its bounds",
+                () -> Assertions.assertTrue(reduced < INITIAL_LIMIT),
+                () -> Assertions.assertEquals(MIN_LIMIT, limiter.getLimit())
+        );
+    }
+
+
+    // ================================================================================================================
+    // Helpers
+    // ================================================================================================================
+
+    /**
+     * Creates a {@link GradientConcurrencyLimiter} without smoothing, whose short-term average is the last sample.
+     *
+     * @param minLimit  The min. limit.
+     * @param tolerance The ratio by which the short-term latency can exceed the long-term one.
+     * @return The created {@link GradientConcurrencyLimiter}.
+     */
+    private static GradientConcurrencyLimiter limiter(final int minLimit, final double tolerance) {
+        return new GradientConcurrencyLimiter(INITIAL_LIMIT, minLimit, 100, 1, tolerance, 1, 100);
+    }
+
+    /**
+     * Admits requests until the given {@code limiter} reaches its limit.
+     *
+     * @param limiter The {@link GradientConcurrencyLimiter}.
+     */
+    private static void saturate(final GradientConcurrencyLimiter limiter) {
+        while (limiter.tryAcquire(1)) {
+            // Keep admitting requests
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package ar.edu.itba.cep.lti_service.rest.rate_limiting;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+/**
+ * Test class for {@link SlidingWindowRateLimiter}.
+ */
+class SlidingWindowRateLimiterTest {
+
+    /**
+     * The length of the window used by the tests (long enough for the tests to run within a window).
+     */
+    private static final Duration WINDOW = Duration.ofHours(1);
+    /**
+     * The amount of slots used by the tests.
+     */
+    private static final int SLOTS = 1024;
+    /**
+     * The amount of stripes used by the tests.
+     */
+    private static final int STRIPES = 8;
+    /**
+     * The limit used by the tests.
+     */
+    private static final int LIMIT = 3;
+
+
+    /**
+     * Tests that a key can only acquire as many permits as its limit within a window.
+     */
+    @Test
+    void testPermitsAreLimitedWithinAWindow() {
+        final var limiter = new SlidingWindowRateLimiter(WINDOW, SLOTS, STRIPES);
+        IntStream.range(0, LIMIT).forEach(i -> Assertions.assertTrue(
+                limiter.tryAcquire("10.0.0.1", LIMIT),
+                "A permit within the limit was denied"
+        ));
+        Assertions.assertFalse(limiter.tryAcquire("10.0.0.1", LIMIT), "A permit beyond the limit was granted");
+    }
+
+    /**
+     * Tests that a key exceeding its limit does not affect other keys
+     * (the keys used by the test do not share a slot).
+     */
+    @Test
+    void testKeysHaveTheirOwnLimits() {
+        final var limiter = new SlidingWindowRateLimiter(WINDOW, SLOTS, STRIPES);
+        IntStream.range(0, LIMIT).forEach(i -> limiter.tryAcquire("10.0.0.1", LIMIT));
+        Assertions.assertAll(
+                "The limit of a key was applied to another one",
+                () -> Assertions.assertFalse(limiter.tryAcquire("10.0.0.1", LIMIT)),
+                () -> Assertions.assertTrue(limiter.tryAcquire("10.0.0.2", LIMIT))
+        );
+    }
+
+    /**
+     * Tests that the time until the next window is positive and not longer than the window.
+     */
+    @Test
+    void testTimeUntilNextWindowIsWithinTheWindow() {
+        final var limiter = new SlidingWindowRateLimiter(WINDOW, SLOTS, STRIPES);
+        final var untilNextWindow = limiter.untilNextWindow();
+        Assertions.assertAll(
+                "The time until the next window is not within the window",
+                () -> Assertions.assertFalse(untilNextWindow.isNegative() || untilNextWindow.isZero()),
+                () -> Assertions.assertTrue(untilNextWindow.compareTo(WINDOW) <= 0)
+        );
+    }
+
+    /**
+     * Tests that a limiter cannot be created with a non positive window.
+     */
+    @Test
+    void testNonPositiveWindowIsRejected() {
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new SlidingWindowRateLimiter(Duration.ZERO, SLOTS, STRIPES),
+                "A limiter was created with an empty window"
+        );
+    }
+}
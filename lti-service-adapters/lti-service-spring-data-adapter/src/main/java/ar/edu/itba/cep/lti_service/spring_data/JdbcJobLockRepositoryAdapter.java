@@ -0,0 +1,108 @@
+package ar.edu.itba.cep.lti_service.spring_data;
+
+import ar.edu.itba.cep.lti_service.repositories.JobLockRepository;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * A concrete implementation of a {@link JobLockRepository} that uses PostgreSQL session advisory locks.
+ * Each acquired lock holds a connection until it is released, so if the instance dies while holding it,
+ * the lock is released by the database when the connection is closed.
+ */
+@Repository
+@AllArgsConstructor
+public class JdbcJobLockRepositoryAdapter implements JobLockRepository {
+
+    /**
+     * The {@link Logger}.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(JdbcJobLockRepositoryAdapter.class);
+
+    /**
+     * The {@link DataSource} from where the connections holding the locks are taken.
+     */
+    private final DataSource dataSource;
+
+
+    @Override
+    public Optional<JobLock> tryLock(final String name) {
+        final Connection connection;
+        try {
+            connection = dataSource.getConnection();
+        } catch (final SQLException e) {
+            throw new DataAccessResourceFailureException("Could not get a connection to acquire lock " + name, e);
+        }
+        try {
+            if (execute(connection, "SELECT pg_try_advisory_lock(hashtext(?))", name)) {
+                return Optional.of(() -> release(connection, name));
+            }
+        } catch (final SQLException e) {
+            close(connection);
+            throw new DataAccessResourceFailureException("Could not acquire lock " + name, e);
+        }
+        close(connection);
+        return Optional.empty();
+    }
+
+
+    // ================================================================================================================
+    // Helpers
+    // ================================================================================================================
+
+    /**
+     * Releases the lock with the given {@code name}, held by the given {@code connection}, and closes it.
+     *
+     * @param connection The {@link Connection} holding the lock.
+     * @param name       The name of the lock.
+     */
+    private static void release(final Connection connection, final String name) {
+        try {
+            execute(connection, "SELECT pg_advisory_unlock(hashtext(?))", name);
+        } catch (final SQLException e) {
+            LOGGER.warn("Could not release lock {}. It is released when the connection is closed", name);
+            LOGGER.debug("Release error: ", e);
+        } finally {
+            close(connection);
+        }
+    }
+
+    /**
+     * Executes the given advisory lock {@code function} call for the given lock {@code name}.
+     *
+     * @param connection The {@link Connection} in which the call is executed.
+     * @param function   The query calling the advisory lock function.
+     * @param name       The name of the lock.
+     * @return The boolean result of the call.
+     * @throws SQLException If there is any issue when executing the call.
+     */
+    private static boolean execute(final Connection connection, final String function, final String name)
+            throws SQLException {
+        try (final var statement = connection.prepareStatement(function)) {
+            statement.setString(1, name);
+            try (final var resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    /**
+     * Closes the given {@code connection} (i.e returns it to the pool).
+     *
+     * @param connection The {@link Connection} to be closed.
+     */
+    private static void close(final Connection connection) {
+        try {
+            connection.close();
+        } catch (final SQLException e) {
+            LOGGER.debug("Could not close connection: ", e);
+        }
+    }
+}
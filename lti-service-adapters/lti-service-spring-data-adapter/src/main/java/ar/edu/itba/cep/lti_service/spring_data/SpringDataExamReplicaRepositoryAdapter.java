@@ -0,0 +1,33 @@
+package ar.edu.itba.cep.lti_service.spring_data;
+
+import ar.edu.itba.cep.lti_service.models.ExamReplica;
+import ar.edu.itba.cep.lti_service.repositories.ExamReplicaRepository;
+import ar.edu.itba.cep.lti_service.spring_data.interfaces.SpringDataExamReplicaRepository;
+import com.bellotapps.webapps_commons.persistence.spring_data.repository_utils_adapters.repositories.BasicRepositoryAdapter;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+/**
+ * A concrete implementation of a {@link ExamReplicaRepository}
+ * which acts as an adapter for a {@link SpringDataExamReplicaRepository}.
+ */
+@Repository
+@AllArgsConstructor
+public class SpringDataExamReplicaRepositoryAdapter
+        implements ExamReplicaRepository, BasicRepositoryAdapter<ExamReplica, Long> {
+
+    /**
+     * A {@link SpringDataExamReplicaRepository} to which all operations are delegated.
+     */
+    private final SpringDataExamReplicaRepository repository;
+
+
+    // ================================================================================================================
+    // RepositoryAdapter
+    // ================================================================================================================
+
+    @Override
+    public SpringDataExamReplicaRepository getCrudRepository() {
+        return repository;
+    }
+}
@@ -1,14 +1,18 @@
 package ar.edu.itba.cep.lti_service.spring_data;
 
 import ar.edu.itba.cep.lti_service.models.ExamTaking;
+import ar.edu.itba.cep.lti_service.models.ToolDeployment;
 import ar.edu.itba.cep.lti_service.repositories.ExamTakingRepository;
 import ar.edu.itba.cep.lti_service.spring_data.interfaces.SpringDataExamTakingRepository;
 import com.bellotapps.webapps_commons.persistence.spring_data.repository_utils_adapters.repositories.BasicRepositoryAdapter;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * A mock implementation of a {@link ExamTakingRepository}, created in order to boot the application.
@@ -47,4 +51,54 @@ public class SpringDataExamTakingRepositoryAdapter
     public boolean exists(final long examId, final String subject) {
         return repository.existsByExamIdAndSubject(examId, subject);
     }
+
+    @Override
+    public List<ExamTaking> find(final long examId) {
+        return repository.findByExamId(examId);
+    }
+
+    @Override
+    public List<ExamTaking> findScored(final long examId, final UUID after, final int pageSize) {
+        final var pageable = PageRequest.of(0, pageSize);
+        return after == null
+                ? repository.findByExamIdAndScoreNotNullOrderById(examId, pageable)
+                : repository.findByExamIdAndScoreNotNullAndIdGreaterThanOrderById(examId, after, pageable);
+    }
+
+    @Override
+    public List<Long> findExamIds() {
+        return repository.findDistinctExamIds();
+    }
+
+    @Override
+    public List<Long> findUnfinishedExamIds() {
+        return repository.findDistinctUnfinishedExamIds();
+    }
+
+    @Override
+    public List<ToolDeployment> findToolDeployments(final long examId) {
+        return repository.findDistinctToolDeploymentsByExamId(examId);
+    }
+
+    @Override
+    public List<String> findSubjects(final long examId) {
+        return repository.findSubjectsByExamId(examId);
+    }
+
+    @Override
+    public boolean saveIfAbsent(final ExamTaking examTaking) {
+        return repository.insertIfAbsent(
+                UUID.randomUUID().toString(),
+                examTaking.getExamId(),
+                examTaking.getSubject(),
+                examTaking.getLineItemUrl(),
+                examTaking.getMaxScore(),
+                examTaking.getToolDeployment().getId().toString()
+        ) > 0;
+    }
+
+    @Override
+    public List<ExamTaking> saveAllIfAbsent(final List<ExamTaking> examTakings) {
+        return examTakings.stream().filter(this::saveIfAbsent).collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,61 @@
+package ar.edu.itba.cep.lti_service.spring_data;
+
+import ar.edu.itba.cep.lti_service.models.ExamTaking;
+import ar.edu.itba.cep.lti_service.models.FailedScorePublication;
+import ar.edu.itba.cep.lti_service.repositories.FailedScorePublicationRepository;
+import ar.edu.itba.cep.lti_service.spring_data.interfaces.SpringDataFailedScorePublicationRepository;
+import com.bellotapps.webapps_commons.persistence.spring_data.repository_utils_adapters.repositories.BasicRepositoryAdapter;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A concrete implementation of a {@link FailedScorePublicationRepository}
+ * which acts as an adapter for a {@link SpringDataFailedScorePublicationRepository}.
+ */
+@Repository
+@AllArgsConstructor
+public class SpringDataFailedScorePublicationRepositoryAdapter
+        implements FailedScorePublicationRepository, BasicRepositoryAdapter<FailedScorePublication, UUID> {
+
+    /**
+     * A {@link SpringDataFailedScorePublicationRepository} to which all operations are delegated.
+     */
+    private final SpringDataFailedScorePublicationRepository repository;
+
+
+    // ================================================================================================================
+    // RepositoryAdapter
+    // ================================================================================================================
+
+    @Override
+    public SpringDataFailedScorePublicationRepository getCrudRepository() {
+        return repository;
+    }
+
+
+    // ================================================================================================================
+    // FailedScorePublicationRepository specific methods
+    // ================================================================================================================
+
+    @Override
+    public List<FailedScorePublication> findDueAt(final Instant instant) {
+        return repository.findTop100ByStateAndNextAttemptAtLessThanEqualOrderByNextAttemptAt(
+                FailedScorePublication.State.RETRYING,
+                instant
+        );
+    }
+
+    @Override
+    public List<FailedScorePublication> findDeadLettered() {
+        return repository.findByStateOrderByCreatedAt(FailedScorePublication.State.DEAD_LETTERED);
+    }
+
+    @Override
+    public void deleteFor(final ExamTaking examTaking) {
+        repository.deleteByExamTaking(examTaking);
+    }
+}
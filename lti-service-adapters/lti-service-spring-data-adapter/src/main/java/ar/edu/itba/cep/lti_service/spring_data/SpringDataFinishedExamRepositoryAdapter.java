@@ -0,0 +1,33 @@
+package ar.edu.itba.cep.lti_service.spring_data;
+
+import ar.edu.itba.cep.lti_service.models.FinishedExam;
+import ar.edu.itba.cep.lti_service.repositories.FinishedExamRepository;
+import ar.edu.itba.cep.lti_service.spring_data.interfaces.SpringDataFinishedExamRepository;
+import com.bellotapps.webapps_commons.persistence.spring_data.repository_utils_adapters.repositories.BasicRepositoryAdapter;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+/**
+ * A concrete implementation of a {@link FinishedExamRepository}
+ * which acts as an adapter for a {@link SpringDataFinishedExamRepository}.
+ */
+@Repository
+@AllArgsConstructor
+public class SpringDataFinishedExamRepositoryAdapter
+        implements FinishedExamRepository, BasicRepositoryAdapter<FinishedExam, Long> {
+
+    /**
+     * A {@link SpringDataFinishedExamRepository} to which all operations are delegated.
+     */
+    private final SpringDataFinishedExamRepository repository;
+
+
+    // ================================================================================================================
+    // RepositoryAdapter
+    // ================================================================================================================
+
+    @Override
+    public SpringDataFinishedExamRepository getCrudRepository() {
+        return repository;
+    }
+}
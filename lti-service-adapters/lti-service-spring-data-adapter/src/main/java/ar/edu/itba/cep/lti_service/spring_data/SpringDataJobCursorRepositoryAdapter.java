@@ -0,0 +1,33 @@
+package ar.edu.itba.cep.lti_service.spring_data;
+
+import ar.edu.itba.cep.lti_service.models.JobCursor;
+import ar.edu.itba.cep.lti_service.repositories.JobCursorRepository;
+import ar.edu.itba.cep.lti_service.spring_data.interfaces.SpringDataJobCursorRepository;
+import com.bellotapps.webapps_commons.persistence.spring_data.repository_utils_adapters.repositories.BasicRepositoryAdapter;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+/**
+ * A concrete implementation of a {@link JobCursorRepository}
+ * which acts as an adapter for a {@link SpringDataJobCursorRepository}.
+ */
+@Repository
+@AllArgsConstructor
+public class SpringDataJobCursorRepositoryAdapter
+        implements JobCursorRepository, BasicRepositoryAdapter<JobCursor, String> {
+
+    /**
+     * A {@link SpringDataJobCursorRepository} to which all operations are delegated.
+     */
+    private final SpringDataJobCursorRepository repository;
+
+
+    // ================================================================================================================
+    // RepositoryAdapter
+    // ================================================================================================================
+
+    @Override
+    public SpringDataJobCursorRepository getCrudRepository() {
+        return repository;
+    }
+}
@@ -0,0 +1,73 @@
+package ar.edu.itba.cep.lti_service.spring_data;
+
+import ar.edu.itba.cep.lti_service.models.ResourceLink;
+import ar.edu.itba.cep.lti_service.models.ToolDeployment;
+import ar.edu.itba.cep.lti_service.repositories.ResourceLinkRepository;
+import ar.edu.itba.cep.lti_service.spring_data.interfaces.SpringDataResourceLinkRepository;
+import com.bellotapps.webapps_commons.persistence.spring_data.repository_utils_adapters.repositories.BasicRepositoryAdapter;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A concrete implementation of a {@link ResourceLinkRepository}
+ * which acts as an adapter for a {@link SpringDataResourceLinkRepository}.
+ */
+@Repository
+@AllArgsConstructor
+public class SpringDataResourceLinkRepositoryAdapter
+        implements ResourceLinkRepository, BasicRepositoryAdapter<ResourceLink, UUID> {
+
+    /**
+     * A {@link SpringDataResourceLinkRepository} to which all operations are delegated.
+     */
+    private final SpringDataResourceLinkRepository repository;
+
+
+    // ================================================================================================================
+    // RepositoryAdapter
+    // ================================================================================================================
+
+    @Override
+    public SpringDataResourceLinkRepository getCrudRepository() {
+        return repository;
+    }
+
+
+    // ================================================================================================================
+    // ResourceLinkRepository specific methods
+    // ================================================================================================================
+
+    @Override
+    public List<ResourceLink> find(final long examId) {
+        return repository.findByExamId(examId);
+    }
+
+    @Override
+    public List<Long> findExamIds() {
+        return repository.findDistinctExamIds();
+    }
+
+    @Override
+    public List<Long> findUnfinishedExamIds() {
+        return repository.findDistinctUnfinishedExamIds();
+    }
+
+    @Override
+    public List<ToolDeployment> findToolDeployments(final long examId) {
+        return repository.findDistinctToolDeploymentsByExamId(examId);
+    }
+
+    @Override
+    public boolean saveIfAbsent(final ResourceLink resourceLink) {
+        return repository.insertIfAbsent(
+                UUID.randomUUID().toString(),
+                resourceLink.getExamId(),
+                resourceLink.getToolDeployment().getId().toString(),
+                resourceLink.getLineItemsUrl(),
+                resourceLink.getContextMembershipsUrl()
+        ) > 0;
+    }
+}
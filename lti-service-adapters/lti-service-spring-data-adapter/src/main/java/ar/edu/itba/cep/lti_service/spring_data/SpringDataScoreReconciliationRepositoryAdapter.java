@@ -0,0 +1,69 @@
+package ar.edu.itba.cep.lti_service.spring_data;
+
+import ar.edu.itba.cep.lti_service.models.ScoreReconciliation;
+import ar.edu.itba.cep.lti_service.repositories.ScoreReconciliationRepository;
+import ar.edu.itba.cep.lti_service.spring_data.interfaces.SpringDataScoreReconciliationRepository;
+import com.bellotapps.webapps_commons.persistence.spring_data.repository_utils_adapters.repositories.BasicRepositoryAdapter;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * A concrete implementation of a {@link ScoreReconciliationRepository}
+ * which acts as an adapter for a {@link SpringDataScoreReconciliationRepository}.
+ */
+@Repository
+@AllArgsConstructor
+public class SpringDataScoreReconciliationRepositoryAdapter
+        implements ScoreReconciliationRepository, BasicRepositoryAdapter<ScoreReconciliation, UUID> {
+
+    /**
+     * A {@link SpringDataScoreReconciliationRepository} to which all operations are delegated.
+     */
+    private final SpringDataScoreReconciliationRepository repository;
+
+
+    // ================================================================================================================
+    // RepositoryAdapter
+    // ================================================================================================================
+
+    @Override
+    public SpringDataScoreReconciliationRepository getCrudRepository() {
+        return repository;
+    }
+
+
+    // ================================================================================================================
+    // ScoreReconciliationRepository specific methods
+    // ================================================================================================================
+
+    @Override
+    public Optional<ScoreReconciliation> findUnfinished(final long examId) {
+        return repository.findFirstByExamIdAndStateNot(examId, ScoreReconciliation.State.FINISHED);
+    }
+
+    @Override
+    public List<UUID> findClaimable(final Instant staleBefore) {
+        return repository.findClaimableIds(
+                ScoreReconciliation.State.PENDING,
+                ScoreReconciliation.State.RUNNING,
+                staleBefore
+        );
+    }
+
+    @Override
+    public boolean claim(final UUID id, final Instant staleBefore) {
+        final var claimed = repository.claim(
+                id,
+                ScoreReconciliation.State.PENDING,
+                ScoreReconciliation.State.RUNNING,
+                staleBefore,
+                Instant.now()
+        );
+        return claimed == 1;
+    }
+}
@@ -0,0 +1,12 @@
+package ar.edu.itba.cep.lti_service.spring_data.interfaces;
+
+import ar.edu.itba.cep.lti_service.models.ExamReplica;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * A {@link CrudRepository} for {@link ExamReplica}s.
+ */
+@Repository
+public interface SpringDataExamReplicaRepository extends CrudRepository<ExamReplica, Long> {
+}
@@ -1,10 +1,17 @@
 package ar.edu.itba.cep.lti_service.spring_data.interfaces;
 
 import ar.edu.itba.cep.lti_service.models.ExamTaking;
+import ar.edu.itba.cep.lti_service.models.FinishedExam;
 import ar.edu.itba.cep.lti_service.models.ToolDeployment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -31,4 +38,105 @@ public interface SpringDataExamTakingRepository extends CrudRepository<ExamTakin
      * @return {@code true} if there is a matching {@link ExamTaking}, or {@code false} otherwise.
      */
     boolean existsByExamIdAndSubject(final long examId, final String subject);
+
+    /**
+     * Retrieves all the {@link ExamTaking}s of the exam with the given {@code examId},
+     * fetching their {@link ToolDeployment}s.
+     *
+     * @param examId The exam id.
+     * @return A {@link List} containing the {@link ExamTaking}s of the exam.
+     */
+    @EntityGraph(attributePaths = "toolDeployment")
+    List<ExamTaking> findByExamId(final long examId);
+
+    /**
+     * Retrieves the first page of scored {@link ExamTaking}s of the exam with the given {@code examId},
+     * ordered by id, fetching their {@link ToolDeployment}s.
+     *
+     * @param examId   The exam id.
+     * @param pageable The {@link Pageable} that limits the amount of results.
+     * @return A {@link List} containing the page of {@link ExamTaking}s.
+     */
+    @EntityGraph(attributePaths = "toolDeployment")
+    List<ExamTaking> findByExamIdAndScoreNotNullOrderById(final long examId, final Pageable pageable);
+
+    /**
+     * Retrieves a page of scored {@link ExamTaking}s of the exam with the given {@code examId}
+     * whose id is greater than the given {@code id}, ordered by id, fetching their {@link ToolDeployment}s.
+     *
+     * @param examId   The exam id.
+     * @param id       The id of the last {@link ExamTaking} of the previous page.
+     * @param pageable The {@link Pageable} that limits the amount of results.
+     * @return A {@link List} containing the page of {@link ExamTaking}s.
+     */
+    @EntityGraph(attributePaths = "toolDeployment")
+    List<ExamTaking> findByExamIdAndScoreNotNullAndIdGreaterThanOrderById(
+            final long examId,
+            final UUID id,
+            final Pageable pageable);
+
+    /**
+     * Retrieves the ids of all the exams that have at least one {@link ExamTaking}.
+     *
+     * @return A {@link List} containing the ids of the exams (without duplicates).
+     */
+    @Query("SELECT DISTINCT et.examId FROM ExamTaking et")
+    List<Long> findDistinctExamIds();
+
+    /**
+     * Retrieves the ids of the exams that have at least one {@link ExamTaking},
+     * and that are not known to be finished (i.e there is no {@link FinishedExam} for them).
+     *
+     * @return A {@link List} containing the ids of the exams (without duplicates).
+     */
+    @Query("SELECT DISTINCT et.examId FROM ExamTaking et"
+            + " WHERE NOT EXISTS (SELECT fe FROM FinishedExam fe WHERE fe.examId = et.examId)")
+    List<Long> findDistinctUnfinishedExamIds();
+
+    /**
+     * Retrieves the {@link ToolDeployment}s of the {@link ExamTaking}s of the exam with the given {@code examId}.
+     *
+     * @param examId The exam id.
+     * @return A {@link List} containing the {@link ToolDeployment}s (without duplicates).
+     */
+    @Query("SELECT DISTINCT et.toolDeployment FROM ExamTaking et WHERE et.examId = :examId")
+    List<ToolDeployment> findDistinctToolDeploymentsByExamId(@Param("examId") final long examId);
+
+    /**
+     * Retrieves the subjects that have an {@link ExamTaking} of the exam with the given {@code examId}.
+     *
+     * @param examId The exam id.
+     * @return A {@link List} containing the subjects.
+     */
+    @Query("SELECT et.subject FROM ExamTaking et WHERE et.examId = :examId")
+    List<String> findSubjectsByExamId(@Param("examId") final long examId);
+
+    /**
+     * Inserts an {@link ExamTaking} with the given values, unless there is already one with the same
+     * {@code examId} and {@code subject} (i.e the insertion does nothing on conflict).
+     * Ids are bound as strings and cast in the query, as native queries would bind {@link UUID}s as binary values.
+     *
+     * @param id               The id of the {@link ExamTaking}.
+     * @param examId           The exam id.
+     * @param subject          The subject.
+     * @param lineItemUrl      The url of the line item in which the score is published.
+     * @param maxScore         The max. score of the exam.
+     * @param toolDeploymentId The id of the {@link ToolDeployment} through which the exam is taken.
+     * @return The amount of inserted rows (i.e 1 if the {@link ExamTaking} was inserted, or 0 if it already existed).
+     */
+    @Modifying
+    @Query(
+            value = "INSERT INTO exam_takings (id, exam_id, subject, line_item_url, max_score, tool_deployment_id)"
+                    + " VALUES (CAST(:id AS UUID), :examId, :subject, :lineItemUrl, :maxScore,"
+                    + " CAST(:toolDeploymentId AS UUID))"
+                    + " ON CONFLICT (exam_id, subject) DO NOTHING",
+            nativeQuery = true
+    )
+    int insertIfAbsent(
+            @Param("id") final String id,
+            @Param("examId") final long examId,
+            @Param("subject") final String subject,
+            @Param("lineItemUrl") final String lineItemUrl,
+            @Param("maxScore") final int maxScore,
+            @Param("toolDeploymentId") final String toolDeploymentId);
 }
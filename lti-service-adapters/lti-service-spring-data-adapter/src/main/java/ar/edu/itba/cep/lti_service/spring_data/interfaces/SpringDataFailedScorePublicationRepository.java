@@ -0,0 +1,52 @@
+package ar.edu.itba.cep.lti_service.spring_data.interfaces;
+
+import ar.edu.itba.cep.lti_service.models.ExamTaking;
+import ar.edu.itba.cep.lti_service.models.FailedScorePublication;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * A {@link CrudRepository} for {@link FailedScorePublication}s.
+ */
+@Repository
+public interface SpringDataFailedScorePublicationRepository extends CrudRepository<FailedScorePublication, UUID> {
+
+    @Override
+    @EntityGraph(attributePaths = "examTaking")
+    Optional<FailedScorePublication> findById(final UUID id);
+
+    /**
+     * Retrieves the first 100 {@link FailedScorePublication}s in the given {@code state},
+     * whose next attempt is before or at the given {@code instant}, ordered by the said next attempt.
+     *
+     * @param state   The {@link FailedScorePublication.State}.
+     * @param instant The {@link Instant} to be checked.
+     * @return A {@link List} with the matching {@link FailedScorePublication}s.
+     */
+    @EntityGraph(attributePaths = {"examTaking", "examTaking.toolDeployment"})
+    List<FailedScorePublication> findTop100ByStateAndNextAttemptAtLessThanEqualOrderByNextAttemptAt(
+            final FailedScorePublication.State state,
+            final Instant instant);
+
+    /**
+     * Retrieves all the {@link FailedScorePublication}s in the given {@code state}, ordered by creation.
+     *
+     * @param state The {@link FailedScorePublication.State}.
+     * @return A {@link List} with the matching {@link FailedScorePublication}s.
+     */
+    @EntityGraph(attributePaths = "examTaking")
+    List<FailedScorePublication> findByStateOrderByCreatedAt(final FailedScorePublication.State state);
+
+    /**
+     * Removes all the {@link FailedScorePublication}s belonging to the given {@code examTaking}.
+     *
+     * @param examTaking The {@link ExamTaking} whose {@link FailedScorePublication}s must be removed.
+     */
+    void deleteByExamTaking(final ExamTaking examTaking);
+}
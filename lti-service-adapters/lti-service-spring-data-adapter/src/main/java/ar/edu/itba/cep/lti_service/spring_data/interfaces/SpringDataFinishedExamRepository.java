@@ -0,0 +1,12 @@
+package ar.edu.itba.cep.lti_service.spring_data.interfaces;
+
+import ar.edu.itba.cep.lti_service.models.FinishedExam;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * A {@link CrudRepository} for {@link FinishedExam}s.
+ */
+@Repository
+public interface SpringDataFinishedExamRepository extends CrudRepository<FinishedExam, Long> {
+}
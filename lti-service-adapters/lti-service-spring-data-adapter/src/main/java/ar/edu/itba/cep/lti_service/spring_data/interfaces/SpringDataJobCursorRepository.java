@@ -0,0 +1,12 @@
+package ar.edu.itba.cep.lti_service.spring_data.interfaces;
+
+import ar.edu.itba.cep.lti_service.models.JobCursor;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * A {@link CrudRepository} for {@link JobCursor}s.
+ */
+@Repository
+public interface SpringDataJobCursorRepository extends CrudRepository<JobCursor, String> {
+}
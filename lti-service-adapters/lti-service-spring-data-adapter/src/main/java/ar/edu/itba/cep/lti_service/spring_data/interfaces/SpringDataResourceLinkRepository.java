@@ -0,0 +1,88 @@
+package ar.edu.itba.cep.lti_service.spring_data.interfaces;
+
+import ar.edu.itba.cep.lti_service.models.FinishedExam;
+import ar.edu.itba.cep.lti_service.models.ResourceLink;
+import ar.edu.itba.cep.lti_service.models.ToolDeployment;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A {@link CrudRepository} for {@link ResourceLink}s.
+ */
+@Repository
+public interface SpringDataResourceLinkRepository extends CrudRepository<ResourceLink, UUID> {
+
+    /**
+     * Retrieves all the {@link ResourceLink}s to the exam with the given {@code examId},
+     * fetching their {@link ToolDeployment}s.
+     *
+     * @param examId The exam id.
+     * @return A {@link List} containing the {@link ResourceLink}s to the exam.
+     */
+    @EntityGraph(attributePaths = "toolDeployment")
+    List<ResourceLink> findByExamId(final long examId);
+
+    /**
+     * Retrieves the ids of all the exams that have at least one {@link ResourceLink}.
+     *
+     * @return A {@link List} containing the ids of the exams (without duplicates).
+     */
+    @Query("SELECT DISTINCT rl.examId FROM ResourceLink rl")
+    List<Long> findDistinctExamIds();
+
+    /**
+     * Retrieves the ids of the exams that have at least one {@link ResourceLink},
+     * and that are not known to be finished (i.e there is no {@link FinishedExam} for them).
+     *
+     * @return A {@link List} containing the ids of the exams (without duplicates).
+     */
+    @Query("SELECT DISTINCT rl.examId FROM ResourceLink rl"
+            + " WHERE NOT EXISTS (SELECT fe FROM FinishedExam fe WHERE fe.examId = rl.examId)")
+    List<Long> findDistinctUnfinishedExamIds();
+
+    /**
+     * Retrieves the {@link ToolDeployment}s of the {@link ResourceLink}s of the exam with the given {@code examId}.
+     *
+     * @param examId The exam id.
+     * @return A {@link List} containing the {@link ToolDeployment}s (without duplicates).
+     */
+    @Query("SELECT DISTINCT rl.toolDeployment FROM ResourceLink rl WHERE rl.examId = :examId")
+    List<ToolDeployment> findDistinctToolDeploymentsByExamId(@Param("examId") final long examId);
+
+    /**
+     * Inserts a {@link ResourceLink} with the given values, unless there is already one with the same
+     * {@code examId}, {@code toolDeploymentId} and context (i.e services urls),
+     * in which case the insertion does nothing.
+     * Ids are bound as strings and cast in the query, as native queries would bind {@link UUID}s as binary values.
+     *
+     * @param id                    The id of the {@link ResourceLink}.
+     * @param examId                The exam id.
+     * @param toolDeploymentId      The id of the {@link ToolDeployment} through which the exam is linked.
+     * @param lineItemsUrl          The url of the line items service of the context (might be {@code null}).
+     * @param contextMembershipsUrl The url of the memberships service of the context (might be {@code null}).
+     * @return The amount of inserted rows (i.e 1 if the {@link ResourceLink} was inserted, or 0 if it already existed).
+     */
+    @Modifying
+    @Query(
+            value = "INSERT INTO resource_links"
+                    + " (id, exam_id, tool_deployment_id, line_items_url, context_memberships_url, created_at)"
+                    + " VALUES (CAST(:id AS UUID), :examId, CAST(:toolDeploymentId AS UUID),"
+                    + " :lineItemsUrl, :contextMembershipsUrl, CURRENT_TIMESTAMP)"
+                    + " ON CONFLICT (exam_id, tool_deployment_id,"
+                    + " COALESCE(line_items_url, ''), COALESCE(context_memberships_url, '')) DO NOTHING",
+            nativeQuery = true
+    )
+    int insertIfAbsent(
+            @Param("id") final String id,
+            @Param("examId") final long examId,
+            @Param("toolDeploymentId") final String toolDeploymentId,
+            @Param("lineItemsUrl") final String lineItemsUrl,
+            @Param("contextMembershipsUrl") final String contextMembershipsUrl);
+}
@@ -0,0 +1,71 @@
+package ar.edu.itba.cep.lti_service.spring_data.interfaces;
+
+import ar.edu.itba.cep.lti_service.models.ScoreReconciliation;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * A {@link CrudRepository} for {@link ScoreReconciliation}s.
+ */
+@Repository
+public interface SpringDataScoreReconciliationRepository extends CrudRepository<ScoreReconciliation, UUID> {
+
+    /**
+     * Retrieves the first {@link ScoreReconciliation} of the exam with the given {@code examId}
+     * that is not in the given {@code state}.
+     *
+     * @param examId The exam id.
+     * @param state  The excluded {@link ScoreReconciliation.State}.
+     * @return An {@link Optional} containing the matching {@link ScoreReconciliation} if it exists, or empty otherwise.
+     */
+    Optional<ScoreReconciliation> findFirstByExamIdAndStateNot(
+            final long examId,
+            final ScoreReconciliation.State state);
+
+    /**
+     * Retrieves the ids of the {@link ScoreReconciliation}s that are {@code pending},
+     * or that are {@code running} and were not updated since {@code staleBefore}, ordered by request.
+     *
+     * @param pending     The pending {@link ScoreReconciliation.State}.
+     * @param running     The running {@link ScoreReconciliation.State}.
+     * @param staleBefore The {@link Instant} before which a running reconciliation is considered abandoned.
+     * @return A {@link List} with the ids of the matching {@link ScoreReconciliation}s.
+     */
+    @Query("SELECT sr.id FROM ScoreReconciliation sr" +
+            " WHERE sr.state = :pending OR (sr.state = :running AND sr.updatedAt < :staleBefore)" +
+            " ORDER BY sr.requestedAt")
+    List<UUID> findClaimableIds(
+            @Param("pending") final ScoreReconciliation.State pending,
+            @Param("running") final ScoreReconciliation.State running,
+            @Param("staleBefore") final Instant staleBefore);
+
+    /**
+     * Moves the {@link ScoreReconciliation} with the given {@code id} to the {@code running} state
+     * if it is {@code pending}, or if it is {@code running} and was not updated since {@code staleBefore}.
+     *
+     * @param id          The id of the {@link ScoreReconciliation}.
+     * @param pending     The pending {@link ScoreReconciliation.State}.
+     * @param running     The running {@link ScoreReconciliation.State}.
+     * @param staleBefore The {@link Instant} before which a running reconciliation is considered abandoned.
+     * @param now         The {@link Instant} set as last update.
+     * @return The amount of updated rows (i.e 1 if the reconciliation was claimed, or 0 otherwise).
+     */
+    @Modifying
+    @Query("UPDATE ScoreReconciliation sr SET sr.state = :running, sr.updatedAt = :now" +
+            " WHERE sr.id = :id" +
+            " AND (sr.state = :pending OR (sr.state = :running AND sr.updatedAt < :staleBefore))")
+    int claim(
+            @Param("id") final UUID id,
+            @Param("pending") final ScoreReconciliation.State pending,
+            @Param("running") final ScoreReconciliation.State running,
+            @Param("staleBefore") final Instant staleBefore,
+            @Param("now") final Instant now);
+}
@@ -0,0 +1,155 @@
+package ar.edu.itba.cep.lti_service.security;
+
+import ar.edu.itba.cep.lti_service.crypto.JcaPrimitives;
+import ar.edu.itba.cep.security.KeyHelper;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.security.KeyFactory;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Configuration class for security aspects at the web layer, when the WebFlux adapter is used.
+ * Requests are authenticated with the same JWTs the Jersey adapter accepts (i.e signed by the users service),
+ * and the {@code lti/app} endpoints are public (the LTI messages are authenticated by the services).
+ * Authorization is still performed by the services (i.e method security),
+ * to which the controllers hand the request's security context when starting the operations.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@EnableGlobalMethodSecurity(prePostEnabled = true)
+@EnableConfigurationProperties(WebFluxSecurityConfig.JwtProperties.class)
+public class WebFluxSecurityConfig {
+
+    /**
+     * Builds the {@link SecurityWebFilterChain}.
+     *
+     * @param http       The {@link ServerHttpSecurity} used to build the chain.
+     * @param properties The {@link JwtProperties} used to verify the JWTs.
+     * @return The created {@link SecurityWebFilterChain}.
+     */
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(
+            final ServerHttpSecurity http,
+            final JwtProperties properties) {
+        return http
+                .csrf().disable()
+                .httpBasic().disable()
+                .formLogin().disable()
+                .logout().disable()
+                .authorizeExchange()
+                .pathMatchers("/lti/app/**", "/actuator/health", "/actuator/info").permitAll()
+                .anyExchange().authenticated()
+                .and()
+                .oauth2ResourceServer()
+                .jwt()
+                .jwtDecoder(jwtDecoder(properties))
+                .jwtAuthenticationConverter(
+                        jwt -> Mono.just(new JwtAuthenticationToken(jwt, authorities(jwt, properties)))
+                )
+                .and()
+                .and()
+                .build();
+    }
+
+
+    /**
+     * Builds a {@link ReactiveJwtDecoder} that verifies the JWTs with the configured public key.
+     *
+     * @param properties The {@link JwtProperties} with the public key.
+     * @return The created {@link ReactiveJwtDecoder}.
+     */
+    private static ReactiveJwtDecoder jwtDecoder(final JwtProperties properties) {
+        final var publicKey = publicKey(properties);
+        return token -> Mono.fromCallable(() -> {
+            try {
+                final var jws = Jwts.parser().setSigningKey(publicKey).parseClaimsJws(token);
+                final var claims = jws.getBody();
+                return new Jwt(
+                        token,
+                        claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+                        claims.getExpiration() == null ? null : claims.getExpiration().toInstant(),
+                        jws.getHeader(),
+                        claims
+                );
+            } catch (final JwtException | IllegalArgumentException e) {
+                throw new org.springframework.security.oauth2.jwt.JwtException("Invalid JWT", e);
+            }
+        });
+    }
+
+    /**
+     * Builds the {@link PublicKey} used to verify the JWTs.
+     *
+     * @param properties The {@link JwtProperties} with the public key.
+     * @return The {@link PublicKey}.
+     */
+    private static PublicKey publicKey(final JwtProperties properties) {
+        try {
+            return JcaPrimitives.withKeyFactory(properties.getKeyAlgorithm(), keyFactory -> KeyHelper.generateKey(
+                    keyFactory, properties.getPublicKey(), X509EncodedKeySpec::new, KeyFactory::generatePublic
+            ));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Invalid JWT key algorithm", e);
+        }
+    }
+
+    /**
+     * Extracts the {@link GrantedAuthority}s from the given {@code jwt}.
+     *
+     * @param jwt        The {@link Jwt}.
+     * @param properties The {@link JwtProperties} with the name of the claim containing the authorities.
+     * @return The {@link GrantedAuthority}s.
+     */
+    private static Collection<GrantedAuthority> authorities(final Jwt jwt, final JwtProperties properties) {
+        final var claim = jwt.getClaims().get(properties.getAuthoritiesClaim());
+        if (!(claim instanceof Collection)) {
+            return List.of();
+        }
+        return ((Collection<?>) claim).stream()
+                .map(String::valueOf)
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+    }
+
+
+    /**
+     * Properties needed to verify the JWTs.
+     */
+    @Data
+    @ConfigurationProperties(prefix = "lti-service.webflux.security.jwt")
+    public static class JwtProperties {
+        /**
+         * The base64 encoded (X.509) public key used to verify the JWTs.
+         */
+        private String publicKey;
+        /**
+         * The algorithm of the public key.
+         */
+        private String keyAlgorithm = "RSA";
+        /**
+         * The claim containing the authorities of the authenticated user.
+         */
+        private String authoritiesClaim = "roles";
+    }
+}
@@ -0,0 +1,34 @@
+package ar.edu.itba.cep.lti_service.webflux.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * An {@link EnvironmentPostProcessor} that makes the application run as a reactive web application
+ * when this adapter is packaged. Spring MVC is in the classpath (it is needed by Sleuth),
+ * so Spring Boot would start a servlet web application otherwise.
+ * The property is added with the lowest precedence, so it can still be overridden.
+ */
+public class ReactiveWebApplicationEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    /**
+     * The name of the added property source.
+     */
+    private static final String PROPERTY_SOURCE_NAME = "webfluxAdapterDefaults";
+
+
+    @Override
+    public void postProcessEnvironment(final ConfigurableEnvironment environment, final SpringApplication application) {
+        environment.getPropertySources().addLast(
+                new MapPropertySource(
+                        PROPERTY_SOURCE_NAME,
+                        Map.of("spring.main.web-application-type", WebApplicationType.REACTIVE.name())
+                )
+        );
+    }
+}
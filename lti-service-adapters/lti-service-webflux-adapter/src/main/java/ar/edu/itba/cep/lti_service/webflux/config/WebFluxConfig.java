@@ -0,0 +1,26 @@
+package ar.edu.itba.cep.lti_service.webflux.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.server.adapter.ForwardedHeaderTransformer;
+
+/**
+ * Configuration class in charge of configuring web concerns.
+ */
+@Configuration
+@ComponentScan(basePackages = {
+        "ar.edu.itba.cep.lti_service.webflux.controller"
+})
+public class WebFluxConfig {
+
+    /**
+     * Creates a {@link ForwardedHeaderTransformer}, in order to process the Forwarded and X-Forwarded-* headers.
+     *
+     * @return The {@link ForwardedHeaderTransformer}.
+     */
+    @Bean
+    public ForwardedHeaderTransformer forwardedHeaderTransformer() {
+        return new ForwardedHeaderTransformer();
+    }
+}
@@ -0,0 +1,186 @@
+package ar.edu.itba.cep.lti_service.webflux.controller.endpoints;
+
+import ar.edu.itba.cep.lti_service.models.ToolDeployment;
+import ar.edu.itba.cep.lti_service.services.AsyncLtiAdminService;
+import ar.edu.itba.cep.lti_service.webflux.controller.dtos.ToolDeploymentDto;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * WebFlux Adapter of {@link AsyncLtiAdminService}, providing endpoints to allow {@link ToolDeployment} management.
+ */
+@RestController
+@RequestMapping(path = "lti/admin/tool-deployments", produces = MediaType.APPLICATION_JSON_VALUE)
+@AllArgsConstructor
+public class LtiAdminToolDeploymentController {
+
+    /**
+     * The {@link Logger}.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(LtiAdminToolDeploymentController.class);
+
+    /**
+     * The {@link Pattern} of the path under "issuer" including the client id and the deployment id.
+     * Issuers are urls, so they can contain slashes (i.e the same templates of the Jersey adapter are matched).
+     */
+    private static final Pattern ISSUER_CLIENT_ID_AND_DEPLOYMENT_ID_PATH =
+            Pattern.compile("^(?<issuer>.+)/client-id/(?<clientId>.+)/deployment-id/(?<deploymentId>.+)$");
+    /**
+     * The {@link Pattern} of the path under "issuer" including the client id.
+     */
+    private static final Pattern ISSUER_AND_CLIENT_ID_PATH =
+            Pattern.compile("^(?<issuer>.+)/client-id/(?<clientId>[^/]+)$");
+
+    /**
+     * The {@link AsyncLtiAdminService} to which the requests will be delegated.
+     */
+    private final AsyncLtiAdminService ltiAdminService;
+
+
+    @GetMapping
+    public Mono<List<ToolDeploymentDto>> getToolDeployments() {
+        LOGGER.debug("Getting all tool deployments");
+        return toolDeploymentsList(withSecurityContext(ltiAdminService::getAllToolDeployments));
+    }
+
+    @GetMapping("{id}")
+    public Mono<ResponseEntity<ToolDeploymentDto>> getToolDeployment(@PathVariable("id") final UUID id) {
+        LOGGER.debug("Searching for ToolDeployment with id {}", id);
+        return singleToolDeployment(withSecurityContext(() -> ltiAdminService.getToolDeploymentById(id)));
+    }
+
+    @GetMapping("issuer/{*path}")
+    public Mono<? extends ResponseEntity<?>> getToolDeployment(@PathVariable("path") final String path) {
+        final var relativePath = path.startsWith("/") ? path.substring(1) : path;
+        final var withDeploymentId = ISSUER_CLIENT_ID_AND_DEPLOYMENT_ID_PATH.matcher(relativePath);
+        if (withDeploymentId.matches()) {
+            final var issuer = withDeploymentId.group("issuer");
+            final var clientId = withDeploymentId.group("clientId");
+            final var deploymentId = withDeploymentId.group("deploymentId");
+            LOGGER.debug("Searching for ToolDeployment for issuer {}, client-id {} and deployment-id {}",
+                    issuer, clientId, deploymentId
+            );
+            return singleToolDeployment(
+                    withSecurityContext(() -> ltiAdminService.find(deploymentId, clientId, issuer))
+            );
+        }
+        final var withClientId = ISSUER_AND_CLIENT_ID_PATH.matcher(relativePath);
+        if (withClientId.matches()) {
+            final var issuer = withClientId.group("issuer");
+            final var clientId = withClientId.group("clientId");
+            LOGGER.debug("Searching for ToolDeployment for issuer {} and client-id {}", issuer, clientId);
+            return toolDeploymentsList(withSecurityContext(() -> ltiAdminService.find(clientId, issuer)))
+                    .map(ResponseEntity::ok);
+        }
+        LOGGER.debug("Searching for ToolDeployment for issuer {}", relativePath);
+        return toolDeploymentsList(withSecurityContext(() -> ltiAdminService.find(relativePath)))
+                .map(ResponseEntity::ok);
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Void>> createToolDeployments(
+            final ServerHttpRequest request,
+            @Valid @RequestBody final ToolDeploymentDto dto) {
+        LOGGER.debug(
+                "Registering Tool Deployment for issuer {}, client-id {}, and deployment-id {}",
+                dto.getIssuer(),
+                dto.getClientId(),
+                dto.getDeploymentId()
+        );
+        final var registration = withSecurityContext(() -> ltiAdminService.registerToolDeployment(
+                dto.getDeploymentId(),
+                dto.getClientId(),
+                dto.getIssuer(),
+                dto.getOidcAuthenticationEndpoint(),
+                dto.getJwksEndpoint(),
+                dto.getPrivateKey(),
+                dto.getSignatureAlgorithm(),
+                dto.getApplicationKey(),
+                dto.getApplicationSecret()
+        ));
+        return registration
+                .map(toolDeployment -> UriComponentsBuilder.fromHttpRequest(request)
+                        .path("/{id}")
+                        .buildAndExpand(toolDeployment.getId())
+                        .toUri()
+                )
+                .map(location -> ResponseEntity.created(location).<Void>build());
+    }
+
+    @DeleteMapping("{id}")
+    public Mono<ResponseEntity<Void>> deleteToolDeployment(@PathVariable("id") final UUID id) {
+        LOGGER.debug("Unregistering ToolDeployment with id {}", id);
+        return withSecurityContext(() -> ltiAdminService.unregisterToolDeployment(id))
+                .then(Mono.just(ResponseEntity.noContent().<Void>build()));
+    }
+
+
+    /**
+     * Creates a {@link Mono} that starts the given {@code operation} of the {@link AsyncLtiAdminService}
+     * with the request's security context set in the calling thread (i.e the {@link SecurityContextHolder}),
+     * so that it is propagated to the thread in which the operation is performed, and authorization applies.
+     * The request's security context is only available in the {@link ReactiveSecurityContextHolder}
+     * (i.e in the subscriber context), so it is not seen otherwise.
+     *
+     * @param operation A {@link Supplier} that starts the operation.
+     * @param <T>       The concrete type of the operation's result.
+     * @return A {@link Mono} with the operation's result.
+     */
+    private static <T> Mono<T> withSecurityContext(final Supplier<CompletionStage<T>> operation) {
+        return ReactiveSecurityContextHolder.getContext()
+                .defaultIfEmpty(SecurityContextHolder.createEmptyContext())
+                .flatMap(context -> {
+                    SecurityContextHolder.setContext(context);
+                    try {
+                        return Mono.fromCompletionStage(operation.get());
+                    } finally {
+                        SecurityContextHolder.clearContext(); // The event loop threads are shared among requests
+                    }
+                });
+    }
+
+    /**
+     * Maps a collection of {@link ToolDeployment}s into their {@link ToolDeploymentDto}s.
+     *
+     * @param toolDeployments A {@link Mono} of {@link List} of {@link ToolDeployment}s.
+     * @return A {@link Mono} with the {@link List} of {@link ToolDeploymentDto}s.
+     */
+    private static Mono<List<ToolDeploymentDto>> toolDeploymentsList(final Mono<List<ToolDeployment>> toolDeployments) {
+        return toolDeployments
+                .map(list -> list.stream().map(ToolDeploymentDto::fromModel).collect(Collectors.toList()));
+    }
+
+    /**
+     * Builds a {@link ResponseEntity} for a single {@link ToolDeployment} (i.e <b>404 Not Found</b> if it is absent).
+     *
+     * @param toolDeployment A {@link Mono} of {@link Optional} of {@link ToolDeployment}.
+     * @return A {@link Mono} with the {@link ResponseEntity}.
+     */
+    private static Mono<ResponseEntity<ToolDeploymentDto>> singleToolDeployment(
+            final Mono<Optional<ToolDeployment>> toolDeployment) {
+        return toolDeployment
+                .map(optional -> optional
+                        .map(ToolDeploymentDto::fromModel)
+                        .map(ResponseEntity::ok)
+                        .orElseGet(() -> ResponseEntity.notFound().build())
+                );
+    }
+}
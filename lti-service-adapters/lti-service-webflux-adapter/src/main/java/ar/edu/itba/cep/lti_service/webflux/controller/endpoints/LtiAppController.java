@@ -0,0 +1,70 @@
+package ar.edu.itba.cep.lti_service.webflux.controller.endpoints;
+
+import ar.edu.itba.cep.lti.constants.Paths;
+import ar.edu.itba.cep.lti.dtos.*;
+import ar.edu.itba.cep.lti_service.services.AsyncLtiService;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux Adapter of {@link AsyncLtiService}, providing endpoints to allow LTI integration.
+ */
+@RestController
+@RequestMapping(path = "lti/app", produces = MediaType.APPLICATION_JSON_VALUE)
+@AllArgsConstructor
+public class LtiAppController {
+
+    /**
+     * The {@link Logger}.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(LtiAppController.class);
+
+    /**
+     * The {@link AsyncLtiService} to which the requests will be delegated.
+     */
+    private final AsyncLtiService ltiService;
+
+
+    @PostMapping(path = Paths.LOGIN_INITIATION_PATH, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<AuthenticationRequestDto> loginInit(@RequestBody final LoginInitiationRequestDto dto) {
+        LOGGER.debug(
+                "Login initiation request for issuer {}, with client id {}, and deployment id {}",
+                dto.getIssuer(),
+                dto.getClientId(),
+                dto.getDeploymentId()
+        );
+        return Mono.fromCompletionStage(ltiService.loginInitiation(dto.toModel()))
+                .map(AuthenticationRequestDto::fromModel);
+    }
+
+    @PostMapping(path = Paths.EXAM_SELECTION_PATH, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ExamSelectionResponseDto> examSelection(@RequestBody final AuthenticationResponseDto dto) {
+        LOGGER.debug("Authentication response to select an exam");
+        return Mono.fromCompletionStage(ltiService.examSelection(dto.toModel()))
+                .map(ExamSelectionResponseDto::fromModel);
+    }
+
+    @PostMapping(path = Paths.EXAM_SELECTED_PATH, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ExamSelectedResponseDto> examSelected(@RequestBody final ExamSelectedRequestDto dto) {
+        LOGGER.debug("Exam selected request for exam with id {}", dto.getExamId());
+        return Mono.fromCompletionStage(ltiService.examSelected(dto.toModel()))
+                .map(ExamSelectedResponseDto::fromModel);
+    }
+
+    @PostMapping(path = Paths.EXAM_TAKING_PATH)
+    public Mono<ExamTakingResponseDto> startExam(@RequestBody final AuthenticationResponseDto dto) {
+        return Mono.fromCompletionStage(ltiService.takeExam(dto.toModel()))
+                .map(ExamTakingResponseDto::fromModel);
+    }
+
+    @PutMapping(path = Paths.EXAM_SCORING_PATH)
+    public Mono<ResponseEntity<Void>> scoreExam(@RequestBody final ExamScoringRequestDto dto) {
+        return Mono.fromCompletionStage(ltiService.scoreExam(dto.toModel()))
+                .then(Mono.just(ResponseEntity.noContent().<Void>build()));
+    }
+}
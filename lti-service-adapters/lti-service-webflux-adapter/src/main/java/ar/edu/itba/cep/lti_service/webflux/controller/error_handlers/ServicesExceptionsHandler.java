@@ -0,0 +1,98 @@
+package ar.edu.itba.cep.lti_service.webflux.controller.error_handlers;
+
+import ar.edu.itba.cep.lti_service.services.LtiBadRequestException;
+import com.bellotapps.webapps_commons.exceptions.ExternalServiceException;
+import com.bellotapps.webapps_commons.exceptions.NoSuchEntityException;
+import com.bellotapps.webapps_commons.exceptions.UnauthenticatedException;
+import com.bellotapps.webapps_commons.exceptions.UniqueViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Maps the exceptions thrown by the services into responses
+ * (with the same status codes the Jersey adapter's error handlers use).
+ */
+@RestControllerAdvice
+public class ServicesExceptionsHandler {
+
+    /**
+     * The {@link Logger}.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServicesExceptionsHandler.class);
+
+
+    /**
+     * Handles the exceptions that are wrapped into a {@link CompletionException}, using their cause.
+     *
+     * @param exception The {@link CompletionException}.
+     * @return The {@link ResponseEntity} for the cause.
+     */
+    @ExceptionHandler(CompletionException.class)
+    public ResponseEntity<Void> handle(final CompletionException exception) {
+        return statusFor(exception.getCause());
+    }
+
+    /**
+     * Handles the exceptions thrown by the services.
+     *
+     * @param exception The thrown exception.
+     * @return The {@link ResponseEntity} for the exception.
+     */
+    @ExceptionHandler({
+            LtiBadRequestException.class,
+            UnauthenticatedException.class,
+            AccessDeniedException.class,
+            NoSuchEntityException.class,
+            UniqueViolationException.class,
+            IllegalArgumentException.class,
+            ExternalServiceException.class,
+            RejectedExecutionException.class,
+    })
+    public ResponseEntity<Void> handle(final Exception exception) {
+        return statusFor(exception);
+    }
+
+
+    /**
+     * Builds a body-less {@link ResponseEntity} for the given {@code exception}.
+     *
+     * @param exception The exception.
+     * @return The {@link ResponseEntity}.
+     */
+    private static ResponseEntity<Void> statusFor(final Throwable exception) {
+        final HttpStatus status;
+        if (exception instanceof LtiBadRequestException) {
+            status = HttpStatus.BAD_REQUEST;
+        } else if (exception instanceof UnauthenticatedException) {
+            status = HttpStatus.UNAUTHORIZED;
+        } else if (exception instanceof AccessDeniedException) {
+            status = HttpStatus.FORBIDDEN;
+        } else if (exception instanceof NoSuchEntityException) {
+            status = HttpStatus.NOT_FOUND;
+        } else if (exception instanceof UniqueViolationException) {
+            status = HttpStatus.CONFLICT;
+        } else if (exception instanceof IllegalArgumentException) {
+            status = HttpStatus.UNPROCESSABLE_ENTITY;
+        } else if (exception instanceof ExternalServiceException) {
+            status = HttpStatus.BAD_GATEWAY;
+        } else if (exception instanceof RejectedExecutionException) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+        } else {
+            status = HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+        if (status.is5xxServerError()) {
+            LOGGER.error("Error when handling a request", exception);
+        } else {
+            LOGGER.debug("Request failed with status {}", status, exception);
+        }
+        return ResponseEntity.status(status).build();
+    }
+}
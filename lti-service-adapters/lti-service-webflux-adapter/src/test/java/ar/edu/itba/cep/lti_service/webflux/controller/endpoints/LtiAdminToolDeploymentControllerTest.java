@@ -0,0 +1,165 @@
+package ar.edu.itba.cep.lti_service.webflux.controller.endpoints;
+
+import ar.edu.itba.cep.lti_service.security.WebFluxSecurityConfig;
+import ar.edu.itba.cep.lti_service.services.AsyncLtiAdminService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for {@link LtiAdminToolDeploymentController}, which runs the admin calls through the WebFlux chain
+ * (i.e the requests are authenticated by the {@link WebFluxSecurityConfig}'s filter chain).
+ */
+@ExtendWith(SpringExtension.class)
+@WebFluxTest(controllers = LtiAdminToolDeploymentController.class)
+@ContextConfiguration(
+        classes = {
+                LtiAdminToolDeploymentController.class,
+                WebFluxSecurityConfig.class,
+        },
+        initializers = LtiAdminToolDeploymentControllerTest.JwtKeyInitializer.class
+)
+class LtiAdminToolDeploymentControllerTest {
+
+    /**
+     * The base path of the tested endpoints.
+     */
+    private static final String TOOL_DEPLOYMENTS_PATH = "/lti/admin/tool-deployments";
+    /**
+     * The {@link KeyPair} used to sign the JWTs (its public key is the one the filter chain verifies them with).
+     */
+    private static final KeyPair KEY_PAIR = keyPair();
+
+    /**
+     * The {@link WebTestClient} used to send the requests.
+     */
+    @Autowired
+    private WebTestClient webTestClient;
+    /**
+     * The mocked {@link AsyncLtiAdminService} to which the controller delegates.
+     */
+    @MockBean
+    private AsyncLtiAdminService ltiAdminService;
+
+
+    /**
+     * Tests that the admin operations are started with the request's security context set in the calling thread,
+     * so that it is propagated to the thread in which they are performed.
+     */
+    @Test
+    void testAdminCallsAreStartedWithTheRequestSecurityContext() {
+        final var authentication = new AtomicReference<Authentication>();
+        when(ltiAdminService.getAllToolDeployments()).thenAnswer(invocation -> {
+            authentication.set(SecurityContextHolder.getContext().getAuthentication());
+            return CompletableFuture.completedFuture(List.of());
+        });
+
+        webTestClient.get()
+                .uri(TOOL_DEPLOYMENTS_PATH)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwt("ADMIN"))
+                .exchange()
+                .expectStatus().isOk();
+
+        Assertions.assertNotNull(authentication.get(), "The operation was started without the security context");
+        Assertions.assertEquals(
+                List.of("ADMIN"),
+                authentication.get().getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .collect(Collectors.toList()),
+                "The operation was started with a security context without the caller's authorities"
+        );
+    }
+
+    /**
+     * Tests that unauthenticated admin calls are rejected before reaching the service.
+     */
+    @Test
+    void testUnauthenticatedAdminCallsAreRejected() {
+        webTestClient.get()
+                .uri(TOOL_DEPLOYMENTS_PATH)
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        verifyZeroInteractions(ltiAdminService);
+    }
+
+
+    // ================================================================================================================
+    // Helpers
+    // ================================================================================================================
+
+    /**
+     * Creates a JWT signed with the {@link #KEY_PAIR}, granting the given {@code roles}.
+     *
+     * @param roles The roles granted by the JWT.
+     * @return The created JWT.
+     */
+    private static String jwt(final String... roles) {
+        final var now = Instant.now();
+        return Jwts.builder()
+                .setSubject("admin")
+                .claim("roles", List.of(roles))
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(Duration.ofMinutes(5))))
+                .signWith(KEY_PAIR.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+    }
+
+    /**
+     * @return A new RSA {@link KeyPair}.
+     */
+    private static KeyPair keyPair() {
+        try {
+            final var generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("RSA is not supported", e);
+        }
+    }
+
+
+    /**
+     * An {@link ApplicationContextInitializer} that configures the filter chain
+     * to verify the JWTs with the {@link #KEY_PAIR}'s public key.
+     */
+    static final class JwtKeyInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+        @Override
+        public void initialize(final ConfigurableApplicationContext applicationContext) {
+            TestPropertyValues
+                    .of("lti-service.webflux.security.jwt.public-key="
+                            + Base64.getEncoder().encodeToString(KEY_PAIR.getPublic().getEncoded()))
+                    .applyTo(applicationContext);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+#!/bin/sh
+# Builds an AppCDS archive of the application's classes.
+#
+# Usage:
+#   app-cds.sh <fat-jar> <output-directory> [training-args]
+#
+# Java 11 can only archive classes loaded from plain jar files in the classpath, so the fat jar is exploded into
+# the output directory (the application's classes are packaged in "app-classes.jar", and the dependencies are
+# copied into "lib"), and the classpath is written in the "classpath" argfile, which must be used to run it.
+# The classes list is taken from a training run that starts the application with the "cds-training" profile
+# (i.e with local stand-ins of the database, Eureka and Zipkin, and throwaway keys), which exits once it is ready.
+# Any other property needed to start the application can be passed in the training args (i.e "--key=value").
+set -e
+
+JAR="$1"
+OUT="$2"
+TRAINING_ARGS="$3"
+MAIN_CLASS=ar.edu.itba.cep.lti_service.application.Application
+WORK=$(mktemp -d)
+
+# The jar is executable (i.e a launch script precedes the zip entries), so unzip warns (exiting with 1)
+unzip -q "${JAR}" -d "${WORK}/jar" || [ $? -eq 1 ]
+mkdir -p "${OUT}/lib"
+jar cf "${OUT}/app-classes.jar" -C "${WORK}/jar/BOOT-INF/classes" .
+cp "${WORK}"/jar/BOOT-INF/lib/*.jar "${OUT}/lib/"
+CLASSPATH="${OUT}/app-classes.jar"
+for LIB in $(ls "${OUT}/lib" | sort); do
+    CLASSPATH="${CLASSPATH}:${OUT}/lib/${LIB}"
+done
+printf -- '-cp %s\n' "${CLASSPATH}" > "${OUT}/classpath"
+
+# Throwaway keys for the training run
+openssl genpkey -algorithm RSA -pkeyopt rsa_keygen_bits:2048 -outform DER -out "${WORK}/key.der"
+PRIVATE_KEY=$(base64 -w 0 "${WORK}/key.der")
+PUBLIC_KEY=$(openssl pkey -inform DER -in "${WORK}/key.der" -pubout -outform DER | base64 -w 0)
+
+java -Xshare:off -XX:DumpLoadedClassList="${WORK}/classes.lst" @"${OUT}/classpath" ${MAIN_CLASS} \
+    --spring.profiles.active=cds-training \
+    --lti-service.app.state-helper.public-key="${PUBLIC_KEY}" \
+    --lti-service.app.state-helper.private-key="${PRIVATE_KEY}" \
+    --lti-service.webflux.security.jwt.public-key="${PUBLIC_KEY}" \
+    ${TRAINING_ARGS}
+
+java -Xshare:dump -XX:SharedClassListFile="${WORK}/classes.lst" -XX:SharedArchiveFile="${OUT}/app.jsa" \
+    @"${OUT}/classpath"
+
+rm -rf "${WORK}"
@@ -0,0 +1,13 @@
+#!/bin/sh
+# Starts the application, using the AppCDS archive when the image was built with one
+# (i.e with the "app-cds" Maven profile). JVM options can be passed with the JAVA_OPTS variable,
+# and application properties as arguments (i.e "--key=value").
+set -e
+
+MAIN_CLASS=ar.edu.itba.cep.lti_service.application.Application
+
+if [ -f /app/app.jsa ]; then
+    # The archive is only valid for the exact classpath used to dump it (i.e the one in the argfile)
+    exec java -XX:SharedArchiveFile=/app/app.jsa -Xshare:auto ${JAVA_OPTS} @/app/classpath ${MAIN_CLASS} "$@"
+fi
+exec java ${JAVA_OPTS} -jar /app/app.jar "$@"
@@ -0,0 +1,99 @@
+package ar.edu.itba.cep.lti_service.application;
+
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * A {@link TaskExecutor} that starts a virtual thread per task, keeping the semantics of the bounded thread pool
+ * it replaces: at most {@code maxConcurrency} tasks run concurrently, at most {@code queueCapacity} tasks wait
+ * (in their own virtual thread) for a running one to finish, and tasks exceeding both are rejected without blocking
+ * the caller (i.e they are run in the caller thread if the replaced pool did so, or a {@link TaskRejectedException}
+ * is thrown otherwise).
+ */
+/* package */ final class BoundedVirtualThreadExecutor implements TaskExecutor {
+
+    /**
+     * The {@link ThreadFactory} that creates the virtual threads.
+     */
+    private final ThreadFactory threadFactory;
+    /**
+     * A {@link Semaphore} with a permit for each task that can be running or waiting,
+     * or {@code null} if the amount of waiting tasks is not bounded.
+     */
+    private final Semaphore admitted;
+    /**
+     * A {@link Semaphore} with a permit for each task that can be running.
+     */
+    private final Semaphore running;
+    /**
+     * Indicates whether rejected tasks are run in the caller thread.
+     */
+    private final boolean callerRuns;
+
+
+    /**
+     * Constructor.
+     *
+     * @param threadFactory  The {@link ThreadFactory} that creates the virtual threads.
+     * @param maxConcurrency The max. amount of tasks running concurrently.
+     * @param queueCapacity  The max. amount of tasks waiting to be run ({@link Integer#MAX_VALUE} if not bounded).
+     * @param callerRuns     Whether rejected tasks are run in the caller thread (instead of being rejected).
+     */
+    /* package */ BoundedVirtualThreadExecutor(
+            final ThreadFactory threadFactory,
+            final int maxConcurrency,
+            final int queueCapacity,
+            final boolean callerRuns) {
+        Assert.isTrue(maxConcurrency > 0, "The max. concurrency must be positive");
+        Assert.isTrue(queueCapacity >= 0, "The queue capacity must not be negative");
+        this.threadFactory = threadFactory;
+        this.admitted = queueCapacity == Integer.MAX_VALUE
+                ? null
+                : new Semaphore((int) Math.min(Integer.MAX_VALUE, (long) maxConcurrency + queueCapacity));
+        this.running = new Semaphore(maxConcurrency, true);
+        this.callerRuns = callerRuns;
+    }
+
+
+    @Override
+    public void execute(final Runnable task) throws TaskRejectedException {
+        if (admitted != null && !admitted.tryAcquire()) {
+            if (callerRuns) {
+                task.run();
+                return;
+            }
+            throw new TaskRejectedException("Executor is saturated. Task " + task + " was rejected");
+        }
+        try {
+            threadFactory.newThread(() -> {
+                try {
+                    running.acquireUninterruptibly();
+                    try {
+                        task.run();
+                    } finally {
+                        running.release();
+                    }
+                } finally {
+                    release();
+                }
+            }).start();
+        } catch (final Throwable e) {
+            release();
+            throw new TaskRejectedException("Could not start a virtual thread for task " + task, e);
+        }
+    }
+
+
+    /**
+     * Releases the admission permit of a task that finished (or could not be started).
+     */
+    private void release() {
+        if (admitted != null) {
+            admitted.release();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package ar.edu.itba.cep.lti_service.application;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Component that stops the application once it is ready when it runs with the {@code cds-training} profile
+ * (i.e the training run from where the classes that are included in the AppCDS archive are taken).
+ */
+@Component
+@Profile("cds-training")
+public class CdsTrainingRun implements ApplicationListener<ApplicationReadyEvent> {
+
+    /**
+     * The {@link Logger}.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(CdsTrainingRun.class);
+
+
+    @Override
+    public void onApplicationEvent(final ApplicationReadyEvent event) {
+        LOGGER.info("AppCDS training run finished. Stopping the application");
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
@@ -0,0 +1,78 @@
+package ar.edu.itba.cep.lti_service.application;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Configuration class for the fast startup mode (i.e the {@code fast-startup} profile).
+ * In this mode, the admin-only components are initialized when they are first used (instead of at startup),
+ * so that the instance starts serving launches sooner.
+ * <p>
+ * A lazy component is still initialized at startup if an eagerly initialized one depends on it.
+ */
+@Configuration
+@Profile("fast-startup")
+public class FastStartupConfig {
+
+    /**
+     * The {@link Logger}.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(FastStartupConfig.class);
+
+    /**
+     * The property with the fully qualified names of the classes of the beans that are lazily initialized.
+     */
+    private static final String LAZY_BEAN_CLASSES_PROPERTY = "lti-service.fast-startup.lazy-bean-classes";
+
+    /**
+     * The fully qualified names of the classes of the beans that are lazily initialized by default
+     * (i.e the admin services and endpoints).
+     */
+    private static final List<String> DEFAULT_LAZY_BEAN_CLASSES = List.of(
+            "ar.edu.itba.cep.lti_service.domain.managers.LtiAdminManager",
+            "ar.edu.itba.cep.lti_service.domain.managers.LtiScoresAdminManager",
+            "ar.edu.itba.cep.lti_service.domain.managers.AsyncLtiAdminManager",
+            "ar.edu.itba.cep.lti_service.rest.controller.endpoints.LtiAdminToolDeploymentController",
+            "ar.edu.itba.cep.lti_service.rest.controller.endpoints.LtiAdminScoresController",
+            "ar.edu.itba.cep.lti_service.webflux.controller.endpoints.LtiAdminToolDeploymentController"
+    );
+
+
+    /**
+     * Builds a {@link BeanFactoryPostProcessor} that marks as lazily initialized the beans whose class
+     * is one of the set in the {@code lti-service.fast-startup.lazy-bean-classes} property
+     * (or one of the {@link #DEFAULT_LAZY_BEAN_CLASSES} if it is not set).
+     * It is built through a static method as it must be instantiated before any other bean
+     * (which is also why the property is bound through a {@link Binder}).
+     *
+     * @param environment The {@link Environment} from where the property is taken.
+     * @return The created {@link BeanFactoryPostProcessor}.
+     */
+    @Bean
+    public static BeanFactoryPostProcessor lazyAdminBeansPostProcessor(final Environment environment) {
+        final var lazyBeanClasses = Binder.get(environment)
+                .bind(LAZY_BEAN_CLASSES_PROPERTY, Bindable.listOf(String.class))
+                .orElse(DEFAULT_LAZY_BEAN_CLASSES);
+        return beanFactory -> {
+            for (final var beanName : beanFactory.getBeanDefinitionNames()) {
+                final var definition = beanFactory.getBeanDefinition(beanName);
+                Optional.ofNullable(definition.getBeanClassName())
+                        .filter(lazyBeanClasses::contains)
+                        .ifPresent(className -> {
+                            LOGGER.debug("Bean {} ({}) will be lazily initialized", beanName, className);
+                            definition.setLazyInit(true);
+                        });
+            }
+        };
+    }
+}
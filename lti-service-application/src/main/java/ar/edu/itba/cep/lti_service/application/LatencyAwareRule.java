@@ -0,0 +1,168 @@
+package ar.edu.itba.cep.lti_service.application;
+
+import com.netflix.client.config.IClientConfig;
+import com.netflix.loadbalancer.AbstractLoadBalancer;
+import com.netflix.loadbalancer.AbstractLoadBalancerRule;
+import com.netflix.loadbalancer.Server;
+import com.netflix.loadbalancer.ServerStats;
+
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A Ribbon rule that prefers the fastest instances of a service.
+ * It keeps an exponentially weighted moving average (EWMA) of the latency of each instance
+ * (computed from the windows of response times Ribbon publishes in the {@link ServerStats}),
+ * and chooses between two random instances the one with the lowest latency weighted by its in-flight requests
+ * (i.e "power of two choices"), which avoids sending all the traffic to a single instance.
+ * Instances without latency observations yet (e.g new ones) are assumed to have the mean latency of the known ones
+ * (or, if there are none, they are compared by their in-flight requests), so they do not win every choice.
+ * <p>
+ * It is enabled per client with the {@code <client>.ribbon.NFLoadBalancerRuleClassName} property.
+ */
+public class LatencyAwareRule extends AbstractLoadBalancerRule {
+
+    /**
+     * The weight of the latest observations in the moving average.
+     */
+    private static final double EWMA_ALPHA = 0.3;
+
+    /**
+     * The latency of each instance, keyed by server id.
+     */
+    private final Map<String, LatencyEwma> latencies = new ConcurrentHashMap<>();
+
+
+    @Override
+    public void initWithNiwsConfig(final IClientConfig clientConfig) {
+        // Nothing to configure.
+    }
+
+    @Override
+    public Server choose(final Object key) {
+        final var loadBalancer = getLoadBalancer();
+        if (loadBalancer == null) {
+            return null;
+        }
+        final var servers = loadBalancer.getReachableServers();
+        if (servers.isEmpty()) {
+            return null;
+        }
+        if (servers.size() == 1) {
+            return servers.get(0);
+        }
+        final var random = ThreadLocalRandom.current();
+        final var firstIndex = random.nextInt(servers.size());
+        final var secondIndex = (firstIndex + 1 + random.nextInt(servers.size() - 1)) % servers.size();
+        final var first = servers.get(firstIndex);
+        final var second = servers.get(secondIndex);
+        return cost(second) < cost(first) ? second : first;
+    }
+
+
+    /**
+     * Calculates the cost of sending a request to the given {@code server}
+     * (i.e its latency times the amount of requests it would be handling).
+     * If the latency of the server is not known yet, the mean latency of the known servers is used.
+     *
+     * @param server The {@link Server}.
+     * @return The cost.
+     */
+    private double cost(final Server server) {
+        final var stats = serverStats(server);
+        if (stats == null) {
+            return unknownLatency();
+        }
+        final var latency = latencies.computeIfAbsent(server.getId(), id -> new LatencyEwma())
+                .update(stats)
+                .orElseGet(this::unknownLatency);
+        return latency * (stats.getActiveRequestsCount() + 1);
+    }
+
+    /**
+     * Returns the latency assumed for servers that were not observed yet
+     * (i.e the mean latency of the observed ones, or {@code 1} if there are none,
+     * so the cost only depends on the in-flight requests).
+     *
+     * @return The assumed latency.
+     */
+    private double unknownLatency() {
+        return latencies.values().stream()
+                .map(LatencyEwma::current)
+                .filter(OptionalDouble::isPresent)
+                .mapToDouble(OptionalDouble::getAsDouble)
+                .average()
+                .orElse(1);
+    }
+
+    /**
+     * Retrieves the {@link ServerStats} of the given {@code server}.
+     *
+     * @param server The {@link Server}.
+     * @return The {@link ServerStats}, or {@code null} if they are not available.
+     */
+    private ServerStats serverStats(final Server server) {
+        final var loadBalancer = getLoadBalancer();
+        if (!(loadBalancer instanceof AbstractLoadBalancer)) {
+            return null;
+        }
+        final var loadBalancerStats = ((AbstractLoadBalancer) loadBalancer).getLoadBalancerStats();
+        return loadBalancerStats == null ? null : loadBalancerStats.getSingleServerStat(server);
+    }
+
+
+    /**
+     * The exponentially weighted moving average of the latency of an instance.
+     * It is fed with the response time distribution {@link ServerStats} publishes for each window
+     * (i.e its mean and its sample count come from the same distribution,
+     * unlike the total requests count, which also includes requests whose response time was not recorded).
+     * Each update folds in the latest window if it was published since the previous update.
+     */
+    private static final class LatencyEwma {
+
+        /**
+         * The sample count of the window folded in by the previous update.
+         */
+        private int windowSamples;
+        /**
+         * The mean response time of the window folded in by the previous update.
+         */
+        private double windowMean;
+        /**
+         * Indicates whether a window was already folded in.
+         */
+        private boolean initialized;
+        /**
+         * The current average.
+         */
+        private double average;
+
+        /**
+         * Updates the average with the latest published window, if it is a new one.
+         *
+         * @param stats The {@link ServerStats} of the instance.
+         * @return An {@link OptionalDouble} containing the updated average,
+         * or empty if no window was published yet.
+         */
+        private synchronized OptionalDouble update(final ServerStats stats) {
+            final var samples = stats.getResponseTimePercentileNumValues();
+            final var mean = stats.getResponseTimeAvgRecent();
+            if (samples > 0 && (samples != windowSamples || Double.compare(mean, windowMean) != 0)) {
+                average = initialized ? EWMA_ALPHA * mean + (1 - EWMA_ALPHA) * average : mean;
+                initialized = true;
+            }
+            windowSamples = samples;
+            windowMean = mean;
+            return current();
+        }
+
+        /**
+         * @return An {@link OptionalDouble} containing the current average, or empty if no window was folded in yet.
+         */
+        private synchronized OptionalDouble current() {
+            return initialized ? OptionalDouble.of(average) : OptionalDouble.empty();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package ar.edu.itba.cep.lti_service.application;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the circuit breakers that protect the calls to the LMSs
+ * (i.e there is one circuit breaker per issuer, shared by the OAuth2, AGS and JWKS clients).
+ */
+@Configuration
+@EnableConfigurationProperties(LmsCircuitBreakersConfig.LmsCircuitBreakersProperties.class)
+public class LmsCircuitBreakersConfig {
+
+    /**
+     * Builds the {@link CircuitBreakerRegistry} from where the circuit breaker of each LMS is taken.
+     * Client errors (4xx) are ignored, as they do not indicate that the LMS is not available.
+     *
+     * @param properties The {@link LmsCircuitBreakersProperties} used to configure the circuit breakers.
+     * @return The created {@link CircuitBreakerRegistry}.
+     */
+    @Bean
+    public CircuitBreakerRegistry lmsCircuitBreakerRegistry(final LmsCircuitBreakersProperties properties) {
+        final var config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(properties.getFailureRateThreshold())
+                .slidingWindowSize(properties.getSlidingWindowSize())
+                .minimumNumberOfCalls(properties.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(properties.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(properties.getPermittedNumberOfCallsInHalfOpenState())
+                .ignoreExceptions(HttpClientErrorException.class)
+                .build();
+        return CircuitBreakerRegistry.of(config);
+    }
+
+
+    /**
+     * Properties needed to configure the LMSs circuit breakers.
+     */
+    @Data
+    @ConfigurationProperties(prefix = "lti-service.lms-circuit-breakers")
+    public static class LmsCircuitBreakersProperties {
+        /**
+         * The failure rate (in percentage) above which the circuit breaker opens.
+         */
+        private float failureRateThreshold = 50;
+        /**
+         * The amount of calls used to calculate the failure rate.
+         */
+        private int slidingWindowSize = 20;
+        /**
+         * The min. amount of calls needed before the failure rate is calculated.
+         */
+        private int minimumNumberOfCalls = 10;
+        /**
+         * The amount of time the circuit breaker stays open before moving to the half-open state.
+         */
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+        /**
+         * The amount of probe calls permitted in the half-open state.
+         */
+        private int permittedNumberOfCallsInHalfOpenState = 5;
+    }
+}
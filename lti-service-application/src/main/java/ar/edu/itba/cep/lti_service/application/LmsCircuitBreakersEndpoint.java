@@ -0,0 +1,69 @@
+package ar.edu.itba.cep.lti_service.application;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Actuator endpoint that exposes the state of the LMSs circuit breakers (one per issuer).
+ */
+@Component
+@Endpoint(id = "lmscircuitbreakers")
+@AllArgsConstructor
+public class LmsCircuitBreakersEndpoint {
+
+    /**
+     * The {@link CircuitBreakerRegistry} holding the LMSs circuit breakers.
+     */
+    private final CircuitBreakerRegistry lmsCircuitBreakerRegistry;
+
+
+    /**
+     * @return A {@link Map} holding the {@link CircuitBreakerDetails} of each LMS, keyed by issuer.
+     */
+    @ReadOperation
+    public Map<String, CircuitBreakerDetails> circuitBreakers() {
+        final var details = new TreeMap<String, CircuitBreakerDetails>();
+        for (final CircuitBreaker circuitBreaker : lmsCircuitBreakerRegistry.getAllCircuitBreakers()) {
+            details.put(circuitBreaker.getName(), CircuitBreakerDetails.fromCircuitBreaker(circuitBreaker));
+        }
+        return details;
+    }
+
+
+    /**
+     * The details of a circuit breaker exposed by this endpoint.
+     */
+    @Value(staticConstructor = "create")
+    public static class CircuitBreakerDetails {
+        private final CircuitBreaker.State state;
+        private final float failureRate;
+        private final int bufferedCalls;
+        private final int failedCalls;
+        private final long notPermittedCalls;
+
+        /**
+         * Builds a {@link CircuitBreakerDetails} from the given {@code circuitBreaker}.
+         *
+         * @param circuitBreaker The {@link CircuitBreaker}.
+         * @return The created {@link CircuitBreakerDetails}.
+         */
+        private static CircuitBreakerDetails fromCircuitBreaker(final CircuitBreaker circuitBreaker) {
+            final var metrics = circuitBreaker.getMetrics();
+            return create(
+                    circuitBreaker.getState(),
+                    metrics.getFailureRate(),
+                    metrics.getNumberOfBufferedCalls(),
+                    metrics.getNumberOfFailedCalls(),
+                    metrics.getNumberOfNotPermittedCalls()
+            );
+        }
+    }
+}
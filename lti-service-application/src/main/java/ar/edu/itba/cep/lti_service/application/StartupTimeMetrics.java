@@ -0,0 +1,58 @@
+package ar.edu.itba.cep.lti_service.application;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Component that publishes the time elapsed since the JVM started until the application was ready
+ * (i.e the {@code lti.startup.time} gauge), in order to track the startup time
+ * (e.g when comparing the images built with and without the AppCDS archive).
+ * It does not include the startup warm-up, as it is performed once the application is ready.
+ */
+@Component
+public class StartupTimeMetrics implements ApplicationListener<ApplicationReadyEvent>, Ordered {
+
+    /**
+     * The {@link Logger}.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartupTimeMetrics.class);
+
+    /**
+     * The {@link MeterRegistry} in which the gauge is registered.
+     */
+    private final MeterRegistry meterRegistry;
+
+
+    /**
+     * Constructor.
+     *
+     * @param meterRegistry The {@link MeterRegistry} in which the gauge is registered.
+     */
+    public StartupTimeMetrics(final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+
+    @Override
+    public void onApplicationEvent(final ApplicationReadyEvent event) {
+        final var startupTime = ManagementFactory.getRuntimeMXBean().getUptime();
+        LOGGER.info("Application ready {} ms after the JVM started", startupTime);
+        TimeGauge.builder("lti.startup.time", this, TimeUnit.MILLISECONDS, metrics -> startupTime)
+                .description("Time elapsed since the JVM started until the application was ready")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
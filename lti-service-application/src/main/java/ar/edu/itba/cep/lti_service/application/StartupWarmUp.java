@@ -0,0 +1,319 @@
+package ar.edu.itba.cep.lti_service.application;
+
+import ar.edu.itba.cep.lti_service.domain.helpers.ExamSelectionStateHelper;
+import ar.edu.itba.cep.lti_service.domain.helpers.LtiConstants;
+import ar.edu.itba.cep.lti_service.domain.helpers.LtiMessageDeserializer;
+import ar.edu.itba.cep.lti_service.domain.helpers.LtiMessageValidator;
+import ar.edu.itba.cep.lti_service.domain.helpers.LtiStateHelper;
+import ar.edu.itba.cep.lti_service.domain.helpers.PlatformKeysHelper;
+import ar.edu.itba.cep.lti_service.models.ToolDeployment;
+import ar.edu.itba.cep.lti_service.repositories.ToolDeploymentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import lombok.Data;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Component that warms up the application once it is started, before it is reported as ready
+ * (i.e its health is {@link org.springframework.boot.actuate.health.Status#OUT_OF_SERVICE} until the warm-up
+ * finishes). It exercises the state encoding and decoding, and the LTI message signing, parsing and validation
+ * paths with synthetic keys (so that the JIT, the JCA providers and Jackson are warm when the first launches arrive),
+ * opens the database connections, and loads the registered tool deployments' private keys.
+ */
+@Component
+@EnableConfigurationProperties(StartupWarmUp.StartupWarmUpProperties.class)
+public class StartupWarmUp implements ApplicationListener<ApplicationReadyEvent>, HealthIndicator {
+
+    /**
+     * The {@link Logger}.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartupWarmUp.class);
+
+    /**
+     * The {@link SignatureAlgorithm} used to sign the synthetic LTI messages.
+     */
+    private static final SignatureAlgorithm SYNTHETIC_SIGNATURE_ALGORITHM = SignatureAlgorithm.RS256;
+
+    /**
+     * The {@link LtiStateHelper} whose paths are exercised.
+     */
+    private final LtiStateHelper ltiStateHelper;
+    /**
+     * The {@link ExamSelectionStateHelper} whose paths are exercised.
+     */
+    private final ExamSelectionStateHelper examSelectionStateHelper;
+    /**
+     * The {@link LtiMessageDeserializer} whose paths are exercised.
+     */
+    private final LtiMessageDeserializer ltiMessageDeserializer;
+    /**
+     * The {@link LtiMessageValidator} whose paths are exercised.
+     */
+    private final LtiMessageValidator ltiMessageValidator;
+    /**
+     * The {@link PlatformKeysHelper} in which the tool deployments' private keys are loaded.
+     */
+    private final PlatformKeysHelper platformKeysHelper;
+    /**
+     * The {@link ToolDeploymentRepository} from where the tool deployments are loaded.
+     */
+    private final ToolDeploymentRepository toolDeploymentRepository;
+    /**
+     * The {@link DataSource} whose connections are opened.
+     */
+    private final DataSource dataSource;
+    /**
+     * An {@link ObjectProvider} of the {@link ObjectMapper} whose paths are exercised.
+     */
+    private final ObjectProvider<ObjectMapper> objectMapper;
+    /**
+     * The {@link StartupWarmUpProperties} used to configure the warm-up.
+     */
+    private final StartupWarmUpProperties properties;
+    /**
+     * Indicates whether the warm-up finished (successfully or not).
+     */
+    private volatile boolean finished;
+
+
+    /**
+     * Constructor.
+     *
+     * @param ltiStateHelper           The {@link LtiStateHelper} whose paths are exercised.
+     * @param examSelectionStateHelper The {@link ExamSelectionStateHelper} whose paths are exercised.
+     * @param ltiMessageDeserializer   The {@link LtiMessageDeserializer} whose paths are exercised.
+     * @param ltiMessageValidator      The {@link LtiMessageValidator} whose paths are exercised.
+     * @param platformKeysHelper       The {@link PlatformKeysHelper} in which the private keys are loaded.
+     * @param toolDeploymentRepository The {@link ToolDeploymentRepository} from where the tool deployments
+     *                                 are loaded.
+     * @param dataSource               The {@link DataSource} whose connections are opened.
+     * @param objectMapper             An {@link ObjectProvider} of the {@link ObjectMapper} whose paths are exercised.
+     * @param properties               The {@link StartupWarmUpProperties} used to configure the warm-up.
+     */
+    public StartupWarmUp(
+            final LtiStateHelper ltiStateHelper,
+            final ExamSelectionStateHelper examSelectionStateHelper,
+            final LtiMessageDeserializer ltiMessageDeserializer,
+            final LtiMessageValidator ltiMessageValidator,
+            final PlatformKeysHelper platformKeysHelper,
+            final ToolDeploymentRepository toolDeploymentRepository,
+            final DataSource dataSource,
+            final ObjectProvider<ObjectMapper> objectMapper,
+            final StartupWarmUpProperties properties) {
+        this.ltiStateHelper = ltiStateHelper;
+        this.examSelectionStateHelper = examSelectionStateHelper;
+        this.ltiMessageDeserializer = ltiMessageDeserializer;
+        this.ltiMessageValidator = ltiMessageValidator;
+        this.platformKeysHelper = platformKeysHelper;
+        this.toolDeploymentRepository = toolDeploymentRepository;
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.finished = !properties.isEnabled();
+    }
+
+
+    @Override
+    public void onApplicationEvent(final ApplicationReadyEvent event) {
+        if (finished) {
+            return;
+        }
+        final var start = Instant.now();
+        try {
+            openConnections();
+            loadToolDeployments();
+            final var iterations = exerciseLtiPaths(start.plus(properties.getMaxDuration()));
+            LOGGER.info(
+                    "Warm-up finished in {} ms ({} iterations)",
+                    Duration.between(start, Instant.now()).toMillis(),
+                    iterations
+            );
+        } catch (final Throwable e) {
+            // The application is not kept out of service, as it can work anyway (just slower at first).
+            LOGGER.warn("Warm-up failed. Reporting the application as ready anyway");
+            LOGGER.debug("Warm-up error: ", e);
+        } finally {
+            finished = true;
+        }
+    }
+
+    @Override
+    public Health health() {
+        return finished ? Health.up().build() : Health.outOfService().withDetail("warmingUp", true).build();
+    }
+
+
+    // ================================================================================================================
+    // Helpers
+    // ================================================================================================================
+
+    /**
+     * Opens the configured amount of database connections at the same time (filling the connections pool),
+     * and then releases them.
+     *
+     * @throws SQLException If a connection cannot be opened.
+     */
+    private void openConnections() throws SQLException {
+        final var connections = new ArrayList<Connection>(properties.getConnections());
+        try {
+            for (var i = 0; i < properties.getConnections(); i++) {
+                final var connection = dataSource.getConnection();
+                connections.add(connection);
+                connection.isValid(1);
+            }
+        } finally {
+            for (final var connection : connections) {
+                connection.close();
+            }
+        }
+    }
+
+    /**
+     * Loads the registered tool deployments, parsing their private keys.
+     */
+    private void loadToolDeployments() {
+        toolDeploymentRepository.findAll().forEach(platformKeysHelper::getPrivateKey);
+    }
+
+    /**
+     * Exercises the state encoding and decoding, and the LTI message signing, parsing and validation paths,
+     * with a synthetic tool deployment, until the configured amount of iterations is performed,
+     * or until the given {@code deadline} is reached.
+     *
+     * @param deadline The {@link Instant} at which the process must stop.
+     * @return The amount of performed iterations.
+     * @throws Exception If any of the paths fails.
+     */
+    private int exerciseLtiPaths(final Instant deadline) throws Exception {
+        final var keyPair = syntheticKeyPair();
+        final var toolDeployment = syntheticToolDeployment(keyPair);
+        final var mapper = objectMapper.getIfAvailable(ObjectMapper::new);
+        var iterations = 0;
+        while (iterations < properties.getIterations() && Instant.now().isBefore(deadline)) {
+            final var nonce = UUID.randomUUID().toString();
+            final var toolDeploymentId = UUID.randomUUID();
+
+            final var state = LtiStateHelper.StateData.create(toolDeploymentId, nonce);
+            ltiStateHelper.decode(ltiStateHelper.encode(state));
+            final var selectionState = ExamSelectionStateHelper.ExamSelectionStateData
+                    .create("https://lms.invalid/return", null, toolDeploymentId, nonce, null, null);
+            examSelectionStateHelper.decode(examSelectionStateHelper.encode(selectionState));
+
+            final var claims = syntheticLtiMessage(toolDeployment, nonce);
+            final var idToken = Jwts.builder()
+                    .setClaims(claims)
+                    .setHeaderParam("kid", "warm-up")
+                    .signWith(keyPair.getPrivate(), SYNTHETIC_SIGNATURE_ALGORITHM)
+                    .compact();
+            final var ltiMessage = ltiMessageDeserializer.deserialize(idToken, keyPair.getPublic());
+            ltiMessageValidator.validateLtiMessage(toolDeployment, nonce, ltiMessage);
+            mapper.readValue(mapper.writeValueAsBytes(claims), Map.class);
+            iterations++;
+        }
+        return iterations;
+    }
+
+    /**
+     * Generates a synthetic {@link KeyPair}.
+     *
+     * @return The generated {@link KeyPair}.
+     * @throws NoSuchAlgorithmException If the RSA algorithm is not supported.
+     */
+    private static KeyPair syntheticKeyPair() throws NoSuchAlgorithmException {
+        final var generator = KeyPairGenerator.getInstance(SYNTHETIC_SIGNATURE_ALGORITHM.getFamilyName());
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+
+    /**
+     * Creates a synthetic {@link ToolDeployment} (which is never stored) with the given {@code keyPair}.
+     *
+     * @param keyPair The {@link KeyPair} whose private key is set.
+     * @return The created {@link ToolDeployment}.
+     */
+    private static ToolDeployment syntheticToolDeployment(final KeyPair keyPair) {
+        return new ToolDeployment(
+                "warm-up-deployment",
+                "warm-up-client",
+                "https://lms.invalid",
+                "https://lms.invalid/auth",
+                "https://lms.invalid/jwks",
+                Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()),
+                SYNTHETIC_SIGNATURE_ALGORITHM,
+                "warm-up-key",
+                "warm-up-secret"
+        );
+    }
+
+    /**
+     * Creates a synthetic LTI message that is valid for the given {@code toolDeployment} and {@code nonce}.
+     *
+     * @param toolDeployment The synthetic {@link ToolDeployment}.
+     * @param nonce          The nonce.
+     * @return The created LTI message.
+     */
+    private static Map<String, Object> syntheticLtiMessage(final ToolDeployment toolDeployment, final String nonce) {
+        final var now = Instant.now();
+        final var ltiMessage = new HashMap<String, Object>();
+        ltiMessage.put(LtiConstants.LtiClaims.ISSUER, toolDeployment.getIssuer());
+        ltiMessage.put(LtiConstants.LtiClaims.AUDIENCE, toolDeployment.getClientId());
+        ltiMessage.put(LtiConstants.LtiClaims.SUBJECT, UUID.randomUUID().toString());
+        ltiMessage.put(LtiConstants.LtiClaims.EXPIRATION, now.plusSeconds(60).getEpochSecond());
+        ltiMessage.put(LtiConstants.LtiClaims.ISSUED_AT, now.getEpochSecond());
+        ltiMessage.put(LtiConstants.LtiClaims.NONCE, nonce);
+        ltiMessage.put(LtiConstants.LtiClaims.VERSION, LtiConstants.LTI_VERSION);
+        ltiMessage.put(LtiConstants.LtiClaims.DEPLOYMENT_ID, toolDeployment.getDeploymentId());
+        ltiMessage.put(LtiConstants.LtiClaims.MESSAGE_TYPE, "LtiResourceLinkRequest");
+        ltiMessage.put(LtiConstants.LtiClaims.CUSTOM, Map.of("exam-id", "1"));
+        return ltiMessage;
+    }
+
+
+    /**
+     * Properties needed to configure the startup warm-up.
+     */
+    @Data
+    @ConfigurationProperties(prefix = "lti-service.startup-warm-up")
+    public static class StartupWarmUpProperties {
+        /**
+         * Indicates whether the application is warmed up before being reported as ready.
+         */
+        private boolean enabled = true;
+        /**
+         * The amount of times the LTI paths are exercised.
+         */
+        private int iterations = 500;
+        /**
+         * The max. time spent exercising the LTI paths.
+         */
+        private Duration maxDuration = Duration.ofSeconds(30);
+        /**
+         * The amount of database connections opened at the same time.
+         */
+        private int connections = 5;
+    }
+}
@@ -0,0 +1,118 @@
+package ar.edu.itba.cep.lti_service.application;
+
+import org.apache.coyote.AbstractProtocol;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatConnectorCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuration class for the virtual threads execution mode (it requires a Java 21 runtime).
+ * When enabled, the requests are handled (i.e Jersey resources are executed) in virtual threads,
+ * and the bounded thread pools in which remote calls are performed are replaced by executors
+ * that start a virtual thread per task, bounded as the replaced pool (i.e they still reject or run in the caller
+ * the tasks exceeding its size and queue capacity).
+ * <p>
+ * The project is compiled for Java 11, so virtual threads are created through reflection.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "lti-service.virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    /**
+     * Builds the {@link ExecutorService} in which the requests are handled.
+     *
+     * @return The created {@link ExecutorService}.
+     */
+    @Bean
+    public ExecutorService virtualThreadsExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, virtualThreadFactory("http-handler-"));
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create the virtual threads executor", e);
+        }
+    }
+
+    /**
+     * Makes Tomcat handle the requests in the {@code virtualThreadsExecutor}
+     * (only when the application runs in Tomcat).
+     *
+     * @param virtualThreadsExecutor The {@link ExecutorService} in which the requests are handled.
+     * @return The created {@link TomcatConnectorCustomizer}.
+     */
+    @Bean
+    @ConditionalOnClass(name = "org.apache.coyote.AbstractProtocol")
+    public TomcatConnectorCustomizer virtualThreadsConnectorCustomizer(final ExecutorService virtualThreadsExecutor) {
+        return connector -> {
+            final var protocolHandler = connector.getProtocolHandler();
+            if (protocolHandler instanceof AbstractProtocol) {
+                ((AbstractProtocol<?>) protocolHandler).setExecutor(virtualThreadsExecutor);
+            }
+        };
+    }
+
+    /**
+     * Replaces each {@link ThreadPoolTaskExecutor} bean with a {@link BoundedVirtualThreadExecutor}
+     * that starts a virtual thread per task, keeping the replaced pool's max. size, queue capacity
+     * and rejection behaviour (i.e pools that run rejected tasks in the caller thread keep doing so).
+     * The pool is inspected once initialized (before it runs any task, so no platform thread is started),
+     * and then shut down.
+     *
+     * @return The created {@link BeanPostProcessor}.
+     */
+    @Bean
+    public static BeanPostProcessor virtualThreadsExecutorsPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName)
+                    throws BeansException {
+                if (!(bean instanceof ThreadPoolTaskExecutor)) {
+                    return bean;
+                }
+                final var pool = (ThreadPoolTaskExecutor) bean;
+                final var threadPoolExecutor = pool.getThreadPoolExecutor();
+                final var executor = new BoundedVirtualThreadExecutor(
+                        virtualThreadFactory(pool.getThreadNamePrefix()),
+                        pool.getMaxPoolSize(),
+                        threadPoolExecutor.getQueue().remainingCapacity(),
+                        threadPoolExecutor.getRejectedExecutionHandler() instanceof ThreadPoolExecutor.CallerRunsPolicy
+                );
+                pool.shutdown();
+                return executor;
+            }
+        };
+    }
+
+
+    /**
+     * Creates a {@link ThreadFactory} that creates virtual threads.
+     *
+     * @param namePrefix The prefix of the name of the created threads.
+     * @return The created {@link ThreadFactory}.
+     * @throws IllegalStateException If the runtime does not support virtual threads.
+     */
+    private static ThreadFactory virtualThreadFactory(final String namePrefix) throws IllegalStateException {
+        try {
+            final var builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            final var namedBuilder = Class.forName("java.lang.Thread$Builder$OfVirtual")
+                    .getMethod("name", String.class, long.class)
+                    .invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder")
+                    .getMethod("factory")
+                    .invoke(namedBuilder);
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads are not supported by this runtime (Java 21 needed)", e);
+        }
+    }
+}
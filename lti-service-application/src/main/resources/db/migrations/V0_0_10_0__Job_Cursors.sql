@@ -0,0 +1,6 @@
+CREATE TABLE job_cursors
+(
+    name       VARCHAR PRIMARY KEY NOT NULL,
+    value      VARCHAR             NOT NULL,
+    updated_at TIMESTAMP           NOT NULL
+);
@@ -0,0 +1,19 @@
+-- Keeps a single resource link for each exam, tool deployment and context (the oldest one),
+-- where the context is identified by its services urls (i.e each context has its own line items and memberships).
+DELETE
+FROM resource_links
+WHERE id IN (SELECT id
+             FROM (SELECT id,
+                          ROW_NUMBER() OVER (PARTITION BY exam_id,
+                              tool_deployment_id,
+                              COALESCE(line_items_url, ''),
+                              COALESCE(context_memberships_url, '')
+                              ORDER BY created_at, id) AS position
+                   FROM resource_links) AS ranked_resource_links
+             WHERE position > 1);
+
+CREATE UNIQUE INDEX resource_links_exam_id_tool_deployment_id_context_unique_index
+    ON resource_links (exam_id,
+                       tool_deployment_id,
+                       COALESCE(line_items_url, ''),
+                       COALESCE(context_memberships_url, ''));
@@ -0,0 +1,18 @@
+CREATE TABLE failed_score_publications
+(
+    id              UUID PRIMARY KEY NOT NULL,
+    exam_taking_id  UUID             NOT NULL,
+    score           INT              NOT NULL,
+    created_at      TIMESTAMP        NOT NULL,
+    state           VARCHAR          NOT NULL,
+    attempts        INT              NOT NULL,
+    next_attempt_at TIMESTAMP,
+    last_error      VARCHAR,
+    FOREIGN KEY (exam_taking_id) REFERENCES exam_takings (id) ON DELETE CASCADE ON UPDATE CASCADE
+);
+
+CREATE INDEX failed_score_publications_state_next_attempt_at_index
+    ON failed_score_publications (state, next_attempt_at);
+
+CREATE INDEX failed_score_publications_exam_taking_id_index
+    ON failed_score_publications (exam_taking_id);
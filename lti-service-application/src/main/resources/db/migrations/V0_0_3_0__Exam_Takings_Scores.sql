@@ -0,0 +1,2 @@
+ALTER TABLE exam_takings
+    ADD COLUMN score INT;
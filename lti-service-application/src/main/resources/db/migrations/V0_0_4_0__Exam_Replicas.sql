@@ -0,0 +1,10 @@
+CREATE TABLE exam_replicas
+(
+    id          BIGINT PRIMARY KEY NOT NULL,
+    description VARCHAR            NOT NULL,
+    starting_at TIMESTAMP          NOT NULL,
+    duration    BIGINT             NOT NULL,
+    state       VARCHAR            NOT NULL,
+    max_score   INT                NOT NULL,
+    synced_at   TIMESTAMP          NOT NULL
+);
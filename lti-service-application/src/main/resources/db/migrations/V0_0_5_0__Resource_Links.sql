@@ -0,0 +1,14 @@
+CREATE TABLE resource_links
+(
+    id                 UUID PRIMARY KEY NOT NULL,
+    exam_id            BIGINT           NOT NULL,
+    tool_deployment_id UUID             NOT NULL,
+    created_at         TIMESTAMP        NOT NULL,
+    FOREIGN KEY (tool_deployment_id) REFERENCES tool_deployments (id) ON DELETE CASCADE ON UPDATE CASCADE
+);
+
+CREATE INDEX resource_links_exam_id_index
+    ON resource_links (exam_id);
+
+CREATE INDEX resource_links_tool_deployment_id_index
+    ON resource_links (tool_deployment_id);
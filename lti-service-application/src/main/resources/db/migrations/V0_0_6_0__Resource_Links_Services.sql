@@ -0,0 +1,5 @@
+ALTER TABLE resource_links
+    ADD COLUMN line_items_url VARCHAR;
+
+ALTER TABLE resource_links
+    ADD COLUMN context_memberships_url VARCHAR;
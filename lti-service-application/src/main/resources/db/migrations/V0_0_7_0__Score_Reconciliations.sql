@@ -0,0 +1,18 @@
+CREATE TABLE score_reconciliations
+(
+    id                 UUID PRIMARY KEY NOT NULL,
+    exam_id            BIGINT           NOT NULL,
+    requested_at       TIMESTAMP        NOT NULL,
+    state              VARCHAR          NOT NULL,
+    updated_at         TIMESTAMP        NOT NULL,
+    finished_at        TIMESTAMP,
+    compared_scores    INT              NOT NULL,
+    republished_scores INT              NOT NULL,
+    failed_line_items  INT              NOT NULL
+);
+
+CREATE INDEX score_reconciliations_state_requested_at_index
+    ON score_reconciliations (state, requested_at);
+
+CREATE INDEX score_reconciliations_exam_id_index
+    ON score_reconciliations (exam_id);
@@ -0,0 +1,5 @@
+CREATE TABLE finished_exams
+(
+    exam_id     BIGINT PRIMARY KEY NOT NULL,
+    finished_at TIMESTAMP          NOT NULL
+);
@@ -0,0 +1,26 @@
+-- Keeps a single exam taking for each exam and subject (the scored one, if any),
+-- moving the failed score publications of the removed duplicates to the kept one.
+CREATE TEMPORARY TABLE duplicated_exam_takings AS
+SELECT id, kept_id
+FROM (SELECT id,
+             FIRST_VALUE(id) OVER (PARTITION BY exam_id, subject ORDER BY score IS NULL, id) AS kept_id
+      FROM exam_takings
+      WHERE subject IS NOT NULL) AS ranked_exam_takings
+WHERE id <> kept_id;
+
+UPDATE failed_score_publications
+SET exam_taking_id = duplicated_exam_takings.kept_id
+FROM duplicated_exam_takings
+WHERE failed_score_publications.exam_taking_id = duplicated_exam_takings.id;
+
+DELETE
+FROM exam_takings
+    USING duplicated_exam_takings
+WHERE exam_takings.id = duplicated_exam_takings.id;
+
+DROP TABLE duplicated_exam_takings;
+
+DROP INDEX exam_takings_exam_id_subject_unique_index;
+
+CREATE UNIQUE INDEX exam_takings_exam_id_subject_unique_index
+    ON exam_takings (exam_id, subject);
@@ -0,0 +1,21 @@
+package ar.edu.itba.cep.lti_service.crypto;
+
+/**
+ * An operation performed with a pooled JCA primitive (e.g a {@link java.security.KeyFactory}).
+ *
+ * @param <T> The concrete type of primitive.
+ * @param <R> The concrete type of the operation's result.
+ * @param <E> The concrete type of exception thrown by the operation.
+ */
+@FunctionalInterface
+public interface JcaOperation<T, R, E extends Exception> {
+
+    /**
+     * Performs the operation with the given {@code primitive}.
+     *
+     * @param primitive The primitive (which must not be used once the operation returns).
+     * @return The operation's result.
+     * @throws E If the operation fails.
+     */
+    R apply(final T primitive) throws E;
+}
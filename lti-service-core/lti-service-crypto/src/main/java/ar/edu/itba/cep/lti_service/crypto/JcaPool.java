@@ -0,0 +1,136 @@
+package ar.edu.itba.cep.lti_service.crypto;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of JCA primitives (which are not thread safe), keyed by algorithm.
+ * A primitive is created (i.e looked up in the providers) only when there are no idle ones for the algorithm,
+ * and it is kept once released, unless there are already {@code maxIdle} idle ones.
+ * <p>
+ * Pooling (instead of keeping a primitive per thread) allows reusing the primitives
+ * when the requests are handled in virtual threads.
+ *
+ * @param <T> The concrete type of primitive.
+ */
+/* package */ final class JcaPool<T> {
+
+    /**
+     * The {@link Factory} used to create the primitives.
+     */
+    private final Factory<T> factory;
+    /**
+     * The max. amount of idle primitives kept for each algorithm.
+     */
+    private final int maxIdle;
+    /**
+     * The {@link Idle} primitives, keyed by algorithm.
+     */
+    private final Map<String, Idle<T>> idle;
+
+
+    /**
+     * Constructor.
+     *
+     * @param factory The {@link Factory} used to create the primitives.
+     * @param maxIdle The max. amount of idle primitives kept for each algorithm.
+     */
+    /* package */ JcaPool(final Factory<T> factory, final int maxIdle) {
+        this.factory = factory;
+        this.maxIdle = maxIdle;
+        this.idle = new ConcurrentHashMap<>();
+    }
+
+
+    /**
+     * Performs the given {@code operation} with a pooled primitive for the given {@code algorithm}.
+     *
+     * @param algorithm The algorithm of the primitive.
+     * @param operation The {@link JcaOperation} to be performed.
+     * @param <R>       The concrete type of the operation's result.
+     * @param <E>       The concrete type of exception thrown by the operation.
+     * @return The operation's result.
+     * @throws NoSuchAlgorithmException If there is no provider for the given {@code algorithm}.
+     * @throws E                        If the operation fails.
+     */
+    /* package */ <R, E extends Exception> R with(final String algorithm, final JcaOperation<T, R, E> operation)
+            throws NoSuchAlgorithmException, E {
+        final var primitives = idle.computeIfAbsent(algorithm, ignored -> new Idle<>());
+        final var pooled = primitives.poll();
+        final var primitive = pooled != null ? pooled : factory.create(algorithm);
+        try {
+            return operation.apply(primitive);
+        } finally {
+            primitives.offer(primitive, maxIdle);
+        }
+    }
+
+
+    /**
+     * A factory of JCA primitives.
+     *
+     * @param <T> The concrete type of primitive.
+     */
+    @FunctionalInterface
+    /* package */ interface Factory<T> {
+
+        /**
+         * Creates a primitive for the given {@code algorithm}.
+         *
+         * @param algorithm The algorithm of the primitive.
+         * @return The created primitive.
+         * @throws NoSuchAlgorithmException If there is no provider for the given {@code algorithm}.
+         */
+        T create(final String algorithm) throws NoSuchAlgorithmException;
+    }
+
+    /**
+     * The idle primitives of an algorithm.
+     *
+     * @param <T> The concrete type of primitive.
+     */
+    private static final class Idle<T> {
+
+        /**
+         * The idle primitives.
+         */
+        private final Queue<T> primitives = new ConcurrentLinkedQueue<>();
+        /**
+         * The amount of idle primitives (as the size of a {@link ConcurrentLinkedQueue} is not computed
+         * in constant time).
+         */
+        private final AtomicInteger size = new AtomicInteger();
+
+
+        /**
+         * Takes an idle primitive.
+         *
+         * @return The primitive, or {@code null} if there are no idle ones.
+         */
+        private T poll() {
+            final var primitive = primitives.poll();
+            if (primitive != null) {
+                size.decrementAndGet();
+            }
+            return primitive;
+        }
+
+        /**
+         * Adds the given {@code primitive} to the idle ones, unless there are already {@code maxIdle} idle ones.
+         *
+         * @param primitive The primitive to be added.
+         * @param maxIdle   The max. amount of idle primitives.
+         */
+        private void offer(final T primitive, final int maxIdle) {
+            if (size.incrementAndGet() > maxIdle) {
+                size.decrementAndGet();
+                return;
+            }
+            primitives.offer(primitive);
+        }
+    }
+}
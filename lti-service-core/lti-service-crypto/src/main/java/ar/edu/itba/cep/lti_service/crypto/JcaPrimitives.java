@@ -0,0 +1,108 @@
+package ar.edu.itba.cep.lti_service.crypto;
+
+import java.security.*;
+
+/**
+ * Entry point to the pooled JCA primitives used to parse keys, and to sign and verify messages.
+ * Looking up a {@link KeyFactory} or a {@link Signature} in the providers is synchronized,
+ * so these primitives are created once per algorithm (and per concurrent user), and reused afterwards.
+ */
+public final class JcaPrimitives {
+
+    /**
+     * The max. amount of idle primitives kept for each algorithm.
+     */
+    private static final int MAX_IDLE = 2 * Runtime.getRuntime().availableProcessors();
+    /**
+     * The pooled {@link KeyFactory}s.
+     */
+    private static final JcaPool<KeyFactory> KEY_FACTORIES = new JcaPool<>(KeyFactory::getInstance, MAX_IDLE);
+    /**
+     * The pooled {@link Signature}s.
+     */
+    private static final JcaPool<Signature> SIGNATURES = new JcaPool<>(Signature::getInstance, MAX_IDLE);
+
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private JcaPrimitives() {
+    }
+
+
+    /**
+     * Performs the given {@code operation} with a pooled {@link KeyFactory} for the given {@code algorithm}.
+     *
+     * @param algorithm The key algorithm (e.g RSA).
+     * @param operation The {@link JcaOperation} to be performed.
+     * @param <R>       The concrete type of the operation's result.
+     * @param <E>       The concrete type of exception thrown by the operation.
+     * @return The operation's result.
+     * @throws NoSuchAlgorithmException If there is no provider for the given {@code algorithm}.
+     * @throws E                        If the operation fails.
+     */
+    public static <R, E extends Exception> R withKeyFactory(
+            final String algorithm,
+            final JcaOperation<KeyFactory, R, E> operation) throws NoSuchAlgorithmException, E {
+        return KEY_FACTORIES.with(algorithm, operation);
+    }
+
+    /**
+     * Checks whether there is a {@link KeyFactory} for the given {@code algorithm}
+     * (creating it only the first time).
+     *
+     * @param algorithm The key algorithm (e.g RSA).
+     * @return {@code true} if there is a provider for the given {@code algorithm}, or {@code false} otherwise.
+     */
+    public static boolean isKeyAlgorithmSupported(final String algorithm) {
+        try {
+            return withKeyFactory(algorithm, keyFactory -> true);
+        } catch (final NoSuchAlgorithmException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Signs the given {@code data} with a pooled {@link Signature}.
+     *
+     * @param algorithm The JCA signature algorithm (e.g SHA256withRSA).
+     * @param key       The {@link PrivateKey} used to sign.
+     * @param data      The data to be signed.
+     * @return The signature.
+     * @throws GeneralSecurityException If there is no provider for the given {@code algorithm},
+     *                                  if the given {@code key} cannot be used with it,
+     *                                  or if the data cannot be signed.
+     */
+    public static byte[] sign(final String algorithm, final PrivateKey key, final byte[] data)
+            throws GeneralSecurityException {
+        return SIGNATURES.<byte[], GeneralSecurityException>with(algorithm, signature -> {
+            signature.initSign(key); // Initializing resets any state left by a previous (failed) use
+            signature.update(data);
+            return signature.sign();
+        });
+    }
+
+    /**
+     * Verifies the given {@code signature} of the given {@code data} with a pooled {@link Signature}.
+     *
+     * @param algorithm The JCA signature algorithm (e.g SHA256withRSA).
+     * @param key       The {@link PublicKey} used to verify.
+     * @param data      The signed data.
+     * @param signature The signature to be verified.
+     * @return {@code true} if the signature is valid, or {@code false} otherwise.
+     * @throws GeneralSecurityException If there is no provider for the given {@code algorithm},
+     *                                  if the given {@code key} cannot be used with it,
+     *                                  or if the signature is not properly encoded.
+     */
+    public static boolean verify(
+            final String algorithm,
+            final PublicKey key,
+            final byte[] data,
+            final byte[] signature) throws GeneralSecurityException {
+        return SIGNATURES.<Boolean, GeneralSecurityException>with(algorithm, verifier -> {
+            verifier.initVerify(key); // Initializing resets any state left by a previous (failed) use
+            verifier.update(data);
+            return verifier.verify(signature);
+        });
+    }
+}
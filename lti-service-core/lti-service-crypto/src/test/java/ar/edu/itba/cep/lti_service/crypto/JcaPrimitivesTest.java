@@ -0,0 +1,83 @@
+package ar.edu.itba.cep.lti_service.crypto;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.UUID;
+
+/**
+ * Test class for {@link JcaPrimitives}.
+ */
+class JcaPrimitivesTest {
+
+    /**
+     * Tests that the data signed with the pooled signatures is verified with them, more than once
+     * (i.e the pooled signatures are reset before being reused), and that tampered data is not.
+     *
+     * @throws GeneralSecurityException Never.
+     */
+    @Test
+    void testSignedDataIsVerified() throws GeneralSecurityException {
+        final var generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        final var keyPair = generator.generateKeyPair();
+        final var data = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+        final var tampered = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+
+        final var signature = JcaPrimitives.sign("SHA256withRSA", keyPair.getPrivate(), data);
+        Assertions.assertArrayEquals(
+                signature,
+                JcaPrimitives.sign("SHA256withRSA", keyPair.getPrivate(), data),
+                "The pooled signature was not reset"
+        );
+        Assertions.assertAll(
+                () -> Assertions.assertTrue(
+                        JcaPrimitives.verify("SHA256withRSA", keyPair.getPublic(), data, signature),
+                        "The signature was not verified"
+                ),
+                () -> Assertions.assertFalse(
+                        JcaPrimitives.verify("SHA256withRSA", keyPair.getPublic(), tampered, signature),
+                        "The signature of tampered data was verified"
+                )
+        );
+    }
+
+    /**
+     * Tests that keys are parsed with the pooled key factories.
+     *
+     * @throws GeneralSecurityException Never.
+     */
+    @Test
+    void testKeysAreParsed() throws GeneralSecurityException {
+        final var privateKey = KeyPairGenerator.getInstance("RSA").generateKeyPair().getPrivate();
+        final var parsed = JcaPrimitives.withKeyFactory(
+                "RSA",
+                keyFactory -> keyFactory.generatePrivate(new PKCS8EncodedKeySpec(privateKey.getEncoded()))
+        );
+        Assertions.assertEquals(privateKey, parsed, "The key was not parsed");
+    }
+
+    /**
+     * Tests that unknown algorithms are reported as not supported.
+     */
+    @Test
+    void testUnknownAlgorithmsAreNotSupported() {
+        Assertions.assertAll(
+                () -> Assertions.assertTrue(JcaPrimitives.isKeyAlgorithmSupported("RSA"), "RSA is not supported"),
+                () -> Assertions.assertFalse(
+                        JcaPrimitives.isKeyAlgorithmSupported(UUID.randomUUID().toString()),
+                        "An unknown algorithm is supported"
+                ),
+                () -> Assertions.assertThrows(
+                        NoSuchAlgorithmException.class,
+                        () -> JcaPrimitives.withKeyFactory(UUID.randomUUID().toString(), keyFactory -> keyFactory),
+                        "A key factory was created for an unknown algorithm"
+                )
+        );
+    }
+}
@@ -0,0 +1,52 @@
+package ar.edu.itba.cep.lti_service.domain.config;
+
+import ar.edu.itba.cep.lti_service.services.AsyncLtiAdminService;
+import ar.edu.itba.cep.lti_service.services.AsyncLtiService;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration class for the {@link AsyncLtiService} and {@link AsyncLtiAdminService}.
+ */
+@Configuration
+@EnableConfigurationProperties(AsyncServicesConfig.AsyncServicesProperties.class)
+public class AsyncServicesConfig {
+
+    /**
+     * Builds the bounded executor in which the (blocking) operations requested through the asynchronous services
+     * are performed, keeping the callers' threads (e.g a non-blocking server's event loop) free.
+     *
+     * @param properties The {@link AsyncServicesProperties} used to configure the executor.
+     * @return The created {@link ThreadPoolTaskExecutor}.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor asyncServicesExecutor(final AsyncServicesProperties properties) {
+        final var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getConcurrency());
+        executor.setMaxPoolSize(properties.getConcurrency());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("async-services-");
+        return executor;
+    }
+
+
+    /**
+     * Properties needed to configure the asynchronous services.
+     */
+    @Data
+    @ConfigurationProperties(prefix = "lti-service.app.async-services")
+    public static class AsyncServicesProperties {
+        /**
+         * The max. amount of operations performed concurrently.
+         */
+        private int concurrency = 64;
+        /**
+         * The max. amount of operations waiting to be performed.
+         */
+        private int queueCapacity = 512;
+    }
+}
@@ -0,0 +1,86 @@
+package ar.edu.itba.cep.lti_service.domain.config;
+
+import ar.edu.itba.cep.lti_service.domain.helpers.ExamCacheHelper;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuration class for the cache of exams retrieved from the evaluations service.
+ */
+@Configuration
+@EnableConfigurationProperties(ExamCacheConfig.ExamCacheProperties.class)
+public class ExamCacheConfig {
+
+    /**
+     * Builds the bounded executor in which the cached exams are loaded and refreshed.
+     * When it is saturated (e.g a burst of misses while the adapter is blocking, which holds a thread per lookup),
+     * the exams are loaded in the caller thread (i.e the lookup loses the overlap instead of failing).
+     *
+     * @param properties The {@link ExamCacheProperties} used to configure the executor.
+     * @return The created {@link ThreadPoolTaskExecutor}.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor examCacheRefreshExecutor(final ExamCacheProperties properties) {
+        final var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getRefreshConcurrency());
+        executor.setMaxPoolSize(properties.getRefreshConcurrency());
+        executor.setQueueCapacity(properties.getRefreshQueueCapacity());
+        executor.setThreadNamePrefix("exam-cache-refresh-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+
+    /**
+     * Properties needed to configure the {@link ExamCacheHelper}.
+     */
+    @Data
+    @ConfigurationProperties(prefix = "lti-service.app.exam-cache")
+    public static class ExamCacheProperties {
+        /**
+         * The time an upcoming exam is kept in the cache.
+         */
+        private Duration upcomingTtl = Duration.ofSeconds(30);
+        /**
+         * The time an exam in progress is kept in the cache.
+         */
+        private Duration inProgressTtl = Duration.ofSeconds(30);
+        /**
+         * The time a finished exam is kept in the cache.
+         */
+        private Duration finishedTtl = Duration.ofHours(1);
+        /**
+         * The time a non existing exam is kept in the cache.
+         */
+        private Duration notFoundTtl = Duration.ofSeconds(10);
+        /**
+         * The time after its expiration during which an entry can still be served
+         * if the evaluations service cannot be reached.
+         */
+        private Duration maxStaleness = Duration.ofMinutes(5);
+        /**
+         * The time a lookup waits for an expired entry to be refreshed before serving it stale.
+         */
+        private Duration refreshWait = Duration.ofMillis(500);
+        /**
+         * The max. amount of exams refreshed concurrently.
+         */
+        private int refreshConcurrency = 4;
+        /**
+         * The max. amount of exams waiting to be refreshed
+         * (when exceeded, the exams are loaded in the thread that looks them up).
+         */
+        private int refreshQueueCapacity = 100;
+        /**
+         * The max. amount of cached exams (when exceeded, those that expire first are evicted).
+         */
+        private int maxEntries = 10_000;
+    }
+}
@@ -0,0 +1,65 @@
+package ar.edu.itba.cep.lti_service.domain.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuration class for the exam launch process (i.e the exam taking flow).
+ */
+@Configuration
+@EnableConfigurationProperties(ExamLaunchConfig.ExamLaunchProperties.class)
+public class ExamLaunchConfig {
+
+    /**
+     * Builds the bounded executor in which the remote calls of an exam launch
+     * that do not depend on each other are performed.
+     * When it is saturated, the calls are performed in the caller thread
+     * (i.e the launch loses the overlap instead of failing).
+     *
+     * @param properties The {@link ExamLaunchProperties} used to configure the executor.
+     * @return The created {@link ThreadPoolTaskExecutor}.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor examLaunchExecutor(final ExamLaunchProperties properties) {
+        final var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getConcurrency());
+        executor.setMaxPoolSize(properties.getConcurrency());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("exam-launch-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+
+    /**
+     * Properties needed to configure the exam launch process.
+     */
+    @Data
+    @ConfigurationProperties(prefix = "lti-service.app.exam-launch")
+    public static class ExamLaunchProperties {
+        /**
+         * The max. amount of remote calls performed concurrently.
+         */
+        private int concurrency = 32;
+        /**
+         * The max. amount of remote calls waiting to be performed.
+         */
+        private int queueCapacity = 256;
+        /**
+         * The time during which the token issued to a student for an exam is reused when the exam is relaunched
+         * (it must be shorter than the access token's lifetime). A zero duration disables the reuse.
+         */
+        private Duration tokenReuseWindow = Duration.ZERO;
+        /**
+         * The max. amount of reusable tokens kept (when exceeded, those issued first are evicted).
+         */
+        private int maxReusableTokens = 10_000;
+    }
+}
@@ -0,0 +1,48 @@
+package ar.edu.itba.cep.lti_service.domain.config;
+
+import ar.edu.itba.cep.lti_service.domain.jobs.ExamReplicaSyncJob;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration class for the local replica of exams.
+ */
+@Configuration
+@EnableConfigurationProperties(ExamReplicaConfig.ExamReplicaProperties.class)
+public class ExamReplicaConfig {
+
+    /**
+     * Builds the executor in which the synchronizations requested by exam changes notifications are performed.
+     * It has a single thread and room for a single pending synchronization, as the requests are coalesced
+     * by the {@link ExamReplicaSyncJob}.
+     *
+     * @return The created {@link ThreadPoolTaskExecutor}.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor examReplicaSyncExecutor() {
+        final var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("exam-replica-sync-");
+        return executor;
+    }
+
+
+    /**
+     * Properties needed to configure the local replica of exams.
+     */
+    @Data
+    @ConfigurationProperties(prefix = "lti-service.app.exam-replica")
+    public static class ExamReplicaProperties {
+        /**
+         * Indicates whether exams are looked up in the local replica
+         * (and whether the {@link ExamReplicaSyncJob} keeps it synchronized).
+         */
+        private boolean enabled = false;
+    }
+}
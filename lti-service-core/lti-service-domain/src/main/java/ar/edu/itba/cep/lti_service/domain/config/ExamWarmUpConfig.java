@@ -0,0 +1,33 @@
+package ar.edu.itba.cep.lti_service.domain.config;
+
+import ar.edu.itba.cep.lti_service.domain.jobs.ExamWarmUpJob;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the {@link ExamWarmUpJob}.
+ */
+@Configuration
+@EnableConfigurationProperties(ExamWarmUpConfig.ExamWarmUpProperties.class)
+public class ExamWarmUpConfig {
+
+    /**
+     * Properties needed to configure the {@link ExamWarmUpJob}.
+     */
+    @Data
+    @ConfigurationProperties(prefix = "lti-service.app.exam-warm-up")
+    public static class ExamWarmUpProperties {
+        /**
+         * Indicates whether the caches are warmed up before the exams start.
+         */
+        private boolean enabled = true;
+        /**
+         * How long before an exam's starting moment its caches are warmed up.
+         */
+        private Duration lead = Duration.ofMinutes(10);
+    }
+}
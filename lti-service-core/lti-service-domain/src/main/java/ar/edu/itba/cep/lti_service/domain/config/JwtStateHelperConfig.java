@@ -1,5 +1,7 @@
 package ar.edu.itba.cep.lti_service.domain.config;
 
+import ar.edu.itba.cep.lti_service.crypto.JcaOperation;
+import ar.edu.itba.cep.lti_service.crypto.JcaPrimitives;
 import ar.edu.itba.cep.lti_service.domain.helpers.AbstractJwtStateHelper;
 import ar.edu.itba.cep.lti_service.domain.helpers.ExamSelectionStateHelper;
 import ar.edu.itba.cep.lti_service.domain.helpers.LtiStateHelper;
@@ -32,18 +34,18 @@ public class JwtStateHelperConfig {
     private final PublicKey publicKey;
 
     public JwtStateHelperConfig(final JwtStateHelperProperties properties) {
-        this.publicKey = KeyHelper.generateKey(
-                getKeyFactory(),
+        this.publicKey = withKeyFactory(keyFactory -> KeyHelper.generateKey(
+                keyFactory,
                 properties.getPublicKey(),
                 X509EncodedKeySpec::new,
                 KeyFactory::generatePublic
-        );
-        this.privateKey = KeyHelper.generateKey(
-                getKeyFactory(),
+        ));
+        this.privateKey = withKeyFactory(keyFactory -> KeyHelper.generateKey(
+                keyFactory,
                 properties.getPrivateKey(),
                 PKCS8EncodedKeySpec::new,
                 KeyFactory::generatePrivate
-        );
+        ));
     }
 
     /**
@@ -68,14 +70,17 @@ public class JwtStateHelperConfig {
 
 
     /**
-     * Retrieves a {@link KeyFactory} instance for the {@link AbstractJwtStateHelper#SIGNATURE_ALGORITHM} algorithm.
+     * Performs the given {@code operation} with a pooled {@link KeyFactory} instance
+     * for the {@link AbstractJwtStateHelper#SIGNATURE_ALGORITHM} algorithm.
      *
-     * @return The said {@link KeyFactory}.
+     * @param operation The {@link JcaOperation} to be performed (i.e the generation of a key).
+     * @param <K>       The concrete type of key generated by the operation.
+     * @return The generated key.
      */
-    private static KeyFactory getKeyFactory() {
+    private static <K> K withKeyFactory(final JcaOperation<KeyFactory, K, RuntimeException> operation) {
         final var algorithm = AbstractJwtStateHelper.SIGNATURE_ALGORITHM.getFamilyName();
         try {
-            return KeyFactory.getInstance(algorithm);
+            return JcaPrimitives.withKeyFactory(algorithm, operation);
         } catch (final NoSuchAlgorithmException e) {
             LOGGER.error("Cannot get KeyFactory for algorithm {}", algorithm);
             LOGGER.debug("NoSuchAlgorithmException message {}", e.getMessage());
@@ -0,0 +1,27 @@
+package ar.edu.itba.cep.lti_service.domain.config;
+
+import ar.edu.itba.cep.lti_service.domain.helpers.LtiMessageDeserializer;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the {@link LtiMessageDeserializer}.
+ */
+@Configuration
+@EnableConfigurationProperties(LtiMessagesConfig.LtiMessagesProperties.class)
+public class LtiMessagesConfig {
+
+    /**
+     * Properties needed to configure the {@link LtiMessageDeserializer}.
+     */
+    @Data
+    @ConfigurationProperties(prefix = "lti-service.app.lti-messages")
+    public static class LtiMessagesProperties {
+        /**
+         * The max. length of an id token. Longer id tokens are rejected without being decoded.
+         */
+        private int maxIdTokenLength = 16 * 1024;
+    }
+}
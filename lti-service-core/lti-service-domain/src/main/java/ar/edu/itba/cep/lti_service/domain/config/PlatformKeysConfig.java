@@ -0,0 +1,47 @@
+package ar.edu.itba.cep.lti_service.domain.config;
+
+import ar.edu.itba.cep.lti_service.domain.helpers.PlatformKeysHelper;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the {@link PlatformKeysHelper}.
+ */
+@Configuration
+@EnableConfigurationProperties(PlatformKeysConfig.PlatformKeysProperties.class)
+public class PlatformKeysConfig {
+
+    /**
+     * Properties needed to configure the {@link PlatformKeysHelper}.
+     */
+    @Data
+    @ConfigurationProperties(prefix = "lti-service.app.platform-keys")
+    public static class PlatformKeysProperties {
+        /**
+         * The time during which a platform's JWKS is reused before being fetched again.
+         */
+        private Duration jwksTtl = Duration.ofMinutes(15);
+        /**
+         * The min. time between two fetches of a platform's JWKS when a message is signed with an unknown key
+         * (i.e avoids hitting the platform on each message signed with a key that does not exist).
+         */
+        private Duration jwksMinRefreshInterval = Duration.ofSeconds(30);
+        /**
+         * The time after its TTL during which a platform's JWKS is still used if it cannot be fetched again
+         * (after that, messages from the platform are rejected until its JWKS can be fetched).
+         */
+        private Duration jwksMaxStaleness = Duration.ofMinutes(15);
+        /**
+         * The connect timeout used when fetching a platform's JWKS.
+         */
+        private Duration jwksConnectTimeout = Duration.ofSeconds(2);
+        /**
+         * The read timeout used when fetching a platform's JWKS.
+         */
+        private Duration jwksReadTimeout = Duration.ofSeconds(5);
+    }
+}
@@ -0,0 +1,37 @@
+package ar.edu.itba.cep.lti_service.domain.config;
+
+import ar.edu.itba.cep.lti_service.domain.jobs.RosterPrefetchJob;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the {@link RosterPrefetchJob}.
+ */
+@Configuration
+@EnableConfigurationProperties(RosterPrefetchConfig.RosterPrefetchProperties.class)
+public class RosterPrefetchConfig {
+
+    /**
+     * Properties needed to configure the {@link RosterPrefetchJob}.
+     */
+    @Data
+    @ConfigurationProperties(prefix = "lti-service.app.roster-prefetch")
+    public static class RosterPrefetchProperties {
+        /**
+         * Indicates whether the rosters of the linked contexts are prefetched before the exams start.
+         */
+        private boolean enabled = false;
+        /**
+         * How long before an exam's starting moment the rosters of its contexts are prefetched.
+         */
+        private Duration lead = Duration.ofMinutes(5);
+        /**
+         * The max. amount of exam takings saved together.
+         */
+        private int batchSize = 100;
+    }
+}
@@ -0,0 +1,43 @@
+package ar.edu.itba.cep.lti_service.domain.config;
+
+import ar.edu.itba.cep.lti_service.domain.helpers.ScorePublicationHelper;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the score publication process (i.e retries and dead-lettering of failed publications).
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(ScorePublicationConfig.ScorePublicationProperties.class)
+public class ScorePublicationConfig {
+
+    /**
+     * Properties needed to configure the {@link ScorePublicationHelper}.
+     */
+    @Data
+    @ConfigurationProperties(prefix = "lti-service.app.score-publication")
+    public static class ScorePublicationProperties {
+        /**
+         * The max. amount of attempts (including the first one) before a publication is dead-lettered.
+         */
+        private int maxAttempts = 8;
+        /**
+         * The backoff used after the first failed attempt.
+         */
+        private Duration initialBackoff = Duration.ofSeconds(10);
+        /**
+         * The max. backoff between two attempts.
+         */
+        private Duration maxBackoff = Duration.ofMinutes(30);
+        /**
+         * The factor by which the backoff is multiplied after each failed attempt.
+         */
+        private double backoffMultiplier = 2.0;
+    }
+}
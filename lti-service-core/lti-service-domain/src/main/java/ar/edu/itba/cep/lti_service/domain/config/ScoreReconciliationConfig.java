@@ -0,0 +1,64 @@
+package ar.edu.itba.cep.lti_service.domain.config;
+
+import ar.edu.itba.cep.lti_service.domain.jobs.ScoreReconciliationJob;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuration class for the {@link ScoreReconciliationJob}.
+ */
+@Configuration
+@EnableConfigurationProperties(ScoreReconciliationConfig.ScoreReconciliationProperties.class)
+public class ScoreReconciliationConfig {
+
+    /**
+     * Builds the bounded executor in which the LMSs results are fetched.
+     * When it is saturated, the results are fetched in the caller thread.
+     *
+     * @param properties The {@link ScoreReconciliationProperties} used to configure the executor.
+     * @return The created {@link ThreadPoolTaskExecutor}.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor scoreReconciliationExecutor(final ScoreReconciliationProperties properties) {
+        final var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getConcurrency());
+        executor.setMaxPoolSize(properties.getConcurrency());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("score-reconciliation-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+
+    /**
+     * Properties needed to configure the {@link ScoreReconciliationJob}.
+     */
+    @Data
+    @ConfigurationProperties(prefix = "lti-service.app.score-reconciliation")
+    public static class ScoreReconciliationProperties {
+        /**
+         * The max. amount of line-items whose results are fetched concurrently.
+         */
+        private int concurrency = 4;
+        /**
+         * The max. amount of line-items waiting to be fetched.
+         */
+        private int queueCapacity = 100;
+        /**
+         * The amount of scores processed (and committed) together.
+         */
+        private int pageSize = 100;
+        /**
+         * The time after which a running reconciliation that made no progress is considered abandoned
+         * (i.e it is restarted by any instance).
+         */
+        private Duration staleAfter = Duration.ofMinutes(10);
+    }
+}
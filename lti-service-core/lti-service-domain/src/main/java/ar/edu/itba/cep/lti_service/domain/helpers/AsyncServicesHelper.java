@@ -0,0 +1,69 @@
+package ar.edu.itba.cep.lti_service.domain.helpers;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Helper class that performs the operations requested through the asynchronous services.
+ * The security context of the caller (i.e the one in the {@code SecurityContextHolder} of the calling thread)
+ * is propagated to the executing thread, so the authorization rules of the blocking services still apply.
+ * Reactive callers must set it in the calling thread, as the {@code ReactiveSecurityContextHolder} is not seen.
+ */
+@Component
+public class AsyncServicesHelper {
+
+    /**
+     * The {@link Executor} in which the operations are performed.
+     */
+    private final Executor executor;
+
+
+    /**
+     * Constructor.
+     *
+     * @param executor The {@link Executor} in which the operations are performed.
+     */
+    public AsyncServicesHelper(@Qualifier("asyncServicesExecutor") final Executor executor) {
+        this.executor = new DelegatingSecurityContextExecutor(executor);
+    }
+
+
+    /**
+     * Performs the given {@code operation} asynchronously.
+     *
+     * @param operation A {@link Supplier} that performs the operation.
+     * @param <T>       The concrete type of the operation's result.
+     * @return A {@link CompletableFuture} that completes with the operation's result,
+     * or exceptionally with the exception thrown by the operation
+     * (or a {@link RejectedExecutionException} if the executor is saturated).
+     */
+    public <T> CompletableFuture<T> supply(final Supplier<T> operation) {
+        try {
+            return CompletableFuture.supplyAsync(operation, executor);
+        } catch (final RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Performs the given {@code operation} asynchronously.
+     *
+     * @param operation A {@link Runnable} that performs the operation.
+     * @return A {@link CompletableFuture} that completes when the operation is performed,
+     * or exceptionally with the exception thrown by the operation
+     * (or a {@link RejectedExecutionException} if the executor is saturated).
+     */
+    public CompletableFuture<Void> run(final Runnable operation) {
+        try {
+            return CompletableFuture.runAsync(operation, executor);
+        } catch (final RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package ar.edu.itba.cep.lti_service.domain.helpers;
+
+import ar.edu.itba.cep.lti_service.domain.config.ExamCacheConfig.ExamCacheProperties;
+import ar.edu.itba.cep.lti_service.external_cep_services.evaluations_service.EvaluationsService;
+import ar.edu.itba.cep.lti_service.external_cep_services.evaluations_service.Exam;
+import com.bellotapps.webapps_commons.exceptions.ExternalServiceException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Helper class that caches the {@link Exam}s retrieved from the {@link EvaluationsService},
+ * regardless of the adapter used to communicate with it.
+ * Entries are kept for a time that depends on the {@link Exam.State} (non existing exams are cached too),
+ * and concurrent lookups of the same exam share the same request to the evaluations service.
+ * Expired entries are refreshed in background, and if the refresh fails or takes too long,
+ * they are served stale (within a staleness bound).
+ * The amount of entries is bounded: when it is exceeded, the entries that expire first are evicted.
+ */
+@Component
+public class ExamCacheHelper {
+
+    /**
+     * The {@link Logger}.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExamCacheHelper.class);
+    /**
+     * The fraction of the max. amount of entries that are kept when the cache is full.
+     */
+    private static final double EVICTION_LOAD_FACTOR = 0.9;
+
+    /**
+     * The {@link EvaluationsService} to which cache misses are delegated.
+     */
+    private final EvaluationsService evaluationsService;
+    /**
+     * The {@link ExamCacheProperties} used to configure the cache.
+     */
+    private final ExamCacheProperties properties;
+    /**
+     * The {@link Executor} in which the exams are loaded.
+     */
+    private final Executor executor;
+    /**
+     * A {@link Counter} of the entries served stale.
+     */
+    private final Counter staleServes;
+    /**
+     * The cached entries, keyed by exam id.
+     */
+    private final Map<Long, CacheEntry> entries;
+    /**
+     * The lookups being performed, keyed by exam id.
+     */
+    private final Map<Long, CompletableFuture<CacheEntry>> inFlight;
+
+
+    /**
+     * Constructor.
+     *
+     * @param evaluationsService The {@link EvaluationsService} to which cache misses are delegated.
+     * @param properties         The {@link ExamCacheProperties} used to configure the cache.
+     * @param executor           The {@link Executor} in which the exams are loaded.
+     * @param meterRegistry      The {@link MeterRegistry} in which the cache metrics are registered.
+     */
+    public ExamCacheHelper(
+            final EvaluationsService evaluationsService,
+            final ExamCacheProperties properties,
+            @Qualifier("examCacheRefreshExecutor") final Executor executor,
+            final MeterRegistry meterRegistry) {
+        Assert.notNull(properties, "The properties instance must not be null");
+        this.evaluationsService = evaluationsService;
+        this.properties = properties;
+        this.executor = executor;
+        this.staleServes = Counter.builder("evaluations.service.exams.cache.stale.serves")
+                .description("Amount of exams served stale because they could not be refreshed in time")
+                .register(meterRegistry);
+        this.entries = new ConcurrentHashMap<>();
+        this.inFlight = new ConcurrentHashMap<>();
+    }
+
+
+    /**
+     * Retrieves the {@link Exam} with the given {@code id}, from the cache if possible.
+     *
+     * @param id The id of the {@link Exam} to be retrieved.
+     * @return An {@link Optional} containing the {@link Exam} if it exists, or empty otherwise.
+     * @throws ExternalServiceException If the exam is not cached (or cannot be served stale),
+     *                                  and there is any issue when communicating with the evaluations service.
+     */
+    public Optional<Exam> getExam(final long id) throws ExternalServiceException {
+        final var now = Instant.now();
+        final var entry = entries.get(id);
+        if (entry != null && !entry.isExpiredAt(now)) {
+            return entry.getExam();
+        }
+        final var refresh = load(id);
+        if (entry == null || !entry.isServableAt(now)) {
+            return await(refresh).getExam();
+        }
+        try {
+            return refresh.get(properties.getRefreshWait().toMillis(), TimeUnit.MILLISECONDS).getExam();
+        } catch (final TimeoutException | ExecutionException e) {
+            LOGGER.warn("Could not refresh exam {}. Serving it stale", id);
+            LOGGER.debug("Refresh error: ", e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        staleServes.increment();
+        return entry.getExam();
+    }
+
+    /**
+     * Evicts the exams with the given {@code examIds} from the cache (e.g because they changed).
+     *
+     * @param examIds The ids of the changed {@link Exam}s.
+     */
+    public void evict(final Collection<Long> examIds) {
+        examIds.forEach(entries::remove);
+    }
+
+
+    // ================================================================================================================
+    // Helpers
+    // ================================================================================================================
+
+    /**
+     * Starts loading the {@link Exam} with the given {@code id} from the evaluations service in the {@link #executor},
+     * storing it in the cache once it is retrieved.
+     * The {@link EvaluationsService}'s asynchronous lookup is used, so the executor's thread is released
+     * while the response is awaited if the adapter is non-blocking.
+     * If the executor is saturated, the lookup is started in the caller thread (see its rejection policy).
+     * If there is already a lookup being performed for the same exam, that lookup is returned instead.
+     *
+     * @param id The id of the {@link Exam} to be loaded.
+     * @return A {@link CompletableFuture} that completes with the loaded {@link CacheEntry}.
+     */
+    private CompletableFuture<CacheEntry> load(final long id) {
+        final var future = new CompletableFuture<CacheEntry>();
+        final var existing = inFlight.putIfAbsent(id, future);
+        if (existing != null) {
+            return existing;
+        }
+        future.whenComplete((entry, e) -> inFlight.remove(id, future));
+        try {
+            executor.execute(() -> {
+                try {
+                    evaluationsService.getExamByIdAsync(id).whenComplete((exam, e) -> {
+                        if (e != null) {
+                            final var cause = e instanceof CompletionException && e.getCause() != null
+                                    ? e.getCause()
+                                    : e;
+                            future.completeExceptionally(cause);
+                            return;
+                        }
+                        final var expiresAt = Instant.now().plus(ttlFor(exam));
+                        final var entry = new CacheEntry(exam, expiresAt, properties.getMaxStaleness());
+                        store(id, entry);
+                        future.complete(entry);
+                    });
+                } catch (final Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Stores the given {@code entry}, evicting entries if the cache grew beyond its max. size.
+     *
+     * @param id    The id of the {@link Exam}.
+     * @param entry The {@link CacheEntry} to be stored.
+     */
+    private void store(final long id, final CacheEntry entry) {
+        entries.put(id, entry);
+        if (entries.size() > properties.getMaxEntries()) {
+            evict();
+        }
+    }
+
+    /**
+     * Evicts the entries that can no longer be served and, if the cache is still too big,
+     * those that expire first, until the cache is shrunk to {@link #EVICTION_LOAD_FACTOR} of its max. size
+     * (i.e evicting in batches, so the entries are not scanned on each store once the cache is full).
+     * Serving stale entries never makes the cache exceed its max. size.
+     */
+    private synchronized void evict() {
+        final var maxEntries = properties.getMaxEntries();
+        if (entries.size() <= maxEntries) {
+            return; // Already evicted by a concurrent store
+        }
+        final var now = Instant.now();
+        entries.values().removeIf(cached -> !cached.isServableAt(now));
+        final var excess = entries.size() - (int) (maxEntries * EVICTION_LOAD_FACTOR);
+        if (excess <= 0) {
+            return;
+        }
+        entries.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue(Comparator.comparing(CacheEntry::getExpiresAt)))
+                .limit(excess)
+                .collect(Collectors.toList())
+                .forEach(evicted -> entries.remove(evicted.getKey(), evicted.getValue()));
+    }
+
+    /**
+     * Returns the time the given {@code exam} must be kept in the cache.
+     *
+     * @param exam An {@link Optional} containing the {@link Exam}, or empty if it does not exist.
+     * @return The {@link Duration} the entry must be kept in the cache.
+     */
+    private Duration ttlFor(final Optional<Exam> exam) {
+        return exam
+                .map(Exam::getState)
+                .map(state -> {
+                    switch (state) {
+                        case UPCOMING:
+                            return properties.getUpcomingTtl();
+                        case IN_PROGRESS:
+                            return properties.getInProgressTtl();
+                        case FINISHED:
+                            return properties.getFinishedTtl();
+                        default:
+                            throw new IllegalStateException("Unknown exam state");
+                    }
+                })
+                .orElse(properties.getNotFoundTtl());
+    }
+
+    /**
+     * Waits for the given lookup to be completed.
+     *
+     * @param future The {@link CompletableFuture} representing the lookup.
+     * @return The loaded {@link CacheEntry}.
+     * @throws ExternalServiceException If the lookup failed when communicating with the evaluations service.
+     */
+    private static CacheEntry await(final CompletableFuture<CacheEntry> future) throws ExternalServiceException {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof ExternalServiceException) {
+                throw (ExternalServiceException) e.getCause();
+            }
+            throw new ExternalServiceException(
+                    "evaluations-service", "Could not retrieve the exam from the evaluations service", e.getCause()
+            );
+        }
+    }
+
+
+    /**
+     * A cached lookup result.
+     */
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static final class CacheEntry {
+        /**
+         * An {@link Optional} containing the {@link Exam}, or empty if it does not exist.
+         */
+        private final Optional<Exam> exam;
+        /**
+         * The {@link Instant} at which the entry expires.
+         */
+        private final Instant expiresAt;
+        /**
+         * The time after its expiration during which the entry can still be served.
+         */
+        private final Duration maxStaleness;
+
+        /**
+         * Indicates whether the entry is expired at the given {@code instant}.
+         *
+         * @param instant The {@link Instant} to be checked.
+         * @return {@code true} if the entry is expired, or {@code false} otherwise.
+         */
+        private boolean isExpiredAt(final Instant instant) {
+            return !expiresAt.isAfter(instant);
+        }
+
+        /**
+         * Indicates whether the entry can be served (either fresh or stale) at the given {@code instant}.
+         *
+         * @param instant The {@link Instant} to be checked.
+         * @return {@code true} if the entry can be served, or {@code false} otherwise.
+         */
+        private boolean isServableAt(final Instant instant) {
+            return expiresAt.plus(maxStaleness).isAfter(instant);
+        }
+    }
+}
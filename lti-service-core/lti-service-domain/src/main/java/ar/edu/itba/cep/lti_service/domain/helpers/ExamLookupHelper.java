@@ -0,0 +1,70 @@
+package ar.edu.itba.cep.lti_service.domain.helpers;
+
+import ar.edu.itba.cep.lti_service.domain.config.ExamReplicaConfig.ExamReplicaProperties;
+import ar.edu.itba.cep.lti_service.external_cep_services.evaluations_service.Exam;
+import ar.edu.itba.cep.lti_service.models.ExamReplica;
+import ar.edu.itba.cep.lti_service.repositories.ExamReplicaRepository;
+import com.bellotapps.webapps_commons.exceptions.ExternalServiceException;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Helper class that allows looking up {@link Exam}s, reading them from the local replica when it is enabled,
+ * and falling back to the {@link ExamCacheHelper} otherwise (or when the exam is not replicated, e.g it is finished).
+ */
+@Component
+@AllArgsConstructor
+public class ExamLookupHelper {
+
+    /**
+     * The {@link ExamReplicaRepository} from where replicated exams are read.
+     */
+    private final ExamReplicaRepository examReplicaRepository;
+    /**
+     * The {@link ExamCacheHelper} used to look up the exams that are not replicated.
+     */
+    private final ExamCacheHelper examCacheHelper;
+    /**
+     * The {@link ExamReplicaProperties} indicating whether the local replica is enabled.
+     */
+    private final ExamReplicaProperties properties;
+
+
+    /**
+     * Retrieves the {@link Exam} with the given {@code id}.
+     *
+     * @param id The id of the {@link Exam} to be retrieved.
+     * @return An {@link Optional} containing the {@link Exam} if it exists, or empty otherwise.
+     * @throws ExternalServiceException If the exam is neither replicated nor cached,
+     *                                  and there is any issue when communicating with the evaluations service.
+     */
+    public Optional<Exam> getExam(final long id) throws ExternalServiceException {
+        if (properties.isEnabled()) {
+            final var replica = examReplicaRepository.findById(id).map(ExamLookupHelper::toExam);
+            if (replica.isPresent()) {
+                return replica;
+            }
+        }
+        return examCacheHelper.getExam(id);
+    }
+
+
+    /**
+     * Maps the given {@code replica} into an {@link Exam}.
+     *
+     * @param replica The {@link ExamReplica} to be mapped.
+     * @return The created {@link Exam}.
+     */
+    private static Exam toExam(final ExamReplica replica) {
+        return new Exam(
+                replica.getId(),
+                replica.getDescription(),
+                replica.getStartingAt(),
+                replica.getDuration(),
+                Exam.State.valueOf(replica.getState().name()),
+                replica.getMaxScore()
+        );
+    }
+}
@@ -23,6 +23,8 @@ public class ExamSelectionStateHelper extends AbstractJwtStateHelper<ExamSelecti
     private static final String DATA_CLAIM = "data";
     private static final String TOOL_DEPLOYMENT_ID_CLAIM = "tool_deployment_id";
     private static final String NONCE_CLAIM = "nonce";
+    private static final String LINE_ITEMS_URL_CLAIM = "line_items_url";
+    private static final String CONTEXT_MEMBERSHIPS_URL_CLAIM = "context_memberships_url";
 
 
     /**
@@ -54,6 +56,10 @@ public class ExamSelectionStateHelper extends AbstractJwtStateHelper<ExamSelecti
                 .claim(NONCE_CLAIM, state.getNonce())
         ;
         Optional.ofNullable(state.getData()).ifPresent(value -> builder.claim(DATA_CLAIM, value)); // can be null
+        Optional.ofNullable(state.getLineItemsUrl())
+                .ifPresent(value -> builder.claim(LINE_ITEMS_URL_CLAIM, value)); // can be null
+        Optional.ofNullable(state.getContextMembershipsUrl())
+                .ifPresent(value -> builder.claim(CONTEXT_MEMBERSHIPS_URL_CLAIM, value)); // can be null
         return builder;
     }
 
@@ -80,6 +86,16 @@ public class ExamSelectionStateHelper extends AbstractJwtStateHelper<ExamSelecti
          * A nonce needed to avoid replay attacks.
          */
         private final String nonce;
+        /**
+         * The url of the line-items container of the context in which the exam is being linked
+         * ({@code null} if the LMS did not send it).
+         */
+        private final String lineItemsUrl;
+        /**
+         * The url from where the members of the context in which the exam is being linked can be retrieved
+         * ({@code null} if the LMS does not support the Names and Role Provisioning Services).
+         */
+        private final String contextMembershipsUrl;
     }
 
 
@@ -131,7 +147,9 @@ public class ExamSelectionStateHelper extends AbstractJwtStateHelper<ExamSelecti
                     jws.getBody().get(RETURN_URL_CLAIM, String.class),
                     jws.getBody().get(DATA_CLAIM, String.class),
                     extractUUID(jws, TOOL_DEPLOYMENT_ID_CLAIM),
-                    jws.getBody().get(NONCE_CLAIM, String.class)
+                    jws.getBody().get(NONCE_CLAIM, String.class),
+                    jws.getBody().get(LINE_ITEMS_URL_CLAIM, String.class),
+                    jws.getBody().get(CONTEXT_MEMBERSHIPS_URL_CLAIM, String.class)
             );
         }
 
@@ -26,6 +26,7 @@ public final class LtiConstants {
         public static final String AUDIENCE = "aud";
         public static final String SUBJECT = "sub";
         public static final String EXPIRATION = "exp";
+        public static final String NOT_BEFORE = "nbf";
         public static final String ISSUED_AT = "iat";
         public static final String NONCE = "nonce";
         public static final String AUTHORIZED_PARTY = "azp";
@@ -56,5 +57,9 @@ public final class LtiConstants {
 
         // Assignment and Grade Services stuff
         public static final String AGS_CAPABILITIES = "https://purl.imsglobal.org/spec/lti-ags/claim/endpoint";
+
+        // Names and Role Provisioning Services stuff
+        public static final String NRPS_SERVICE =
+                "https://purl.imsglobal.org/spec/lti-nrps/claim/namesroleservice";
     }
 }
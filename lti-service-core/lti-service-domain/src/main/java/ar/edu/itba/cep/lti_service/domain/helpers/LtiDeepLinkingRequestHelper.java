@@ -6,7 +6,6 @@ import org.springframework.stereotype.Component;
 
 import java.util.*;
 import java.util.function.Function;
-import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
 /**
@@ -17,15 +16,16 @@ public class LtiDeepLinkingRequestHelper {
 
     private static final String DEEP_LINKING_MESSAGE_TYPE = "LtiDeepLinkingRequest";
 
-    private static final String RETURN_URL_PROPERTY = "deep_link_return_url";
-    private static final String ACCEPT_TYPES_PROPERTY = "accept_types";
-    private static final String ACCEPTABLE_PRESENTATION_DOCUMENT_TARGETS_PROPERTY = "accept_presentation_document_targets";
-    private static final String ACCEPT_MEDIA_TYPES_PROPERTY = "accept_media_types";
-    private static final String ACCEPT_MULTIPLE_PROPERTY = "accept_multiple";
-    private static final String AUTO_CREATE_PROPERTY = "auto_create";
-    private static final String TITLE_PROPERTY = "title";
-    private static final String TEXT_URL_PROPERTY = "text";
-    private static final String DATA_URL_PROPERTY = "data";
+    /* package */ static final String RETURN_URL_PROPERTY = "deep_link_return_url";
+    /* package */ static final String ACCEPT_TYPES_PROPERTY = "accept_types";
+    /* package */ static final String ACCEPTABLE_PRESENTATION_DOCUMENT_TARGETS_PROPERTY =
+            "accept_presentation_document_targets";
+    /* package */ static final String ACCEPT_MEDIA_TYPES_PROPERTY = "accept_media_types";
+    /* package */ static final String ACCEPT_MULTIPLE_PROPERTY = "accept_multiple";
+    /* package */ static final String AUTO_CREATE_PROPERTY = "auto_create";
+    /* package */ static final String TITLE_PROPERTY = "title";
+    /* package */ static final String TEXT_URL_PROPERTY = "text";
+    /* package */ static final String DATA_URL_PROPERTY = "data";
 
 
     /**
@@ -36,7 +36,7 @@ public class LtiDeepLinkingRequestHelper {
      * @throws RuntimeException If the given {@code ltiMessage} is not a valid Deep Linking Message
      *                          (i.e checks the message type and the Deep Linking Settings Claim).
      */
-    public DeepLinkingSettings extractDeepLinkingSettings(final Map<String, Object> ltiMessage) {
+    public DeepLinkingSettings extractDeepLinkingSettings(final LtiMessage ltiMessage) {
         validateDeepLinkingMessage(ltiMessage);
         return doExtractSettings(ltiMessage);
     }
@@ -48,9 +48,8 @@ public class LtiDeepLinkingRequestHelper {
      * @param ltiMessage The LTI message to be validated.
      * @throws RuntimeException If the given {@code ltiMessage} is not a Deep Linking Message.
      */
-    private static void validateDeepLinkingMessage(final Map<String, Object> ltiMessage)
-            throws RuntimeException {
-        Optional.ofNullable(ltiMessage.get(LtiConstants.LtiClaims.MESSAGE_TYPE))
+    private static void validateDeepLinkingMessage(final LtiMessage ltiMessage) throws RuntimeException {
+        Optional.ofNullable(ltiMessage.getMessageType())
                 .filter(DEEP_LINKING_MESSAGE_TYPE::equals)
                 .orElseThrow(
                         () -> new LtiBadRequestException(
@@ -61,17 +60,14 @@ public class LtiDeepLinkingRequestHelper {
     }
 
     /**
-     * Builds a {@link DeepLinkingSettings} from the given {@code ltiMessage}.
+     * Retrieves the {@link DeepLinkingSettings} of the given {@code ltiMessage}, checking that they are valid.
      *
      * @param ltiMessage The LTI message from where Deep Linking settings must be extracted.
-     * @return The created {@link DeepLinkingSettings}.
+     * @return The {@link DeepLinkingSettings}.
      * @throws RuntimeException If the given {@code ltiMessage} does not contain a valid Deep Linking Claim.
      */
-    private static DeepLinkingSettings doExtractSettings(final Map<String, Object> ltiMessage) throws RuntimeException {
-        return Optional.ofNullable(ltiMessage.get(LtiConstants.LtiClaims.DL_SETTINGS))
-                .filter(Map.class::isInstance)
-                .map(Map.class::cast)
-                .map(LtiDeepLinkingRequestHelper::buildFromSettings)
+    private static DeepLinkingSettings doExtractSettings(final LtiMessage ltiMessage) throws RuntimeException {
+        return Optional.ofNullable(ltiMessage.getDeepLinkingSettings())
                 .filter(DeepLinkingSettings::requiredArePresent)
                 .orElseThrow(
                         () -> new LtiBadRequestException(
@@ -84,46 +80,6 @@ public class LtiDeepLinkingRequestHelper {
                 ;
     }
 
-    /**
-     * Builds a {@link DeepLinkingSettings} from the given {@code settings} {@link Map}.
-     *
-     * @param settings The {@link Map} from where the data must be extracted.
-     * @return The created {@link DeepLinkingSettings}.
-     * @apiNote This method does not perform any check over the created {@link DeepLinkingSettings}.
-     */
-    private static DeepLinkingSettings buildFromSettings(final Map<Object, Object> settings) {
-        final var builder = DeepLinkingSettings.builder();
-        LtiMessageHelper.extractString(settings, RETURN_URL_PROPERTY).ifPresent(builder::returnUrl);
-        LtiMessageHelper.extractStrings(settings, ACCEPT_TYPES_PROPERTY)
-                .stream()
-                .flatMap(Collection::stream)
-                .map(DeepLinkingContentType::fromString)
-                .collect(
-                        Collector.of(
-                                LinkedList<DeepLinkingContentType>::new,
-                                List::add,
-                                (l1, l2) -> {
-                                    l1.addAll(l2);
-                                    return l1;
-                                },
-                                Optional::of,
-                                Collector.Characteristics.CONCURRENT,
-                                Collector.Characteristics.UNORDERED
-                        )
-                )
-                .ifPresent(builder::acceptTypes);
-        LtiMessageHelper.extractStrings(settings, ACCEPTABLE_PRESENTATION_DOCUMENT_TARGETS_PROPERTY)
-                .ifPresent(builder::acceptablePresentationDocumentTargets);
-        LtiMessageHelper.extractString(settings, ACCEPT_MEDIA_TYPES_PROPERTY).ifPresent(builder::acceptMediaTypes);
-        LtiMessageHelper.extractBoolean(settings, ACCEPT_MULTIPLE_PROPERTY).ifPresent(builder::acceptMultiple);
-        LtiMessageHelper.extractBoolean(settings, AUTO_CREATE_PROPERTY).ifPresent(builder::autoCreate);
-        LtiMessageHelper.extractString(settings, TITLE_PROPERTY).ifPresent(builder::title);
-        LtiMessageHelper.extractString(settings, TEXT_URL_PROPERTY).ifPresent(builder::text);
-        LtiMessageHelper.extractString(settings, DATA_URL_PROPERTY).ifPresent(builder::data);
-
-        return builder.build();
-    }
-
 
     /**
      * Bean class containing stuff in a Deep Linking Settings LTI message Claim.
@@ -183,7 +139,8 @@ public class LtiDeepLinkingRequestHelper {
          * @return The {@link DeepLinkingContentType} corresponding to the given {@code str}, if there is such,
          * or {@link DeepLinkingContentType#OTHER} otherwise.
          */
-        private static DeepLinkingContentType fromString(final String str) {
+        /* package */
+        static DeepLinkingContentType fromString(final String str) {
             return MAP.getOrDefault(str, OTHER);
         }
 
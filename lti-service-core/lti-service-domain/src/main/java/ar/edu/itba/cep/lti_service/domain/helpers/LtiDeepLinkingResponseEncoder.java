@@ -0,0 +1,329 @@
+package ar.edu.itba.cep.lti_service.domain.helpers;
+
+import ar.edu.itba.cep.lti_service.crypto.JcaPrimitives;
+import ar.edu.itba.cep.lti_service.domain.helpers.LtiDeepLinkingResponseHelper.LtiResourceLink;
+import ar.edu.itba.cep.lti_service.domain.helpers.LtiDeepLinkingResponseHelper.LtiResourceLink.Image;
+import ar.edu.itba.cep.lti_service.domain.helpers.LtiDeepLinkingResponseHelper.LtiResourceLink.Period;
+import ar.edu.itba.cep.lti_service.models.ToolDeployment;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Component in charge of encoding LTI Deep Linking response messages (i.e the JWT sent back to the platform
+ * once an exam is selected).
+ * No intermediate {@link Map} of Claims is built (i.e it is not serialized and signed by a generic JWT library):
+ * the Claims and the {@link LtiDeepLinkingResponseHelper} Content Items are streamed straight into the JWT's payload,
+ * the JOSE header is computed once per {@link SignatureAlgorithm},
+ * and the {@link java.security.Signature}s are taken from the {@link JcaPrimitives} pool.
+ */
+@Component
+public class LtiDeepLinkingResponseEncoder {
+
+    /**
+     * The message type of a Deep Linking response.
+     */
+    private static final String DEEP_LINKING_MESSAGE_TYPE = "LTIDeepLinkingResponse";
+    /**
+     * The amount of time a Deep Linking response is valid.
+     */
+    private static final Duration EXPIRATION = Duration.ofMinutes(10);
+    /**
+     * The {@link SignatureAlgorithm}s whose signatures are computed with a pooled {@link java.security.Signature}
+     * (i.e those that do not need any parameter, nor transcoding of the signature).
+     * The rest of them are delegated to jjwt.
+     */
+    private static final Set<SignatureAlgorithm> POOLED_ALGORITHMS =
+            EnumSet.of(SignatureAlgorithm.RS256, SignatureAlgorithm.RS384, SignatureAlgorithm.RS512);
+    /**
+     * The {@link JsonFactory} used to create the {@link JsonGenerator}s that write the payloads.
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    /**
+     * The {@link Base64.Encoder} used to encode the JWT's parts.
+     */
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+    /**
+     * The initial size of the buffer where the payload is written (a Deep Linking response is around 1 KB).
+     */
+    private static final int PAYLOAD_BUFFER_SIZE = 1024;
+
+
+    /**
+     * The {@link PlatformKeysHelper} from where the tool deployments' private keys are taken
+     * (i.e they are parsed once, instead of for each message).
+     */
+    private final PlatformKeysHelper platformKeysHelper;
+    /**
+     * The Base64 URL encoded JOSE headers (i.e the part of the JWT before the payload), keyed by
+     * {@link SignatureAlgorithm} (it is the only header that changes between tool deployments).
+     */
+    private final Map<SignatureAlgorithm, String> encodedHeaders;
+
+
+    /**
+     * Constructor.
+     *
+     * @param platformKeysHelper The {@link PlatformKeysHelper} from where the tool deployments' private keys
+     *                           are taken.
+     */
+    public LtiDeepLinkingResponseEncoder(final PlatformKeysHelper platformKeysHelper) {
+        this.platformKeysHelper = platformKeysHelper;
+        this.encodedHeaders = new EnumMap<>(SignatureAlgorithm.class);
+        POOLED_ALGORITHMS.forEach(algorithm -> encodedHeaders.put(algorithm, encodeHeader(algorithm)));
+    }
+
+
+    /**
+     * Encodes a Deep Linking response with the given {@code data} and {@code contentItems} into a JWT,
+     * using the key registered in the given {@code toolDeployment}.
+     *
+     * @param toolDeployment The {@link ToolDeployment} representing the integration between this tool and the LMS.
+     * @param data           The data sent by the platform in the Deep Linking request (can be {@code null}).
+     * @param contentItems   The {@link LtiResourceLink}s to be sent to the platform.
+     * @return The encoded Deep Linking response.
+     */
+    public String encode(
+            final ToolDeployment toolDeployment,
+            final String data,
+            final List<LtiResourceLink> contentItems) {
+        Assert.notNull(toolDeployment, "The tool deployment must not be null");
+        Assert.notNull(contentItems, "The content items list must not be null");
+
+        final var payload = writePayload(toolDeployment, data, contentItems);
+        final var key = platformKeysHelper.getPrivateKey(toolDeployment);
+        final var algorithm = toolDeployment.getSignatureAlgorithm();
+        if (!POOLED_ALGORITHMS.contains(algorithm)) {
+            return Jwts.builder()
+                    .setPayload(new String(payload, StandardCharsets.UTF_8))
+                    .signWith(key, algorithm)
+                    .compact()
+                    ;
+        }
+        final var signingInput = encodedHeaders.get(algorithm) + '.' + BASE64_URL.encodeToString(payload);
+        final var signature = sign(signingInput.getBytes(StandardCharsets.US_ASCII), key, algorithm);
+        return signingInput + '.' + BASE64_URL.encodeToString(signature);
+    }
+
+
+    // ================================================================================================================
+    // Signing
+    // ================================================================================================================
+
+    /**
+     * Signs the given {@code signingInput} with the given {@code key},
+     * using a pooled {@link java.security.Signature} for the given {@code algorithm}.
+     *
+     * @param signingInput The bytes to be signed (i.e the encoded header and payload).
+     * @param key          The {@link PrivateKey} used to sign.
+     * @param algorithm    The {@link SignatureAlgorithm} used to sign.
+     * @return The signature.
+     * @throws IllegalStateException If the signature could not be computed.
+     */
+    private static byte[] sign(final byte[] signingInput, final PrivateKey key, final SignatureAlgorithm algorithm)
+            throws IllegalStateException {
+        try {
+            return JcaPrimitives.sign(algorithm.getJcaName(), key, signingInput);
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException("Could not sign the Deep Linking response", e);
+        }
+    }
+
+    /**
+     * Encodes the JOSE header for the given {@code algorithm}.
+     *
+     * @param algorithm The {@link SignatureAlgorithm} in the header.
+     * @return The Base64 URL encoded header.
+     */
+    private static String encodeHeader(final SignatureAlgorithm algorithm) {
+        final var header = "{\"alg\":\"" + algorithm.getValue() + "\"}";
+        return BASE64_URL.encodeToString(header.getBytes(StandardCharsets.UTF_8));
+    }
+
+
+    // ================================================================================================================
+    // Payload
+    // ================================================================================================================
+
+    /**
+     * Writes the payload (i.e the Claims) of a Deep Linking response.
+     *
+     * @param toolDeployment The {@link ToolDeployment} representing the integration between this tool and the LMS.
+     * @param data           The data sent by the platform in the Deep Linking request (can be {@code null}).
+     * @param contentItems   The {@link LtiResourceLink}s to be sent to the platform.
+     * @return The UTF-8 encoded payload.
+     */
+    private static byte[] writePayload(
+            final ToolDeployment toolDeployment,
+            final String data,
+            final List<LtiResourceLink> contentItems) {
+        final var now = Instant.now();
+        final var out = new ByteArrayOutputStream(PAYLOAD_BUFFER_SIZE);
+        try (final var generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            // Now the issuer is this tool, and the audience (and authorized party) is the platform
+            generator.writeStringField(LtiConstants.LtiClaims.ISSUER, toolDeployment.getClientId());
+            generator.writeStringField(LtiConstants.LtiClaims.AUDIENCE, toolDeployment.getIssuer());
+            generator.writeNumberField(LtiConstants.LtiClaims.ISSUED_AT, now.getEpochSecond());
+            generator.writeNumberField(LtiConstants.LtiClaims.EXPIRATION, now.plus(EXPIRATION).getEpochSecond());
+            generator.writeStringField(LtiConstants.LtiClaims.NONCE, UUID.randomUUID().toString());
+            generator.writeStringField(LtiConstants.LtiClaims.AUTHORIZED_PARTY, toolDeployment.getIssuer());
+
+            generator.writeStringField(LtiConstants.LtiClaims.DEPLOYMENT_ID, toolDeployment.getDeploymentId());
+            generator.writeStringField(LtiConstants.LtiClaims.MESSAGE_TYPE, DEEP_LINKING_MESSAGE_TYPE);
+            generator.writeStringField(LtiConstants.LtiClaims.VERSION, LtiConstants.LTI_VERSION);
+            writeOptionalString(generator, LtiConstants.LtiClaims.DL_DATA, data);
+            generator.writeArrayFieldStart(LtiConstants.LtiClaims.DL_CONTENT_ITEMS);
+            for (final var contentItem : contentItems) {
+                writeResourceLink(generator, contentItem);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (final IOException e) {
+            // Never happens, as the payload is written in memory
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Writes the given {@code resourceLink} (omitting the properties that are not set).
+     *
+     * @param generator    The {@link JsonGenerator} used to write.
+     * @param resourceLink The {@link LtiResourceLink} to be written.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static void writeResourceLink(final JsonGenerator generator, final LtiResourceLink resourceLink)
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", resourceLink.getType());
+        writeOptionalString(generator, "title", resourceLink.getTitle());
+        writeOptionalString(generator, "text", resourceLink.getText());
+        writeOptionalString(generator, "url", resourceLink.getUrl());
+        writeImage(generator, "icon", resourceLink.getIcon());
+        writeImage(generator, "thumbnail", resourceLink.getThumbnail());
+        final var iframe = resourceLink.getIframe();
+        if (iframe != null) {
+            generator.writeObjectFieldStart("iframe");
+            writeOptionalInteger(generator, "width", iframe.getWidth());
+            writeOptionalInteger(generator, "height", iframe.getHeight());
+            generator.writeEndObject();
+        }
+        final var custom = resourceLink.getCustom();
+        if (custom != null && !custom.isEmpty()) {
+            generator.writeObjectFieldStart("custom");
+            for (final var property : custom.entrySet()) {
+                generator.writeFieldName(property.getKey());
+                generator.writeObject(property.getValue()); // Only "simple" values are supported (e.g String)
+            }
+            generator.writeEndObject();
+        }
+        final var lineItem = resourceLink.getLineItem();
+        if (lineItem != null) {
+            generator.writeObjectFieldStart("lineItem");
+            writeOptionalString(generator, "label", lineItem.getLabel());
+            generator.writeNumberField("scoreMaximum", lineItem.getScoreMaximum());
+            writeOptionalString(generator, "resourceId", lineItem.getResourceId());
+            writeOptionalString(generator, "tag", lineItem.getTag());
+            generator.writeEndObject();
+        }
+        writePeriod(generator, "available", resourceLink.getAvailable());
+        writePeriod(generator, "submission", resourceLink.getSubmission());
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the given {@code image} in the given {@code field} (if not {@code null}).
+     *
+     * @param generator The {@link JsonGenerator} used to write.
+     * @param field     The name of the field.
+     * @param image     The {@link Image} to be written.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static void writeImage(final JsonGenerator generator, final String field, final Image image)
+            throws IOException {
+        if (image == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(field);
+        writeOptionalString(generator, "url", image.getUrl());
+        writeOptionalInteger(generator, "width", image.getWidth());
+        writeOptionalInteger(generator, "height", image.getHeight());
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the given {@code period} in the given {@code field} (if not {@code null}),
+     * with its date times in ISO 8601 format.
+     *
+     * @param generator The {@link JsonGenerator} used to write.
+     * @param field     The name of the field.
+     * @param period    The {@link Period} to be written.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static void writePeriod(final JsonGenerator generator, final String field, final Period period)
+            throws IOException {
+        if (period == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(field);
+        if (period.getStartDateTime() != null) {
+            generator.writeStringField(
+                    "startDateTime",
+                    DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(period.getStartDateTime())
+            );
+        }
+        if (period.getEndDateTime() != null) {
+            generator.writeStringField(
+                    "endDateTime",
+                    DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(period.getEndDateTime())
+            );
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the given {@code value} in the given {@code field} (if not {@code null}).
+     *
+     * @param generator The {@link JsonGenerator} used to write.
+     * @param field     The name of the field.
+     * @param value     The value to be written.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static void writeOptionalString(final JsonGenerator generator, final String field, final String value)
+            throws IOException {
+        if (value != null) {
+            generator.writeStringField(field, value);
+        }
+    }
+
+    /**
+     * Writes the given {@code value} in the given {@code field} (if not {@code null}).
+     *
+     * @param generator The {@link JsonGenerator} used to write.
+     * @param field     The name of the field.
+     * @param value     The value to be written.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static void writeOptionalInteger(final JsonGenerator generator, final String field, final Integer value)
+            throws IOException {
+        if (value != null) {
+            generator.writeNumberField(field, value);
+        }
+    }
+}
@@ -1,51 +1,19 @@
 package ar.edu.itba.cep.lti_service.domain.helpers;
 
-import ar.edu.itba.cep.lti_service.models.ToolDeployment;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Singular;
-import org.springframework.stereotype.Component;
-import org.springframework.util.Assert;
 
-import java.time.Duration;
-import java.time.Instant;
 import java.time.ZonedDateTime;
-import java.util.*;
+import java.util.Map;
 
 /**
- * Component in charge of aiding with Deep Linking response messages tasks.
+ * Class containing the Content Items that can be sent in an LTI Deep Linking response
+ * (which is encoded by the {@link LtiDeepLinkingResponseEncoder}).
  */
-@Component
-public class LtiDeepLinkingResponseHelper {
-
-    private static final String DEEP_LINKING_MESSAGE_TYPE = "LTIDeepLinkingResponse";
-
-
-    public Map<String, Object> buildMessage(
-            final ToolDeployment toolDeployment,
-            final String data,
-            final List<ContentItem> contentItems) {
-        Assert.notNull(toolDeployment, "The tool deployment must not be null");
-        Assert.notNull(contentItems, "The content items list must not be null");
-
-        final Instant now = Instant.now();
-        final Map<String, Object> ltiMessage = new HashMap<>();
-
-        ltiMessage.put(LtiConstants.LtiClaims.ISSUER, toolDeployment.getClientId()); // Now the issuer is this tool
-        ltiMessage.put(LtiConstants.LtiClaims.AUDIENCE, toolDeployment.getIssuer()); // And the audience is the platform
-        ltiMessage.put(LtiConstants.LtiClaims.ISSUED_AT, now);
-        ltiMessage.put(LtiConstants.LtiClaims.EXPIRATION, now.plus(Duration.ofMinutes(10)));
-        ltiMessage.put(LtiConstants.LtiClaims.NONCE, UUID.randomUUID());
-        ltiMessage.put(LtiConstants.LtiClaims.AUTHORIZED_PARTY, toolDeployment.getIssuer()); // Same as aud
-
-        ltiMessage.put(LtiConstants.LtiClaims.DEPLOYMENT_ID, toolDeployment.getDeploymentId());
-        ltiMessage.put(LtiConstants.LtiClaims.MESSAGE_TYPE, DEEP_LINKING_MESSAGE_TYPE);
-        ltiMessage.put(LtiConstants.LtiClaims.VERSION, LtiConstants.LTI_VERSION);
-        Optional.ofNullable(data).ifPresent(v -> ltiMessage.put(LtiConstants.LtiClaims.DL_DATA, v)); // Can be null
-        ltiMessage.put(LtiConstants.LtiClaims.DL_CONTENT_ITEMS, contentItems);
-
-
-        return ltiMessage;
-    }
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class LtiDeepLinkingResponseHelper {
 
     /**
      * Interface used to mark class that can be used as Content Items in an LTI Deep Linking response.
@@ -0,0 +1,71 @@
+package ar.edu.itba.cep.lti_service.domain.helpers;
+
+import ar.edu.itba.cep.lti_service.domain.helpers.LtiAssignmentAndGradeServicesHelper.AssignmentAndGradeServicesCapabilities;
+import ar.edu.itba.cep.lti_service.domain.helpers.LtiDeepLinkingRequestHelper.DeepLinkingSettings;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bean class containing the Claims of an LTI message (i.e the body of an id token) that are used by this tool.
+ * The rest of the Claims are skipped when the message is parsed.
+ * <p>
+ * A Claim is {@code null} if it is missing, or if its value is not of the expected type
+ * (e.g the version Claim is not a {@link String}).
+ */
+@Getter
+@Builder
+@ToString(doNotUseGetters = true)
+@EqualsAndHashCode(doNotUseGetters = true)
+public final class LtiMessage {
+
+    // IMS Security Framework claims
+    private final String issuer;
+    private final List<String> audience;
+    /**
+     * Indicates whether the audience Claim was sent as an array (in which case the authorized party Claim must match
+     * the client id).
+     */
+    private final boolean audienceArray;
+    private final String authorizedParty;
+    private final String subject;
+    private final Instant expiration;
+    private final Instant notBefore;
+    private final String nonce;
+
+    // General LTI message claims
+    private final String messageType;
+    private final String version;
+    private final String deploymentId;
+    /**
+     * The custom properties (only those whose value is a {@link String}).
+     */
+    private final Map<String, String> custom;
+    private final String launchPresentationReturnUrl;
+
+    // Deep linking stuff
+    private final DeepLinkingSettings deepLinkingSettings;
+
+    // Assignment and Grade Services stuff
+    private final AssignmentAndGradeServicesCapabilities assignmentAndGradeServicesCapabilities;
+
+    // Names and Role Provisioning Services stuff
+    private final String contextMembershipsUrl;
+
+
+    /**
+     * Retrieves the custom property with the given {@code name}.
+     *
+     * @param name The name of the custom property.
+     * @return An {@link Optional} containing the custom property's value if present, or empty otherwise.
+     */
+    public Optional<String> getCustomProperty(final String name) {
+        return Optional.ofNullable(custom).map(properties -> properties.get(name));
+    }
+}
@@ -1,87 +1,181 @@
 package ar.edu.itba.cep.lti_service.domain.helpers;
 
+import ar.edu.itba.cep.lti_service.crypto.JcaPrimitives;
+import ar.edu.itba.cep.lti_service.domain.config.LtiMessagesConfig.LtiMessagesProperties;
 import ar.edu.itba.cep.lti_service.models.ToolDeployment;
 import ar.edu.itba.cep.lti_service.services.LtiAuthenticationException;
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.KeyConverter;
-import io.jsonwebtoken.*;
+import com.bellotapps.webapps_commons.exceptions.ExternalServiceException;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.crypto.factories.DefaultJWSVerifierFactory;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
 import java.io.IOException;
-import java.net.URL;
+import java.security.GeneralSecurityException;
 import java.security.Key;
+import java.security.interfaces.RSAPublicKey;
 import java.text.ParseException;
-import java.util.List;
+import java.time.Instant;
 import java.util.Map;
-import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Component in charge of deserializing LTI messages.
+ * The id token's body is parsed (in a single pass, skipping the Claims that are not used by this tool)
+ * into an {@link LtiMessage}, which is checked against the tool deployment before retrieving the platform's key
+ * and verifying the signature, so that id tokens that are obviously wrong are rejected without any network or
+ * crypto work. The message is only returned (i.e accepted) once its signature is verified
+ * (RSA signatures are verified with the pooled {@link java.security.Signature}s of {@link JcaPrimitives}).
  */
 @Component
+@AllArgsConstructor
 public class LtiMessageDeserializer {
 
     /**
-     * Parses the given {@code idToken} into an LTI message.
+     * The {@link DefaultJWSVerifierFactory} used to create the verifiers for the id tokens' signatures
+     * (it checks that the key matches the algorithm in the id token's header).
+     */
+    private static final DefaultJWSVerifierFactory VERIFIER_FACTORY = new DefaultJWSVerifierFactory();
+    /**
+     * The JCA names of the {@link JWSAlgorithm}s whose signatures are verified with a pooled
+     * {@link java.security.Signature} (instead of creating one for each id token).
+     * The rest of them are verified by nimbus.
+     */
+    private static final Map<JWSAlgorithm, String> POOLED_ALGORITHMS = Map.of(
+            JWSAlgorithm.RS256, "SHA256withRSA",
+            JWSAlgorithm.RS384, "SHA384withRSA",
+            JWSAlgorithm.RS512, "SHA512withRSA"
+    );
+
+    /**
+     * The {@link PlatformKeysHelper} from where the platforms' public keys are taken
+     * (i.e the platforms' JWKSs are cached, and fetched through the LMSs' circuit breakers).
+     */
+    private final PlatformKeysHelper platformKeysHelper;
+    /**
+     * The {@link LtiMessageValidator} used to check the unverified messages against the tool deployment.
+     */
+    private final LtiMessageValidator ltiMessageValidator;
+    /**
+     * The {@link LtiMessagesProperties} with the max. length of an id token.
+     */
+    private final LtiMessagesProperties properties;
+
+
+    /**
+     * Parses the given {@code idToken} into an {@link LtiMessage}.
      *
      * @param idToken        The id token to be parsed into an LTI message.
      * @param toolDeployment A {@link ToolDeployment} needed to validate the {@code idToken}.
      *                       Needed to retrieve the public key used to verify the message.
-     * @return The parsed LTI message, in the form of a {@link Map}.
+     * @return The parsed {@link LtiMessage}.
      * @throws LtiAuthenticationException If the id token cannot be decoded.
+     * @throws ExternalServiceException    If the LMS' circuit breaker is open.
      */
-    public Map<String, Object> deserialize(final String idToken, final ToolDeployment toolDeployment)
+    public LtiMessage deserialize(final String idToken, final ToolDeployment toolDeployment)
             throws RuntimeException {
-        Assert.hasText(idToken, "The id token must have text");
         Assert.notNull(toolDeployment, "The tool deployment must not be null");
-        try {
-            return Jwts.parser()
-                    .setSigningKeyResolver(ToolDeploymentJwksSigningKeyResolver.create(toolDeployment))
-                    .parseClaimsJws(idToken)
-                    .getBody();
-        } catch (final JwtException e) {
-            throw new LtiAuthenticationException("The id token could not be parsed", e);
-        }
+        return doDeserialize(
+                idToken,
+                ltiMessage -> ltiMessageValidator.validateStructure(toolDeployment, ltiMessage),
+                keyId -> platformKeysHelper.getPublicKey(toolDeployment, keyId)
+                        .orElseThrow(() -> new LtiAuthenticationException("Unknown signing key"))
+        );
     }
 
-
     /**
-     * An extension of {@link SigningKeyResolverAdapter} that retrieves the public {@link Key} corresponding
-     * to a platform according to a given {@link ToolDeployment}.
+     * Parses the given {@code idToken} into an {@link LtiMessage}, verifying its signature with the given {@code key}
+     * (i.e without retrieving the platform's public key).
+     *
+     * @param idToken The id token to be parsed into an LTI message.
+     * @param key     The {@link Key} used to verify the message.
+     * @return The parsed {@link LtiMessage}.
+     * @throws LtiAuthenticationException If the id token cannot be decoded.
      */
-    @AllArgsConstructor(staticName = "create")
-    private static final class ToolDeploymentJwksSigningKeyResolver extends SigningKeyResolverAdapter {
-
-        /**
-         * The {@link ToolDeployment} whose platform's public key must be retrieved.
-         */
-        private final ToolDeployment toolDeployment;
+    public LtiMessage deserialize(final String idToken, final Key key) throws RuntimeException {
+        Assert.notNull(key, "The key must not be null");
+        return doDeserialize(idToken, ltiMessage -> {
+            // The message is not checked against any tool deployment
+        }, keyId -> key);
+    }
 
 
-        @Override
-        public Key resolveSigningKey(JwsHeader header, Claims claims) {
-            final var set = getJwks(toolDeployment).orElseThrow(IllegalStateException::new);
-            final var jwk = set.getKeyByKeyId(header.getKeyId());
-            return KeyConverter.toJavaKeys(List.of(jwk)).get(0);
+    /**
+     * Parses the given {@code idToken} into an {@link LtiMessage}.
+     *
+     * @param idToken     The id token to be parsed into an LTI message.
+     * @param preCheck    A {@link Consumer} that checks the (unverified) {@link LtiMessage}
+     *                    before the signature is verified, throwing an exception to reject it.
+     * @param keyResolver A {@link Function} that retrieves the {@link Key} used to verify the message,
+     *                    given the key id in the id token's header.
+     * @return The parsed {@link LtiMessage}.
+     * @throws LtiAuthenticationException If the id token cannot be decoded.
+     * @implNote The signature, and the exp and nbf Claims are verified here. The rest of the Claims are
+     * verified by the {@link LtiMessageValidator}.
+     */
+    private LtiMessage doDeserialize(
+            final String idToken,
+            final Consumer<LtiMessage> preCheck,
+            final Function<String, Key> keyResolver) throws RuntimeException {
+        Assert.hasText(idToken, "The id token must have text");
+        if (idToken.length() > properties.getMaxIdTokenLength()) {
+            throw new LtiAuthenticationException("The id token is too long");
         }
+        try {
+            final var jws = JWSObject.parse(idToken);
+            // The payload is parsed before verifying the signature, in order to reject it as soon as possible.
+            // Note that the verified payload is the same one that is parsed.
+            final var ltiMessage = LtiMessageParser.parse(jws.getPayload().toBytes());
+            validateTimestamps(ltiMessage);
+            preCheck.accept(ltiMessage);
+            final var key = keyResolver.apply(jws.getHeader().getKeyID());
+            if (!verify(jws, key)) {
+                throw new LtiAuthenticationException("The id token signature is not valid");
+            }
+            return ltiMessage;
+        } catch (final ParseException | JOSEException | GeneralSecurityException | IOException e) {
+            throw new LtiAuthenticationException("The id token could not be parsed", e);
+        }
+    }
 
+    /**
+     * Verifies the signature of the given {@code jws} with the given {@code key}.
+     *
+     * @param jws The {@link JWSObject} (i.e the parsed id token) whose signature must be verified.
+     * @param key The {@link Key} used to verify the signature.
+     * @return {@code true} if the signature is valid, or {@code false} otherwise.
+     * @throws JOSEException            If nimbus cannot verify the signature
+     *                                  (e.g the key does not match the algorithm).
+     * @throws GeneralSecurityException If the pooled {@link java.security.Signature} cannot verify the signature.
+     */
+    private static boolean verify(final JWSObject jws, final Key key) throws JOSEException, GeneralSecurityException {
+        final var header = jws.getHeader();
+        final var jcaAlgorithm = POOLED_ALGORITHMS.get(header.getAlgorithm());
+        // Critical header parameters are not understood by this tool, so nimbus is left to reject them
+        if (jcaAlgorithm == null || !(key instanceof RSAPublicKey) || header.getCriticalParams() != null) {
+            return jws.verify(VERIFIER_FACTORY.createJWSVerifier(header, key));
+        }
+        final var signature = jws.getSignature().decode();
+        return JcaPrimitives.verify(jcaAlgorithm, (RSAPublicKey) key, jws.getSigningInput(), signature);
+    }
 
-        /**
-         * Retrieves the {@link JWKSet} corresponding to the given {@code toolDeployment}.
-         *
-         * @param toolDeployment The {@link ToolDeployment} whose {@link JWKSet} must be retrieved.
-         * @return An {@link Optional} containing the {@link JWKSet} if it could be retrieved, or empty otherwise.
-         */
-        private static Optional<JWKSet> getJwks(final ToolDeployment toolDeployment) {
-            try {
-                final var url = new URL(toolDeployment.getJwksEndpoint());
-                final var set = JWKSet.load(url);
-                return Optional.of(set);
-            } catch (final IOException | ParseException e) {
-                return Optional.empty();
-            }
+    /**
+     * Validates the expiration and not before Claims in the given {@code ltiMessage} (if present).
+     *
+     * @param ltiMessage The {@link LtiMessage} to be validated.
+     * @throws LtiAuthenticationException If the message is expired, or if it is not valid yet.
+     */
+    private static void validateTimestamps(final LtiMessage ltiMessage) throws LtiAuthenticationException {
+        final var now = Instant.now();
+        if (ltiMessage.getExpiration() != null && now.isAfter(ltiMessage.getExpiration())) {
+            throw new LtiAuthenticationException("The id token is expired");
+        }
+        if (ltiMessage.getNotBefore() != null && now.isBefore(ltiMessage.getNotBefore())) {
+            throw new LtiAuthenticationException("The id token is not valid yet");
         }
     }
 }
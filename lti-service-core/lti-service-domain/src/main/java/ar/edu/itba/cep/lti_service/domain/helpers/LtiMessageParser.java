@@ -0,0 +1,352 @@
+package ar.edu.itba.cep.lti_service.domain.helpers;
+
+import ar.edu.itba.cep.lti_service.domain.helpers.LtiAssignmentAndGradeServicesHelper.AssignmentAndGradeServicesCapabilities;
+import ar.edu.itba.cep.lti_service.domain.helpers.LtiDeepLinkingRequestHelper.DeepLinkingContentType;
+import ar.edu.itba.cep.lti_service.domain.helpers.LtiDeepLinkingRequestHelper.DeepLinkingSettings;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Class in charge of parsing LTI messages (i.e the body of an id token) into {@link LtiMessage}s,
+ * in a single streaming pass over the JSON, skipping the Claims that are not used by this tool.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+/* package */ final class LtiMessageParser {
+
+    /**
+     * The launch presentation Claim property containing the url to which the user must be returned.
+     */
+    private static final String RETURN_URL_PROPERTY = "return_url";
+
+    /**
+     * The {@link JsonFactory} used to create the {@link JsonParser}s (it is thread safe).
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+
+    /**
+     * Parses the given {@code payload} into an {@link LtiMessage}.
+     *
+     * @param payload The JSON payload of the id token.
+     * @return The parsed {@link LtiMessage}.
+     * @throws IOException If the {@code payload} is not a JSON object, or if any of its timestamp Claims
+     *                     (i.e {@code exp}, {@code nbf} and {@code iat}) is not numeric.
+     */
+    /* package */
+    static LtiMessage parse(final byte[] payload) throws IOException {
+        try (final var parser = JSON_FACTORY.createParser(payload)) {
+            final var builder = LtiMessage.builder();
+            parser.nextToken();
+            final var isObject = readObject(parser, (claim, p) -> {
+                switch (claim) {
+                    case LtiConstants.LtiClaims.ISSUER:
+                        builder.issuer(readString(p));
+                        break;
+                    case LtiConstants.LtiClaims.AUDIENCE:
+                        // The audience Claim can be a String, or an array of Strings
+                        if (p.currentToken() == JsonToken.VALUE_STRING) {
+                            builder.audience(List.of(p.getText()));
+                        } else {
+                            builder.audienceArray(p.currentToken() == JsonToken.START_ARRAY);
+                            builder.audience(readStrings(p));
+                        }
+                        break;
+                    case LtiConstants.LtiClaims.AUTHORIZED_PARTY:
+                        builder.authorizedParty(readString(p));
+                        break;
+                    case LtiConstants.LtiClaims.SUBJECT:
+                        builder.subject(readString(p));
+                        break;
+                    case LtiConstants.LtiClaims.EXPIRATION:
+                        builder.expiration(readInstant(p));
+                        break;
+                    case LtiConstants.LtiClaims.NOT_BEFORE:
+                        builder.notBefore(readInstant(p));
+                        break;
+                    case LtiConstants.LtiClaims.ISSUED_AT:
+                        readInstant(p); // Not materialized, but it must be valid if present
+                        break;
+                    case LtiConstants.LtiClaims.NONCE:
+                        builder.nonce(readString(p));
+                        break;
+                    case LtiConstants.LtiClaims.MESSAGE_TYPE:
+                        builder.messageType(readString(p));
+                        break;
+                    case LtiConstants.LtiClaims.VERSION:
+                        builder.version(readString(p));
+                        break;
+                    case LtiConstants.LtiClaims.DEPLOYMENT_ID:
+                        builder.deploymentId(readString(p));
+                        break;
+                    case LtiConstants.LtiClaims.CUSTOM:
+                        builder.custom(readCustom(p));
+                        break;
+                    case LtiConstants.LtiClaims.LAUNCH_PRESENTATION:
+                        readObject(p, (property, value) -> {
+                            if (RETURN_URL_PROPERTY.equals(property)) {
+                                builder.launchPresentationReturnUrl(readString(value));
+                            } else {
+                                value.skipChildren();
+                            }
+                        });
+                        break;
+                    case LtiConstants.LtiClaims.DL_SETTINGS:
+                        builder.deepLinkingSettings(readDeepLinkingSettings(p));
+                        break;
+                    case LtiConstants.LtiClaims.AGS_CAPABILITIES:
+                        builder.assignmentAndGradeServicesCapabilities(readCapabilities(p));
+                        break;
+                    case LtiConstants.LtiClaims.NRPS_SERVICE:
+                        readObject(p, (property, value) -> {
+                            if (LtiNamesAndRoleProvisioningServicesHelper.CONTEXT_MEMBERSHIPS_URL_PROPERTY
+                                    .equals(property)) {
+                                builder.contextMembershipsUrl(readString(value));
+                            } else {
+                                value.skipChildren();
+                            }
+                        });
+                        break;
+                    default:
+                        p.skipChildren(); // Unknown Claims are skipped (i.e they are not materialized)
+                }
+            });
+            if (!isObject) {
+                throw new JsonParseException(parser, "The LTI message must be a JSON object");
+            }
+            return builder.build();
+        }
+    }
+
+
+    // ================================================================================================================
+    // Claims
+    // ================================================================================================================
+
+    /**
+     * Reads the custom properties Claim (only those properties whose value is a {@link String}).
+     *
+     * @param parser The {@link JsonParser}, positioned at the Claim's value.
+     * @return The custom properties, or {@code null} if the Claim is not an object.
+     * @throws IOException If the JSON cannot be read.
+     */
+    private static Map<String, String> readCustom(final JsonParser parser) throws IOException {
+        final var custom = new HashMap<String, String>();
+        final var isObject = readObject(parser, (property, value) -> {
+            final var string = readString(value);
+            if (string != null) {
+                custom.put(property, string);
+            }
+        });
+        return isObject ? custom : null;
+    }
+
+    /**
+     * Reads the Deep Linking Settings Claim.
+     *
+     * @param parser The {@link JsonParser}, positioned at the Claim's value.
+     * @return The read {@link DeepLinkingSettings}, or {@code null} if the Claim is not an object.
+     * @throws IOException If the JSON cannot be read.
+     * @apiNote This method does not perform any check over the read {@link DeepLinkingSettings}.
+     */
+    private static DeepLinkingSettings readDeepLinkingSettings(final JsonParser parser) throws IOException {
+        final var builder = DeepLinkingSettings.builder();
+        final var isObject = readObject(parser, (property, value) -> {
+            switch (property) {
+                case LtiDeepLinkingRequestHelper.RETURN_URL_PROPERTY:
+                    builder.returnUrl(readString(value));
+                    break;
+                case LtiDeepLinkingRequestHelper.ACCEPT_TYPES_PROPERTY:
+                    final var acceptTypes = readStrings(value);
+                    if (acceptTypes != null) {
+                        builder.acceptTypes(acceptTypes.stream()
+                                .map(DeepLinkingContentType::fromString)
+                                .collect(Collectors.toList()));
+                    }
+                    break;
+                case LtiDeepLinkingRequestHelper.ACCEPTABLE_PRESENTATION_DOCUMENT_TARGETS_PROPERTY:
+                    builder.acceptablePresentationDocumentTargets(readStrings(value));
+                    break;
+                case LtiDeepLinkingRequestHelper.ACCEPT_MEDIA_TYPES_PROPERTY:
+                    builder.acceptMediaTypes(readString(value));
+                    break;
+                case LtiDeepLinkingRequestHelper.ACCEPT_MULTIPLE_PROPERTY:
+                    builder.acceptMultiple(readBoolean(value));
+                    break;
+                case LtiDeepLinkingRequestHelper.AUTO_CREATE_PROPERTY:
+                    builder.autoCreate(readBoolean(value));
+                    break;
+                case LtiDeepLinkingRequestHelper.TITLE_PROPERTY:
+                    builder.title(readString(value));
+                    break;
+                case LtiDeepLinkingRequestHelper.TEXT_URL_PROPERTY:
+                    builder.text(readString(value));
+                    break;
+                case LtiDeepLinkingRequestHelper.DATA_URL_PROPERTY:
+                    builder.data(readString(value));
+                    break;
+                default:
+                    value.skipChildren();
+            }
+        });
+        return isObject ? builder.build() : null;
+    }
+
+    /**
+     * Reads the Assignment and Grade Services Claim.
+     *
+     * @param parser The {@link JsonParser}, positioned at the Claim's value.
+     * @return The read {@link AssignmentAndGradeServicesCapabilities}, or {@code null} if the Claim is not an object.
+     * @throws IOException If the JSON cannot be read.
+     * @apiNote This method does not perform any check over the read {@link AssignmentAndGradeServicesCapabilities}.
+     */
+    private static AssignmentAndGradeServicesCapabilities readCapabilities(final JsonParser parser)
+            throws IOException {
+        final var builder = AssignmentAndGradeServicesCapabilities.builder();
+        final var isObject = readObject(parser, (property, value) -> {
+            switch (property) {
+                case LtiAssignmentAndGradeServicesHelper.SCOPE_PROPERTY:
+                    builder.scopes(readStrings(value));
+                    break;
+                case LtiAssignmentAndGradeServicesHelper.LINE_ITEMS_PROPERTY:
+                    builder.lineItems(readString(value));
+                    break;
+                case LtiAssignmentAndGradeServicesHelper.LINE_ITEM_PROPERTY:
+                    builder.lineItem(readString(value));
+                    break;
+                default:
+                    value.skipChildren();
+            }
+        });
+        return isObject ? builder.build() : null;
+    }
+
+
+    // ================================================================================================================
+    // Values
+    // ================================================================================================================
+
+    /**
+     * Reads an object, passing each of its properties to the given {@code propertyReader}.
+     * If the current value is not an object, it is skipped.
+     *
+     * @param parser         The {@link JsonParser}, positioned at the object's start.
+     * @param propertyReader The {@link PropertyReader} that consumes each property's value.
+     * @return {@code true} if the value was an object, or {@code false} otherwise.
+     * @throws IOException If the JSON cannot be read.
+     */
+    private static boolean readObject(final JsonParser parser, final PropertyReader propertyReader)
+            throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final var property = parser.getCurrentName();
+            parser.nextToken();
+            propertyReader.read(property, parser);
+        }
+        return true;
+    }
+
+    /**
+     * Reads a {@link String} value.
+     *
+     * @param parser The {@link JsonParser}, positioned at the value.
+     * @return The read {@link String}, or {@code null} if the value is not a {@link String} (it is skipped).
+     * @throws IOException If the JSON cannot be read.
+     */
+    private static String readString(final JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    /**
+     * Reads a {@link Boolean} value.
+     *
+     * @param parser The {@link JsonParser}, positioned at the value.
+     * @return The read {@link Boolean}, or {@code null} if the value is not a {@link Boolean} (it is skipped).
+     * @throws IOException If the JSON cannot be read.
+     */
+    private static Boolean readBoolean(final JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_TRUE || parser.currentToken() == JsonToken.VALUE_FALSE) {
+            return parser.getBooleanValue();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    /**
+     * Reads a numeric date value (i.e seconds since the epoch).
+     * Unlike other values, a timestamp that is not a number is not skipped, as ignoring it would make the message
+     * skip the validation it is used for (e.g an expiration that is not a number would make it never expire).
+     *
+     * @param parser The {@link JsonParser}, positioned at the value.
+     * @return The read {@link Instant}.
+     * @throws IOException If the JSON cannot be read, or if the value is not a number.
+     */
+    private static Instant readInstant(final JsonParser parser) throws IOException {
+        final var token = parser.currentToken();
+        if (token == null || !token.isNumeric()) {
+            throw new JsonParseException(parser, "The timestamp Claims must be numeric");
+        }
+        return Instant.ofEpochSecond(parser.getValueAsLong());
+    }
+
+    /**
+     * Reads an array of {@link String}s.
+     *
+     * @param parser The {@link JsonParser}, positioned at the array's start.
+     * @return The read {@link List} of {@link String}s, or {@code null} if the value is not an array,
+     * or if any of its elements is not a {@link String} (the value is skipped).
+     * @throws IOException If the JSON cannot be read.
+     */
+    private static List<String> readStrings(final JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        final var strings = new ArrayList<String>();
+        var allStrings = true;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == JsonToken.VALUE_STRING) {
+                strings.add(parser.getText());
+            } else {
+                parser.skipChildren();
+                allStrings = false;
+            }
+        }
+        return allStrings ? strings : null;
+    }
+
+
+    /**
+     * A functional interface that defines a method to read the value of an object's property.
+     */
+    @FunctionalInterface
+    private interface PropertyReader {
+
+        /**
+         * Reads the value of the given {@code property}, consuming it (i.e skipping it if it is not used).
+         *
+         * @param property The property's name.
+         * @param parser   The {@link JsonParser}, positioned at the property's value.
+         * @throws IOException If the JSON cannot be read.
+         */
+        void read(final String property, final JsonParser parser) throws IOException;
+    }
+}
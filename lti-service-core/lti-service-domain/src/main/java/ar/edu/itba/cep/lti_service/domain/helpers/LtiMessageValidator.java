@@ -16,9 +16,7 @@ import java.io.IOException;
 import java.net.URL;
 import java.security.Key;
 import java.text.ParseException;
-import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import static ar.edu.itba.cep.lti_service.domain.helpers.LtiConstants.LTI_VERSION;
@@ -47,12 +45,28 @@ public class LtiMessageValidator {
     public void validateLtiMessage(
             final ToolDeployment toolDeployment,
             final String nonce,
-            final Map<String, Object> ltiMessage) throws RuntimeException {
+            final LtiMessage ltiMessage) throws RuntimeException {
+        validateStructure(toolDeployment, ltiMessage);
+        validateNonce(nonce, ltiMessage);
+    }
+
+    /**
+     * Validates that the version, issuer, audience, authorized party and deployment id Claims
+     * in the given {@code ltiMessage} match the given {@code toolDeployment}.
+     * This is a cheap check that can be performed over an unverified message in order to reject it
+     * before retrieving the platform's keys and verifying its signature
+     * (i.e it can only be used to reject messages, as it does not check the signature nor the nonce).
+     *
+     * @param toolDeployment The {@link ToolDeployment} that must be matched with stuff in the {@code ltiMessage}.
+     * @param ltiMessage     The LTI message to be validated.
+     * @throws RuntimeException If the {@code ltiMessage} is not valid.
+     */
+    public void validateStructure(final ToolDeployment toolDeployment, final LtiMessage ltiMessage)
+            throws RuntimeException {
         validateVersion(ltiMessage); // First validate the version (another version might have other validations).
         validateIssuer(toolDeployment.getIssuer(), ltiMessage);
         validateClientId(toolDeployment.getClientId(), ltiMessage);
         validateDeploymentId(toolDeployment.getDeploymentId(), ltiMessage);
-        validateNonce(nonce, ltiMessage);
     }
 
 
@@ -62,8 +76,8 @@ public class LtiMessageValidator {
      * @param ltiMessage The LTI message to be validated.
      * @throws RuntimeException If the {@code ltiMessage} is not valid.
      */
-    private static void validateVersion(final Map<String, Object> ltiMessage) throws RuntimeException {
-        Optional.ofNullable(ltiMessage.get(LtiConstants.LtiClaims.VERSION))
+    private static void validateVersion(final LtiMessage ltiMessage) throws RuntimeException {
+        Optional.ofNullable(ltiMessage.getVersion())
                 .filter(LTI_VERSION::equals)
                 .orElseThrow(() -> new LtiBadRequestException("LTI version must be \"" + LTI_VERSION + "\""))
         ;
@@ -79,11 +93,11 @@ public class LtiMessageValidator {
      * @see <a href=https://www.imsglobal.org/spec/security/v1p0/#authentication-response-validation>
      * IMS Security Framework, section 5.1.1.2: Step 2: Authentication Request</a>
      */
-    private static void validateIssuer(final String issuer, final Map<String, Object> ltiMessage)
+    private static void validateIssuer(final String issuer, final LtiMessage ltiMessage)
             throws RuntimeException {
         Assert.notNull(issuer, "The issuer must not be null");
         // The issuer for the platform MUST exactly match the value of the iss (Issuer) Claim
-        Optional.ofNullable(ltiMessage.get(LtiConstants.LtiClaims.ISSUER))
+        Optional.ofNullable(ltiMessage.getIssuer())
                 .filter(issuer::equals)
                 .orElseThrow(LtiAuthenticationException::new)
         ;
@@ -97,24 +111,23 @@ public class LtiMessageValidator {
      * @param ltiMessage The LTI message to be validated.
      * @throws RuntimeException If the audience Claim is not present,
      *                          or if it does not contain the given {@code clientId},
-     *                          or if it is a {@link Collection} and the authorized party Claim does not match
+     *                          or if it is an array and the authorized party Claim does not match
      *                          the given {@code clientId}.
      * @see <a href=https://www.imsglobal.org/spec/security/v1p0/#authentication-response-validation>
      * Authentication Response Validation, step 3, 4 and 5</a>
      */
-    private static void validateClientId(final String clientId, final Map<String, Object> ltiMessage)
+    private static void validateClientId(final String clientId, final LtiMessage ltiMessage)
             throws RuntimeException {
         Assert.notNull(clientId, "The client id must not be null");
         // The aud (audience) Claim MUST contains the client id value registered with the Issuer
         // identified by the iss (Issuer) Claim. The aud Claim MAY contain an array with more than one element.
-        final var audience = Optional.ofNullable(ltiMessage.get(LtiConstants.LtiClaims.AUDIENCE))
-                .filter(val -> val instanceof String || val instanceof Collection)
-                .filter(val -> val instanceof String ? clientId.equals(val) : ((Collection) val).contains(clientId))
+        Optional.ofNullable(ltiMessage.getAudience())
+                .filter(audience -> audience.contains(clientId))
                 .orElseThrow(LtiAuthenticationException::new);
         // In case more than one element is present in the audience claim...
         // If there are multiple audiences, the azp Claim must be present and match the client id
-        if (audience instanceof Collection) {
-            Optional.ofNullable(ltiMessage.get(LtiConstants.LtiClaims.AUTHORIZED_PARTY))
+        if (ltiMessage.isAudienceArray()) {
+            Optional.ofNullable(ltiMessage.getAuthorizedParty())
                     .filter(clientId::equals)
                     .orElseThrow(LtiAuthenticationException::new)
             ;
@@ -129,10 +142,10 @@ public class LtiMessageValidator {
      * @throws RuntimeException If the deployment id in the {@code ltiMessage}
      *                          does not match the given {@code deploymentId}.
      */
-    private static void validateDeploymentId(final String deploymentId, final Map<String, Object> ltiMessage)
+    private static void validateDeploymentId(final String deploymentId, final LtiMessage ltiMessage)
             throws RuntimeException {
         Assert.notNull(deploymentId, "The deployment id must not be null");
-        Optional.ofNullable(ltiMessage.get(LtiConstants.LtiClaims.DEPLOYMENT_ID))
+        Optional.ofNullable(ltiMessage.getDeploymentId())
                 .filter(deploymentId::equals)
                 .orElseThrow(LtiAuthenticationException::new)
         ;
@@ -148,13 +161,13 @@ public class LtiMessageValidator {
      * @see <a href=https://www.imsglobal.org/spec/security/v1p0/#authentication-response-validation>
      * Authentication Response Validation, step 9</a>
      */
-    private static void validateNonce(final String nonce, final Map<String, Object> ltiMessage) throws RuntimeException {
+    private static void validateNonce(final String nonce, final LtiMessage ltiMessage) throws RuntimeException {
         Assert.notNull(nonce, "The nonce must not be null");
         // The nonce Claim must be present.
         // The received nonce must be unique to avoid replay attacks.
         // This is achieved by using UUID as a nonce when creating the LtiAuthenticationRequest
         // (note that the nonce is part of the state sent in the said request, which is then signed with a private key).
-        Optional.ofNullable(ltiMessage.get(LtiConstants.LtiClaims.NONCE))
+        Optional.ofNullable(ltiMessage.getNonce())
                 .filter(nonce::equals)
                 .orElseThrow(LtiAuthenticationException::new)
         ;
@@ -0,0 +1,26 @@
+package ar.edu.itba.cep.lti_service.domain.helpers;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Component in charge of aiding with Names and Role Provisioning Services tasks.
+ */
+@Component
+public class LtiNamesAndRoleProvisioningServicesHelper {
+
+    /* package */ static final String CONTEXT_MEMBERSHIPS_URL_PROPERTY = "context_memberships_url";
+
+
+    /**
+     * Extracts the context memberships url from the given {@code ltiMessage}
+     * (i.e the url from where the members of the context in which the message was sent can be retrieved).
+     *
+     * @param ltiMessage The LTI message from where the url must be extracted.
+     * @return An {@link Optional} containing the context memberships url if the LMS sent it, or empty otherwise.
+     */
+    public Optional<String> extractContextMembershipsUrl(final LtiMessage ltiMessage) {
+        return Optional.ofNullable(ltiMessage.getContextMembershipsUrl());
+    }
+}
@@ -0,0 +1,349 @@
+package ar.edu.itba.cep.lti_service.domain.helpers;
+
+import ar.edu.itba.cep.lti_service.domain.config.PlatformKeysConfig.PlatformKeysProperties;
+import ar.edu.itba.cep.lti_service.crypto.JcaPrimitives;
+import ar.edu.itba.cep.lti_service.models.ToolDeployment;
+import ar.edu.itba.cep.security.KeyHelper;
+import com.bellotapps.webapps_commons.exceptions.ExternalServiceException;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyConverter;
+import com.nimbusds.jose.jwk.source.RemoteJWKSet;
+import com.nimbusds.jose.util.DefaultResourceRetriever;
+import com.nimbusds.jose.util.ResourceRetriever;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.URL;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Helper class that caches the keys used to communicate with the platforms:
+ * the platforms' JWKSs (used to verify the messages they send),
+ * and the parsed private keys of the tool deployments (used to sign the messages sent to them).
+ */
+@Component
+public class PlatformKeysHelper {
+
+    /**
+     * The {@link Logger}.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(PlatformKeysHelper.class);
+
+    /**
+     * The {@link CircuitBreakerRegistry} from where the circuit breaker of each LMS is taken
+     * (i.e used to fail fast when loading the JWKS of an LMS that is not available).
+     */
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    /**
+     * The {@link PlatformKeysProperties} used to configure the caches.
+     */
+    private final PlatformKeysProperties properties;
+    /**
+     * The {@link ResourceRetriever} used to fetch the platforms' JWKSs (i.e with connect and read timeouts,
+     * so a platform that does not answer cannot hang the caller).
+     */
+    private final ResourceRetriever jwksRetriever;
+    /**
+     * The cached {@link JWKSet}s, keyed by JWKS endpoint.
+     */
+    private final Map<String, CachedJwks> jwks;
+    /**
+     * The JWKS loads being performed, keyed by JWKS endpoint
+     * (i.e concurrent cache misses of the same endpoint wait for a single fetch).
+     */
+    private final Map<String, CompletableFuture<Optional<JWKSet>>> inFlight;
+    /**
+     * The parsed {@link PrivateKey}s, keyed by {@link ToolDeployment} id
+     * (a {@link ToolDeployment} is immutable, so its private key never changes).
+     */
+    private final Map<UUID, PrivateKey> privateKeys;
+
+
+    /**
+     * Constructor.
+     *
+     * @param circuitBreakerRegistry The {@link CircuitBreakerRegistry} from where the circuit breaker
+     *                               of each LMS is taken.
+     * @param properties             The {@link PlatformKeysProperties} used to configure the caches.
+     */
+    public PlatformKeysHelper(
+            final CircuitBreakerRegistry circuitBreakerRegistry,
+            final PlatformKeysProperties properties) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.properties = properties;
+        this.jwksRetriever = new DefaultResourceRetriever(
+                (int) properties.getJwksConnectTimeout().toMillis(),
+                (int) properties.getJwksReadTimeout().toMillis(),
+                RemoteJWKSet.DEFAULT_HTTP_SIZE_LIMIT
+        );
+        this.jwks = new ConcurrentHashMap<>();
+        this.inFlight = new ConcurrentHashMap<>();
+        this.privateKeys = new ConcurrentHashMap<>();
+    }
+
+
+    /**
+     * Retrieves the public {@link Key} with the given {@code keyId} of the platform of the given
+     * {@code toolDeployment}. The platform's JWKS is fetched again if the cached one expired,
+     * or if it does not contain the key (e.g the platform rotated its keys).
+     *
+     * @param toolDeployment The {@link ToolDeployment} whose platform's public key must be retrieved.
+     * @param keyId          The id of the key.
+     * @return An {@link Optional} containing the public {@link Key} if it could be retrieved, or empty otherwise.
+     * @throws ExternalServiceException If the LMS' circuit breaker is open.
+     */
+    public Optional<Key> getPublicKey(final ToolDeployment toolDeployment, final String keyId)
+            throws ExternalServiceException {
+        final var now = Instant.now();
+        final var cached = jwks.get(toolDeployment.getJwksEndpoint());
+        if (cached != null && !cached.isExpired(now)) {
+            final var key = findKey(cached.getSet(), keyId);
+            if (key.isPresent() || !cached.canBeRefreshed(now)) {
+                return key;
+            }
+        }
+        return loadJwks(toolDeployment).flatMap(set -> findKey(set, keyId));
+    }
+
+    /**
+     * Retrieves the {@link PrivateKey} of the given {@code toolDeployment}, parsing it only the first time.
+     *
+     * @param toolDeployment The {@link ToolDeployment} whose private key must be retrieved.
+     *                       The base64 encoded key and the signature algorithm will be taken from here.
+     * @return The corresponding {@link PrivateKey}.
+     */
+    public PrivateKey getPrivateKey(final ToolDeployment toolDeployment) {
+        return privateKeys.computeIfAbsent(toolDeployment.getId(), id -> parsePrivateKey(toolDeployment));
+    }
+
+    /**
+     * Loads the keys of the given {@code toolDeployment} into the caches
+     * (i.e fetches the platform's JWKS if the cached one is expired, and parses the private key).
+     *
+     * @param toolDeployment The {@link ToolDeployment} whose keys must be loaded.
+     * @return {@code true} if the platform's JWKS is cached, or {@code false} if it could not be fetched.
+     * @throws ExternalServiceException If the LMS' circuit breaker is open.
+     */
+    public boolean warmUp(final ToolDeployment toolDeployment) throws ExternalServiceException {
+        getPrivateKey(toolDeployment);
+        final var cached = jwks.get(toolDeployment.getJwksEndpoint());
+        return cached != null && !cached.isExpired(Instant.now()) || loadJwks(toolDeployment).isPresent();
+    }
+
+    /**
+     * Evicts the parsed {@link PrivateKey} of the {@link ToolDeployment} with the given {@code toolDeploymentId}
+     * (e.g because it was unregistered).
+     *
+     * @param toolDeploymentId The id of the {@link ToolDeployment} whose private key must be evicted.
+     */
+    public void evictPrivateKey(final UUID toolDeploymentId) {
+        privateKeys.remove(toolDeploymentId);
+    }
+
+
+    // ================================================================================================================
+    // Helpers
+    // ================================================================================================================
+
+    /**
+     * Loads the {@link JWKSet} of the platform of the given {@code toolDeployment} (see {@link #fetchJwks}).
+     * If there is already a load being performed for the same JWKS endpoint, its result is awaited instead.
+     *
+     * @param toolDeployment The {@link ToolDeployment} whose platform's JWKS must be loaded.
+     * @return An {@link Optional} containing the {@link JWKSet} if it could be retrieved, or empty otherwise.
+     * @throws ExternalServiceException If the LMS' circuit breaker is open.
+     */
+    private Optional<JWKSet> loadJwks(final ToolDeployment toolDeployment) throws ExternalServiceException {
+        final var endpoint = toolDeployment.getJwksEndpoint();
+        final var future = new CompletableFuture<Optional<JWKSet>>();
+        final var existing = inFlight.putIfAbsent(endpoint, future);
+        if (existing != null) {
+            return await(existing);
+        }
+        future.whenComplete((set, e) -> inFlight.remove(endpoint, future));
+        try {
+            final var set = fetchJwks(toolDeployment);
+            future.complete(set);
+            return set;
+        } catch (final Throwable e) {
+            // Any failure must complete the load, or the callers waiting for it would wait forever
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Fetches the {@link JWKSet} of the platform of the given {@code toolDeployment}, through the LMS' circuit
+     * breaker, and caches it. If it cannot be fetched, the previously cached one (if any) is returned
+     * while it is not older than the TTL plus the max. staleness. Beyond that it is discarded (i.e fails closed),
+     * so a key rotated out by the platform is not trusted indefinitely while its JWKS endpoint is down.
+     *
+     * @param toolDeployment The {@link ToolDeployment} whose platform's JWKS must be fetched.
+     * @return An {@link Optional} containing the {@link JWKSet} if it could be retrieved, or empty otherwise.
+     * @throws ExternalServiceException If the LMS' circuit breaker is open.
+     */
+    private Optional<JWKSet> fetchJwks(final ToolDeployment toolDeployment) throws ExternalServiceException {
+        final var endpoint = toolDeployment.getJwksEndpoint();
+        try {
+            final var url = new URL(endpoint);
+            final var circuitBreaker = circuitBreakerRegistry.circuitBreaker(toolDeployment.getIssuer());
+            final var set = circuitBreaker.executeCallable(
+                    () -> JWKSet.parse(jwksRetriever.retrieveResource(url).getContent())
+            );
+            final var now = Instant.now();
+            final var expiresAt = now.plus(properties.getJwksTtl());
+            jwks.put(
+                    endpoint,
+                    CachedJwks.create(
+                            set,
+                            expiresAt,
+                            now.plus(properties.getJwksMinRefreshInterval()),
+                            expiresAt.plus(properties.getJwksMaxStaleness())
+                    )
+            );
+            return Optional.of(set);
+        } catch (final CallNotPermittedException e) {
+            throw new ExternalServiceException(toolDeployment.getIssuer(), "The LMS is not available", e);
+        } catch (final Exception e) {
+            LOGGER.debug("Could not load JWKS from {}", endpoint, e);
+            final var cached = jwks.get(endpoint);
+            if (cached == null) {
+                return Optional.empty();
+            }
+            if (!cached.isServableAt(Instant.now())) {
+                LOGGER.warn("The JWKS from {} could not be refreshed and is too stale to be trusted", endpoint);
+                jwks.remove(endpoint, cached);
+                return Optional.empty();
+            }
+            return Optional.of(cached.getSet());
+        }
+    }
+
+    /**
+     * Waits for the given JWKS load to be completed.
+     *
+     * @param future The {@link CompletableFuture} representing the load.
+     * @return An {@link Optional} containing the {@link JWKSet} if it could be retrieved, or empty otherwise.
+     * @throws ExternalServiceException If the LMS' circuit breaker is open.
+     */
+    private static Optional<JWKSet> await(final CompletableFuture<Optional<JWKSet>> future)
+            throws ExternalServiceException {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Finds the public {@link Key} with the given {@code keyId} in the given {@code set}.
+     *
+     * @param set   The {@link JWKSet} in which the key is searched.
+     * @param keyId The id of the key.
+     * @return An {@link Optional} containing the public {@link Key} if it exists, or empty otherwise.
+     */
+    private static Optional<Key> findKey(final JWKSet set, final String keyId) {
+        return Optional.ofNullable(set.getKeyByKeyId(keyId))
+                .map(List::of)
+                .map(KeyConverter::toJavaKeys)
+                .filter(keys -> !keys.isEmpty())
+                .map(keys -> keys.get(0));
+    }
+
+    /**
+     * Parses the {@link PrivateKey} of the given {@code toolDeployment}.
+     *
+     * @param toolDeployment The {@link ToolDeployment} whose private key must be parsed.
+     * @return The corresponding {@link PrivateKey}.
+     */
+    private static PrivateKey parsePrivateKey(final ToolDeployment toolDeployment) {
+        try {
+            final var algorithm = toolDeployment.getSignatureAlgorithm().getFamilyName();
+            return JcaPrimitives.withKeyFactory(algorithm, keyFactory -> KeyHelper.generateKey(
+                    keyFactory, toolDeployment.getPrivateKey(), PKCS8EncodedKeySpec::new, KeyFactory::generatePrivate
+            ));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("ToolDeployment with invalid Private Key");
+        }
+    }
+
+
+    /**
+     * A cached {@link JWKSet}, together with the {@link Instant}s in which it expires,
+     * from which it can be fetched again because of an unknown key, and until which it can be served stale.
+     */
+    @Getter
+    @AllArgsConstructor(staticName = "create")
+    private static final class CachedJwks {
+        /**
+         * The cached {@link JWKSet}.
+         */
+        private final JWKSet set;
+        /**
+         * The {@link Instant} in which the {@link #set} stops being reused.
+         */
+        private final Instant expiresAt;
+        /**
+         * The {@link Instant} from which the {@link #set} can be fetched again because of an unknown key.
+         */
+        private final Instant refreshableAt;
+        /**
+         * The {@link Instant} until which the {@link #set} can be used if it cannot be fetched again.
+         */
+        private final Instant servableUntil;
+
+
+        /**
+         * Indicates whether this cached {@link JWKSet} is expired.
+         *
+         * @param now The current {@link Instant}.
+         * @return {@code true} if it is expired, or {@code false} otherwise.
+         */
+        private boolean isExpired(final Instant now) {
+            return !expiresAt.isAfter(now);
+        }
+
+        /**
+         * Indicates whether this cached {@link JWKSet} can be fetched again because of an unknown key.
+         *
+         * @param now The current {@link Instant}.
+         * @return {@code true} if it can be fetched again, or {@code false} otherwise.
+         */
+        private boolean canBeRefreshed(final Instant now) {
+            return !refreshableAt.isAfter(now);
+        }
+
+        /**
+         * Indicates whether this cached {@link JWKSet} can still be used if it cannot be fetched again.
+         *
+         * @param now The current {@link Instant}.
+         * @return {@code true} if it can still be used, or {@code false} otherwise.
+         */
+        private boolean isServableAt(final Instant now) {
+            return servableUntil.isAfter(now);
+        }
+    }
+}
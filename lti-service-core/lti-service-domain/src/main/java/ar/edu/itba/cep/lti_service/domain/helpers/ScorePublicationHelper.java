@@ -0,0 +1,227 @@
+package ar.edu.itba.cep.lti_service.domain.helpers;
+
+import ar.edu.itba.cep.lti_service.domain.config.ScorePublicationConfig.ScorePublicationProperties;
+import ar.edu.itba.cep.lti_service.external_lti_web_services.LtiAssignmentAndGradeServicesClient;
+import ar.edu.itba.cep.lti_service.external_lti_web_services.ScorePublishingException;
+import ar.edu.itba.cep.lti_service.models.ExamTaking;
+import ar.edu.itba.cep.lti_service.models.FailedScorePublication;
+import ar.edu.itba.cep.lti_service.repositories.FailedScorePublicationRepository;
+import com.bellotapps.webapps_commons.exceptions.ExternalServiceException;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A helper class that publishes scores in an LMS, recording the failed publications in order to be retried
+ * (using exponential backoff with jitter), or dead-lettered (i.e when the failure is permanent,
+ * or when the max. amount of attempts is reached).
+ */
+@Component
+@AllArgsConstructor
+public class ScorePublicationHelper {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScorePublicationHelper.class);
+
+    /**
+     * The max. length of the error descriptions stored in a {@link FailedScorePublication}.
+     */
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+
+    /**
+     * The {@link LtiAssignmentAndGradeServicesClient} used to publish scores.
+     */
+    private final LtiAssignmentAndGradeServicesClient ltiAssignmentAndGradeServicesClient;
+    /**
+     * The {@link FailedScorePublicationRepository} used to record failed publications.
+     */
+    private final FailedScorePublicationRepository failedScorePublicationRepository;
+    /**
+     * The {@link ScorePublicationProperties} with the retry configuration.
+     */
+    private final ScorePublicationProperties properties;
+
+
+    /**
+     * Publishes the given {@code score} for the given {@code examTaking}.
+     * If the publication fails, a {@link FailedScorePublication} is recorded (i.e no exception is thrown).
+     * Any pending {@link FailedScorePublication} of the {@link ExamTaking} is discarded,
+     * as the new score supersedes it.
+     *
+     * @param examTaking The {@link ExamTaking} to which the {@code score} must be published.
+     * @param score      The score to be assigned.
+     * @apiNote This method must be executed inside a transaction.
+     */
+    public void publish(final ExamTaking examTaking, final int score) {
+        record(examTaking, score, attempt(examTaking, score));
+    }
+
+    /**
+     * Publishes the given {@code score} for the given {@code examTaking}, without recording the outcome
+     * (i.e it can be executed outside a transaction, so no transaction is kept open while the LMS is called).
+     * The outcome must then be recorded with {@link #record(ExamTaking, int, Optional)}.
+     *
+     * @param examTaking The {@link ExamTaking} to which the {@code score} must be published
+     *                   (its tool deployment must be already loaded).
+     * @param score      The score to be assigned.
+     * @return An {@link Optional} containing the {@link ExternalServiceException} that made the publication fail,
+     * or empty if it succeeded.
+     */
+    public Optional<ExternalServiceException> attempt(final ExamTaking examTaking, final int score) {
+        try {
+            ltiAssignmentAndGradeServicesClient.publishScore(examTaking, score);
+            return Optional.empty();
+        } catch (final ExternalServiceException e) {
+            return Optional.of(e);
+        }
+    }
+
+    /**
+     * Records the outcome of a publication of the given {@code score} for the given {@code examTaking}.
+     * Any pending {@link FailedScorePublication} of the {@link ExamTaking} is discarded,
+     * and if the publication failed, a new {@link FailedScorePublication} is recorded.
+     *
+     * @param examTaking The {@link ExamTaking} to which the {@code score} was published.
+     * @param score      The published score.
+     * @param failure    An {@link Optional} containing the {@link ExternalServiceException}
+     *                   that made the publication fail, or empty if it succeeded.
+     * @apiNote This method must be executed inside a transaction.
+     */
+    public void record(
+            final ExamTaking examTaking,
+            final int score,
+            final Optional<ExternalServiceException> failure) {
+        failedScorePublicationRepository.deleteFor(examTaking);
+        failure.ifPresent(e -> {
+            final var error = describe(e);
+            final var publication = isRetryable(e) && properties.getMaxAttempts() > 1 ?
+                    FailedScorePublication.retrying(examTaking, score, error, nextAttemptAt(1)) :
+                    FailedScorePublication.deadLettered(examTaking, score, error);
+            LOGGER.warn(
+                    "Could not publish score for exam taking {}. State: {}",
+                    examTaking.getId(),
+                    publication.getState()
+            );
+            LOGGER.debug("Score publication error: {}", error);
+            failedScorePublicationRepository.save(publication);
+        });
+    }
+
+    /**
+     * Performs a new attempt of the given {@code publication}.
+     * If it succeeds, the publication is removed. Otherwise, it is scheduled for a new attempt,
+     * or dead-lettered (i.e if the failure is permanent, or if there are no more attempts).
+     *
+     * @param publication The {@link FailedScorePublication} to be retried.
+     * @apiNote This method must be executed inside a transaction.
+     */
+    public void retry(final FailedScorePublication publication) {
+        record(publication, attempt(publication));
+    }
+
+    /**
+     * Performs a new attempt of the given {@code publication}, without recording its outcome
+     * (i.e it can be executed outside a transaction, so no transaction is kept open while the LMS is called).
+     * The outcome must then be recorded with {@link #record(FailedScorePublication, Optional)}.
+     *
+     * @param publication The {@link FailedScorePublication} to be retried
+     *                    (its {@link ExamTaking} and tool deployment must be already loaded).
+     * @return An {@link Optional} containing the {@link ExternalServiceException} that made the attempt fail,
+     * or empty if it succeeded.
+     */
+    public Optional<ExternalServiceException> attempt(final FailedScorePublication publication) {
+        return attempt(publication.getExamTaking(), publication.getScore());
+    }
+
+    /**
+     * Records the outcome of an attempt of the given {@code publication}.
+     * If it succeeded, the publication is removed. Otherwise, it is scheduled for a new attempt,
+     * or dead-lettered (i.e if the failure is permanent, or if there are no more attempts).
+     *
+     * @param publication The attempted {@link FailedScorePublication}.
+     * @param failure     An {@link Optional} containing the {@link ExternalServiceException}
+     *                    that made the attempt fail, or empty if it succeeded.
+     * @apiNote This method must be executed inside a transaction.
+     */
+    public void record(final FailedScorePublication publication, final Optional<ExternalServiceException> failure) {
+        failure.ifPresentOrElse(e -> {
+            final var error = describe(e);
+            final var attempts = publication.getAttempts() + 1;
+            if (isRetryable(e) && attempts < properties.getMaxAttempts()) {
+                publication.retryAt(error, nextAttemptAt(attempts));
+            } else {
+                publication.deadLetter(error);
+                LOGGER.warn("Score publication {} was dead-lettered after {} attempts", publication.getId(), attempts);
+            }
+            LOGGER.debug("Score publication error: {}", error);
+            failedScorePublicationRepository.save(publication);
+        }, () -> failedScorePublicationRepository.deleteById(publication.getId()));
+    }
+
+    /**
+     * Replays the given {@code publication} (i.e performs a new attempt, restarting the retry process).
+     *
+     * @param publication The {@link FailedScorePublication} to be replayed.
+     * @apiNote This method must be executed inside a transaction.
+     */
+    public void replay(final FailedScorePublication publication) {
+        publication.resetAttempts();
+        retry(publication);
+    }
+
+
+    // ================================================================================================================
+    // Helpers
+    // ================================================================================================================
+
+    /**
+     * Calculates the {@link Instant} in which the next attempt must be performed, after the given amount of
+     * {@code attempts}, using exponential backoff with "equal jitter"
+     * (i.e half of the backoff is fixed, and the other half is random), in order to avoid retry storms.
+     *
+     * @param attempts The amount of attempts that were already performed.
+     * @return The {@link Instant} in which the next attempt must be performed.
+     */
+    private Instant nextAttemptAt(final int attempts) {
+        final var initial = properties.getInitialBackoff().toMillis();
+        final var max = properties.getMaxBackoff().toMillis();
+        final var exponential = initial * Math.pow(properties.getBackoffMultiplier(), attempts - 1);
+        final var backoff = (long) Math.max(1, Math.min(exponential, max));
+        final var half = backoff / 2;
+        final var jitter = ThreadLocalRandom.current().nextLong(backoff - half + 1);
+        return Instant.now().plusMillis(half + jitter);
+    }
+
+    /**
+     * Indicates whether the given {@code exception} represents a transient failure.
+     *
+     * @param exception The {@link ExternalServiceException} to be checked.
+     * @return {@code true} if the publication can be retried, or {@code false} otherwise.
+     * @implNote {@link ExternalServiceException}s that are not {@link ScorePublishingException}s do not carry
+     * classification, so they are considered communication errors (i.e transient).
+     */
+    private static boolean isRetryable(final ExternalServiceException exception) {
+        return !(exception instanceof ScorePublishingException)
+                || ((ScorePublishingException) exception).isRetryable();
+    }
+
+    /**
+     * Builds a description of the given {@code exception}, including its cause.
+     *
+     * @param exception The {@link ExternalServiceException} to be described.
+     * @return The description.
+     */
+    private static String describe(final ExternalServiceException exception) {
+        final var description = Optional.ofNullable(exception.getCause())
+                .map(cause -> exception.getMessage() + ": " + cause.getMessage())
+                .orElseGet(exception::getMessage);
+        return description == null || description.length() <= MAX_ERROR_LENGTH ?
+                description :
+                description.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,215 @@
+package ar.edu.itba.cep.lti_service.domain.helpers;
+
+import ar.edu.itba.cep.lti_service.domain.config.ExamLaunchConfig.ExamLaunchProperties;
+import ar.edu.itba.cep.lti_service.external_cep_services.tokens_service.TokenData;
+import ar.edu.itba.cep.lti_service.external_cep_services.tokens_service.TokensService;
+import ar.edu.itba.cep.roles.Role;
+import lombok.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Helper class that allows issuing tokens for students asynchronously
+ * (i.e while the rest of an exam launch is being processed).
+ * Issued tokens can be reused during a configurable window when a student relaunches the same exam.
+ */
+@Component
+public class StudentTokenHelper {
+
+    /**
+     * The {@link TokensService} used to issue the tokens.
+     */
+    private final TokensService tokensService;
+    /**
+     * The {@link Executor} in which the tokens are issued.
+     */
+    private final Executor executor;
+    /**
+     * The {@link ExamLaunchProperties} used to configure the reuse of tokens.
+     */
+    private final ExamLaunchProperties properties;
+    /**
+     * The reusable tokens, in the order they were issued (i.e the order in which they expire),
+     * bounded to the configured max. amount of reusable tokens.
+     */
+    private final Map<ReusableTokenKey, ReusableToken> reusableTokens;
+
+
+    /**
+     * Constructor.
+     *
+     * @param tokensService The {@link TokensService} used to issue the tokens.
+     * @param executor      The {@link Executor} in which the tokens are issued.
+     * @param properties    The {@link ExamLaunchProperties} used to configure the reuse of tokens.
+     */
+    public StudentTokenHelper(
+            final TokensService tokensService,
+            @Qualifier("examLaunchExecutor") final Executor executor,
+            final ExamLaunchProperties properties) {
+        this.tokensService = tokensService;
+        this.executor = executor;
+        this.properties = properties;
+        this.reusableTokens = Collections.synchronizedMap(new ReusableTokens(properties.getMaxReusableTokens()));
+    }
+
+
+    /**
+     * Starts issuing a student token for the given {@code subject} to take the exam with the given {@code examId}.
+     * If a token was issued for the same subject and exam within the reuse window, it is returned instead.
+     *
+     * @param subject The subject for which the token must be issued.
+     * @param examId  The id of the exam being launched.
+     * @return A {@link CompletableFuture} that completes with the issued {@link TokenData}.
+     * It completes exceptionally with an {@link IllegalStateException} if the token could not be issued,
+     * or with the exception thrown by the {@link TokensService}.
+     * Cancelling it before the token starts being issued avoids issuing it.
+     */
+    public CompletableFuture<TokenData> requestToken(final String subject, final long examId) {
+        if (!isReuseEnabled()) {
+            return issueToken(subject);
+        }
+        final var key = ReusableTokenKey.create(subject, examId);
+        final var reusable = reusableTokens.get(key);
+        if (reusable != null && reusable.isValidAt(Instant.now())) {
+            return CompletableFuture.completedFuture(reusable.getTokenData());
+        }
+        final var issued = issueToken(subject);
+        final var stored = issued.thenApply(tokenData -> {
+            store(key, ReusableToken.create(tokenData, Instant.now().plus(properties.getTokenReuseWindow())));
+            return tokenData;
+        });
+        stored.whenComplete((tokenData, e) -> {
+            if (stored.isCancelled()) {
+                issued.cancel(false); // Avoid issuing the token if it did not start yet
+            }
+        });
+        return stored;
+    }
+
+
+    /**
+     * Indicates whether issued tokens are reused (i.e the reuse window is positive).
+     *
+     * @return {@code true} if issued tokens are reused, or {@code false} otherwise.
+     */
+    private boolean isReuseEnabled() {
+        return !properties.getTokenReuseWindow().isZero() && !properties.getTokenReuseWindow().isNegative();
+    }
+
+    /**
+     * Issues a student token for the given {@code subject} from the {@link #executor},
+     * using the {@link TokensService}'s asynchronous operation
+     * (i.e the executor's thread is released while the token is issued if the adapter is non-blocking).
+     * If the returned {@link CompletableFuture} is cancelled before the token starts being issued,
+     * the {@link TokensService} is not called.
+     *
+     * @param subject The subject for which the token must be issued.
+     * @return A {@link CompletableFuture} that completes with the issued {@link TokenData}.
+     */
+    private CompletableFuture<TokenData> issueToken(final String subject) {
+        final var future = new CompletableFuture<TokenData>();
+        executor.execute(() -> {
+            if (future.isDone()) {
+                return; // Cancelled while waiting to be executed
+            }
+            try {
+                tokensService.tokenForAsync(subject, Set.of(Role.STUDENT)).whenComplete((tokenData, e) -> {
+                    if (e != null) {
+                        future.completeExceptionally(e instanceof CompletionException && e.getCause() != null
+                                ? e.getCause()
+                                : e);
+                        return;
+                    }
+                    tokenData.ifPresentOrElse(
+                            future::complete,
+                            () -> future.completeExceptionally(new IllegalStateException("Could not get token"))
+                    );
+                });
+            } catch (final Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Stores the given {@code token} as the latest issued one
+     * (evicting the one issued first if there are too many of them).
+     *
+     * @param key   The {@link ReusableTokenKey}.
+     * @param token The {@link ReusableToken} to be stored.
+     */
+    private void store(final ReusableTokenKey key, final ReusableToken token) {
+        synchronized (reusableTokens) {
+            reusableTokens.remove(key); // Replaced tokens must be moved to the end
+            reusableTokens.put(key, token);
+        }
+    }
+
+
+    /**
+     * A {@link LinkedHashMap} of reusable tokens that evicts the one issued first when it exceeds its max. size.
+     * As all the tokens are reused during the same window, the evicted token is also the first to expire.
+     */
+    private static final class ReusableTokens extends LinkedHashMap<ReusableTokenKey, ReusableToken> {
+
+        /**
+         * The max. amount of reusable tokens.
+         */
+        private final int maxSize;
+
+
+        /**
+         * Constructor.
+         *
+         * @param maxSize The max. amount of reusable tokens.
+         */
+        private ReusableTokens(final int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<ReusableTokenKey, ReusableToken> eldest) {
+            return size() > maxSize;
+        }
+    }
+
+
+    /**
+     * The key of a reusable token (i.e the subject and the exam for which it was issued).
+     */
+    @Value(staticConstructor = "create")
+    private static class ReusableTokenKey {
+        private final String subject;
+        private final long examId;
+    }
+
+    /**
+     * A token that can be reused until a given {@link Instant}.
+     */
+    @Value(staticConstructor = "create")
+    private static class ReusableToken {
+        private final TokenData tokenData;
+        private final Instant validUntil;
+
+        /**
+         * Indicates whether the token can be reused at the given {@code instant}.
+         *
+         * @param instant The {@link Instant} to be checked.
+         * @return {@code true} if the token can be reused, or {@code false} otherwise.
+         */
+        private boolean isValidAt(final Instant instant) {
+            return validUntil.isAfter(instant);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package ar.edu.itba.cep.lti_service.domain.jobs;
+
+import ar.edu.itba.cep.lti_service.domain.config.ExamReplicaConfig.ExamReplicaProperties;
+import ar.edu.itba.cep.lti_service.domain.helpers.ExamCacheHelper;
+import ar.edu.itba.cep.lti_service.external_cep_services.evaluations_service.EvaluationsService;
+import ar.edu.itba.cep.lti_service.external_cep_services.evaluations_service.Exam;
+import ar.edu.itba.cep.lti_service.models.ExamReplica;
+import ar.edu.itba.cep.lti_service.models.JobCursor;
+import ar.edu.itba.cep.lti_service.repositories.ExamReplicaRepository;
+import ar.edu.itba.cep.lti_service.repositories.JobCursorRepository;
+import ar.edu.itba.cep.lti_service.repositories.JobLockRepository;
+import com.bellotapps.webapps_commons.exceptions.ExternalServiceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * A job that keeps the local replica of exams synchronized with the evaluations service,
+ * by periodically polling the exams that changed since the last synchronization.
+ * The first synchronization (i.e without cursor) replaces the whole replica.
+ * Synchronizations can also be requested when an exam change is notified. These are performed in background,
+ * and are coalesced (i.e at most one is pending at any time), so a burst of notifications triggers a single one.
+ * The notified exams not included in the polled changes (e.g because the changes feed lags behind)
+ * are retrieved one by one.
+ * Synchronizations are performed by a single instance at a time (i.e the one holding the job's lock),
+ * and the cursor is persisted, so the replica is only fully replaced the first time the job runs.
+ * The other instances only evict the notified exams from their caches
+ * (the changes will be applied to the replica by the instance holding the lock).
+ */
+@Component
+public class ExamReplicaSyncJob {
+
+    /**
+     * The {@link Logger}.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExamReplicaSyncJob.class);
+    /**
+     * The name of the lock held by the instance performing a synchronization (also used to name the job's cursor).
+     */
+    private static final String LOCK_NAME = "exam-replica-sync-job";
+
+    /**
+     * The {@link ExamReplicaRepository} in which the exams are replicated.
+     */
+    private final ExamReplicaRepository examReplicaRepository;
+    /**
+     * The {@link JobCursorRepository} in which the cursor returned by the last synchronization is stored.
+     */
+    private final JobCursorRepository jobCursorRepository;
+    /**
+     * The {@link JobLockRepository} used to perform synchronizations in a single instance at a time.
+     */
+    private final JobLockRepository jobLockRepository;
+    /**
+     * The {@link EvaluationsService} from where the changes are retrieved.
+     */
+    private final EvaluationsService evaluationsService;
+    /**
+     * The {@link ExamCacheHelper} from where the changed exams are evicted.
+     */
+    private final ExamCacheHelper examCacheHelper;
+    /**
+     * A {@link TransactionTemplate} used to apply each batch of changes in a transaction.
+     */
+    private final TransactionTemplate transactionTemplate;
+    /**
+     * The {@link ExamReplicaProperties} indicating whether the local replica is enabled.
+     */
+    private final ExamReplicaProperties properties;
+    /**
+     * The {@link Executor} in which the requested synchronizations are performed.
+     */
+    private final Executor executor;
+    /**
+     * The ids of the exams notified as changed since the last synchronization.
+     */
+    private final Set<Long> notifiedExams;
+    /**
+     * Indicates whether there is a requested synchronization waiting to be performed.
+     */
+    private final AtomicBoolean syncPending;
+    /**
+     * A {@link Lock} that avoids concurrent synchronizations in this instance
+     * (a monitor is not used, as it would pin a virtual thread while waiting for the evaluations service).
+     */
+    private final Lock lock;
+
+
+    /**
+     * Constructor.
+     *
+     * @param examReplicaRepository The {@link ExamReplicaRepository} in which the exams are replicated.
+     * @param jobCursorRepository   The {@link JobCursorRepository} in which the cursor
+     *                              returned by the last synchronization is stored.
+     * @param jobLockRepository     The {@link JobLockRepository} used to perform synchronizations
+     *                              in a single instance at a time.
+     * @param evaluationsService    The {@link EvaluationsService} from where the changes are retrieved.
+     * @param examCacheHelper       The {@link ExamCacheHelper} from where the changed exams are evicted.
+     * @param transactionTemplate   A {@link TransactionTemplate} used to apply each batch of changes in a transaction.
+     * @param properties            The {@link ExamReplicaProperties} indicating whether the replica is enabled.
+     * @param executor              The {@link Executor} in which the requested synchronizations are performed.
+     */
+    public ExamReplicaSyncJob(
+            final ExamReplicaRepository examReplicaRepository,
+            final JobCursorRepository jobCursorRepository,
+            final JobLockRepository jobLockRepository,
+            final EvaluationsService evaluationsService,
+            final ExamCacheHelper examCacheHelper,
+            final TransactionTemplate transactionTemplate,
+            final ExamReplicaProperties properties,
+            @Qualifier("examReplicaSyncExecutor") final Executor executor) {
+        this.examReplicaRepository = examReplicaRepository;
+        this.jobCursorRepository = jobCursorRepository;
+        this.jobLockRepository = jobLockRepository;
+        this.evaluationsService = evaluationsService;
+        this.examCacheHelper = examCacheHelper;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.executor = executor;
+        this.notifiedExams = ConcurrentHashMap.newKeySet();
+        this.syncPending = new AtomicBoolean(false);
+        this.lock = new ReentrantLock();
+    }
+
+
+    /**
+     * Requests a synchronization because the exam with the given {@code examId} changed (if the replica is enabled).
+     * The synchronization is performed in background, unless there is already one pending
+     * (in which case the notification is handled by the pending one).
+     *
+     * @param examId The id of the exam that changed.
+     */
+    public void requestSync(final long examId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        notifiedExams.add(examId);
+        if (!syncPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                syncPending.set(false); // Notifications received from now on need another synchronization
+                sync();
+            });
+        } catch (final RejectedExecutionException e) {
+            syncPending.set(false);
+            LOGGER.debug("Could not request a synchronization. Exam {} will be synchronized by the next poll", examId);
+        }
+    }
+
+
+    /**
+     * Synchronizes the local replica with the changes performed in the evaluations service
+     * (if the replica is enabled, and no other instance is performing a synchronization).
+     */
+    @Scheduled(fixedDelayString = "${lti-service.app.exam-replica.sync-delay:5000}")
+    public void sync() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        lock.lock();
+        try {
+            final var notified = drainNotifiedExams();
+            final var jobLock = jobLockRepository.tryLock(LOCK_NAME);
+            if (jobLock.isEmpty()) {
+                examCacheHelper.evict(notified);
+                LOGGER.debug("The exams replica is being synchronized by another instance");
+                return;
+            }
+            try (final var ignored = jobLock.get()) {
+                sync(notified);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Applies the changes performed in the evaluations service since the stored cursor,
+     * together with the given {@code notified} exams.
+     * If the synchronization fails, the notified exams are retried by the next one.
+     *
+     * @param notified A {@link Set} containing the ids of the exams notified as changed.
+     */
+    private void sync(final Set<Long> notified) {
+        try {
+            final var cursor = transactionTemplate.execute(status -> jobCursorRepository.findById(LOCK_NAME))
+                    .map(JobCursor::getValue)
+                    .orElse(null);
+            final var changes = evaluationsService.getExamsChangedSince(cursor);
+            transactionTemplate.execute(status -> {
+                if (cursor == null) {
+                    removeAllExcept(changes.getExams());
+                }
+                changes.getExams().forEach(this::apply);
+                saveCursor(changes.getCursor());
+                return null;
+            });
+            final var changed = changes.getExams().stream().map(Exam::getId).collect(Collectors.toSet());
+            examCacheHelper.evict(changed);
+            examCacheHelper.evict(notified);
+            notified.removeAll(changed);
+            notified.forEach(this::syncNotified);
+            LOGGER.debug("Synchronized {} exams", changes.getExams().size() + notified.size());
+        } catch (final ExternalServiceException e) {
+            notifiedExams.addAll(notified); // Retried by the next synchronization
+            LOGGER.warn("Could not retrieve the exams changes from the evaluations service");
+            LOGGER.debug("Synchronization error: ", e);
+        } catch (final RuntimeException e) {
+            notifiedExams.addAll(notified); // Retried by the next synchronization
+            LOGGER.warn("Could not synchronize the exams replica", e);
+        }
+    }
+
+    /**
+     * Stores the given {@code cursor} as the one from which the next synchronization must continue.
+     *
+     * @param cursor The cursor returned by the evaluations service.
+     */
+    private void saveCursor(final String cursor) {
+        final var jobCursor = jobCursorRepository.findById(LOCK_NAME)
+                .map(existing -> {
+                    existing.update(cursor);
+                    return existing;
+                })
+                .orElseGet(() -> JobCursor.create(LOCK_NAME, cursor));
+        jobCursorRepository.save(jobCursor);
+    }
+
+    /**
+     * Takes the ids of the exams notified as changed.
+     *
+     * @return A {@link Set} containing the ids of the notified exams.
+     */
+    private Set<Long> drainNotifiedExams() {
+        final var notified = new HashSet<>(notifiedExams);
+        notifiedExams.removeAll(notified);
+        return notified;
+    }
+
+    /**
+     * Synchronizes the notified exam with the given {@code examId}, which was not included in the polled changes
+     * (it is removed from the replica if it no longer exists).
+     *
+     * @param examId The id of the notified exam.
+     * @throws ExternalServiceException If the exam could not be retrieved from the evaluations service.
+     */
+    private void syncNotified(final long examId) throws ExternalServiceException {
+        final var exam = evaluationsService.getExamById(examId);
+        transactionTemplate.execute(status -> {
+            exam.ifPresentOrElse(
+                    this::apply,
+                    () -> {
+                        if (examReplicaRepository.existsById(examId)) {
+                            examReplicaRepository.deleteById(examId);
+                        }
+                    }
+            );
+            return null;
+        });
+    }
+
+    /**
+     * Applies the given {@code exam} to the replica
+     * (i.e it is created or updated if it is upcoming or in progress, or removed otherwise).
+     *
+     * @param exam The changed {@link Exam}.
+     */
+    private void apply(final Exam exam) {
+        if (exam.getState() == Exam.State.FINISHED) {
+            if (examReplicaRepository.existsById(exam.getId())) {
+                examReplicaRepository.deleteById(exam.getId());
+            }
+            return;
+        }
+        final var state = ExamReplica.State.valueOf(exam.getState().name());
+        final var replica = examReplicaRepository.findById(exam.getId())
+                .map(existing -> {
+                    existing.update(
+                            exam.getDescription(),
+                            exam.getStartingAt(),
+                            exam.getDuration(),
+                            state,
+                            exam.getMaxScore()
+                    );
+                    return existing;
+                })
+                .orElseGet(() -> ExamReplica.create(
+                        exam.getId(),
+                        exam.getDescription(),
+                        exam.getStartingAt(),
+                        exam.getDuration(),
+                        state,
+                        exam.getMaxScore()
+                ));
+        examReplicaRepository.save(replica);
+    }
+
+    /**
+     * Removes all the replicas whose exams are not in the given {@code exams} {@link List}.
+     *
+     * @param exams The {@link List} of {@link Exam}s to be kept.
+     */
+    private void removeAllExcept(final List<Exam> exams) {
+        final var ids = exams.stream().map(Exam::getId).collect(Collectors.toSet());
+        StreamSupport.stream(examReplicaRepository.findAll().spliterator(), false)
+                .map(ExamReplica::getId)
+                .filter(id -> !ids.contains(id))
+                .forEach(examReplicaRepository::deleteById);
+    }
+}
@@ -0,0 +1,219 @@
+package ar.edu.itba.cep.lti_service.domain.jobs;
+
+import ar.edu.itba.cep.lti_service.domain.config.ExamWarmUpConfig.ExamWarmUpProperties;
+import ar.edu.itba.cep.lti_service.domain.helpers.ExamLookupHelper;
+import ar.edu.itba.cep.lti_service.domain.helpers.PlatformKeysHelper;
+import ar.edu.itba.cep.lti_service.external_cep_services.evaluations_service.Exam;
+import ar.edu.itba.cep.lti_service.external_lti_web_services.LtiAssignmentAndGradeServicesClient;
+import ar.edu.itba.cep.lti_service.models.FinishedExam;
+import ar.edu.itba.cep.lti_service.models.ToolDeployment;
+import ar.edu.itba.cep.lti_service.repositories.ExamTakingRepository;
+import ar.edu.itba.cep.lti_service.repositories.FinishedExamRepository;
+import ar.edu.itba.cep.lti_service.repositories.ResourceLinkRepository;
+import com.bellotapps.webapps_commons.exceptions.ExternalServiceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A job that warms up the caches used when an exam is taken (i.e the exam itself, the platforms' JWKSs,
+ * the tool deployments' private keys and the AGS access tokens) shortly before the exam starts,
+ * so that the first students taking it do not pay for the cold caches.
+ * Each exam is warmed up once for each starting moment it has (i.e it is warmed up again if it is rescheduled).
+ * Exams found to be finished (or to not exist anymore) are persisted as {@link FinishedExam}s,
+ * so they are never looked up again (not even after a restart).
+ * Starting moments are interpreted in the system's default time zone.
+ */
+@Component
+public class ExamWarmUpJob {
+
+    /**
+     * The {@link Logger}.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExamWarmUpJob.class);
+
+    /**
+     * The {@link ResourceLinkRepository} from where the exams linked to an LMS (and their tool deployments) are taken.
+     */
+    private final ResourceLinkRepository resourceLinkRepository;
+    /**
+     * The {@link ExamTakingRepository} from where the exams already taken through an LMS
+     * (and their tool deployments) are taken (i.e the exams linked before resource links were registered).
+     */
+    private final ExamTakingRepository examTakingRepository;
+    /**
+     * The {@link FinishedExamRepository} in which the exams known to be finished are recorded.
+     */
+    private final FinishedExamRepository finishedExamRepository;
+    /**
+     * The {@link ExamLookupHelper} used to look up (and thus cache) the exams.
+     */
+    private final ExamLookupHelper examLookupHelper;
+    /**
+     * The {@link PlatformKeysHelper} in which the platforms' and tool deployments' keys are loaded.
+     */
+    private final PlatformKeysHelper platformKeysHelper;
+    /**
+     * The {@link LtiAssignmentAndGradeServicesClient} used to obtain the AGS access tokens.
+     */
+    private final LtiAssignmentAndGradeServicesClient ltiAssignmentAndGradeServicesClient;
+    /**
+     * The {@link ExamWarmUpProperties} used to configure the job.
+     */
+    private final ExamWarmUpProperties properties;
+    /**
+     * The starting moment for which each exam was warmed up, keyed by exam id.
+     */
+    private final Map<Long, LocalDateTime> warmedUpExams;
+
+
+    /**
+     * Constructor.
+     *
+     * @param resourceLinkRepository              The {@link ResourceLinkRepository} from where the exams linked
+     *                                            to an LMS (and their tool deployments) are taken.
+     * @param examTakingRepository                The {@link ExamTakingRepository} from where the exams already
+     *                                            taken through an LMS (and their tool deployments) are taken.
+     * @param finishedExamRepository              The {@link FinishedExamRepository} in which the exams known
+     *                                            to be finished are recorded.
+     * @param examLookupHelper                    The {@link ExamLookupHelper} used to look up the exams.
+     * @param platformKeysHelper                  The {@link PlatformKeysHelper} in which the platforms'
+     *                                            and tool deployments' keys are loaded.
+     * @param ltiAssignmentAndGradeServicesClient The {@link LtiAssignmentAndGradeServicesClient}
+     *                                            used to obtain the AGS access tokens.
+     * @param properties                          The {@link ExamWarmUpProperties} used to configure the job.
+     */
+    public ExamWarmUpJob(
+            final ResourceLinkRepository resourceLinkRepository,
+            final ExamTakingRepository examTakingRepository,
+            final FinishedExamRepository finishedExamRepository,
+            final ExamLookupHelper examLookupHelper,
+            final PlatformKeysHelper platformKeysHelper,
+            final LtiAssignmentAndGradeServicesClient ltiAssignmentAndGradeServicesClient,
+            final ExamWarmUpProperties properties) {
+        this.resourceLinkRepository = resourceLinkRepository;
+        this.examTakingRepository = examTakingRepository;
+        this.finishedExamRepository = finishedExamRepository;
+        this.examLookupHelper = examLookupHelper;
+        this.platformKeysHelper = platformKeysHelper;
+        this.ltiAssignmentAndGradeServicesClient = ltiAssignmentAndGradeServicesClient;
+        this.properties = properties;
+        this.warmedUpExams = new ConcurrentHashMap<>();
+    }
+
+
+    /**
+     * Warms up the caches of the exams that start within the configured lead time (if the job is enabled).
+     * Only the exams not known to be finished are looked up.
+     */
+    @Scheduled(fixedDelayString = "${lti-service.app.exam-warm-up.check-delay:60000}")
+    public void warmUp() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        final var limit = LocalDateTime.now().plus(properties.getLead());
+        Stream.concat(
+                resourceLinkRepository.findUnfinishedExamIds().stream(),
+                examTakingRepository.findUnfinishedExamIds().stream()
+        )
+                .distinct()
+                .forEach(examId -> check(examId, limit));
+    }
+
+
+    // ================================================================================================================
+    // Helpers
+    // ================================================================================================================
+
+    /**
+     * Looks up the exam with the given {@code examId}, and warms it up if it starts before the given {@code limit}
+     * and it was not warmed up yet for its current starting moment.
+     *
+     * @param examId The id of the exam to be checked.
+     * @param limit  The {@link LocalDateTime} before which the exam must start in order to be warmed up.
+     */
+    private void check(final long examId, final LocalDateTime limit) {
+        try {
+            examLookupHelper.getExam(examId).ifPresentOrElse(
+                    exam -> {
+                        if (exam.getState() == Exam.State.FINISHED) {
+                            markFinished(examId);
+                            return;
+                        }
+                        if (exam.getStartingAt().isAfter(limit)
+                                || exam.getStartingAt().equals(warmedUpExams.get(examId))) {
+                            return;
+                        }
+                        warmUp(exam);
+                        warmedUpExams.put(examId, exam.getStartingAt());
+                    },
+                    () -> markFinished(examId) // The exam does not exist anymore.
+            );
+        } catch (final ExternalServiceException e) {
+            LOGGER.warn("Could not look up exam {} in order to warm it up", examId);
+            LOGGER.debug("Lookup error: ", e);
+        }
+    }
+
+    /**
+     * Records that the exam with the given {@code examId} is finished, so it is not looked up anymore.
+     * Failures are logged, as the exam will be looked up (and recorded) again by the next run.
+     *
+     * @param examId The id of the finished exam.
+     */
+    private void markFinished(final long examId) {
+        warmedUpExams.remove(examId);
+        try {
+            if (!finishedExamRepository.existsById(examId)) {
+                finishedExamRepository.save(FinishedExam.create(examId));
+            }
+        } catch (final RuntimeException e) {
+            LOGGER.debug("Could not record exam {} as finished", examId, e);
+        }
+    }
+
+    /**
+     * Warms up the caches needed to take the given {@code exam}
+     * (i.e for each of the tool deployments through which the exam is taken).
+     *
+     * @param exam The {@link Exam} to be warmed up (already cached by the lookup).
+     */
+    private void warmUp(final Exam exam) {
+        final var toolDeployments = Stream.concat(
+                resourceLinkRepository.findToolDeployments(exam.getId()).stream(),
+                examTakingRepository.findToolDeployments(exam.getId()).stream()
+        ).collect(Collectors.toSet());
+        toolDeployments.forEach(this::warmUp);
+        LOGGER.info(
+                "Warmed up exam {} (starting at {}) for {} tool deployments",
+                exam.getId(),
+                exam.getStartingAt(),
+                toolDeployments.size()
+        );
+    }
+
+    /**
+     * Warms up the caches needed to communicate with the platform of the given {@code toolDeployment}.
+     * Failures are logged, as the caches will be loaded anyway when the exam is taken.
+     *
+     * @param toolDeployment The {@link ToolDeployment} to be warmed up.
+     */
+    private void warmUp(final ToolDeployment toolDeployment) {
+        try {
+            if (!platformKeysHelper.warmUp(toolDeployment)) {
+                LOGGER.warn("Could not load the JWKS of the LMS {}", toolDeployment.getIssuer());
+            }
+            ltiAssignmentAndGradeServicesClient.prefetchAccessToken(toolDeployment);
+        } catch (final RuntimeException e) {
+            LOGGER.warn("Could not warm up tool deployment {}", toolDeployment.getId());
+            LOGGER.debug("Warm up error: ", e);
+        }
+    }
+}
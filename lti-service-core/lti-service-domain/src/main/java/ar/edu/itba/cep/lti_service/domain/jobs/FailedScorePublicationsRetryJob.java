@@ -0,0 +1,101 @@
+package ar.edu.itba.cep.lti_service.domain.jobs;
+
+import ar.edu.itba.cep.lti_service.domain.helpers.ScorePublicationHelper;
+import ar.edu.itba.cep.lti_service.models.FailedScorePublication;
+import ar.edu.itba.cep.lti_service.repositories.FailedScorePublicationRepository;
+import ar.edu.itba.cep.lti_service.repositories.JobLockRepository;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+
+/**
+ * A job that periodically retries the {@link FailedScorePublication}s whose next attempt is due.
+ * The job is run by a single instance at a time (i.e the one holding the job's lock),
+ * so a publication is never sent twice to the LMS by different instances.
+ * The LMS is called outside any transaction, and the outcome of each attempt is then recorded in its own transaction,
+ * only if the publication still exists (i.e it was not replaced by a newer score in the meantime).
+ */
+@Component
+@AllArgsConstructor
+public class FailedScorePublicationsRetryJob {
+
+    /**
+     * The {@link Logger}.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(FailedScorePublicationsRetryJob.class);
+    /**
+     * The name of the lock held by the instance running the job.
+     */
+    private static final String LOCK_NAME = "failed-score-publications-retry-job";
+
+    /**
+     * The {@link FailedScorePublicationRepository} from where due publications are taken.
+     */
+    private final FailedScorePublicationRepository failedScorePublicationRepository;
+    /**
+     * The {@link JobLockRepository} used to run the job in a single instance at a time.
+     */
+    private final JobLockRepository jobLockRepository;
+    /**
+     * The {@link ScorePublicationHelper} used to retry the publications.
+     */
+    private final ScorePublicationHelper scorePublicationHelper;
+    /**
+     * A {@link TransactionTemplate} used to record the outcome of each publication in its own transaction
+     * (i.e a failure in one of them does not affect the rest).
+     */
+    private final TransactionTemplate transactionTemplate;
+
+
+    /**
+     * Retries the due {@link FailedScorePublication}s.
+     */
+    @Scheduled(fixedDelayString = "${lti-service.app.score-publication.retry-job-delay:10000}")
+    public void retryDuePublications() {
+        final var lock = jobLockRepository.tryLock(LOCK_NAME);
+        if (lock.isEmpty()) {
+            LOGGER.debug("Failed score publications are being retried by another instance");
+            return;
+        }
+        try (final var ignored = lock.get()) {
+            // The due publications are loaded together with their exam takings and tool deployments,
+            // so they can be published once the transaction is finished.
+            final var due = transactionTemplate.execute(
+                    status -> failedScorePublicationRepository.findDueAt(Instant.now())
+            );
+            if (due == null) {
+                return;
+            }
+            due.forEach(this::retry);
+        }
+    }
+
+    /**
+     * Retries the given {@code publication}, calling the LMS outside any transaction,
+     * and then recording the outcome in a new transaction (if the publication still exists).
+     * Any failure is logged, so the rest of the due publications are retried anyway.
+     *
+     * @param publication The {@link FailedScorePublication} to be retried.
+     */
+    private void retry(final FailedScorePublication publication) {
+        try {
+            final var failure = scorePublicationHelper.attempt(publication);
+            transactionTemplate.execute(status -> {
+                failedScorePublicationRepository.findById(publication.getId())
+                        .ifPresentOrElse(
+                                current -> scorePublicationHelper.record(current, failure),
+                                () -> LOGGER.debug("Score publication {} was removed while being retried",
+                                        publication.getId())
+                        );
+                return null;
+            });
+        } catch (final RuntimeException e) {
+            LOGGER.warn("Could not retry score publication {}", publication.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package ar.edu.itba.cep.lti_service.domain.jobs;
+
+import ar.edu.itba.cep.lti_service.domain.config.RosterPrefetchConfig.RosterPrefetchProperties;
+import ar.edu.itba.cep.lti_service.domain.helpers.ExamLookupHelper;
+import ar.edu.itba.cep.lti_service.external_cep_services.evaluations_service.Exam;
+import ar.edu.itba.cep.lti_service.external_lti_web_services.ContextMember;
+import ar.edu.itba.cep.lti_service.external_lti_web_services.LtiAssignmentAndGradeServicesClient;
+import ar.edu.itba.cep.lti_service.external_lti_web_services.LtiNamesAndRoleProvisioningServicesClient;
+import ar.edu.itba.cep.lti_service.models.ExamTaking;
+import ar.edu.itba.cep.lti_service.models.FinishedExam;
+import ar.edu.itba.cep.lti_service.models.ResourceLink;
+import ar.edu.itba.cep.lti_service.repositories.ExamTakingRepository;
+import ar.edu.itba.cep.lti_service.repositories.FinishedExamRepository;
+import ar.edu.itba.cep.lti_service.repositories.JobLockRepository;
+import ar.edu.itba.cep.lti_service.repositories.ResourceLinkRepository;
+import com.bellotapps.webapps_commons.exceptions.ExternalServiceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * A job that prefetches the rosters of the contexts in which the exams are linked shortly before the exams start
+ * (through the Names and Role Provisioning Services of the LMSs), creating the exam takings of the active learners
+ * in batches, so that launching an exam does not need to write them during the surge.
+ * Each exam is prefetched once for each starting moment it has,
+ * and the exams known to be finished are recorded, so they are not looked up again.
+ * Starting moments are interpreted in the system's default time zone.
+ * The job is run by a single instance at a time (i.e the one holding the job's lock),
+ * and exam takings are only created if they do not exist, so it does not race with the launches.
+ * The students' tokens are not prefetched: they could only be kept in the memory of the instance running the job,
+ * while the launches are served by any instance, and they would expire before the exam starts
+ * unless the token reuse window were longer than the lead time.
+ */
+@Component
+public class RosterPrefetchJob {
+
+    /**
+     * The {@link Logger}.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(RosterPrefetchJob.class);
+    /**
+     * The name of the lock held by the instance running the job.
+     */
+    private static final String LOCK_NAME = "roster-prefetch-job";
+
+    /**
+     * The {@link ResourceLinkRepository} from where the linked contexts are taken.
+     */
+    private final ResourceLinkRepository resourceLinkRepository;
+    /**
+     * The {@link ExamTakingRepository} in which the exam takings are created.
+     */
+    private final ExamTakingRepository examTakingRepository;
+    /**
+     * The {@link FinishedExamRepository} in which the exams known to be finished are recorded.
+     */
+    private final FinishedExamRepository finishedExamRepository;
+    /**
+     * The {@link JobLockRepository} used to run the job in a single instance at a time.
+     */
+    private final JobLockRepository jobLockRepository;
+    /**
+     * The {@link ExamLookupHelper} used to look up the exams.
+     */
+    private final ExamLookupHelper examLookupHelper;
+    /**
+     * The {@link LtiNamesAndRoleProvisioningServicesClient} used to retrieve the rosters.
+     */
+    private final LtiNamesAndRoleProvisioningServicesClient ltiNamesAndRoleProvisioningServicesClient;
+    /**
+     * The {@link LtiAssignmentAndGradeServicesClient} used to retrieve the line-items of the linked exams.
+     */
+    private final LtiAssignmentAndGradeServicesClient ltiAssignmentAndGradeServicesClient;
+    /**
+     * A {@link TransactionTemplate} used to save each batch of exam takings in a transaction.
+     */
+    private final TransactionTemplate transactionTemplate;
+    /**
+     * The {@link RosterPrefetchProperties} used to configure the job.
+     */
+    private final RosterPrefetchProperties properties;
+    /**
+     * The starting moment for which each exam was prefetched, keyed by exam id.
+     */
+    private final Map<Long, LocalDateTime> prefetchedExams;
+
+
+    /**
+     * Constructor.
+     *
+     * @param resourceLinkRepository                    The {@link ResourceLinkRepository}
+     *                                                  from where the linked contexts are taken.
+     * @param examTakingRepository                      The {@link ExamTakingRepository}
+     *                                                  in which the exam takings are created.
+     * @param finishedExamRepository                    The {@link FinishedExamRepository} in which the exams known
+     *                                                  to be finished are recorded.
+     * @param jobLockRepository                         The {@link JobLockRepository} used to run the job
+     *                                                  in a single instance at a time.
+     * @param examLookupHelper                          The {@link ExamLookupHelper} used to look up the exams.
+     * @param ltiNamesAndRoleProvisioningServicesClient The {@link LtiNamesAndRoleProvisioningServicesClient}
+     *                                                  used to retrieve the rosters.
+     * @param ltiAssignmentAndGradeServicesClient       The {@link LtiAssignmentAndGradeServicesClient}
+     *                                                  used to retrieve the line-items of the linked exams.
+     * @param transactionTemplate                       A {@link TransactionTemplate} used to save
+     *                                                  each batch of exam takings in a transaction.
+     * @param properties                                The {@link RosterPrefetchProperties}
+     *                                                  used to configure the job.
+     */
+    public RosterPrefetchJob(
+            final ResourceLinkRepository resourceLinkRepository,
+            final ExamTakingRepository examTakingRepository,
+            final FinishedExamRepository finishedExamRepository,
+            final JobLockRepository jobLockRepository,
+            final ExamLookupHelper examLookupHelper,
+            final LtiNamesAndRoleProvisioningServicesClient ltiNamesAndRoleProvisioningServicesClient,
+            final LtiAssignmentAndGradeServicesClient ltiAssignmentAndGradeServicesClient,
+            final TransactionTemplate transactionTemplate,
+            final RosterPrefetchProperties properties) {
+        this.resourceLinkRepository = resourceLinkRepository;
+        this.examTakingRepository = examTakingRepository;
+        this.finishedExamRepository = finishedExamRepository;
+        this.jobLockRepository = jobLockRepository;
+        this.examLookupHelper = examLookupHelper;
+        this.ltiNamesAndRoleProvisioningServicesClient = ltiNamesAndRoleProvisioningServicesClient;
+        this.ltiAssignmentAndGradeServicesClient = ltiAssignmentAndGradeServicesClient;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.prefetchedExams = new ConcurrentHashMap<>();
+    }
+
+
+    /**
+     * Prefetches the rosters of the upcoming exams that start within the configured lead time
+     * (if the job is enabled, and no other instance is running it).
+     * Only the exams not known to be finished are looked up.
+     */
+    @Scheduled(fixedDelayString = "${lti-service.app.roster-prefetch.check-delay:60000}")
+    public void prefetch() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        final var lock = jobLockRepository.tryLock(LOCK_NAME);
+        if (lock.isEmpty()) {
+            LOGGER.debug("The rosters are being prefetched by another instance");
+            return;
+        }
+        try (final var ignored = lock.get()) {
+            final var limit = LocalDateTime.now().plus(properties.getLead());
+            resourceLinkRepository.findUnfinishedExamIds().forEach(examId -> check(examId, limit));
+        }
+    }
+
+
+    // ================================================================================================================
+    // Helpers
+    // ================================================================================================================
+
+    /**
+     * Looks up the exam with the given {@code examId}, and prefetches its rosters if it is upcoming,
+     * it starts before the given {@code limit}, and it was not prefetched yet for its current starting moment.
+     * Exams that are already in progress are not prefetched, as their students are already launching them,
+     * and exams that are finished (or that do not exist anymore) are recorded as such.
+     *
+     * @param examId The id of the exam to be checked.
+     * @param limit  The {@link LocalDateTime} before which the exam must start in order to be prefetched.
+     */
+    private void check(final long examId, final LocalDateTime limit) {
+        try {
+            final var exam = examLookupHelper.getExam(examId).orElse(null);
+            if (exam == null || exam.getState() == Exam.State.FINISHED) {
+                markFinished(examId);
+                return;
+            }
+            if (exam.getState() != Exam.State.UPCOMING) {
+                prefetchedExams.remove(examId);
+                return;
+            }
+            if (exam.getStartingAt().isAfter(limit) || exam.getStartingAt().equals(prefetchedExams.get(examId))) {
+                return;
+            }
+            resourceLinkRepository.find(examId).stream()
+                    .filter(link -> link.getLineItemsUrl() != null && link.getContextMembershipsUrl() != null)
+                    .forEach(link -> prefetch(exam, link));
+            prefetchedExams.put(examId, exam.getStartingAt());
+        } catch (final ExternalServiceException e) {
+            LOGGER.warn("Could not prefetch the rosters of exam {}", examId);
+            LOGGER.debug("Prefetch error: ", e);
+        } catch (final RuntimeException e) {
+            LOGGER.error("Unexpected error when prefetching the rosters of exam {}", examId, e);
+        }
+    }
+
+    /**
+     * Records that the exam with the given {@code examId} is finished, so it is not looked up anymore.
+     * Failures are logged, as the exam will be looked up (and recorded) again by the next run.
+     *
+     * @param examId The id of the finished exam.
+     */
+    private void markFinished(final long examId) {
+        prefetchedExams.remove(examId);
+        try {
+            if (!finishedExamRepository.existsById(examId)) {
+                finishedExamRepository.save(FinishedExam.create(examId));
+            }
+        } catch (final RuntimeException e) {
+            LOGGER.debug("Could not record exam {} as finished", examId, e);
+        }
+    }
+
+    /**
+     * Prefetches the roster of the context of the given {@code resourceLink}.
+     *
+     * @param exam         The linked {@link Exam}.
+     * @param resourceLink The {@link ResourceLink} whose context's roster must be prefetched.
+     * @throws ExternalServiceException If there is any issue when communicating with the LMS.
+     */
+    private void prefetch(final Exam exam, final ResourceLink resourceLink) throws ExternalServiceException {
+        final var toolDeployment = resourceLink.getToolDeployment();
+        final var lineItemUrl = ltiAssignmentAndGradeServicesClient
+                .findLineItem(toolDeployment, resourceLink.getLineItemsUrl(), Long.toString(exam.getId()))
+                .orElse(null);
+        if (lineItemUrl == null) {
+            LOGGER.debug("The LMS {} has no line-item for exam {} yet", toolDeployment.getIssuer(), exam.getId());
+            return;
+        }
+        final var knownSubjects = new HashSet<>(examTakingRepository.findSubjects(exam.getId()));
+        final var created = new AtomicInteger();
+        ltiNamesAndRoleProvisioningServicesClient.streamMembers(
+                toolDeployment,
+                resourceLink.getContextMembershipsUrl(),
+                page -> {
+                    final var examTakings = page.stream()
+                            .filter(ContextMember::isActiveLearner)
+                            .map(ContextMember::getUserId)
+                            .filter(Objects::nonNull)
+                            .filter(knownSubjects::add)
+                            .map(subject -> ExamTaking.withoutId(
+                                    exam.getId(),
+                                    subject,
+                                    lineItemUrl,
+                                    exam.getMaxScore(),
+                                    toolDeployment
+                            ))
+                            .collect(Collectors.toList());
+                    created.addAndGet(save(examTakings).size());
+                }
+        );
+        LOGGER.info(
+                "Prefetched {} exam takings of exam {} from the LMS {}",
+                created.get(),
+                exam.getId(),
+                toolDeployment.getIssuer()
+        );
+    }
+
+    /**
+     * Saves the given {@code examTakings} in batches of the configured size, each of them in a transaction.
+     * Exam takings that already exist (e.g because the student launched the exam meanwhile) are skipped.
+     *
+     * @param examTakings The {@link ExamTaking}s to be saved.
+     * @return A {@link List} containing the {@link ExamTaking}s that were saved.
+     */
+    private List<ExamTaking> save(final List<ExamTaking> examTakings) {
+        final var batchSize = Math.max(1, properties.getBatchSize());
+        final var saved = new ArrayList<ExamTaking>(examTakings.size());
+        for (var from = 0; from < examTakings.size(); from += batchSize) {
+            final var batch = examTakings.subList(from, Math.min(from + batchSize, examTakings.size()));
+            saved.addAll(transactionTemplate.execute(status -> examTakingRepository.saveAllIfAbsent(batch)));
+        }
+        return saved;
+    }
+}
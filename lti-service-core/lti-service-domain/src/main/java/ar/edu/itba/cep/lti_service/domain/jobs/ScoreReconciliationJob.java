@@ -0,0 +1,335 @@
+package ar.edu.itba.cep.lti_service.domain.jobs;
+
+import ar.edu.itba.cep.lti_service.domain.config.ScoreReconciliationConfig.ScoreReconciliationProperties;
+import ar.edu.itba.cep.lti_service.domain.helpers.ScorePublicationHelper;
+import ar.edu.itba.cep.lti_service.external_lti_web_services.LineItemResult;
+import ar.edu.itba.cep.lti_service.external_lti_web_services.LtiAssignmentAndGradeServicesClient;
+import ar.edu.itba.cep.lti_service.models.ExamTaking;
+import ar.edu.itba.cep.lti_service.models.ScoreReconciliation;
+import ar.edu.itba.cep.lti_service.models.ToolDeployment;
+import ar.edu.itba.cep.lti_service.repositories.ExamTakingRepository;
+import ar.edu.itba.cep.lti_service.repositories.ScoreReconciliationRepository;
+import com.bellotapps.webapps_commons.exceptions.ExternalServiceException;
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A job that performs the requested {@link ScoreReconciliation}s in background,
+ * reconciling the scores of an exam with the results stored in the LMSs.
+ * Each reconciliation is claimed by only one instance, and the scores are processed in pages,
+ * recording the outcome of each one in its own transaction (i.e the progress is committed after each page,
+ * and a reconciliation abandoned by a crashed instance is restarted by another one).
+ * The LMSs are called outside any transaction.
+ * The results of each line-item are fetched concurrently (the pages of a line-item are fetched sequentially,
+ * as each one links to the next), and only the scores that differ are republished.
+ */
+@Component
+public class ScoreReconciliationJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScoreReconciliationJob.class);
+
+    /**
+     * The {@link ScoreReconciliationRepository} from where the requested reconciliations are taken.
+     */
+    private final ScoreReconciliationRepository scoreReconciliationRepository;
+    /**
+     * The {@link ExamTakingRepository} from where the known scores are taken.
+     */
+    private final ExamTakingRepository examTakingRepository;
+    /**
+     * The {@link LtiAssignmentAndGradeServicesClient} used to retrieve the LMSs results.
+     */
+    private final LtiAssignmentAndGradeServicesClient ltiAssignmentAndGradeServicesClient;
+    /**
+     * The {@link ScorePublicationHelper} used to republish the scores that differ.
+     */
+    private final ScorePublicationHelper scorePublicationHelper;
+    /**
+     * A {@link TransactionTemplate} used to claim the reconciliations, to load each page of scores,
+     * and to record its outcome.
+     */
+    private final TransactionTemplate transactionTemplate;
+    /**
+     * The {@link ScoreReconciliationProperties} used to page and to claim the reconciliations.
+     */
+    private final ScoreReconciliationProperties properties;
+    /**
+     * The {@link Executor} in which the LMSs results are fetched.
+     */
+    private final Executor executor;
+
+
+    /**
+     * Constructor.
+     *
+     * @param scoreReconciliationRepository       The {@link ScoreReconciliationRepository}
+     *                                            from where the requested reconciliations are taken.
+     * @param examTakingRepository                The {@link ExamTakingRepository}
+     *                                            from where the known scores are taken.
+     * @param ltiAssignmentAndGradeServicesClient The {@link LtiAssignmentAndGradeServicesClient}
+     *                                            used to retrieve the LMSs results.
+     * @param scorePublicationHelper              The {@link ScorePublicationHelper}
+     *                                            used to republish the scores that differ.
+     * @param transactionTemplate                 A {@link TransactionTemplate} used to claim the reconciliations,
+     *                                            to load each page of scores, and to record its outcome.
+     * @param properties                          The {@link ScoreReconciliationProperties}
+     *                                            used to page and to claim the reconciliations.
+     * @param executor                            The {@link Executor} in which the LMSs results are fetched.
+     */
+    @Autowired
+    public ScoreReconciliationJob(
+            final ScoreReconciliationRepository scoreReconciliationRepository,
+            final ExamTakingRepository examTakingRepository,
+            final LtiAssignmentAndGradeServicesClient ltiAssignmentAndGradeServicesClient,
+            final ScorePublicationHelper scorePublicationHelper,
+            final TransactionTemplate transactionTemplate,
+            final ScoreReconciliationProperties properties,
+            @Qualifier("scoreReconciliationExecutor") final Executor executor) {
+        this.scoreReconciliationRepository = scoreReconciliationRepository;
+        this.examTakingRepository = examTakingRepository;
+        this.ltiAssignmentAndGradeServicesClient = ltiAssignmentAndGradeServicesClient;
+        this.scorePublicationHelper = scorePublicationHelper;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.executor = executor;
+    }
+
+
+    /**
+     * Performs the claimable {@link ScoreReconciliation}s
+     * (i.e the pending ones, and those abandoned by a crashed instance).
+     */
+    @Scheduled(fixedDelayString = "${lti-service.app.score-reconciliation.job-delay:10000}")
+    public void reconcilePending() {
+        final var claimable = transactionTemplate.execute(
+                status -> scoreReconciliationRepository.findClaimable(staleBefore())
+        );
+        if (claimable == null) {
+            return;
+        }
+        for (final var id : claimable) {
+            final var claimed = transactionTemplate.execute(
+                    status -> scoreReconciliationRepository.claim(id, staleBefore())
+            );
+            if (Boolean.TRUE.equals(claimed)) {
+                reconcile(id);
+            }
+        }
+    }
+
+    /**
+     * Performs the (already claimed) {@link ScoreReconciliation} with the given {@code id}.
+     *
+     * @param id The id of the {@link ScoreReconciliation} to be performed.
+     */
+    private void reconcile(final UUID id) {
+        final var examId = updateReconciliation(id, ScoreReconciliation::start).getExamId();
+        final var results = new HashMap<LineItem, Optional<Map<String, LineItemResult>>>();
+        UUID after = null;
+        while (true) {
+            final var last = after;
+            // The page is loaded together with the tool deployments, so the LMSs can be called once it is detached
+            final var page = transactionTemplate.execute(
+                    status -> examTakingRepository.findScored(examId, last, properties.getPageSize())
+            );
+            if (page == null || page.isEmpty()) {
+                break;
+            }
+            reconcilePage(id, page, results);
+            after = page.get(page.size() - 1).getId();
+        }
+        final var reconciliation = updateReconciliation(id, ScoreReconciliation::finish);
+        LOGGER.info(
+                "Reconciled scores of exam {}. Compared: {}; republished: {}; failed line-items: {}",
+                examId,
+                reconciliation.getComparedScores(),
+                reconciliation.getRepublishedScores(),
+                reconciliation.getFailedLineItems()
+        );
+    }
+
+    /**
+     * Reconciles the given {@code page} of scores,
+     * registering the progress in the {@link ScoreReconciliation} with the given {@code id}.
+     * The results are fetched, and the scores that differ are republished, outside any transaction.
+     * Then, the outcome of the republications and the progress are recorded in a single transaction.
+     *
+     * @param id      The id of the {@link ScoreReconciliation} being performed.
+     * @param page    The page of scored {@link ExamTaking}s (with their tool deployments already loaded).
+     * @param results The results of the line-items already fetched (updated with the newly fetched ones).
+     */
+    private void reconcilePage(
+            final UUID id,
+            final List<ExamTaking> page,
+            final Map<LineItem, Optional<Map<String, LineItemResult>>> results) {
+        final var fetching = page.stream()
+                .map(LineItem::of)
+                .distinct()
+                .filter(lineItem -> !results.containsKey(lineItem))
+                .collect(Collectors.toMap(Function.identity(), this::fetchResults));
+        var failed = 0;
+        for (final var entry : fetching.entrySet()) {
+            final var lineItemResults = join(entry.getKey(), entry.getValue());
+            results.put(entry.getKey(), lineItemResults);
+            if (lineItemResults.isEmpty()) {
+                failed++;
+            }
+        }
+        var compared = 0;
+        final var republished = new LinkedHashMap<ExamTaking, Optional<ExternalServiceException>>();
+        for (final var examTaking : page) {
+            final var lineItemResults = results.get(LineItem.of(examTaking));
+            if (lineItemResults.isEmpty()) {
+                continue;
+            }
+            compared++;
+            if (differs(examTaking, lineItemResults.get().get(examTaking.getSubject()))) {
+                republished.put(examTaking, scorePublicationHelper.attempt(examTaking, examTaking.getScore()));
+            }
+        }
+        final var comparedScores = compared;
+        final var failedLineItems = failed;
+        transactionTemplate.execute(status -> {
+            republished.forEach(
+                    (examTaking, failure) -> scorePublicationHelper.record(examTaking, examTaking.getScore(), failure)
+            );
+            final var reconciliation = scoreReconciliationRepository.findById(id)
+                    .orElseThrow(IllegalStateException::new);
+            reconciliation.progress(comparedScores, republished.size(), failedLineItems);
+            return scoreReconciliationRepository.save(reconciliation);
+        });
+    }
+
+
+    // ================================================================================================================
+    // Helpers
+    // ================================================================================================================
+
+    /**
+     * Applies the given {@code update} to the {@link ScoreReconciliation} with the given {@code id},
+     * in its own transaction.
+     *
+     * @param id     The id of the {@link ScoreReconciliation} to be updated.
+     * @param update A {@link Consumer} that performs the update.
+     * @return The updated {@link ScoreReconciliation}.
+     */
+    private ScoreReconciliation updateReconciliation(final UUID id, final Consumer<ScoreReconciliation> update) {
+        return transactionTemplate.execute(status -> {
+            final var reconciliation = scoreReconciliationRepository.findById(id)
+                    .orElseThrow(IllegalStateException::new);
+            update.accept(reconciliation);
+            return scoreReconciliationRepository.save(reconciliation);
+        });
+    }
+
+    /**
+     * Returns the {@link Instant} before which a running reconciliation is considered abandoned.
+     *
+     * @return The said {@link Instant}.
+     */
+    private Instant staleBefore() {
+        return Instant.now().minus(properties.getStaleAfter());
+    }
+
+    /**
+     * Starts fetching the results of the given {@code lineItem} in the {@link #executor}.
+     *
+     * @param lineItem The {@link LineItem} whose results must be fetched.
+     * @return A {@link CompletableFuture} that completes with the results of the line-item, keyed by user id.
+     */
+    private CompletableFuture<Map<String, LineItemResult>> fetchResults(final LineItem lineItem) {
+        return CompletableFuture.supplyAsync(
+                () -> ltiAssignmentAndGradeServicesClient
+                        .getResults(lineItem.getToolDeployment(), lineItem.getLineItemUrl())
+                        .stream()
+                        .filter(result -> result.getUserId() != null)
+                        .collect(Collectors.toMap(LineItemResult::getUserId, Function.identity(), (r1, r2) -> r2)),
+                executor
+        );
+    }
+
+    /**
+     * Waits for the results of the given {@code lineItem}.
+     *
+     * @param lineItem The {@link LineItem}.
+     * @param future   The {@link CompletableFuture} that completes with the results.
+     * @return An {@link Optional} containing the results if they could be fetched, or empty otherwise.
+     */
+    private static Optional<Map<String, LineItemResult>> join(
+            final LineItem lineItem,
+            final CompletableFuture<Map<String, LineItemResult>> future) {
+        try {
+            return Optional.of(future.join());
+        } catch (final CompletionException e) {
+            LOGGER.warn("Could not fetch the results of line-item {}", lineItem.getLineItemUrl());
+            LOGGER.debug("Fetch error: ", e.getCause());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Indicates whether the score of the given {@code examTaking} differs from the given LMS {@code result}.
+     * The LMS score is scaled to the exam's max. score if the LMS reports it against a different maximum.
+     *
+     * @param examTaking The {@link ExamTaking} (which must be scored).
+     * @param result     The {@link LineItemResult} of the subject (might be {@code null}).
+     * @return {@code true} if the scores differ (or if the LMS has no score), or {@code false} otherwise.
+     */
+    private static boolean differs(final ExamTaking examTaking, final LineItemResult result) {
+        if (result == null || result.getResultScore() == null) {
+            return true;
+        }
+        final var maxScore = examTaking.getMaxScore();
+        final var resultMaximum = Optional.ofNullable(result.getResultMaximum())
+                .filter(maximum -> maximum > 0)
+                .orElse((double) maxScore);
+        final var lmsScore = Math.round(result.getResultScore() * maxScore / resultMaximum);
+        return lmsScore != examTaking.getScore();
+    }
+
+
+    /**
+     * A line-item of an LMS (i.e the group of exam takings whose results are fetched together).
+     * Line-items are identified by the id of their tool deployment and their url
+     * (the {@link ToolDeployment}s are loaded for each page, so they are not compared).
+     */
+    @Value
+    @EqualsAndHashCode(of = {"toolDeploymentId", "lineItemUrl"})
+    private static final class LineItem {
+        private final UUID toolDeploymentId;
+        private final String lineItemUrl;
+        private final ToolDeployment toolDeployment;
+
+        /**
+         * Builds the {@link LineItem} of the given {@code examTaking}.
+         *
+         * @param examTaking The {@link ExamTaking}.
+         * @return The {@link LineItem} of the {@link ExamTaking}.
+         */
+        private static LineItem of(final ExamTaking examTaking) {
+            final var toolDeployment = examTaking.getToolDeployment();
+            return new LineItem(toolDeployment.getId(), examTaking.getLineItemUrl(), toolDeployment);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package ar.edu.itba.cep.lti_service.domain.managers;
+
+import ar.edu.itba.cep.lti_service.domain.helpers.AsyncServicesHelper;
+import ar.edu.itba.cep.lti_service.models.ToolDeployment;
+import ar.edu.itba.cep.lti_service.services.AsyncLtiAdminService;
+import ar.edu.itba.cep.lti_service.services.LtiAdminService;
+import io.jsonwebtoken.SignatureAlgorithm;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Manager in charge of providing the {@link LtiAdminService} operations asynchronously,
+ * by performing them in the {@link AsyncServicesHelper}
+ * (authorization is still performed by the {@link LtiAdminService}).
+ */
+@Service
+@AllArgsConstructor
+public class AsyncLtiAdminManager implements AsyncLtiAdminService {
+
+    /**
+     * The {@link LtiAdminService} that performs the operations.
+     */
+    private final LtiAdminService ltiAdminService;
+    /**
+     * The {@link AsyncServicesHelper} in charge of performing the operations asynchronously.
+     */
+    private final AsyncServicesHelper asyncServicesHelper;
+
+
+    @Override
+    public CompletionStage<List<ToolDeployment>> getAllToolDeployments() {
+        return asyncServicesHelper.supply(ltiAdminService::getAllToolDeployments);
+    }
+
+    @Override
+    public CompletionStage<List<ToolDeployment>> find(final String issuer) {
+        return asyncServicesHelper.supply(() -> ltiAdminService.find(issuer));
+    }
+
+    @Override
+    public CompletionStage<List<ToolDeployment>> find(final String clientId, final String issuer) {
+        return asyncServicesHelper.supply(() -> ltiAdminService.find(clientId, issuer));
+    }
+
+    @Override
+    public CompletionStage<Optional<ToolDeployment>> getToolDeploymentById(final UUID id) {
+        return asyncServicesHelper.supply(() -> ltiAdminService.getToolDeploymentById(id));
+    }
+
+    @Override
+    public CompletionStage<Optional<ToolDeployment>> find(
+            final String deploymentId,
+            final String clientId,
+            final String issuer) {
+        return asyncServicesHelper.supply(() -> ltiAdminService.find(deploymentId, clientId, issuer));
+    }
+
+    @Override
+    public CompletionStage<ToolDeployment> registerToolDeployment(
+            final String deploymentId,
+            final String clientId,
+            final String issuer,
+            final String oidcAuthenticationEndpoint,
+            final String jwksEndpoint,
+            final String privateKey,
+            final SignatureAlgorithm signatureAlgorithm,
+            final String applicationKey,
+            final String applicationSecret) {
+        return asyncServicesHelper.supply(
+                () -> ltiAdminService.registerToolDeployment(
+                        deploymentId,
+                        clientId,
+                        issuer,
+                        oidcAuthenticationEndpoint,
+                        jwksEndpoint,
+                        privateKey,
+                        signatureAlgorithm,
+                        applicationKey,
+                        applicationSecret
+                )
+        );
+    }
+
+    @Override
+    public CompletionStage<Void> unregisterToolDeployment(final UUID id) {
+        return asyncServicesHelper.run(() -> ltiAdminService.unregisterToolDeployment(id));
+    }
+}
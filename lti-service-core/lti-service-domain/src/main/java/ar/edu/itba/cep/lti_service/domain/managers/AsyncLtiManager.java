@@ -0,0 +1,59 @@
+package ar.edu.itba.cep.lti_service.domain.managers;
+
+import ar.edu.itba.cep.lti.*;
+import ar.edu.itba.cep.lti_service.domain.helpers.AsyncServicesHelper;
+import ar.edu.itba.cep.lti_service.services.AsyncLtiService;
+import ar.edu.itba.cep.lti_service.services.LtiService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Manager in charge of providing the {@link LtiService} operations asynchronously,
+ * by performing them in the {@link AsyncServicesHelper}.
+ * The operations are not rewritten as chains of asynchronous calls, as they read and write the database
+ * through blocking repositories inside transactions bound to the executing thread, which must outlive any remote call.
+ * Instead, the remote calls performed in background (i.e the exams cache loads and the student tokens issuance)
+ * compose the asynchronous operations of the external CEP services ports, so that, if a non-blocking adapter
+ * is packaged, the executors in which they are started do not hold a thread while waiting for the responses.
+ */
+@Service
+@AllArgsConstructor
+public class AsyncLtiManager implements AsyncLtiService {
+
+    /**
+     * The {@link LtiService} that performs the operations.
+     */
+    private final LtiService ltiService;
+    /**
+     * The {@link AsyncServicesHelper} in charge of performing the operations asynchronously.
+     */
+    private final AsyncServicesHelper asyncServicesHelper;
+
+
+    @Override
+    public CompletionStage<AuthenticationRequest> loginInitiation(final LoginInitiationRequest loginInitiationRequest) {
+        return asyncServicesHelper.supply(() -> ltiService.loginInitiation(loginInitiationRequest));
+    }
+
+    @Override
+    public CompletionStage<ExamSelectionResponse> examSelection(final AuthenticationResponse authenticationResponse) {
+        return asyncServicesHelper.supply(() -> ltiService.examSelection(authenticationResponse));
+    }
+
+    @Override
+    public CompletionStage<ExamSelectedResponse> examSelected(final ExamSelectedRequest examSelectedRequest) {
+        return asyncServicesHelper.supply(() -> ltiService.examSelected(examSelectedRequest));
+    }
+
+    @Override
+    public CompletionStage<ExamTakingResponse> takeExam(final AuthenticationResponse authenticationResponse) {
+        return asyncServicesHelper.supply(() -> ltiService.takeExam(authenticationResponse));
+    }
+
+    @Override
+    public CompletionStage<Void> scoreExam(final ExamScoringRequest request) {
+        return asyncServicesHelper.run(() -> ltiService.scoreExam(request));
+    }
+}
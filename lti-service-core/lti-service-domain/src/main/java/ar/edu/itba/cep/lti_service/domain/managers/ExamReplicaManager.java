@@ -0,0 +1,35 @@
+package ar.edu.itba.cep.lti_service.domain.managers;
+
+import ar.edu.itba.cep.lti_service.domain.jobs.ExamReplicaSyncJob;
+import ar.edu.itba.cep.lti_service.services.ExamReplicaService;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+/**
+ * Manager in charge of providing services that allows keeping the local replica of exams synchronized.
+ */
+@Service
+@AllArgsConstructor
+public class ExamReplicaManager implements ExamReplicaService {
+
+    /**
+     * The {@link Logger}.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExamReplicaManager.class);
+
+    /**
+     * The {@link ExamReplicaSyncJob} used to synchronize the replica.
+     */
+    private final ExamReplicaSyncJob examReplicaSyncJob;
+
+
+    @Override
+    @PreAuthorize("hasAuthority('SERVICE')")
+    public void examChanged(final long examId) {
+        LOGGER.debug("Exam {} changed. Requesting a synchronization of the replica", examId);
+        examReplicaSyncJob.requestSync(examId);
+    }
+}
@@ -1,5 +1,6 @@
 package ar.edu.itba.cep.lti_service.domain.managers;
 
+import ar.edu.itba.cep.lti_service.domain.helpers.PlatformKeysHelper;
 import ar.edu.itba.cep.lti_service.models.ToolDeployment;
 import ar.edu.itba.cep.lti_service.repositories.ToolDeploymentRepository;
 import ar.edu.itba.cep.lti_service.services.LtiAdminService;
@@ -30,6 +31,10 @@ public class LtiAdminManager implements LtiAdminService {
      * A {@link ToolDeploymentRepository}.
      */
     private final ToolDeploymentRepository toolDeploymentRepository;
+    /**
+     * The {@link PlatformKeysHelper} from where the private keys of the unregistered tool deployments are evicted.
+     */
+    private final PlatformKeysHelper platformKeysHelper;
 
 
     // ================================================================================================================
@@ -106,6 +111,7 @@ public class LtiAdminManager implements LtiAdminService {
     public void unregisterToolDeployment(final UUID id) {
         if (toolDeploymentRepository.existsById(id)) {
             toolDeploymentRepository.deleteById(id);
+            platformKeysHelper.evictPrivateKey(id);
         }
     }
 
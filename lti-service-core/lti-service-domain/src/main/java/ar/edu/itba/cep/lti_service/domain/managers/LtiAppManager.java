@@ -4,24 +4,23 @@ import ar.edu.itba.cep.lti.*;
 import ar.edu.itba.cep.lti_service.domain.helpers.*;
 import ar.edu.itba.cep.lti_service.domain.helpers.LtiDeepLinkingResponseHelper.LtiResourceLink;
 import ar.edu.itba.cep.lti_service.domain.helpers.LtiDeepLinkingResponseHelper.LtiResourceLink.LineItem;
-import ar.edu.itba.cep.lti_service.external_cep_services.evaluations_service.EvaluationsService;
 import ar.edu.itba.cep.lti_service.external_cep_services.evaluations_service.Exam;
-import ar.edu.itba.cep.lti_service.external_cep_services.tokens_service.TokensService;
-import ar.edu.itba.cep.lti_service.external_lti_web_services.LtiAssignmentAndGradeServicesClient;
 import ar.edu.itba.cep.lti_service.models.ExamTaking;
+import ar.edu.itba.cep.lti_service.models.ResourceLink;
 import ar.edu.itba.cep.lti_service.models.ToolDeployment;
 import ar.edu.itba.cep.lti_service.repositories.ExamTakingRepository;
+import ar.edu.itba.cep.lti_service.repositories.ResourceLinkRepository;
 import ar.edu.itba.cep.lti_service.repositories.ToolDeploymentRepository;
 import ar.edu.itba.cep.lti_service.services.LtiBadRequestException;
 import ar.edu.itba.cep.lti_service.services.LtiService;
-import ar.edu.itba.cep.roles.Role;
 import com.bellotapps.webapps_commons.exceptions.NoSuchEntityException;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static ar.edu.itba.cep.lti_service.domain.helpers.LtiDeepLinkingRequestHelper.DeepLinkingContentType.LTI_RESOURCE_LINK;
 
@@ -34,27 +33,27 @@ import static ar.edu.itba.cep.lti_service.domain.helpers.LtiDeepLinkingRequestHe
 public class LtiAppManager implements LtiService {
 
     private static final String EXAM_ID_CUSTOM = "exam-id";
-    private static final String RETURN_URL_LAUNCH_PRESENTATION = "return_url";
     private static final String RESOURCE_LINK_REQUEST = "LtiResourceLinkRequest";
 
 
     private final ToolDeploymentRepository toolDeploymentRepository;
     private final ExamTakingRepository examTakingRepository;
+    private final ResourceLinkRepository resourceLinkRepository;
 
     private final LtiStateHelper ltiStateHelper;
     private final LtiMessageDeserializer ltiMessageDeserializer;
     private final LtiMessageValidator ltiMessageValidator;
     private final LtiDeepLinkingRequestHelper ltiDeepLinkingRequestHelper;
     private final ExamSelectionStateHelper examSelectionStateHelper;
-    private final LtiMessageSerializer ltiMessageSerializer;
-    private final LtiDeepLinkingResponseHelper ltiDeepLinkingResponseHelper;
+    private final LtiDeepLinkingResponseEncoder ltiDeepLinkingResponseEncoder;
 
     private final LtiAssignmentAndGradeServicesHelper ltiAssignmentAndGradeServicesHelper;
+    private final LtiNamesAndRoleProvisioningServicesHelper ltiNamesAndRoleProvisioningServicesHelper;
 
-    private final EvaluationsService evaluationsService;
-    private final TokensService tokensService;
+    private final ExamLookupHelper examLookupHelper;
+    private final StudentTokenHelper studentTokenHelper;
 
-    private final LtiAssignmentAndGradeServicesClient ltiAssignmentAndGradeServicesClient;
+    private final ScorePublicationHelper scorePublicationHelper;
 
 
     @Override
@@ -98,8 +97,9 @@ public class LtiAppManager implements LtiService {
 
 
     @Override
+    @Transactional
     public ExamSelectedResponse examSelected(final ExamSelectedRequest examSelectedRequest) {
-        return evaluationsService.getExamById(examSelectedRequest.getExamId())
+        return examLookupHelper.getExam(examSelectedRequest.getExamId())
                 .map(exam -> existingExam(exam, examSelectedRequest))
                 .orElseGet(NonExistingExamSelectedResponse::getInstance)
                 ;
@@ -115,7 +115,11 @@ public class LtiAppManager implements LtiService {
     @Transactional
     public void scoreExam(final ExamScoringRequest request) {
         examTakingRepository.get(request.getExamId(), request.getSubject()).ifPresentOrElse(
-                examTaking -> ltiAssignmentAndGradeServicesClient.publishScore(examTaking, request.getScore()),
+                examTaking -> {
+                    examTaking.updateScore(request.getScore());
+                    examTakingRepository.save(examTaking);
+                    scorePublicationHelper.publish(examTaking, request.getScore());
+                },
                 () -> {
                     throw new IllegalStateException("No Exam Taking with the given arguments");
                 }
@@ -152,10 +156,10 @@ public class LtiAppManager implements LtiService {
      * Performs the exam creation initiation step of the Deep Linking flow.
      *
      * @param toolDeployment The {@link ToolDeployment} representing the integration exchanging the message.
-     * @param ltiMessage     A {@link Map} representing the LTI message.
+     * @param ltiMessage     The {@link LtiMessage}.
      * @return The {@link ExamSelectionResponse} resulting of the given {@code ltiMessage}.
      */
-    private ExamSelectionResponse examSelection(final ToolDeployment toolDeployment, final Map<String, Object> ltiMessage) {
+    private ExamSelectionResponse examSelection(final ToolDeployment toolDeployment, final LtiMessage ltiMessage) {
 
         // First get the deep linking settings and the assignment and grades services capabilities,
         // and validate that exams can be created.
@@ -169,7 +173,9 @@ public class LtiAppManager implements LtiService {
                 settings.getReturnUrl(),
                 settings.getData(),
                 toolDeployment.getId(),
-                UUID.randomUUID().toString()
+                UUID.randomUUID().toString(),
+                capabilities.getLineItems(),
+                ltiNamesAndRoleProvisioningServicesHelper.extractContextMembershipsUrl(ltiMessage).orElse(null)
         );
         final var state = examSelectionStateHelper.encode(examSelectionStateData);
 
@@ -194,25 +200,33 @@ public class LtiAppManager implements LtiService {
                 .orElseThrow(IllegalStateException::new);
         final var ltiResourceLinkBuilder = adaptExamToLti(exam).url(request.getUrl());
         Optional.ofNullable(request.getIcon()).map(LtiAppManager::mapImage).ifPresent(ltiResourceLinkBuilder::icon);
-        Optional.ofNullable(request.getThumbnail()).map(LtiAppManager::mapImage).ifPresent(ltiResourceLinkBuilder::thumbnail);
-
+        Optional.ofNullable(request.getThumbnail())
+                .map(LtiAppManager::mapImage)
+                .ifPresent(ltiResourceLinkBuilder::thumbnail);
 
-        final var ltiMessage = ltiDeepLinkingResponseHelper.buildMessage(
+        // Register the link, so it is known which LMSs will take the exam before any student launches it
+        // (only once per context, as the same exam can be selected several times).
+        resourceLinkRepository.saveIfAbsent(ResourceLink.create(
+                exam.getId(),
                 toolDeployment,
-                state.getData(),
-                List.of(ltiResourceLinkBuilder.build())
-        );
+                state.getLineItemsUrl(),
+                state.getContextMembershipsUrl()
+        ));
 
         return new ExistingExamSelectedResponse(
                 state.getReturnUrl(),
-                ltiMessageSerializer.serialize(ltiMessage, toolDeployment),
+                ltiDeepLinkingResponseEncoder.encode(
+                        toolDeployment,
+                        state.getData(),
+                        List.of(ltiResourceLinkBuilder.build())
+                ),
                 examExamToExamData(exam)
         );
     }
 
-    private ExamTakingResponse takeExam(final ToolDeployment toolDeployment, final Map<String, Object> ltiMessage) {
+    private ExamTakingResponse takeExam(final ToolDeployment toolDeployment, final LtiMessage ltiMessage) {
         // First check if the message is an LtiResourceLinkRequest
-        if (!RESOURCE_LINK_REQUEST.equals(ltiMessage.get(LtiConstants.LtiClaims.MESSAGE_TYPE))) {
+        if (!RESOURCE_LINK_REQUEST.equals(ltiMessage.getMessageType())) {
             throw new LtiBadRequestException("Message type should be an LtiResourceLinkRequest");
         }
 
@@ -225,10 +239,7 @@ public class LtiAppManager implements LtiService {
 
         // We proceed to process the message...
         // First extract stuff to be stored for later retrieval for when the score publishing process is executed.
-        final var examId = getCustomProperties(ltiMessage)
-                .flatMap(m -> Optional.ofNullable(m.get(EXAM_ID_CUSTOM)))
-                .filter(String.class::isInstance)
-                .map(String.class::cast)
+        final var examId = ltiMessage.getCustomProperty(EXAM_ID_CUSTOM)
                 .map(str -> {
                     try {
                         return Long.valueOf(str);
@@ -237,31 +248,33 @@ public class LtiAppManager implements LtiService {
                     }
                 })
                 .orElseThrow(() -> new RuntimeException("Missing exam id"));
-        final var exam = evaluationsService.getExamById(examId)
-                .orElseThrow(() -> new IllegalStateException("Could not retrieve the exam. Maybe was deleted?"));
-
-
-        final var userId = Optional.ofNullable(ltiMessage.get(LtiConstants.LtiClaims.SUBJECT))
-                .filter(String.class::isInstance)
-                .map(String.class::cast)
+        final var userId = Optional.ofNullable(ltiMessage.getSubject())
                 .orElseThrow(() -> new LtiBadRequestException("Missing user id"));
         final var lineItemUrl = capabilities.getLineItem();
         if (lineItemUrl == null) {
             throw new LtiBadRequestException("Missing lineitem capability");
         }
-        if (!examTakingRepository.exists(examId, userId)) {
-            final var examTaking = ExamTaking.withoutId(examId, userId, lineItemUrl, exam.getMaxScore(), toolDeployment);
-            examTakingRepository.save(examTaking);
+
+        // The token depends neither on the exam nor on the exam taking, so it is issued while the exam is looked up
+        // and the exam taking is stored (i.e the launch takes as long as the slowest remote call, not their sum).
+        // If the exam does not exist (or anything else fails), the token request is cancelled.
+        final var tokenFuture = studentTokenHelper.requestToken(userId, examId);
+        try {
+            final var exam = examLookupHelper.getExam(examId)
+                    .orElseThrow(() -> new IllegalStateException("Could not retrieve the exam. Maybe was deleted?"));
+            // The exam taking is only created if it does not exist (e.g it was prefetched, or this is a relaunch),
+            // atomically, so concurrent launches of the same student do not create duplicates.
+            examTakingRepository.saveIfAbsent(
+                    ExamTaking.withoutId(examId, userId, lineItemUrl, exam.getMaxScore(), toolDeployment)
+            );
+        } catch (final RuntimeException e) {
+            tokenFuture.cancel(false);
+            throw e;
         }
 
         // Then get other needed stuff for the response.
-        final var tokenData = tokensService.tokenFor(userId, Set.of(Role.STUDENT))
-                .orElseThrow(() -> new IllegalStateException("Could not get token"));
-        final var returnUrl = launchPresentation(ltiMessage)
-                .flatMap(m -> Optional.ofNullable(m.get(RETURN_URL_LAUNCH_PRESENTATION)))
-                .filter(String.class::isInstance)
-                .map(String.class::cast)
-                .orElse(null);
+        final var tokenData = join(tokenFuture);
+        final var returnUrl = ltiMessage.getLaunchPresentationReturnUrl();
 
         // Finally, build the response
         return new ExamTakingResponse(
@@ -275,6 +288,24 @@ public class LtiAppManager implements LtiService {
 
     // ================== Other helpers ===================
 
+    /**
+     * Waits for the given {@code future} to complete, rethrowing the exception that made it fail (if any).
+     *
+     * @param future The {@link CompletableFuture} to be waited for.
+     * @param <T>    The concrete type of the result.
+     * @return The result of the {@link CompletableFuture}.
+     */
+    private static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
     /**
      * Validates that the tool can link an exam in the LMS.
      *
@@ -365,42 +396,6 @@ public class LtiAppManager implements LtiService {
                 ;
     }
 
-    /**
-     * Extracts the {@link Map} of custom properties in the given {@code ltiMessage}.
-     *
-     * @param ltiMessage The LTI message to be analyzed.
-     * @return The {@link Map} of custom properties.
-     */
-    private static Optional<Map<String, Object>> getCustomProperties(final Map<String, Object> ltiMessage) {
-        return getMap(LtiConstants.LtiClaims.CUSTOM, ltiMessage);
-    }
-
-    /**
-     * Retrieves the launch presentation {@link Map} from the given {@code ltiMessage}.
-     *
-     * @param ltiMessage The LTI message to be analyzed.
-     * @return THe launch presentation {@link Map}.
-     */
-    private static Optional<Map<String, Object>> launchPresentation(final Map<String, Object> ltiMessage) {
-        return getMap(LtiConstants.LtiClaims.LAUNCH_PRESENTATION, ltiMessage);
-    }
-
-    /**
-     * Retrieves the {@link Map} for the given {@code claim} from the given {@code ltiMessage}.
-     *
-     * @param claim      The claim to be extracted.
-     * @param ltiMessage The LTI message to be analyzed.
-     * @return THe launch presentation {@link Map}.
-     */
-    private static Optional<Map<String, Object>> getMap(final String claim, final Map<String, Object> ltiMessage) {
-        return Optional.ofNullable(ltiMessage.get(claim))
-                .filter(Map.class::isInstance)
-                .map(m -> (Map<?, ?>) m)
-                .filter(m -> m.keySet().stream().allMatch(String.class::isInstance))
-                .map(m -> m.entrySet().stream().collect(Collectors.toMap(e -> e.getKey().toString(), Map.Entry::getValue)))
-                ;
-    }
-
 
     /**
      * A functional interface that defines a method to build an object from a
@@ -415,9 +410,9 @@ public class LtiAppManager implements LtiService {
          * Builds an object from a {@link ToolDeployment} and an LTI message.
          *
          * @param toolDeployment The {@link ToolDeployment} representing the integration exchanging the message.
-         * @param ltiMessage     A {@link Map} representing the LTI message.
+         * @param ltiMessage     The {@link LtiMessage}.
          * @return The built object.
          */
-        C handle(final ToolDeployment toolDeployment, final Map<String, Object> ltiMessage);
+        C handle(final ToolDeployment toolDeployment, final LtiMessage ltiMessage);
     }
 }
@@ -0,0 +1,85 @@
+package ar.edu.itba.cep.lti_service.domain.managers;
+
+import ar.edu.itba.cep.lti_service.domain.helpers.ScorePublicationHelper;
+import ar.edu.itba.cep.lti_service.domain.jobs.ScoreReconciliationJob;
+import ar.edu.itba.cep.lti_service.models.FailedScorePublication;
+import ar.edu.itba.cep.lti_service.models.ScoreReconciliation;
+import ar.edu.itba.cep.lti_service.repositories.FailedScorePublicationRepository;
+import ar.edu.itba.cep.lti_service.repositories.ScoreReconciliationRepository;
+import ar.edu.itba.cep.lti_service.services.LtiScoresAdminService;
+import com.bellotapps.webapps_commons.exceptions.NoSuchEntityException;
+import lombok.AllArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Manager in charge of providing services that allows administrating the scores published in the LMSs.
+ */
+@Service
+@AllArgsConstructor
+@Transactional(readOnly = true)
+public class LtiScoresAdminManager implements LtiScoresAdminService {
+
+    /**
+     * A {@link FailedScorePublicationRepository}.
+     */
+    private final FailedScorePublicationRepository failedScorePublicationRepository;
+    /**
+     * A {@link ScorePublicationHelper} used to replay {@link FailedScorePublication}s.
+     */
+    private final ScorePublicationHelper scorePublicationHelper;
+    /**
+     * A {@link ScoreReconciliationRepository} where the reconciliations performed by the
+     * {@link ScoreReconciliationJob} are requested.
+     */
+    private final ScoreReconciliationRepository scoreReconciliationRepository;
+
+
+    // ================================================================================================================
+    // Failed score publications
+    // ================================================================================================================
+
+    @Override
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public List<FailedScorePublication> getDeadLetteredScorePublications() {
+        return failedScorePublicationRepository.findDeadLettered();
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public Optional<FailedScorePublication> getFailedScorePublication(final UUID id) {
+        return failedScorePublicationRepository.findById(id);
+    }
+
+    @Override
+    @Transactional
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public void replayFailedScorePublication(final UUID id) throws NoSuchEntityException {
+        final var publication = failedScorePublicationRepository.findById(id).orElseThrow(NoSuchEntityException::new);
+        scorePublicationHelper.replay(publication);
+    }
+
+
+    // ================================================================================================================
+    // Reconciliation
+    // ================================================================================================================
+
+    @Override
+    @Transactional
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ScoreReconciliation requestScoreReconciliation(final long examId) {
+        return scoreReconciliationRepository.findUnfinished(examId)
+                .orElseGet(() -> scoreReconciliationRepository.save(ScoreReconciliation.pending(examId)));
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public Optional<ScoreReconciliation> getScoreReconciliation(final UUID id) {
+        return scoreReconciliationRepository.findById(id);
+    }
+}
@@ -0,0 +1,138 @@
+package ar.edu.itba.cep.lti_service.domain.benchmarks;
+
+import ar.edu.itba.cep.lti_service.domain.config.PlatformKeysConfig.PlatformKeysProperties;
+import ar.edu.itba.cep.lti_service.domain.helpers.LtiConstants;
+import ar.edu.itba.cep.lti_service.domain.helpers.LtiDeepLinkingResponseEncoder;
+import ar.edu.itba.cep.lti_service.domain.helpers.LtiDeepLinkingResponseHelper.LtiResourceLink;
+import ar.edu.itba.cep.lti_service.domain.helpers.LtiDeepLinkingResponseHelper.LtiResourceLink.Image;
+import ar.edu.itba.cep.lti_service.domain.helpers.LtiDeepLinkingResponseHelper.LtiResourceLink.LineItem;
+import ar.edu.itba.cep.lti_service.domain.helpers.PlatformKeysHelper;
+import ar.edu.itba.cep.lti_service.models.ToolDeployment;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark that compares the time it takes to build and sign the Deep Linking response of an exam selection
+ * (i.e the JWT built by the {@code examSelected} operation), using a {@link java.util.Map} of Claims serialized
+ * and signed by jjwt (i.e how the response was built before the {@link LtiDeepLinkingResponseEncoder} existed),
+ * and using the {@link LtiDeepLinkingResponseEncoder}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeepLinkingResponseBenchmark {
+
+    private ToolDeployment toolDeployment;
+    private PrivateKey privateKey;
+    private LtiDeepLinkingResponseEncoder ltiDeepLinkingResponseEncoder;
+    private LtiResourceLink resourceLink;
+
+
+    /**
+     * Creates a synthetic tool deployment, the components being compared, and the exam's resource link.
+     *
+     * @throws NoSuchAlgorithmException Never.
+     */
+    @Setup
+    public void setUp() throws NoSuchAlgorithmException {
+        final var generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        final var keyPair = generator.generateKeyPair();
+        privateKey = keyPair.getPrivate();
+        toolDeployment = new ToolDeployment(
+                "benchmark-deployment",
+                "benchmark-client",
+                "https://lms.invalid",
+                "https://lms.invalid/auth",
+                "https://lms.invalid/jwks",
+                Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()),
+                SignatureAlgorithm.RS256,
+                "benchmark-key",
+                "benchmark-secret"
+        );
+        // The synthetic tool deployment has no id, so its private key is returned without caching it.
+        final var platformKeysHelper = new PlatformKeysHelper(
+                CircuitBreakerRegistry.ofDefaults(),
+                new PlatformKeysProperties()) {
+            @Override
+            public PrivateKey getPrivateKey(final ToolDeployment toolDeployment) {
+                return keyPair.getPrivate();
+            }
+        };
+        ltiDeepLinkingResponseEncoder = new LtiDeepLinkingResponseEncoder(platformKeysHelper);
+        resourceLink = LtiResourceLink.builder()
+                .title("Final exam")
+                .url("https://cep.invalid/exams/1")
+                .icon(Image.builder().url("https://cep.invalid/icon.png").width(64).height(64).build())
+                .lineItem(LineItem.builder().scoreMaximum(100).resourceId("1").build())
+                .custom("exam-id", "1")
+                .build();
+    }
+
+
+    /**
+     * Builds the Deep Linking response as a {@link java.util.Map} of Claims, and serializes and signs it with jjwt.
+     *
+     * @return The signed response.
+     */
+    @Benchmark
+    public String mapAndSerializer() {
+        final var now = Instant.now();
+        final var ltiMessage = new HashMap<String, Object>();
+        ltiMessage.put(LtiConstants.LtiClaims.ISSUER, toolDeployment.getClientId());
+        ltiMessage.put(LtiConstants.LtiClaims.AUDIENCE, toolDeployment.getIssuer());
+        ltiMessage.put(LtiConstants.LtiClaims.ISSUED_AT, now.getEpochSecond());
+        ltiMessage.put(LtiConstants.LtiClaims.EXPIRATION, now.plus(Duration.ofMinutes(10)).getEpochSecond());
+        ltiMessage.put(LtiConstants.LtiClaims.NONCE, UUID.randomUUID());
+        ltiMessage.put(LtiConstants.LtiClaims.AUTHORIZED_PARTY, toolDeployment.getIssuer());
+        ltiMessage.put(LtiConstants.LtiClaims.DEPLOYMENT_ID, toolDeployment.getDeploymentId());
+        ltiMessage.put(LtiConstants.LtiClaims.MESSAGE_TYPE, "LTIDeepLinkingResponse");
+        ltiMessage.put(LtiConstants.LtiClaims.VERSION, LtiConstants.LTI_VERSION);
+        ltiMessage.put(LtiConstants.LtiClaims.DL_DATA, "data");
+        ltiMessage.put(LtiConstants.LtiClaims.DL_CONTENT_ITEMS, List.of(resourceLink));
+        return Jwts.builder()
+                .addClaims(ltiMessage)
+                .signWith(privateKey, toolDeployment.getSignatureAlgorithm())
+                .compact();
+    }
+
+    /**
+     * Builds and signs the Deep Linking response with the {@link LtiDeepLinkingResponseEncoder}.
+     *
+     * @return The signed response.
+     */
+    @Benchmark
+    public String encoder() {
+        return ltiDeepLinkingResponseEncoder.encode(toolDeployment, "data", List.of(resourceLink));
+    }
+
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args The program arguments (ignored).
+     * @throws RunnerException If the benchmark fails.
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DeepLinkingResponseBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,277 @@
+package ar.edu.itba.cep.lti_service.domain.helpers;
+
+import ar.edu.itba.cep.lti_service.domain.config.ExamCacheConfig.ExamCacheProperties;
+import ar.edu.itba.cep.lti_service.external_cep_services.evaluations_service.EvaluationsService;
+import ar.edu.itba.cep.lti_service.external_cep_services.evaluations_service.Exam;
+import com.bellotapps.webapps_commons.exceptions.ExternalServiceException;
+import com.github.javafaker.Faker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for {@link ExamCacheHelper}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ExamCacheHelperTest {
+
+    /**
+     * The amount of concurrent lookups performed when testing that misses share the same request.
+     */
+    private static final int CONCURRENT_LOOKUPS = 8;
+
+    /**
+     * The {@link EvaluationsService} that is injected to the {@link ExamCacheHelper}.
+     */
+    private final EvaluationsService evaluationsService;
+    /**
+     * The {@link ExamCacheProperties} used to configure the {@link ExamCacheHelper}.
+     */
+    private final ExamCacheProperties properties;
+    /**
+     * The {@link SimpleMeterRegistry} in which the cache metrics are registered.
+     */
+    private final SimpleMeterRegistry meterRegistry;
+
+
+    /**
+     * Constructor.
+     *
+     * @param evaluationsService A mocked {@link EvaluationsService}.
+     */
+    ExamCacheHelperTest(@Mock(name = "evaluationsService") final EvaluationsService evaluationsService) {
+        this.evaluationsService = evaluationsService;
+        this.properties = new ExamCacheProperties();
+        this.meterRegistry = new SimpleMeterRegistry();
+    }
+
+
+    /**
+     * Tests that concurrent misses of the same exam share a single request to the evaluations service.
+     *
+     * @throws InterruptedException Never.
+     */
+    @Test
+    void testConcurrentMissesShareTheLookup() throws InterruptedException {
+        final var exam = exam(Exam.State.IN_PROGRESS);
+        when(evaluationsService.getExamByIdAsync(exam.getId())).thenReturn(found(exam));
+        final var loads = new LinkedBlockingQueue<Runnable>();
+        final var cache = cache(loads::add);
+
+        final var callers = Executors.newFixedThreadPool(CONCURRENT_LOOKUPS);
+        try {
+            final var start = new CountDownLatch(1);
+            final var lookups = IntStream.range(0, CONCURRENT_LOOKUPS)
+                    .mapToObj(ignored -> CompletableFuture.supplyAsync(() -> {
+                        awaitQuietly(start);
+                        return cache.getExam(exam.getId());
+                    }, callers))
+                    .collect(Collectors.toList());
+            start.countDown();
+            // Loads are run (by this thread) until all the lookups are completed
+            while (!lookups.stream().allMatch(CompletableFuture::isDone)) {
+                Optional.ofNullable(loads.poll(10, TimeUnit.MILLISECONDS)).ifPresent(Runnable::run);
+            }
+            lookups.forEach(lookup -> Assertions.assertEquals(Optional.of(exam), lookup.join(), "Wrong exam"));
+        } finally {
+            callers.shutdownNow();
+        }
+        verify(evaluationsService, only()).getExamByIdAsync(exam.getId());
+    }
+
+    /**
+     * Tests that an expired entry is served stale when it cannot be refreshed (within the staleness bound).
+     */
+    @Test
+    void testExpiredEntryIsServedStaleWhenTheRefreshFails() {
+        properties.setInProgressTtl(Duration.ZERO);
+        final var exam = exam(Exam.State.IN_PROGRESS);
+        when(evaluationsService.getExamByIdAsync(exam.getId())).thenReturn(found(exam), failed());
+        final var cache = cache(Runnable::run);
+
+        Assertions.assertEquals(Optional.of(exam), cache.getExam(exam.getId()), "Wrong exam");
+        Assertions.assertAll(
+                "The expired entry was not served stale",
+                () -> Assertions.assertEquals(Optional.of(exam), cache.getExam(exam.getId())),
+                () -> Assertions.assertEquals(1, staleServes())
+        );
+        verify(evaluationsService, times(2)).getExamByIdAsync(exam.getId());
+    }
+
+    /**
+     * Tests that an entry is not served beyond the staleness bound (i.e the refresh failure is reported).
+     */
+    @Test
+    void testEntryIsNotServedBeyondTheStalenessBound() {
+        properties.setInProgressTtl(Duration.ZERO);
+        properties.setMaxStaleness(Duration.ZERO);
+        final var exam = exam(Exam.State.IN_PROGRESS);
+        when(evaluationsService.getExamByIdAsync(exam.getId())).thenReturn(found(exam), failed());
+        final var cache = cache(Runnable::run);
+
+        Assertions.assertEquals(Optional.of(exam), cache.getExam(exam.getId()), "Wrong exam");
+        Assertions.assertThrows(
+                ExternalServiceException.class,
+                () -> cache.getExam(exam.getId()),
+                "An entry was served beyond the staleness bound"
+        );
+        Assertions.assertEquals(0, staleServes(), "An entry was served stale");
+    }
+
+    /**
+     * Tests that non existing exams are cached (during the not-found TTL).
+     */
+    @Test
+    void testNotFoundExamsAreCached() {
+        final var id = examId();
+        when(evaluationsService.getExamByIdAsync(id)).thenReturn(notFound());
+        final var cache = cache(Runnable::run);
+
+        Assertions.assertAll(
+                "A non existing exam was found",
+                () -> Assertions.assertTrue(cache.getExam(id).isEmpty()),
+                () -> Assertions.assertTrue(cache.getExam(id).isEmpty())
+        );
+        verify(evaluationsService, only()).getExamByIdAsync(id);
+    }
+
+    /**
+     * Tests that non existing exams are looked up again once the not-found TTL elapses.
+     */
+    @Test
+    void testNotFoundExamsExpire() {
+        properties.setNotFoundTtl(Duration.ZERO);
+        properties.setMaxStaleness(Duration.ZERO);
+        final var exam = exam(Exam.State.UPCOMING);
+        when(evaluationsService.getExamByIdAsync(exam.getId())).thenReturn(notFound(), found(exam));
+        final var cache = cache(Runnable::run);
+
+        Assertions.assertAll(
+                "The not found entry did not expire",
+                () -> Assertions.assertTrue(cache.getExam(exam.getId()).isEmpty()),
+                () -> Assertions.assertEquals(Optional.of(exam), cache.getExam(exam.getId()))
+        );
+        verify(evaluationsService, times(2)).getExamByIdAsync(exam.getId());
+    }
+
+    /**
+     * Tests that the cache never keeps more than the max. amount of entries, even if all of them can be served.
+     */
+    @Test
+    void testCacheIsBounded() {
+        final var maxEntries = 10;
+        final var lookedUp = 2 * maxEntries;
+        properties.setMaxEntries(maxEntries);
+        when(evaluationsService.getExamByIdAsync(anyLong())).thenAnswer(ignored -> found(exam(Exam.State.FINISHED)));
+        final var cache = cache(Runnable::run);
+
+        LongStream.rangeClosed(1, lookedUp).forEach(cache::getExam);
+        LongStream.rangeClosed(1, lookedUp).forEach(cache::getExam);
+        // At most "maxEntries" lookups of the second pass can be served from the cache
+        verify(evaluationsService, atLeast(2 * lookedUp - maxEntries)).getExamByIdAsync(anyLong());
+    }
+
+
+    // ================================================================================================================
+    // Helpers
+    // ================================================================================================================
+
+    /**
+     * Creates the {@link ExamCacheHelper} to be tested.
+     *
+     * @param executor The {@link Executor} in which the exams are loaded.
+     * @return The created {@link ExamCacheHelper}.
+     */
+    private ExamCacheHelper cache(final Executor executor) {
+        return new ExamCacheHelper(evaluationsService, properties, executor, meterRegistry);
+    }
+
+    /**
+     * @return The amount of entries served stale.
+     */
+    private double staleServes() {
+        return meterRegistry.get("evaluations.service.exams.cache.stale.serves").counter().count();
+    }
+
+    /**
+     * Creates a completed lookup of the given {@code exam}.
+     *
+     * @param exam The found {@link Exam}.
+     * @return A {@link CompletionStage} completed with the {@code exam}.
+     */
+    private static CompletionStage<Optional<Exam>> found(final Exam exam) {
+        return CompletableFuture.completedFuture(Optional.of(exam));
+    }
+
+    /**
+     * @return A {@link CompletionStage} of a lookup that did not find the exam.
+     */
+    private static CompletionStage<Optional<Exam>> notFound() {
+        return CompletableFuture.completedFuture(Optional.empty());
+    }
+
+    /**
+     * @return A {@link CompletionStage} of a lookup that failed when communicating with the evaluations service.
+     */
+    private static CompletionStage<Optional<Exam>> failed() {
+        return CompletableFuture.failedFuture(
+                new ExternalServiceException("evaluations-service", "Could not retrieve the exam", null)
+        );
+    }
+
+    /**
+     * Waits for the given {@code latch}, ignoring interruptions.
+     *
+     * @param latch The {@link CountDownLatch} to wait for.
+     */
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return A random exam id.
+     */
+    private static long examId() {
+        return Faker.instance().number().numberBetween(1L, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a random {@link Exam} in the given {@code state}.
+     *
+     * @param state The {@link Exam.State}.
+     * @return The created {@link Exam}.
+     */
+    private static Exam exam(final Exam.State state) {
+        return new Exam(
+                examId(),
+                Faker.instance().lorem().sentence(),
+                LocalDateTime.now(),
+                Duration.ofMinutes(Faker.instance().number().numberBetween(30, 180)),
+                state,
+                Faker.instance().number().numberBetween(1, 100)
+        );
+    }
+}
@@ -0,0 +1,144 @@
+package ar.edu.itba.cep.lti_service.domain.helpers;
+
+import ar.edu.itba.cep.lti_service.domain.helpers.LtiDeepLinkingResponseHelper.LtiResourceLink;
+import ar.edu.itba.cep.lti_service.domain.helpers.LtiDeepLinkingResponseHelper.LtiResourceLink.LineItem;
+import ar.edu.itba.cep.lti_service.models.ToolDeployment;
+import com.github.javafaker.Faker;
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test class for {@link LtiDeepLinkingResponseEncoder}.
+ */
+@ExtendWith(MockitoExtension.class)
+class LtiDeepLinkingResponseEncoderTest {
+
+    /**
+     * A mocked {@link PlatformKeysHelper} that returns the private key of the tool deployment.
+     */
+    private final PlatformKeysHelper platformKeysHelper;
+
+
+    /**
+     * Constructor.
+     *
+     * @param platformKeysHelper A mocked {@link PlatformKeysHelper} that returns the private key
+     *                           of the tool deployment.
+     */
+    LtiDeepLinkingResponseEncoderTest(@Mock(name = "platformKeysHelper") final PlatformKeysHelper platformKeysHelper) {
+        this.platformKeysHelper = platformKeysHelper;
+    }
+
+
+    /**
+     * Tests that the encoded response is signed with the tool deployment's key,
+     * and that it contains the Deep Linking response Claims and the Content Items.
+     *
+     * @throws Exception Never.
+     */
+    @Test
+    void testResponseIsSignedAndContainsTheClaims() throws Exception {
+        final var generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        final var keyPair = generator.generateKeyPair();
+        final var toolDeployment = toolDeployment(keyPair);
+        Mockito.when(platformKeysHelper.getPrivateKey(toolDeployment)).thenReturn(keyPair.getPrivate());
+        final var data = Faker.instance().lorem().word();
+        final var resourceLink = LtiResourceLink.builder()
+                .title(Faker.instance().lorem().sentence())
+                .url("https://" + Faker.instance().internet().domainName())
+                .lineItem(LineItem.builder().scoreMaximum(10).resourceId("1").build())
+                .custom("exam-id", "1")
+                .build();
+
+        final var encoder = new LtiDeepLinkingResponseEncoder(platformKeysHelper);
+        // Encode twice in order to also use the pooled signature
+        encoder.encode(toolDeployment, data, List.of(resourceLink));
+        final var jws = JWSObject.parse(encoder.encode(toolDeployment, data, List.of(resourceLink)));
+        final var claims = jws.getPayload().toJSONObject();
+
+        Assertions.assertAll(
+                () -> Assertions.assertTrue(
+                        jws.verify(new RSASSAVerifier((RSAPublicKey) keyPair.getPublic())),
+                        "The response signature is not valid"
+                ),
+                () -> Assertions.assertEquals(
+                        toolDeployment.getClientId(),
+                        claims.get(LtiConstants.LtiClaims.ISSUER),
+                        "The issuer is not the client id"
+                ),
+                () -> Assertions.assertEquals(
+                        toolDeployment.getIssuer(),
+                        claims.get(LtiConstants.LtiClaims.AUDIENCE),
+                        "The audience is not the platform"
+                ),
+                () -> Assertions.assertEquals(
+                        "LTIDeepLinkingResponse",
+                        claims.get(LtiConstants.LtiClaims.MESSAGE_TYPE),
+                        "Wrong message type"
+                ),
+                () -> Assertions.assertEquals(data, claims.get(LtiConstants.LtiClaims.DL_DATA), "Wrong data"),
+                () -> Assertions.assertEquals(
+                        resourceLink.getTitle(),
+                        contentItem(claims).get("title"),
+                        "Wrong content item title"
+                ),
+                () -> Assertions.assertEquals(
+                        Map.of("exam-id", "1"),
+                        contentItem(claims).get("custom"),
+                        "Wrong content item custom properties"
+                ),
+                () -> Assertions.assertFalse(
+                        contentItem(claims).containsKey("text"),
+                        "A missing content item property was written"
+                )
+        );
+    }
+
+
+    /**
+     * Creates a {@link ToolDeployment} with the given {@code keyPair}.
+     *
+     * @param keyPair The {@link KeyPair} whose private key is set.
+     * @return The created {@link ToolDeployment}.
+     */
+    private static ToolDeployment toolDeployment(final KeyPair keyPair) {
+        final var domain = "https://" + Faker.instance().internet().domainName();
+        return new ToolDeployment(
+                Faker.instance().lorem().word(),
+                Faker.instance().lorem().word(),
+                domain,
+                domain + "/auth",
+                domain + "/jwks",
+                Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()),
+                SignatureAlgorithm.RS256,
+                Faker.instance().lorem().word(),
+                Faker.instance().lorem().word()
+        );
+    }
+
+    /**
+     * Retrieves the (only) Content Item in the given {@code claims}.
+     *
+     * @param claims The Claims of the response.
+     * @return The Content Item.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> contentItem(final Map<String, Object> claims) {
+        return (Map<String, Object>) ((List<Object>) claims.get(LtiConstants.LtiClaims.DL_CONTENT_ITEMS)).get(0);
+    }
+}
@@ -0,0 +1,210 @@
+package ar.edu.itba.cep.lti_service.domain.helpers;
+
+import com.github.javafaker.Faker;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static ar.edu.itba.cep.lti_service.domain.helpers.LtiDeepLinkingRequestHelper.DeepLinkingContentType.LTI_RESOURCE_LINK;
+import static ar.edu.itba.cep.lti_service.domain.helpers.LtiDeepLinkingRequestHelper.DeepLinkingContentType.OTHER;
+
+/**
+ * Test class for {@link LtiMessageParser}.
+ */
+class LtiMessageParserTest {
+
+    /**
+     * Tests that the Claims used by the tool are read, and that the rest of them are skipped.
+     *
+     * @throws IOException Never.
+     */
+    @Test
+    void testClaimsAreRead() throws IOException {
+        final var issuer = url();
+        final var clientId = word();
+        final var subject = word();
+        final var lineItems = url();
+        final var contextMembershipsUrl = url();
+        final var returnUrl = url();
+        final var expiration = Instant.now().plusSeconds(60).getEpochSecond();
+        final var ltiMessage = LtiMessageParser.parse(bytes("{" +
+                "\"iss\": \"" + issuer + "\"," +
+                "\"aud\": \"" + clientId + "\"," +
+                "\"sub\": \"" + subject + "\"," +
+                "\"exp\": " + expiration + "," +
+                "\"https://purl.imsglobal.org/spec/lti/claim/roles\": [\"Learner\", {\"nested\": [1, 2]}]," +
+                "\"https://purl.imsglobal.org/spec/lti/claim/custom\": {\"exam-id\": \"1\", \"other\": 2}," +
+                "\"https://purl.imsglobal.org/spec/lti/claim/launch_presentation\": " +
+                "{\"document_target\": \"iframe\", \"return_url\": \"" + returnUrl + "\"}," +
+                "\"https://purl.imsglobal.org/spec/lti-ags/claim/endpoint\": " +
+                "{\"scope\": [\"" + LtiAssignmentAndGradeServicesHelper.SCORE_SCOPE + "\"], " +
+                "\"lineitems\": \"" + lineItems + "\"}," +
+                "\"https://purl.imsglobal.org/spec/lti-nrps/claim/namesroleservice\": " +
+                "{\"context_memberships_url\": \"" + contextMembershipsUrl + "\"}" +
+                "}"));
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(issuer, ltiMessage.getIssuer(), "The issuer was not read"),
+                () -> Assertions.assertEquals(List.of(clientId), ltiMessage.getAudience(), "Wrong audience"),
+                () -> Assertions.assertFalse(ltiMessage.isAudienceArray(), "The audience was not an array"),
+                () -> Assertions.assertEquals(subject, ltiMessage.getSubject(), "The subject was not read"),
+                () -> Assertions.assertEquals(
+                        Instant.ofEpochSecond(expiration),
+                        ltiMessage.getExpiration(),
+                        "The expiration was not read"
+                ),
+                () -> Assertions.assertEquals(
+                        Optional.of("1"),
+                        ltiMessage.getCustomProperty("exam-id"),
+                        "The exam id custom property was not read"
+                ),
+                () -> Assertions.assertTrue(
+                        ltiMessage.getCustomProperty("other").isEmpty(),
+                        "A non String custom property was read"
+                ),
+                () -> Assertions.assertEquals(
+                        returnUrl,
+                        ltiMessage.getLaunchPresentationReturnUrl(),
+                        "The launch presentation return url was not read"
+                ),
+                () -> Assertions.assertEquals(
+                        List.of(LtiAssignmentAndGradeServicesHelper.SCORE_SCOPE),
+                        ltiMessage.getAssignmentAndGradeServicesCapabilities().getScopes(),
+                        "The AGS scopes were not read"
+                ),
+                () -> Assertions.assertEquals(
+                        lineItems,
+                        ltiMessage.getAssignmentAndGradeServicesCapabilities().getLineItems(),
+                        "The AGS line items url was not read"
+                ),
+                () -> Assertions.assertEquals(
+                        contextMembershipsUrl,
+                        ltiMessage.getContextMembershipsUrl(),
+                        "The context memberships url was not read"
+                ),
+                () -> Assertions.assertNull(ltiMessage.getDeepLinkingSettings(), "Missing settings were read")
+        );
+    }
+
+    /**
+     * Tests that the Deep Linking Settings Claim is read.
+     *
+     * @throws IOException Never.
+     */
+    @Test
+    void testDeepLinkingSettingsAreRead() throws IOException {
+        final var returnUrl = url();
+        final var data = word();
+        final var ltiMessage = LtiMessageParser.parse(bytes("{" +
+                "\"https://purl.imsglobal.org/spec/lti-dl/claim/deep_linking_settings\": {" +
+                "\"deep_link_return_url\": \"" + returnUrl + "\"," +
+                "\"accept_types\": [\"ltiResourceLink\", \"unknown\"]," +
+                "\"accept_presentation_document_targets\": [\"iframe\", \"window\"]," +
+                "\"accept_multiple\": false," +
+                "\"data\": \"" + data + "\"" +
+                "}}"));
+        final var settings = ltiMessage.getDeepLinkingSettings();
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(returnUrl, settings.getReturnUrl(), "The return url was not read"),
+                () -> Assertions.assertEquals(
+                        List.of(LTI_RESOURCE_LINK, OTHER),
+                        settings.getAcceptTypes(),
+                        "The accept types were not read"
+                ),
+                () -> Assertions.assertEquals(
+                        List.of("iframe", "window"),
+                        settings.getAcceptablePresentationDocumentTargets(),
+                        "The presentation document targets were not read"
+                ),
+                () -> Assertions.assertEquals(
+                        Boolean.FALSE,
+                        settings.getAcceptMultiple(),
+                        "Accept multiple was not read"
+                ),
+                () -> Assertions.assertEquals(data, settings.getData(), "The data was not read")
+        );
+    }
+
+    /**
+     * Tests that the Claims whose value is not of the expected type are not read.
+     *
+     * @throws IOException Never.
+     */
+    @Test
+    void testClaimsOfUnexpectedTypesAreNotRead() throws IOException {
+        final var ltiMessage = LtiMessageParser.parse(bytes("{" +
+                "\"https://purl.imsglobal.org/spec/lti/claim/version\": 1.3," +
+                "\"aud\": [\"" + word() + "\", 1]," +
+                "\"nonce\": {\"value\": \"" + word() + "\"}," +
+                "\"https://purl.imsglobal.org/spec/lti-ags/claim/endpoint\": \"" + url() + "\"" +
+                "}"));
+        Assertions.assertAll(
+                () -> Assertions.assertNull(ltiMessage.getVersion(), "A numeric version was read"),
+                () -> Assertions.assertNull(ltiMessage.getAudience(), "A mixed audience array was read"),
+                () -> Assertions.assertTrue(ltiMessage.isAudienceArray(), "The audience was an array"),
+                () -> Assertions.assertNull(ltiMessage.getNonce(), "An object nonce was read"),
+                () -> Assertions.assertNull(
+                        ltiMessage.getAssignmentAndGradeServicesCapabilities(),
+                        "A String AGS Claim was read"
+                )
+        );
+    }
+
+    /**
+     * Tests that a payload that is not a JSON object is rejected.
+     */
+    @Test
+    void testNonObjectPayloadIsRejected() {
+        Assertions.assertThrows(
+                IOException.class,
+                () -> LtiMessageParser.parse(bytes("[\"" + word() + "\"]")),
+                "A JSON array was parsed as an LTI message"
+        );
+    }
+
+    /**
+     * Tests that a payload with a timestamp Claim that is not numeric is rejected
+     * (i.e it is not ignored, which would skip the validation it is used for).
+     */
+    @Test
+    void testNonNumericTimestampsAreRejected() {
+        Assertions.assertAll(
+                Stream.of("exp", "nbf", "iat").map(claim -> (Executable) () -> Assertions.assertThrows(
+                        IOException.class,
+                        () -> LtiMessageParser.parse(bytes("{\"" + claim + "\": \"" + word() + "\"}")),
+                        "A payload with a non numeric \"" + claim + "\" Claim was parsed"
+                ))
+        );
+    }
+
+
+    /**
+     * @return A random url.
+     */
+    private static String url() {
+        return "https://" + Faker.instance().internet().domainName() + "/" + word();
+    }
+
+    /**
+     * @return A random word.
+     */
+    private static String word() {
+        return Faker.instance().lorem().word();
+    }
+
+    /**
+     * Encodes the given {@code json} in UTF-8.
+     *
+     * @param json The JSON to be encoded.
+     * @return The encoded JSON.
+     */
+    private static byte[] bytes(final String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
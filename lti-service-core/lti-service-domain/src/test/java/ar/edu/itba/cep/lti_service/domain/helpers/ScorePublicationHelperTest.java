@@ -0,0 +1,180 @@
+package ar.edu.itba.cep.lti_service.domain.helpers;
+
+import ar.edu.itba.cep.lti_service.domain.config.ScorePublicationConfig.ScorePublicationProperties;
+import ar.edu.itba.cep.lti_service.external_lti_web_services.LtiAssignmentAndGradeServicesClient;
+import ar.edu.itba.cep.lti_service.external_lti_web_services.ScorePublishingException;
+import ar.edu.itba.cep.lti_service.models.ExamTaking;
+import ar.edu.itba.cep.lti_service.models.FailedScorePublication;
+import ar.edu.itba.cep.lti_service.repositories.FailedScorePublicationRepository;
+import com.github.javafaker.Faker;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for {@link ScorePublicationHelper}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ScorePublicationHelperTest {
+
+    /**
+     * The {@link LtiAssignmentAndGradeServicesClient} that is injected to the {@link ScorePublicationHelper}.
+     */
+    private final LtiAssignmentAndGradeServicesClient client;
+    /**
+     * The {@link FailedScorePublicationRepository} that is injected to the {@link ScorePublicationHelper}.
+     */
+    private final FailedScorePublicationRepository repository;
+    /**
+     * The {@link ScorePublicationProperties} used to configure the {@link ScorePublicationHelper}.
+     */
+    private final ScorePublicationProperties properties;
+    /**
+     * The {@link ScorePublicationHelper} to be tested.
+     */
+    private final ScorePublicationHelper scorePublicationHelper;
+
+
+    /**
+     * Constructor.
+     *
+     * @param client     A mocked {@link LtiAssignmentAndGradeServicesClient}.
+     * @param repository A mocked {@link FailedScorePublicationRepository}.
+     */
+    ScorePublicationHelperTest(
+            @Mock(name = "client") final LtiAssignmentAndGradeServicesClient client,
+            @Mock(name = "repository") final FailedScorePublicationRepository repository) {
+        this.client = client;
+        this.repository = repository;
+        this.properties = new ScorePublicationProperties();
+        this.scorePublicationHelper = new ScorePublicationHelper(client, repository, properties);
+    }
+
+
+    /**
+     * Tests that nothing is recorded when the publication succeeds.
+     *
+     * @param examTaking The {@link ExamTaking} whose score is published.
+     */
+    @Test
+    void testSuccessfulPublicationIsNotRecorded(@Mock(name = "examTaking") final ExamTaking examTaking) {
+        final var score = validScore();
+        scorePublicationHelper.publish(examTaking, score);
+        verify(repository, only()).deleteFor(examTaking);
+        verify(client, only()).publishScore(examTaking, score);
+    }
+
+    /**
+     * Tests that a publication failing with a transient error is recorded in order to be retried.
+     *
+     * @param examTaking The {@link ExamTaking} whose score is published.
+     */
+    @Test
+    void testRetryableFailureIsScheduledForRetry(@Mock(name = "examTaking") final ExamTaking examTaking) {
+        final var score = validScore();
+        doThrow(publishingException(true)).when(client).publishScore(examTaking, score);
+        final var before = Instant.now();
+        scorePublicationHelper.publish(examTaking, score);
+        final var publication = savedPublication();
+        Assertions.assertAll(
+                "The recorded publication is not the expected",
+                () -> Assertions.assertEquals(
+                        FailedScorePublication.State.RETRYING,
+                        publication.getState(),
+                        "It is not being retried"
+                ),
+                () -> Assertions.assertEquals(1, publication.getAttempts(), "Wrong amount of attempts"),
+                () -> Assertions.assertFalse(
+                        publication.getNextAttemptAt().isBefore(before.plus(properties.getInitialBackoff().dividedBy(2))),
+                        "The next attempt is scheduled before half of the initial backoff"
+                ),
+                () -> Assertions.assertFalse(
+                        publication.getNextAttemptAt().isAfter(Instant.now().plus(properties.getInitialBackoff())),
+                        "The next attempt is scheduled after the initial backoff"
+                )
+        );
+    }
+
+    /**
+     * Tests that a publication failing with a permanent error is dead-lettered right away.
+     *
+     * @param examTaking The {@link ExamTaking} whose score is published.
+     */
+    @Test
+    void testPermanentFailureIsDeadLettered(@Mock(name = "examTaking") final ExamTaking examTaking) {
+        final var score = validScore();
+        doThrow(publishingException(false)).when(client).publishScore(examTaking, score);
+        scorePublicationHelper.publish(examTaking, score);
+        Assertions.assertEquals(
+                FailedScorePublication.State.DEAD_LETTERED,
+                savedPublication().getState(),
+                "A permanent failure was not dead-lettered"
+        );
+    }
+
+    /**
+     * Tests that a publication is dead-lettered when it runs out of attempts.
+     *
+     * @param examTaking The {@link ExamTaking} whose score is published.
+     */
+    @Test
+    void testRetryIsDeadLetteredWhenOutOfAttempts(@Mock(name = "examTaking") final ExamTaking examTaking) {
+        final var score = validScore();
+        final var publication = FailedScorePublication.retrying(examTaking, score, "error", Instant.now());
+        for (int i = 2; i < properties.getMaxAttempts(); i++) {
+            publication.retryAt("error", Instant.now());
+        }
+        doThrow(publishingException(true)).when(client).publishScore(examTaking, score);
+        scorePublicationHelper.retry(publication);
+        Assertions.assertAll(
+                "The publication was not dead-lettered",
+                () -> Assertions.assertEquals(FailedScorePublication.State.DEAD_LETTERED, publication.getState()),
+                () -> Assertions.assertEquals(properties.getMaxAttempts(), publication.getAttempts()),
+                () -> Assertions.assertNull(publication.getNextAttemptAt())
+        );
+        verify(repository, only()).save(publication);
+    }
+
+
+    // ================================================================================================================
+    // Helpers
+    // ================================================================================================================
+
+    /**
+     * @return The {@link FailedScorePublication} that was saved in the {@link FailedScorePublicationRepository}.
+     */
+    private FailedScorePublication savedPublication() {
+        final var captor = ArgumentCaptor.forClass(FailedScorePublication.class);
+        verify(repository, times(1)).save(captor.capture());
+        return captor.getValue();
+    }
+
+    /**
+     * Creates a {@link ScorePublishingException}.
+     *
+     * @param retryable Whether the created exception represents a transient failure.
+     * @return The created {@link ScorePublishingException}.
+     */
+    private static ScorePublishingException publishingException(final boolean retryable) {
+        return new ScorePublishingException(
+                Faker.instance().internet().url(),
+                "Could not communicate with the LMS",
+                null,
+                retryable
+        );
+    }
+
+    /**
+     * @return A valid score.
+     */
+    private static int validScore() {
+        return (int) Faker.instance().number().numberBetween(0L, 100L);
+    }
+}
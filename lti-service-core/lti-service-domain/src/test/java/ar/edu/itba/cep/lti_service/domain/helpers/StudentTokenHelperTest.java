@@ -0,0 +1,143 @@
+package ar.edu.itba.cep.lti_service.domain.helpers;
+
+import ar.edu.itba.cep.lti_service.domain.config.ExamLaunchConfig.ExamLaunchProperties;
+import ar.edu.itba.cep.lti_service.external_cep_services.tokens_service.TokenData;
+import ar.edu.itba.cep.lti_service.external_cep_services.tokens_service.TokensService;
+import ar.edu.itba.cep.roles.Role;
+import com.github.javafaker.Faker;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for {@link StudentTokenHelper}.
+ */
+@ExtendWith(MockitoExtension.class)
+class StudentTokenHelperTest {
+
+    /**
+     * The {@link TokensService} that is injected to the {@link StudentTokenHelper}.
+     */
+    private final TokensService tokensService;
+    /**
+     * The {@link ExamLaunchProperties} used to configure the {@link StudentTokenHelper}.
+     */
+    private final ExamLaunchProperties properties;
+    /**
+     * The {@link StudentTokenHelper} to be tested.
+     */
+    private final StudentTokenHelper studentTokenHelper;
+
+
+    /**
+     * Constructor.
+     *
+     * @param tokensService A mocked {@link TokensService}.
+     */
+    StudentTokenHelperTest(@Mock(name = "tokensService") final TokensService tokensService) {
+        this.tokensService = tokensService;
+        this.properties = new ExamLaunchProperties();
+        this.studentTokenHelper = new StudentTokenHelper(tokensService, Runnable::run, properties);
+    }
+
+
+    /**
+     * Tests that a new token is issued on each launch when the reuse window is disabled.
+     */
+    @Test
+    void testTokensAreNotReusedWhenDisabled() {
+        final var subject = subject();
+        final var examId = examId();
+        when(tokensService.tokenForAsync(subject, Set.of(Role.STUDENT)))
+                .thenReturn(issued(tokenData()), issued(tokenData()));
+        final var first = studentTokenHelper.requestToken(subject, examId).join();
+        final var second = studentTokenHelper.requestToken(subject, examId).join();
+        Assertions.assertNotEquals(first, second, "A token was reused while the reuse window was disabled");
+        verify(tokensService, times(2)).tokenForAsync(subject, Set.of(Role.STUDENT));
+    }
+
+    /**
+     * Tests that the token is reused when the same subject relaunches the same exam within the reuse window.
+     */
+    @Test
+    void testTokenIsReusedWithinTheWindow() {
+        properties.setTokenReuseWindow(Duration.ofMinutes(1));
+        final var subject = subject();
+        final var examId = examId();
+        final var tokenData = tokenData();
+        when(tokensService.tokenForAsync(subject, Set.of(Role.STUDENT))).thenReturn(issued(tokenData));
+        final var first = studentTokenHelper.requestToken(subject, examId).join();
+        final var second = studentTokenHelper.requestToken(subject, examId).join();
+        Assertions.assertAll(
+                "The token was not reused",
+                () -> Assertions.assertEquals(tokenData, first),
+                () -> Assertions.assertEquals(tokenData, second)
+        );
+        verify(tokensService, only()).tokenForAsync(subject, Set.of(Role.STUDENT));
+    }
+
+    /**
+     * Tests that the tokens issued first are no longer reused when the max. amount of reusable tokens is exceeded.
+     */
+    @Test
+    void testReusableTokensAreBounded() {
+        properties.setTokenReuseWindow(Duration.ofMinutes(1));
+        properties.setMaxReusableTokens(1);
+        final var boundedHelper = new StudentTokenHelper(tokensService, Runnable::run, properties);
+        final var subject = subject();
+        final var firstExamId = examId();
+        final var secondExamId = firstExamId == 1 ? 2 : firstExamId - 1;
+        when(tokensService.tokenForAsync(subject, Set.of(Role.STUDENT))).thenAnswer(ignored -> issued(tokenData()));
+        boundedHelper.requestToken(subject, firstExamId).join();
+        boundedHelper.requestToken(subject, secondExamId).join();
+        boundedHelper.requestToken(subject, firstExamId).join();
+        verify(tokensService, times(3)).tokenForAsync(subject, Set.of(Role.STUDENT));
+    }
+
+
+    // ================================================================================================================
+    // Helpers
+    // ================================================================================================================
+
+    /**
+     * @return A random subject.
+     */
+    private static String subject() {
+        return Faker.instance().internet().uuid();
+    }
+
+    /**
+     * @return A random exam id.
+     */
+    private static long examId() {
+        return Faker.instance().number().numberBetween(1L, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a completed token issuance.
+     *
+     * @param tokenData The issued {@link TokenData}.
+     * @return A {@link CompletionStage} completed with the {@code tokenData}.
+     */
+    private static CompletionStage<Optional<TokenData>> issued(final TokenData tokenData) {
+        return CompletableFuture.completedFuture(Optional.of(tokenData));
+    }
+
+    /**
+     * @return A random {@link TokenData}.
+     */
+    private static TokenData tokenData() {
+        return new TokenData(UUID.randomUUID(), Faker.instance().lorem().word(), Faker.instance().lorem().word());
+    }
+}
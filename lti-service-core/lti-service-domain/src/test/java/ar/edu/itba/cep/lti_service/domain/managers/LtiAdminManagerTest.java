@@ -1,5 +1,6 @@
 package ar.edu.itba.cep.lti_service.domain.managers;
 
+import ar.edu.itba.cep.lti_service.domain.helpers.PlatformKeysHelper;
 import ar.edu.itba.cep.lti_service.models.ToolDeployment;
 import ar.edu.itba.cep.lti_service.repositories.ToolDeploymentRepository;
 import com.bellotapps.webapps_commons.exceptions.UniqueViolationException;
@@ -32,6 +33,11 @@ public class LtiAdminManagerTest {
      * This reference is saved in order to configure its behaviour in each test.
      */
     private final ToolDeploymentRepository toolDeploymentRepository;
+    /**
+     * The {@link PlatformKeysHelper} that is injected to the {@link LtiAdminManager}.
+     * This reference is saved in order to verify the evictions of the private keys.
+     */
+    private final PlatformKeysHelper platformKeysHelper;
 
     /**
      * The {@link LtiAdminManager} to be tested.
@@ -44,11 +50,15 @@ public class LtiAdminManagerTest {
      *
      * @param toolDeploymentRepository A mocked {@link ToolDeploymentRepository}
      *                                 to be injected into a {@link LtiAdminManager} that will be tested..
+     * @param platformKeysHelper       A mocked {@link PlatformKeysHelper}
+     *                                 to be injected into a {@link LtiAdminManager} that will be tested.
      */
     public LtiAdminManagerTest(
-            @Mock(name = "toolDeploymentRepository") final ToolDeploymentRepository toolDeploymentRepository) {
+            @Mock(name = "toolDeploymentRepository") final ToolDeploymentRepository toolDeploymentRepository,
+            @Mock(name = "platformKeysHelper") final PlatformKeysHelper platformKeysHelper) {
         this.toolDeploymentRepository = toolDeploymentRepository;
-        this.ltiAdminManager = new LtiAdminManager(toolDeploymentRepository);
+        this.platformKeysHelper = platformKeysHelper;
+        this.ltiAdminManager = new LtiAdminManager(toolDeploymentRepository, platformKeysHelper);
     }
 
 
@@ -266,7 +276,7 @@ public class LtiAdminManagerTest {
 
     /**
      * Tests that unregistering a {@link ToolDeployment} by its id (when there is such) works as expected
-     * (it is effectively deleted).
+     * (it is effectively deleted, and its private key is evicted).
      */
     @Test
     void testToolDeploymentUnregistrationForExistingToolDeployment() {
@@ -278,6 +288,7 @@ public class LtiAdminManagerTest {
 
         verify(toolDeploymentRepository, times(1)).existsById(id);
         verify(toolDeploymentRepository, times(1)).deleteById(id);
+        verify(platformKeysHelper, only()).evictPrivateKey(id);
         verifyNoMoreInteractions(toolDeploymentRepository);
     }
 
@@ -293,6 +304,7 @@ public class LtiAdminManagerTest {
         ltiAdminManager.unregisterToolDeployment(id);
 
         verify(toolDeploymentRepository, only()).existsById(id);
+        verifyZeroInteractions(platformKeysHelper);
     }
 
 
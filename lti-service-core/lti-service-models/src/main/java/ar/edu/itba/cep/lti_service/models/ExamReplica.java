@@ -0,0 +1,170 @@
+package ar.edu.itba.cep.lti_service.models;
+
+import lombok.*;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Represents a local copy of an upcoming or in progress exam of the evaluations service.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(force = true, access = AccessLevel.PACKAGE)
+@ToString(doNotUseGetters = true)
+@EqualsAndHashCode(of = "id", doNotUseGetters = true)
+public class ExamReplica {
+
+    /**
+     * The exam's id (i.e the same id as in the evaluations service).
+     */
+    private final long id;
+    /**
+     * The exam's description.
+     */
+    private String description;
+    /**
+     * The {@link LocalDateTime} at which the exam should start.
+     */
+    private LocalDateTime startingAt;
+    /**
+     * The {@link Duration} that the exam should have.
+     */
+    private Duration duration;
+    /**
+     * The exam's {@link State}.
+     */
+    private State state;
+    /**
+     * The maximum score the exam can have.
+     */
+    private int maxScore;
+    /**
+     * The {@link Instant} at which this replica was last synchronized.
+     */
+    private Instant syncedAt;
+
+
+    /**
+     * Updates this replica with the given values.
+     *
+     * @param description The exam's description.
+     * @param startingAt  The {@link LocalDateTime} at which the exam should start.
+     * @param duration    The {@link Duration} that the exam should have.
+     * @param state       The exam's {@link State}.
+     * @param maxScore    The maximum score the exam can have.
+     * @throws IllegalArgumentException If any argument is not valid.
+     */
+    public void update(
+            final String description,
+            final LocalDateTime startingAt,
+            final Duration duration,
+            final State state,
+            final int maxScore) throws IllegalArgumentException {
+        assertDescription(description);
+        assertStartingAt(startingAt);
+        assertDuration(duration);
+        assertState(state);
+        this.description = description;
+        this.startingAt = startingAt;
+        this.duration = duration;
+        this.state = state;
+        this.maxScore = maxScore;
+        this.syncedAt = Instant.now();
+    }
+
+
+    // ================================================================================================================
+    // Assertions
+    // ================================================================================================================
+
+    /**
+     * Verifies that the given {@code description} is valid.
+     *
+     * @param description The description to be validated.
+     * @throws IllegalArgumentException If the description is not valid.
+     */
+    private static void assertDescription(final String description) throws IllegalArgumentException {
+        Assert.notNull(description, "The description must not be null");
+    }
+
+    /**
+     * Verifies that the given {@code startingAt} is valid.
+     *
+     * @param startingAt The starting moment to be validated.
+     * @throws IllegalArgumentException If the starting moment is not valid.
+     */
+    private static void assertStartingAt(final LocalDateTime startingAt) throws IllegalArgumentException {
+        Assert.notNull(startingAt, "The starting moment must not be null");
+    }
+
+    /**
+     * Verifies that the given {@code duration} is valid.
+     *
+     * @param duration The {@link Duration} to be validated.
+     * @throws IllegalArgumentException If the {@link Duration} is not valid.
+     */
+    private static void assertDuration(final Duration duration) throws IllegalArgumentException {
+        Assert.notNull(duration, "The duration must not be null");
+    }
+
+    /**
+     * Verifies that the given {@code state} is valid.
+     *
+     * @param state The {@link State} to be validated.
+     * @throws IllegalArgumentException If the {@link State} is not valid.
+     */
+    private static void assertState(final State state) throws IllegalArgumentException {
+        Assert.notNull(state, "The state must not be null");
+    }
+
+
+    // ================================================================================================================
+    // Creators
+    // ================================================================================================================
+
+    /**
+     * Creates an {@link ExamReplica}.
+     *
+     * @param id          The exam's id (i.e the same id as in the evaluations service).
+     * @param description The exam's description.
+     * @param startingAt  The {@link LocalDateTime} at which the exam should start.
+     * @param duration    The {@link Duration} that the exam should have.
+     * @param state       The exam's {@link State}.
+     * @param maxScore    The maximum score the exam can have.
+     * @return The created {@link ExamReplica}.
+     * @throws IllegalArgumentException If any argument is not valid.
+     */
+    public static ExamReplica create(
+            final long id,
+            final String description,
+            final LocalDateTime startingAt,
+            final Duration duration,
+            final State state,
+            final int maxScore) throws IllegalArgumentException {
+        assertDescription(description);
+        assertStartingAt(startingAt);
+        assertDuration(duration);
+        assertState(state);
+
+        return new ExamReplica(id, description, startingAt, duration, state, maxScore, Instant.now());
+    }
+
+
+    /**
+     * The states an exam can be in while it is replicated
+     * (i.e finished exams are not replicated).
+     */
+    public enum State {
+        /**
+         * Indicates that an exam has not started yet.
+         */
+        UPCOMING,
+        /**
+         * Indicates that the exam is being taken right now.
+         */
+        IN_PROGRESS,
+    }
+}
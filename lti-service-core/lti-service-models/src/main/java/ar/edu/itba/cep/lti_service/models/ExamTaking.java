@@ -39,6 +39,22 @@ public class ExamTaking {
      * The {@link ToolDeployment} representing the integration with the LMS.
      */
     private final ToolDeployment toolDeployment;
+    /**
+     * The last score assigned to the subject in the exam ({@code null} if not scored yet).
+     */
+    private Integer score;
+
+
+    /**
+     * Updates the score assigned to the subject in the exam.
+     *
+     * @param score The new score.
+     * @throws IllegalArgumentException If the score is not valid.
+     */
+    public void updateScore(final int score) throws IllegalArgumentException {
+        assertScore(score);
+        this.score = score;
+    }
 
 
     // ================================================================================================================
@@ -75,6 +91,16 @@ public class ExamTaking {
         Assert.isTrue(maxScore > 0, "The max. score must be positive");
     }
 
+    /**
+     * Verifies that the given {@code score} is valid.
+     *
+     * @param score The score to be validated.
+     * @throws IllegalArgumentException If the score is not valid.
+     */
+    private static void assertScore(final int score) throws IllegalArgumentException {
+        Assert.isTrue(score >= 0, "The score must not be negative");
+    }
+
     /**
      * Verifies that the given {@code toolDeployment} is valid.
      *
@@ -112,6 +138,6 @@ public class ExamTaking {
         assertToolDeployment(toolDeployment);
         assertMaxScore(maxScore);
 
-        return new ExamTaking(null, examId, subject, lineItemUrl, maxScore, toolDeployment);
+        return new ExamTaking(null, examId, subject, lineItemUrl, maxScore, toolDeployment, null);
     }
 }
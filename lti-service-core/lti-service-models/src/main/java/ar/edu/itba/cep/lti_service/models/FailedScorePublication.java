@@ -0,0 +1,216 @@
+package ar.edu.itba.cep.lti_service.models;
+
+import lombok.*;
+import org.springframework.util.Assert;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Represents the publication of a score in an LMS that could not be performed,
+ * and that is kept in order to be retried, or inspected and replayed.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(force = true, access = AccessLevel.PACKAGE)
+@ToString(doNotUseGetters = true)
+@EqualsAndHashCode(of = "id", doNotUseGetters = true)
+public class FailedScorePublication {
+
+    /**
+     * The failed score publication id.
+     */
+    private final UUID id;
+    /**
+     * The {@link ExamTaking} whose score could not be published.
+     */
+    private final ExamTaking examTaking;
+    /**
+     * The score that could not be published.
+     */
+    private final int score;
+    /**
+     * The {@link Instant} in which the publication failed for the first time.
+     */
+    private final Instant createdAt;
+    /**
+     * The {@link State} of the publication.
+     */
+    private State state;
+    /**
+     * The amount of attempts that were performed.
+     */
+    private int attempts;
+    /**
+     * The {@link Instant} in which the next attempt must be performed
+     * ({@code null} if the publication is not being retried).
+     */
+    private Instant nextAttemptAt;
+    /**
+     * A description of the error that made the last attempt fail.
+     */
+    private String lastError;
+
+
+    /**
+     * Indicates whether this publication must be retried at the given {@code instant}.
+     *
+     * @param instant The {@link Instant} to be checked.
+     * @return {@code true} if the publication is being retried, and its next attempt is due at the given
+     * {@code instant}, or {@code false} otherwise.
+     */
+    public boolean isDueAt(final Instant instant) {
+        return state == State.RETRYING && !nextAttemptAt.isAfter(instant);
+    }
+
+    /**
+     * Registers a new failed attempt, scheduling the next one at the given {@code nextAttemptAt} {@link Instant}.
+     *
+     * @param error         A description of the error that made the attempt fail.
+     * @param nextAttemptAt The {@link Instant} in which the next attempt must be performed.
+     * @throws IllegalArgumentException If any argument is not valid.
+     */
+    public void retryAt(final String error, final Instant nextAttemptAt) throws IllegalArgumentException {
+        assertNextAttemptAt(nextAttemptAt);
+        this.state = State.RETRYING;
+        this.attempts++;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = error;
+    }
+
+    /**
+     * Registers a new failed attempt, giving up on the publication (i.e it is moved to the dead-letter store).
+     *
+     * @param error A description of the error that made the attempt fail.
+     */
+    public void deadLetter(final String error) {
+        this.state = State.DEAD_LETTERED;
+        this.attempts++;
+        this.nextAttemptAt = null;
+        this.lastError = error;
+    }
+
+    /**
+     * Resets the amount of attempts (i.e used when a publication is replayed).
+     */
+    public void resetAttempts() {
+        this.attempts = 0;
+    }
+
+
+    // ================================================================================================================
+    // Assertions
+    // ================================================================================================================
+
+    /**
+     * Verifies that the given {@code examTaking} is valid.
+     *
+     * @param examTaking The {@link ExamTaking} to be validated.
+     * @throws IllegalArgumentException If the {@link ExamTaking} is not valid.
+     */
+    private static void assertExamTaking(final ExamTaking examTaking) throws IllegalArgumentException {
+        Assert.notNull(examTaking, "The exam taking must not be null");
+    }
+
+    /**
+     * Verifies that the given {@code score} is valid.
+     *
+     * @param score The score to be validated.
+     * @throws IllegalArgumentException If the score is not valid.
+     */
+    private static void assertScore(final int score) throws IllegalArgumentException {
+        Assert.isTrue(score >= 0, "The score must not be negative");
+    }
+
+    /**
+     * Verifies that the given {@code nextAttemptAt} is valid.
+     *
+     * @param nextAttemptAt The next attempt {@link Instant} to be validated.
+     * @throws IllegalArgumentException If the next attempt {@link Instant} is not valid.
+     */
+    private static void assertNextAttemptAt(final Instant nextAttemptAt) throws IllegalArgumentException {
+        Assert.notNull(nextAttemptAt, "The next attempt instant must not be null");
+    }
+
+
+    // ================================================================================================================
+    // Creators
+    // ================================================================================================================
+
+    /**
+     * Creates a {@link FailedScorePublication} (with a {@code null} id) that will be retried
+     * at the given {@code nextAttemptAt} {@link Instant}.
+     *
+     * @param examTaking    The {@link ExamTaking} whose score could not be published.
+     * @param score         The score that could not be published.
+     * @param error         A description of the error that made the first attempt fail.
+     * @param nextAttemptAt The {@link Instant} in which the next attempt must be performed.
+     * @return The created {@link FailedScorePublication}.
+     * @throws IllegalArgumentException If any argument is not valid.
+     */
+    public static FailedScorePublication retrying(
+            final ExamTaking examTaking,
+            final int score,
+            final String error,
+            final Instant nextAttemptAt) throws IllegalArgumentException {
+        assertExamTaking(examTaking);
+        assertScore(score);
+        assertNextAttemptAt(nextAttemptAt);
+
+        return new FailedScorePublication(
+                null,
+                examTaking,
+                score,
+                Instant.now(),
+                State.RETRYING,
+                1,
+                nextAttemptAt,
+                error
+        );
+    }
+
+    /**
+     * Creates a {@link FailedScorePublication} (with a {@code null} id) that is moved straight to the dead-letter store
+     * (i.e the first attempt failed with a permanent error).
+     *
+     * @param examTaking The {@link ExamTaking} whose score could not be published.
+     * @param score      The score that could not be published.
+     * @param error      A description of the error that made the first attempt fail.
+     * @return The created {@link FailedScorePublication}.
+     * @throws IllegalArgumentException If any argument is not valid.
+     */
+    public static FailedScorePublication deadLettered(
+            final ExamTaking examTaking,
+            final int score,
+            final String error) throws IllegalArgumentException {
+        assertExamTaking(examTaking);
+        assertScore(score);
+
+        return new FailedScorePublication(
+                null,
+                examTaking,
+                score,
+                Instant.now(),
+                State.DEAD_LETTERED,
+                1,
+                null,
+                error
+        );
+    }
+
+
+    /**
+     * The possible states of a {@link FailedScorePublication}.
+     */
+    public enum State {
+        /**
+         * The publication failed with a transient error, and will be automatically retried.
+         */
+        RETRYING,
+        /**
+         * The publication failed with a permanent error, or ran out of attempts.
+         * It will only be retried if it is replayed by an administrator.
+         */
+        DEAD_LETTERED,
+    }
+}
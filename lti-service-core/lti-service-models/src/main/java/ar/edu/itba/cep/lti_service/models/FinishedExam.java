@@ -0,0 +1,41 @@
+package ar.edu.itba.cep.lti_service.models;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Represents an exam that is known to be finished (or to not exist anymore) in the evaluations service
+ * (i.e an exam that never needs to be looked up again in order to prepare it to be taken).
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(force = true, access = AccessLevel.PACKAGE)
+@ToString(doNotUseGetters = true)
+@EqualsAndHashCode(of = "examId", doNotUseGetters = true)
+public class FinishedExam {
+
+    /**
+     * The exam's id (i.e the same id as in the evaluations service).
+     */
+    private final long examId;
+    /**
+     * The {@link Instant} at which the exam was found to be finished.
+     */
+    private final Instant finishedAt;
+
+
+    // ================================================================================================================
+    // Creators
+    // ================================================================================================================
+
+    /**
+     * Creates a {@link FinishedExam}.
+     *
+     * @param examId The exam's id (i.e the same id as in the evaluations service).
+     * @return The created {@link FinishedExam}.
+     */
+    public static FinishedExam create(final long examId) {
+        return new FinishedExam(examId, Instant.now());
+    }
+}
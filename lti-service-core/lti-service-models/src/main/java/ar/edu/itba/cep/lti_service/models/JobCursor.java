@@ -0,0 +1,89 @@
+package ar.edu.itba.cep.lti_service.models;
+
+import lombok.*;
+import org.springframework.util.Assert;
+
+import java.time.Instant;
+
+/**
+ * Represents the position reached by a job that consumes a changes feed
+ * (i.e shared by all the instances, so the job can continue from there regardless of which instance runs it).
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(force = true, access = AccessLevel.PACKAGE)
+@ToString(doNotUseGetters = true)
+@EqualsAndHashCode(of = "name", doNotUseGetters = true)
+public class JobCursor {
+
+    /**
+     * The name of the job that owns the cursor.
+     */
+    private final String name;
+    /**
+     * The cursor's value (i.e as returned by the changes feed).
+     */
+    private String value;
+    /**
+     * The {@link Instant} at which the cursor was last updated.
+     */
+    private Instant updatedAt;
+
+
+    /**
+     * Moves this cursor to the given {@code value}.
+     *
+     * @param value The new value.
+     * @throws IllegalArgumentException If the value is not valid.
+     */
+    public void update(final String value) throws IllegalArgumentException {
+        assertValue(value);
+        this.value = value;
+        this.updatedAt = Instant.now();
+    }
+
+
+    // ================================================================================================================
+    // Assertions
+    // ================================================================================================================
+
+    /**
+     * Verifies that the given {@code name} is valid.
+     *
+     * @param name The name to be validated.
+     * @throws IllegalArgumentException If the name is not valid.
+     */
+    private static void assertName(final String name) throws IllegalArgumentException {
+        Assert.hasText(name, "The name must not be blank");
+    }
+
+    /**
+     * Verifies that the given {@code value} is valid.
+     *
+     * @param value The value to be validated.
+     * @throws IllegalArgumentException If the value is not valid.
+     */
+    private static void assertValue(final String value) throws IllegalArgumentException {
+        Assert.notNull(value, "The value must not be null");
+    }
+
+
+    // ================================================================================================================
+    // Creators
+    // ================================================================================================================
+
+    /**
+     * Creates a {@link JobCursor}.
+     *
+     * @param name  The name of the job that owns the cursor.
+     * @param value The cursor's value (i.e as returned by the changes feed).
+     * @return The created {@link JobCursor}.
+     * @throws IllegalArgumentException If any argument is not valid.
+     */
+    public static JobCursor create(final String name, final String value) throws IllegalArgumentException {
+        assertName(name);
+        assertValue(value);
+
+        return new JobCursor(name, value, Instant.now());
+    }
+}
@@ -0,0 +1,88 @@
+package ar.edu.itba.cep.lti_service.models;
+
+import lombok.*;
+import org.springframework.util.Assert;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Represents an LTI resource link to an exam that was created in an LMS through the deep linking flow
+ * (i.e it indicates that students of the LMS will take the exam through the given {@link ToolDeployment}).
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(force = true, access = AccessLevel.PACKAGE)
+@ToString(doNotUseGetters = true)
+@EqualsAndHashCode(of = "id", doNotUseGetters = true)
+public class ResourceLink {
+
+    /**
+     * The resource link id.
+     */
+    private final UUID id;
+    /**
+     * The id of the linked exam.
+     */
+    private final long examId;
+    /**
+     * The {@link ToolDeployment} through which the exam was linked.
+     */
+    private final ToolDeployment toolDeployment;
+    /**
+     * The url of the line-items container of the context in which the exam was linked
+     * ({@code null} if the LMS did not send it).
+     */
+    private final String lineItemsUrl;
+    /**
+     * The url from where the members of the context in which the exam was linked can be retrieved
+     * ({@code null} if the LMS does not support the Names and Role Provisioning Services).
+     */
+    private final String contextMembershipsUrl;
+    /**
+     * The {@link Instant} in which the link was created.
+     */
+    private final Instant createdAt;
+
+
+    // ================================================================================================================
+    // Assertions
+    // ================================================================================================================
+
+    /**
+     * Verifies that the given {@code toolDeployment} is valid.
+     *
+     * @param toolDeployment The {@link ToolDeployment} to be validated.
+     * @throws IllegalArgumentException If the {@link ToolDeployment} is not valid.
+     */
+    private static void assertToolDeployment(final ToolDeployment toolDeployment) throws IllegalArgumentException {
+        Assert.notNull(toolDeployment, "The tool deployment must not be null");
+    }
+
+
+    // ================================================================================================================
+    // Creators
+    // ================================================================================================================
+
+    /**
+     * Creates a {@link ResourceLink} (with a {@code null} id) created right now.
+     *
+     * @param examId                The id of the linked exam.
+     * @param toolDeployment        The {@link ToolDeployment} through which the exam was linked.
+     * @param lineItemsUrl          The url of the line-items container of the context in which the exam was linked
+     *                              (might be {@code null}).
+     * @param contextMembershipsUrl The url from where the members of the context in which the exam was linked
+     *                              can be retrieved (might be {@code null}).
+     * @return The created {@link ResourceLink}.
+     * @throws IllegalArgumentException If any argument is not valid.
+     */
+    public static ResourceLink create(
+            final long examId,
+            final ToolDeployment toolDeployment,
+            final String lineItemsUrl,
+            final String contextMembershipsUrl) throws IllegalArgumentException {
+        assertToolDeployment(toolDeployment);
+
+        return new ResourceLink(null, examId, toolDeployment, lineItemsUrl, contextMembershipsUrl, Instant.now());
+    }
+}
@@ -0,0 +1,170 @@
+package ar.edu.itba.cep.lti_service.models;
+
+import lombok.*;
+import org.springframework.util.Assert;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Represents a request to reconcile the scores of an exam with the results stored in the LMSs,
+ * which is performed in background, and whose progress is kept in order to be inspected.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(force = true, access = AccessLevel.PACKAGE)
+@ToString(doNotUseGetters = true)
+@EqualsAndHashCode(of = "id", doNotUseGetters = true)
+public class ScoreReconciliation {
+
+    /**
+     * The score reconciliation id.
+     */
+    private final UUID id;
+    /**
+     * The id of the exam whose scores must be reconciled.
+     */
+    private final long examId;
+    /**
+     * The {@link Instant} in which the reconciliation was requested.
+     */
+    private final Instant requestedAt;
+    /**
+     * The {@link State} of the reconciliation.
+     */
+    private State state;
+    /**
+     * The {@link Instant} in which the reconciliation made progress for the last time
+     * (i.e used to detect reconciliations abandoned by a crashed instance).
+     */
+    private Instant updatedAt;
+    /**
+     * The {@link Instant} in which the reconciliation finished ({@code null} if it did not finish yet).
+     */
+    private Instant finishedAt;
+    /**
+     * The amount of scores that were compared with the LMSs results.
+     */
+    private int comparedScores;
+    /**
+     * The amount of scores that differed and were republished.
+     */
+    private int republishedScores;
+    /**
+     * The amount of line-items whose results could not be fetched.
+     */
+    private int failedLineItems;
+
+
+    /**
+     * Starts (or restarts) the reconciliation, resetting its progress.
+     */
+    public void start() {
+        this.state = State.RUNNING;
+        this.updatedAt = Instant.now();
+        this.comparedScores = 0;
+        this.republishedScores = 0;
+        this.failedLineItems = 0;
+    }
+
+    /**
+     * Registers the progress made while reconciling a page of scores.
+     *
+     * @param comparedScores    The amount of scores that were compared.
+     * @param republishedScores The amount of scores that were republished.
+     * @param failedLineItems   The amount of (new) line-items whose results could not be fetched.
+     * @throws IllegalStateException If the reconciliation is not running.
+     */
+    public void progress(final int comparedScores, final int republishedScores, final int failedLineItems)
+            throws IllegalStateException {
+        assertRunning();
+        this.updatedAt = Instant.now();
+        this.comparedScores += comparedScores;
+        this.republishedScores += republishedScores;
+        this.failedLineItems += failedLineItems;
+    }
+
+    /**
+     * Finishes the reconciliation.
+     *
+     * @throws IllegalStateException If the reconciliation is not running.
+     */
+    public void finish() throws IllegalStateException {
+        assertRunning();
+        this.state = State.FINISHED;
+        this.updatedAt = Instant.now();
+        this.finishedAt = this.updatedAt;
+    }
+
+
+    // ================================================================================================================
+    // Assertions
+    // ================================================================================================================
+
+    /**
+     * Verifies that the reconciliation is running.
+     *
+     * @throws IllegalStateException If the reconciliation is not running.
+     */
+    private void assertRunning() throws IllegalStateException {
+        Assert.state(state == State.RUNNING, "The reconciliation is not running");
+    }
+
+    /**
+     * Verifies that the given {@code examId} is valid.
+     *
+     * @param examId The exam id to be validated.
+     * @throws IllegalArgumentException If the exam id is not valid.
+     */
+    private static void assertExamId(final long examId) throws IllegalArgumentException {
+        Assert.isTrue(examId > 0, "The exam id must be positive");
+    }
+
+
+    // ================================================================================================================
+    // Creators
+    // ================================================================================================================
+
+    /**
+     * Creates a pending {@link ScoreReconciliation} (with a {@code null} id).
+     *
+     * @param examId The id of the exam whose scores must be reconciled.
+     * @return The created {@link ScoreReconciliation}.
+     * @throws IllegalArgumentException If any argument is not valid.
+     */
+    public static ScoreReconciliation pending(final long examId) throws IllegalArgumentException {
+        assertExamId(examId);
+
+        final var now = Instant.now();
+        return new ScoreReconciliation(
+                null,
+                examId,
+                now,
+                State.PENDING,
+                now,
+                null,
+                0,
+                0,
+                0
+        );
+    }
+
+
+    /**
+     * The possible states of a {@link ScoreReconciliation}.
+     */
+    public enum State {
+        /**
+         * The reconciliation was requested, and is waiting to be taken by an instance.
+         */
+        PENDING,
+        /**
+         * The reconciliation is being performed by an instance.
+         */
+        RUNNING,
+        /**
+         * The reconciliation finished.
+         */
+        FINISHED,
+    }
+}
@@ -1,5 +1,6 @@
 package ar.edu.itba.cep.lti_service.models;
 
+import ar.edu.itba.cep.lti_service.crypto.JcaPrimitives;
 import ar.edu.itba.cep.security.KeyHelper;
 import io.jsonwebtoken.SignatureAlgorithm;
 import lombok.*;
@@ -219,10 +220,9 @@ public class ToolDeployment {
     public static void assertPrivateKeyAndAlgorithm(final String privateKey, final SignatureAlgorithm algorithm)
             throws IllegalArgumentException, IllegalStateException {
         try {
-            final var keyFactory = KeyFactory.getInstance(algorithm.getFamilyName());
-            KeyHelper.generateKey(
+            JcaPrimitives.withKeyFactory(algorithm.getFamilyName(), keyFactory -> KeyHelper.generateKey(
                     keyFactory, privateKey, PKCS8EncodedKeySpec::new, KeyFactory::generatePrivate
-            );
+            ));
         } catch (final KeyHelper.InvalidKeyException e) {
             throw new IllegalArgumentException("The given private key is invalid");
         } catch (final NoSuchAlgorithmException e) {
@@ -3,6 +3,8 @@ package ar.edu.itba.cep.lti_service.external_cep_services.evaluations_service;
 import com.bellotapps.webapps_commons.exceptions.ExternalServiceException;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * A port out of the application that allows sending requests to the evaluations service.
@@ -16,4 +18,30 @@ public interface EvaluationsService {
      * @return An {@link Optional} containing the {@link Exam} if it exists, or empty otherwise.
      */
     Optional<Exam> getExamById(final long id) throws ExternalServiceException;
+
+    /**
+     * Retrieves the {@link Exam} with the given {@code id} asynchronously.
+     *
+     * @param id The id of the {@link Exam} to be retrieved.
+     * @return A {@link CompletionStage} that completes with an {@link Optional} containing the {@link Exam}
+     * if it exists, or empty otherwise (or exceptionally with an {@link ExternalServiceException}).
+     * @implNote The default implementation performs the lookup in the calling thread.
+     * Non-blocking implementations should override it.
+     */
+    default CompletionStage<Optional<Exam>> getExamByIdAsync(final long id) {
+        try {
+            return CompletableFuture.completedFuture(getExamById(id));
+        } catch (final RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Retrieves the {@link Exam}s that changed since the given {@code cursor}.
+     *
+     * @param cursor The cursor returned by the previous call,
+     *               or {@code null} to retrieve all the upcoming and in progress {@link Exam}s.
+     * @return The {@link ExamChanges}.
+     */
+    ExamChanges getExamsChangedSince(final String cursor) throws ExternalServiceException;
 }
@@ -0,0 +1,24 @@
+package ar.edu.itba.cep.lti_service.external_cep_services.evaluations_service;
+
+import lombok.NonNull;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Represents the exams that changed in the evaluations service since a given cursor.
+ */
+@Value
+public class ExamChanges {
+
+    /**
+     * The {@link Exam}s that changed, in their current state.
+     */
+    @NonNull
+    private final List<Exam> exams;
+    /**
+     * The cursor to be used to retrieve the next changes.
+     */
+    @NonNull
+    private final String cursor;
+}
@@ -5,6 +5,8 @@ import com.bellotapps.webapps_commons.exceptions.ExternalServiceException;
 
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * A port out of the application that allows sending requests to the tokens service.
@@ -22,4 +24,23 @@ public interface TokensService {
      * @throws ExternalServiceException If there is any problem when communicating with the service.
      */
     Optional<TokenData> tokenFor(final String subject, final Set<Role> roles) throws ExternalServiceException;
+
+    /**
+     * Creates a token for the given {@code subject}, with the given {@code roles}, asynchronously.
+     *
+     * @param subject The subject to which the token will be created.
+     * @param roles   The {@link Role}s to be assigned.
+     * @return A {@link CompletionStage} that completes with an {@link Optional} holding the {@link TokenData}
+     * if it could be retrieved from the service, or empty otherwise
+     * (or exceptionally with an {@link ExternalServiceException}).
+     * @implNote The default implementation performs the request in the calling thread.
+     * Non-blocking implementations should override it.
+     */
+    default CompletionStage<Optional<TokenData>> tokenForAsync(final String subject, final Set<Role> roles) {
+        try {
+            return CompletableFuture.completedFuture(tokenFor(subject, roles));
+        } catch (final RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 }
@@ -0,0 +1,48 @@
+package ar.edu.itba.cep.lti_service.external_lti_web_services;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Represents a member of a context (e.g a course),
+ * as reported by the Names and Role Provisioning Services of an LMS.
+ */
+@Value
+@AllArgsConstructor(staticName = "create")
+public class ContextMember {
+
+    /**
+     * The status that indicates that a member is active in the context.
+     */
+    public static final String ACTIVE_STATUS = "Active";
+    /**
+     * The role that indicates that a member is a learner in the context.
+     */
+    public static final String LEARNER_ROLE = "http://purl.imsglobal.org/vocab/lis/v2/membership#Learner";
+
+
+    /**
+     * The id of the user (i.e the subject).
+     */
+    private final String userId;
+    /**
+     * The status of the member in the context ({@code null} if not reported, which means active).
+     */
+    private final String status;
+    /**
+     * The roles of the member in the context.
+     */
+    private final List<String> roles;
+
+
+    /**
+     * Indicates whether this member is an active learner of the context.
+     *
+     * @return {@code true} if the member is an active learner, or {@code false} otherwise.
+     */
+    public boolean isActiveLearner() {
+        return (status == null || ACTIVE_STATUS.equals(status)) && roles != null && roles.contains(LEARNER_ROLE);
+    }
+}
@@ -0,0 +1,25 @@
+package ar.edu.itba.cep.lti_service.external_lti_web_services;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Represents the result of a user in a line-item, as reported by the Assignment and Grade Services of an LMS.
+ */
+@Value
+@AllArgsConstructor(staticName = "create")
+public class LineItemResult {
+
+    /**
+     * The id of the user (i.e the subject).
+     */
+    private final String userId;
+    /**
+     * The score of the user ({@code null} if the LMS has no score for the user).
+     */
+    private final Double resultScore;
+    /**
+     * The max. score against which the {@link #resultScore} is reported ({@code null} if not reported).
+     */
+    private final Double resultMaximum;
+}
@@ -1,10 +1,14 @@
 package ar.edu.itba.cep.lti_service.external_lti_web_services;
 
 import ar.edu.itba.cep.lti_service.models.ExamTaking;
+import ar.edu.itba.cep.lti_service.models.ToolDeployment;
 import com.bellotapps.webapps_commons.exceptions.ExternalServiceException;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
- * A port out of the application that allows publishing scores in an LMS.
+ * A port out of the application that allows publishing and reading scores in an LMS.
  */
 public interface LtiAssignmentAndGradeServicesClient {
 
@@ -14,6 +18,44 @@ public interface LtiAssignmentAndGradeServicesClient {
      * @param examTaking The {@link ExamTaking} to which the {@code score} must be published.
      * @param score      The score to be assigned.
      * @throws ExternalServiceException If there is any issue when communicating with the authorization server.
+     *                                  Implementations should throw a {@link ScorePublishingException} in order to
+     *                                  indicate whether the failure is transient or permanent.
      */
     void publishScore(final ExamTaking examTaking, final int score) throws ExternalServiceException;
+
+    /**
+     * Retrieves all the results of the line-item with the given {@code lineItemUrl}
+     * (i.e going through all the pages of the results service).
+     *
+     * @param toolDeployment The {@link ToolDeployment} representing the integration with the LMS.
+     * @param lineItemUrl    The line-item url.
+     * @return A {@link List} containing the {@link LineItemResult}s of the line-item.
+     * @throws ExternalServiceException If there is any issue when communicating with the LMS.
+     */
+    List<LineItemResult> getResults(final ToolDeployment toolDeployment, final String lineItemUrl)
+            throws ExternalServiceException;
+
+    /**
+     * Retrieves the url of the line-item with the given {@code resourceId}
+     * in the line-items container with the given {@code lineItemsUrl}.
+     *
+     * @param toolDeployment The {@link ToolDeployment} representing the integration with the LMS.
+     * @param lineItemsUrl   The line-items container url.
+     * @param resourceId     The resource id of the line-item (i.e the tool's id of the graded resource).
+     * @return An {@link Optional} containing the url of the line-item if it exists, or empty otherwise.
+     * @throws ExternalServiceException If there is any issue when communicating with the LMS.
+     */
+    Optional<String> findLineItem(
+            final ToolDeployment toolDeployment,
+            final String lineItemsUrl,
+            final String resourceId) throws ExternalServiceException;
+
+    /**
+     * Obtains (and keeps) the access token needed to publish scores through the given {@code toolDeployment},
+     * in order to avoid requesting it when the first score is published.
+     *
+     * @param toolDeployment The {@link ToolDeployment} representing the integration with the LMS.
+     * @throws ExternalServiceException If there is any issue when communicating with the authorization server.
+     */
+    void prefetchAccessToken(final ToolDeployment toolDeployment) throws ExternalServiceException;
 }
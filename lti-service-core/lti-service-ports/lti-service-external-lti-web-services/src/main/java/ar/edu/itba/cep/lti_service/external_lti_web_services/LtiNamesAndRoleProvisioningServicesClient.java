@@ -0,0 +1,28 @@
+package ar.edu.itba.cep.lti_service.external_lti_web_services;
+
+import ar.edu.itba.cep.lti_service.models.ToolDeployment;
+import com.bellotapps.webapps_commons.exceptions.ExternalServiceException;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A port out of the application that allows reading the members of a context (e.g a course) in an LMS.
+ */
+public interface LtiNamesAndRoleProvisioningServicesClient {
+
+    /**
+     * Retrieves all the members of the context with the given {@code contextMembershipsUrl}
+     * (i.e going through all the pages of the memberships service),
+     * handing each page to the given {@code pageConsumer} as soon as it is retrieved.
+     *
+     * @param toolDeployment        The {@link ToolDeployment} representing the integration with the LMS.
+     * @param contextMembershipsUrl The context memberships url.
+     * @param pageConsumer          A {@link Consumer} of each page of {@link ContextMember}s.
+     * @throws ExternalServiceException If there is any issue when communicating with the LMS.
+     */
+    void streamMembers(
+            final ToolDeployment toolDeployment,
+            final String contextMembershipsUrl,
+            final Consumer<List<ContextMember>> pageConsumer) throws ExternalServiceException;
+}
@@ -0,0 +1,43 @@
+package ar.edu.itba.cep.lti_service.external_lti_web_services;
+
+import com.bellotapps.webapps_commons.exceptions.ExternalServiceException;
+
+/**
+ * An {@link ExternalServiceException} thrown when a score could not be published in an LMS,
+ * which indicates whether the failure is transient (i.e the publication can be retried),
+ * or permanent (i.e retrying will fail again).
+ */
+public class ScorePublishingException extends ExternalServiceException {
+
+    /**
+     * Indicates whether the publication can be retried.
+     */
+    private final boolean retryable;
+
+
+    /**
+     * Constructor.
+     *
+     * @param serviceName The name of the service that failed (i.e the LMS issuer).
+     * @param message     The detail message.
+     * @param cause       The cause.
+     * @param retryable   Indicates whether the publication can be retried.
+     */
+    public ScorePublishingException(
+            final String serviceName,
+            final String message,
+            final Throwable cause,
+            final boolean retryable) {
+        super(serviceName, message, cause);
+        this.retryable = retryable;
+    }
+
+
+    /**
+     * @return {@code true} if the failure is transient (i.e the publication can be retried),
+     * or {@code false} otherwise.
+     */
+    public boolean isRetryable() {
+        return retryable;
+    }
+}
@@ -1,8 +1,11 @@
 package ar.edu.itba.cep.lti_service.repositories;
 
 import ar.edu.itba.cep.lti_service.models.ExamTaking;
+import ar.edu.itba.cep.lti_service.models.FinishedExam;
+import ar.edu.itba.cep.lti_service.models.ToolDeployment;
 import com.bellotapps.webapps_commons.persistence.repository_utils.repositories.BasicRepository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -28,4 +31,73 @@ public interface ExamTakingRepository extends BasicRepository<ExamTaking, UUID>
      * @return {@code true} if there is a matching {@link ExamTaking}, or {@code false} otherwise.
      */
     boolean exists(final long examId, final String subject);
+
+    /**
+     * Retrieves all the {@link ExamTaking}s of the exam with the given {@code examId}.
+     *
+     * @param examId The exam id.
+     * @return A {@link List} containing the {@link ExamTaking}s of the exam.
+     */
+    List<ExamTaking> find(final long examId);
+
+    /**
+     * Retrieves a page of the scored {@link ExamTaking}s of the exam with the given {@code examId}, ordered by id
+     * (i.e keyset pagination, which allows processing each page in its own transaction).
+     *
+     * @param examId   The exam id.
+     * @param after    The id of the last {@link ExamTaking} of the previous page ({@code null} for the first page).
+     * @param pageSize The max. amount of {@link ExamTaking}s to retrieve.
+     * @return A {@link List} containing the page of scored {@link ExamTaking}s of the exam.
+     */
+    List<ExamTaking> findScored(final long examId, final UUID after, final int pageSize);
+
+    /**
+     * Retrieves the ids of all the exams that have at least one {@link ExamTaking}.
+     *
+     * @return A {@link List} containing the ids of the exams (without duplicates).
+     */
+    List<Long> findExamIds();
+
+    /**
+     * Retrieves the ids of the exams that have at least one {@link ExamTaking},
+     * and that are not known to be finished (i.e there is no {@link FinishedExam} for them).
+     *
+     * @return A {@link List} containing the ids of the exams (without duplicates).
+     */
+    List<Long> findUnfinishedExamIds();
+
+    /**
+     * Retrieves the {@link ToolDeployment}s of the {@link ExamTaking}s of the exam with the given {@code examId}.
+     *
+     * @param examId The exam id.
+     * @return A {@link List} containing the {@link ToolDeployment}s (without duplicates).
+     */
+    List<ToolDeployment> findToolDeployments(final long examId);
+
+    /**
+     * Retrieves the subjects that have an {@link ExamTaking} of the exam with the given {@code examId}.
+     *
+     * @param examId The exam id.
+     * @return A {@link List} containing the subjects.
+     */
+    List<String> findSubjects(final long examId);
+
+    /**
+     * Saves the given new {@code examTaking} unless there is already an {@link ExamTaking} with the same
+     * exam id and subject (i.e the insertion does nothing on conflict, so concurrent saves of the same
+     * exam taking neither create duplicates nor fail). The given instance is not updated (i.e its id is not set).
+     *
+     * @param examTaking The {@link ExamTaking} to be saved.
+     * @return {@code true} if the {@link ExamTaking} was saved, or {@code false} if it already existed.
+     */
+    boolean saveIfAbsent(final ExamTaking examTaking);
+
+    /**
+     * Saves each of the given new {@code examTakings} unless there is already an {@link ExamTaking} with the same
+     * exam id and subject (as in {@link #saveIfAbsent(ExamTaking)}).
+     *
+     * @param examTakings The {@link ExamTaking}s to be saved.
+     * @return A {@link List} containing the {@link ExamTaking}s that were saved (i.e that did not exist).
+     */
+    List<ExamTaking> saveAllIfAbsent(final List<ExamTaking> examTakings);
 }
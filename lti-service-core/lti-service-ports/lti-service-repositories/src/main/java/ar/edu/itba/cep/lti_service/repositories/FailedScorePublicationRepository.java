@@ -0,0 +1,39 @@
+package ar.edu.itba.cep.lti_service.repositories;
+
+import ar.edu.itba.cep.lti_service.models.ExamTaking;
+import ar.edu.itba.cep.lti_service.models.FailedScorePublication;
+import com.bellotapps.webapps_commons.persistence.repository_utils.repositories.BasicRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A port out of the application that allows {@link FailedScorePublication} persistence.
+ */
+public interface FailedScorePublicationRepository extends BasicRepository<FailedScorePublication, UUID> {
+
+    /**
+     * Retrieves the {@link FailedScorePublication}s that are being retried,
+     * and whose next attempt is due at the given {@code instant}.
+     *
+     * @param instant The {@link Instant} to be checked.
+     * @return A {@link List} containing the due {@link FailedScorePublication}s (oldest first).
+     * @apiNote Implementations might limit the amount of returned elements.
+     */
+    List<FailedScorePublication> findDueAt(final Instant instant);
+
+    /**
+     * Retrieves all the dead-lettered {@link FailedScorePublication}s.
+     *
+     * @return A {@link List} containing the dead-lettered {@link FailedScorePublication}s.
+     */
+    List<FailedScorePublication> findDeadLettered();
+
+    /**
+     * Removes all the {@link FailedScorePublication}s belonging to the given {@code examTaking}.
+     *
+     * @param examTaking The {@link ExamTaking} whose {@link FailedScorePublication}s must be removed.
+     */
+    void deleteFor(final ExamTaking examTaking);
+}
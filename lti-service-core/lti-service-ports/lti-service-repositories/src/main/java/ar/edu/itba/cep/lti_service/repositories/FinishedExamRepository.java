@@ -0,0 +1,10 @@
+package ar.edu.itba.cep.lti_service.repositories;
+
+import ar.edu.itba.cep.lti_service.models.FinishedExam;
+import com.bellotapps.webapps_commons.persistence.repository_utils.repositories.BasicRepository;
+
+/**
+ * A port out of the application that allows {@link FinishedExam} persistence.
+ */
+public interface FinishedExamRepository extends BasicRepository<FinishedExam, Long> {
+}
@@ -0,0 +1,10 @@
+package ar.edu.itba.cep.lti_service.repositories;
+
+import ar.edu.itba.cep.lti_service.models.JobCursor;
+import com.bellotapps.webapps_commons.persistence.repository_utils.repositories.BasicRepository;
+
+/**
+ * A port out of the application that allows {@link JobCursor} persistence.
+ */
+public interface JobCursorRepository extends BasicRepository<JobCursor, String> {
+}
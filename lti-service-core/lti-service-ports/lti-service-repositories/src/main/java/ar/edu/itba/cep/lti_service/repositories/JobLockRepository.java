@@ -0,0 +1,32 @@
+package ar.edu.itba.cep.lti_service.repositories;
+
+import java.util.Optional;
+
+/**
+ * A port out of the application that allows acquiring locks shared by all the instances of the application
+ * (e.g in order to run a scheduled job in a single instance at a time).
+ */
+public interface JobLockRepository {
+
+    /**
+     * Tries to acquire the lock with the given {@code name}, without waiting for it.
+     *
+     * @param name The name of the lock.
+     * @return An {@link Optional} containing the acquired {@link JobLock} (which must be released by closing it),
+     * or empty if it is held by another instance.
+     */
+    Optional<JobLock> tryLock(final String name);
+
+
+    /**
+     * An acquired lock, which is released when closed.
+     */
+    interface JobLock extends AutoCloseable {
+
+        /**
+         * Releases the lock.
+         */
+        @Override
+        void close();
+    }
+}
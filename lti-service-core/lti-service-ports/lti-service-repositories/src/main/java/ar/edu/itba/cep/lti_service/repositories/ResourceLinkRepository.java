@@ -0,0 +1,57 @@
+package ar.edu.itba.cep.lti_service.repositories;
+
+import ar.edu.itba.cep.lti_service.models.FinishedExam;
+import ar.edu.itba.cep.lti_service.models.ResourceLink;
+import ar.edu.itba.cep.lti_service.models.ToolDeployment;
+import com.bellotapps.webapps_commons.persistence.repository_utils.repositories.BasicRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A port out of the application that allows {@link ResourceLink} persistence.
+ */
+public interface ResourceLinkRepository extends BasicRepository<ResourceLink, UUID> {
+
+    /**
+     * Retrieves all the {@link ResourceLink}s to the exam with the given {@code examId}.
+     *
+     * @param examId The exam id.
+     * @return A {@link List} containing the {@link ResourceLink}s to the exam.
+     */
+    List<ResourceLink> find(final long examId);
+
+    /**
+     * Retrieves the ids of all the exams that have at least one {@link ResourceLink}.
+     *
+     * @return A {@link List} containing the ids of the exams (without duplicates).
+     */
+    List<Long> findExamIds();
+
+    /**
+     * Retrieves the ids of the exams that have at least one {@link ResourceLink},
+     * and that are not known to be finished (i.e there is no {@link FinishedExam} for them).
+     *
+     * @return A {@link List} containing the ids of the exams (without duplicates).
+     */
+    List<Long> findUnfinishedExamIds();
+
+    /**
+     * Retrieves the {@link ToolDeployment}s of the {@link ResourceLink}s of the exam with the given {@code examId}.
+     *
+     * @param examId The exam id.
+     * @return A {@link List} containing the {@link ToolDeployment}s (without duplicates).
+     */
+    List<ToolDeployment> findToolDeployments(final long examId);
+
+    /**
+     * Saves the given new {@code resourceLink} unless there is already a {@link ResourceLink} with the same
+     * exam id, tool deployment and context (i.e services urls), so selecting the same exam again in a context
+     * (or concurrently) neither creates duplicates nor fails.
+     * The given instance is not updated (i.e its id is not set).
+     *
+     * @param resourceLink The {@link ResourceLink} to be saved.
+     * @return {@code true} if the {@link ResourceLink} was saved, or {@code false} if it already existed.
+     */
+    boolean saveIfAbsent(final ResourceLink resourceLink);
+}
@@ -0,0 +1,43 @@
+package ar.edu.itba.cep.lti_service.repositories;
+
+import ar.edu.itba.cep.lti_service.models.ScoreReconciliation;
+import com.bellotapps.webapps_commons.persistence.repository_utils.repositories.BasicRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * A port out of the application that allows {@link ScoreReconciliation} persistence.
+ */
+public interface ScoreReconciliationRepository extends BasicRepository<ScoreReconciliation, UUID> {
+
+    /**
+     * Retrieves the {@link ScoreReconciliation} of the exam with the given {@code examId} that did not finish yet.
+     *
+     * @param examId The exam id.
+     * @return An {@link Optional} containing the unfinished {@link ScoreReconciliation} of the exam if there is one,
+     * or empty otherwise.
+     */
+    Optional<ScoreReconciliation> findUnfinished(final long examId);
+
+    /**
+     * Retrieves the ids of the {@link ScoreReconciliation}s that can be claimed at the given {@code instant}
+     * (i.e those that are pending, and those that are running but made no progress since {@code staleBefore}).
+     *
+     * @param staleBefore The {@link Instant} before which a running reconciliation is considered abandoned.
+     * @return A {@link List} containing the ids of the claimable {@link ScoreReconciliation}s (oldest first).
+     */
+    List<UUID> findClaimable(final Instant staleBefore);
+
+    /**
+     * Atomically claims the {@link ScoreReconciliation} with the given {@code id}
+     * (i.e it succeeds in only one instance, even if several of them try to claim the same reconciliation).
+     *
+     * @param id          The id of the {@link ScoreReconciliation} to be claimed.
+     * @param staleBefore The {@link Instant} before which a running reconciliation is considered abandoned.
+     * @return {@code true} if the reconciliation was claimed, or {@code false} if it is not claimable anymore.
+     */
+    boolean claim(final UUID id, final Instant staleBefore);
+}
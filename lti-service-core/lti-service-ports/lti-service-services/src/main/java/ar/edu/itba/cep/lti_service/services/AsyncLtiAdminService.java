@@ -0,0 +1,100 @@
+package ar.edu.itba.cep.lti_service.services;
+
+import ar.edu.itba.cep.lti_service.models.ToolDeployment;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A port into the application that provides the {@link LtiAdminService} operations asynchronously
+ * (i.e the caller's thread is not blocked while the operation is performed).
+ * The returned {@link CompletionStage}s complete exceptionally with the same exceptions
+ * the {@link LtiAdminService} operations throw.
+ */
+public interface AsyncLtiAdminService {
+
+    /**
+     * Asynchronous version of {@link LtiAdminService#getAllToolDeployments()}.
+     *
+     * @return A {@link CompletionStage} that completes with all the {@link ToolDeployment}s.
+     */
+    CompletionStage<List<ToolDeployment>> getAllToolDeployments();
+
+    /**
+     * Asynchronous version of {@link LtiAdminService#find(String)}.
+     *
+     * @param issuer The issuer.
+     * @return A {@link CompletionStage} that completes with the {@link ToolDeployment}s of the {@code issuer}.
+     */
+    CompletionStage<List<ToolDeployment>> find(final String issuer);
+
+    /**
+     * Asynchronous version of {@link LtiAdminService#find(String, String)}.
+     *
+     * @param clientId The client id.
+     * @param issuer   The issuer.
+     * @return A {@link CompletionStage} that completes with the matching {@link ToolDeployment}s.
+     */
+    CompletionStage<List<ToolDeployment>> find(final String clientId, final String issuer);
+
+    /**
+     * Asynchronous version of {@link LtiAdminService#getToolDeploymentById(UUID)}.
+     *
+     * @param id The id of the {@link ToolDeployment} to be retrieved.
+     * @return A {@link CompletionStage} that completes with an {@link Optional} containing the
+     * {@link ToolDeployment} if it exists, or empty otherwise.
+     */
+    CompletionStage<Optional<ToolDeployment>> getToolDeploymentById(final UUID id);
+
+    /**
+     * Asynchronous version of {@link LtiAdminService#find(String, String, String)}.
+     *
+     * @param deploymentId The deployment id.
+     * @param clientId     The client id.
+     * @param issuer       The issuer.
+     * @return A {@link CompletionStage} that completes with an {@link Optional} containing the matching
+     * {@link ToolDeployment} if it exists, or empty otherwise.
+     */
+    CompletionStage<Optional<ToolDeployment>> find(
+            final String deploymentId,
+            final String clientId,
+            final String issuer);
+
+    /**
+     * Asynchronous version of
+     * {@link LtiAdminService#registerToolDeployment(String, String, String, String, String, String, SignatureAlgorithm,
+     * String, String)}.
+     *
+     * @param deploymentId               The deployment id (given by the platform).
+     * @param clientId                   The id given to the tool by the issuer.
+     * @param issuer                     The issuing authority.
+     * @param oidcAuthenticationEndpoint Endpoint to which the user agent is redirected after a login initiation.
+     * @param jwksEndpoint               Endpoint at which the platform's public keys can be found.
+     * @param privateKey                 The private key needed to sign messages sent to the platform (base64 encoded).
+     * @param signatureAlgorithm         The {@link SignatureAlgorithm}.
+     * @param applicationKey             The tool deployment key.
+     * @param applicationSecret          The tool deployment secret.
+     * @return A {@link CompletionStage} that completes with the created {@link ToolDeployment}.
+     */
+    CompletionStage<ToolDeployment> registerToolDeployment(
+            final String deploymentId,
+            final String clientId,
+            final String issuer,
+            final String oidcAuthenticationEndpoint,
+            final String jwksEndpoint,
+            final String privateKey,
+            final SignatureAlgorithm signatureAlgorithm,
+            final String applicationKey,
+            final String applicationSecret);
+
+    /**
+     * Asynchronous version of {@link LtiAdminService#unregisterToolDeployment(UUID)}.
+     *
+     * @param id The id of the {@link ToolDeployment} to be removed.
+     * @return A {@link CompletionStage} that completes when the {@link ToolDeployment} is removed.
+     */
+    CompletionStage<Void> unregisterToolDeployment(final UUID id);
+}
@@ -0,0 +1,54 @@
+package ar.edu.itba.cep.lti_service.services;
+
+import ar.edu.itba.cep.lti.*;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A port into the application that provides the {@link LtiService} operations asynchronously
+ * (i.e the caller's thread is not blocked while the operation is performed).
+ * The returned {@link CompletionStage}s complete exceptionally with the same exceptions
+ * the {@link LtiService} operations throw.
+ */
+public interface AsyncLtiService {
+
+    /**
+     * Asynchronous version of {@link LtiService#loginInitiation(LoginInitiationRequest)}.
+     *
+     * @param loginInitiationRequest The {@link LoginInitiationRequest}.
+     * @return A {@link CompletionStage} that completes with the {@link AuthenticationRequest}.
+     */
+    CompletionStage<AuthenticationRequest> loginInitiation(final LoginInitiationRequest loginInitiationRequest);
+
+    /**
+     * Asynchronous version of {@link LtiService#examSelection(AuthenticationResponse)}.
+     *
+     * @param authenticationResponse The {@link AuthenticationResponse}.
+     * @return A {@link CompletionStage} that completes with the {@link ExamSelectionResponse}.
+     */
+    CompletionStage<ExamSelectionResponse> examSelection(final AuthenticationResponse authenticationResponse);
+
+    /**
+     * Asynchronous version of {@link LtiService#examSelected(ExamSelectedRequest)}.
+     *
+     * @param examSelectedRequest The {@link ExamSelectedRequest}.
+     * @return A {@link CompletionStage} that completes with the {@link ExamSelectedResponse}.
+     */
+    CompletionStage<ExamSelectedResponse> examSelected(final ExamSelectedRequest examSelectedRequest);
+
+    /**
+     * Asynchronous version of {@link LtiService#takeExam(AuthenticationResponse)}.
+     *
+     * @param authenticationResponse The {@link AuthenticationResponse}.
+     * @return A {@link CompletionStage} that completes with the {@link ExamTakingResponse}.
+     */
+    CompletionStage<ExamTakingResponse> takeExam(final AuthenticationResponse authenticationResponse);
+
+    /**
+     * Asynchronous version of {@link LtiService#scoreExam(ExamScoringRequest)}.
+     *
+     * @param request The {@link ExamScoringRequest}.
+     * @return A {@link CompletionStage} that completes when the exam is scored.
+     */
+    CompletionStage<Void> scoreExam(final ExamScoringRequest request);
+}
@@ -0,0 +1,17 @@
+package ar.edu.itba.cep.lti_service.services;
+
+/**
+ * A port into the application that allows the evaluations service to notify changes in exams.
+ */
+public interface ExamReplicaService {
+
+    /**
+     * Notifies that the exam with the given {@code examId} changed (e.g it transitioned to another state),
+     * in order to synchronize the local replica of exams without waiting for the next poll.
+     * The synchronization is performed asynchronously, and notifications received while one is pending
+     * are coalesced into it. Only services (i.e not users) can notify changes.
+     *
+     * @param examId The id of the exam that changed.
+     */
+    void examChanged(final long examId);
+}
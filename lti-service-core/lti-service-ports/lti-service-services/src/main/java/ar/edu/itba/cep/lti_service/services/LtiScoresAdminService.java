@@ -0,0 +1,70 @@
+package ar.edu.itba.cep.lti_service.services;
+
+import ar.edu.itba.cep.lti_service.models.FailedScorePublication;
+import ar.edu.itba.cep.lti_service.models.ScoreReconciliation;
+import com.bellotapps.webapps_commons.exceptions.NoSuchEntityException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * A port into the application that allows administrating the scores published in the LMSs.
+ */
+public interface LtiScoresAdminService {
+
+    // ================================================================================================================
+    // Failed score publications
+    // ================================================================================================================
+
+    /**
+     * Retrieves all the dead-lettered {@link FailedScorePublication}s
+     * (i.e those that are not being automatically retried).
+     *
+     * @return A {@link List} containing the dead-lettered {@link FailedScorePublication}s.
+     */
+    List<FailedScorePublication> getDeadLetteredScorePublications();
+
+    /**
+     * Retrieves the {@link FailedScorePublication} with the given {@code id}.
+     *
+     * @param id The id of the {@link FailedScorePublication} to be retrieved.
+     * @return An {@link Optional} containing the {@link FailedScorePublication} with the given {@code id} if it exists,
+     * or empty otherwise.
+     */
+    Optional<FailedScorePublication> getFailedScorePublication(final UUID id);
+
+    /**
+     * Replays the {@link FailedScorePublication} with the given {@code id}
+     * (i.e performs a new attempt, restarting the retry process if it fails again).
+     *
+     * @param id The id of the {@link FailedScorePublication} to be replayed.
+     * @throws NoSuchEntityException If there is no {@link FailedScorePublication} with the given {@code id}.
+     */
+    void replayFailedScorePublication(final UUID id) throws NoSuchEntityException;
+
+
+    // ================================================================================================================
+    // Reconciliation
+    // ================================================================================================================
+
+    /**
+     * Requests the reconciliation of the scores of the exam with the given {@code examId}
+     * with the results stored in the LMSs (i.e republishing only those scores that differ from the LMSs results).
+     * The reconciliation is performed in background. If there is already an unfinished reconciliation
+     * for the exam, no new one is requested.
+     *
+     * @param examId The id of the exam whose scores must be reconciled.
+     * @return The requested (or the already unfinished) {@link ScoreReconciliation}.
+     */
+    ScoreReconciliation requestScoreReconciliation(final long examId);
+
+    /**
+     * Retrieves the {@link ScoreReconciliation} with the given {@code id}.
+     *
+     * @param id The id of the {@link ScoreReconciliation} to be retrieved.
+     * @return An {@link Optional} containing the {@link ScoreReconciliation} with the given {@code id} if it exists,
+     * or empty otherwise.
+     */
+    Optional<ScoreReconciliation> getScoreReconciliation(final UUID id);
+}